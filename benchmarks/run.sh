@@ -0,0 +1,24 @@
+#!/bin/sh
+# Executa os benchmarks JMH contra o codigo do commit atual.
+#
+#   ./benchmarks/run.sh                      # todos os benchmarks
+#   ./benchmarks/run.sh Serializacao -p linhas=1000
+#
+# Os resultados ficam em benchmarks/resultados/<commit>.json (formato JSON do JMH),
+# prontos para comparar entre commits com qualquer visualizador de JMH.
+set -e
+
+RAIZ=$(cd "$(dirname "$0")/.." && pwd)
+COMMIT=$(git -C "$RAIZ" rev-parse --short HEAD 2>/dev/null || echo local)
+if [ -n "$(git -C "$RAIZ" status --porcelain -- src pom.xml 2>/dev/null)" ]; then
+	COMMIT="$COMMIT-modificado"
+fi
+
+mvn -q -B -f "$RAIZ/pom.xml" install -DskipTests
+mvn -q -B -f "$RAIZ/benchmarks/pom.xml" compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+
+mkdir -p "$RAIZ/benchmarks/resultados"
+CLASSPATH="$RAIZ/benchmarks/target/classes:$(cat "$RAIZ/benchmarks/target/classpath.txt")"
+
+java -cp "$CLASSPATH" org.openjdk.jmh.Main \
+	-rf json -rff "$RAIZ/benchmarks/resultados/$COMMIT.json" "$@"
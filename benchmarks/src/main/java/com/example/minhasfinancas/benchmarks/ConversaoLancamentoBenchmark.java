@@ -0,0 +1,109 @@
+package com.example.minhasfinancas.benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.minhasfinancas.api.dto.LancamentoDTO;
+import com.example.minhasfinancas.api.resource.LancamentoResource;
+import com.example.minhasfinancas.model.entity.Lancamento;
+import com.example.minhasfinancas.model.entity.Usuario;
+import com.example.minhasfinancas.service.UsuarioService;
+
+/**
+ * Mede LancamentoResource.converter (privado, acessado por MethodHandle) com um
+ * UsuarioService em memoria, isolando o custo da conversao do acesso ao banco.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class ConversaoLancamentoBenchmark {
+
+	private static final MethodHandle CONVERTER;
+	
+	static {
+		try {
+			Method metodo = LancamentoResource.class.getDeclaredMethod("converter", LancamentoDTO.class);
+			metodo.setAccessible(true);
+			CONVERTER = MethodHandles.lookup().unreflect(metodo);
+		}catch(ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+	
+	LancamentoResource resource;
+	LancamentoDTO dto;
+	
+	@Setup
+	public void setUp() {
+		resource = new LancamentoResource(null, new UsuarioServiceEmMemoria(Dados.usuario()));
+		dto = LancamentoDTO.builder()
+				.descricao("Supermercado")
+				.ano(2019)
+				.mes(10)
+				.valor(BigDecimal.valueOf(25_990, 2))
+				.usuario(1l)
+				.tipo("DESPESA")
+				.status("PENDENTE")
+				.build();
+	}
+	
+	
+	@Benchmark
+	public Lancamento converter() throws Throwable {
+		return (Lancamento) CONVERTER.invokeExact(resource, dto);
+	}
+	
+	
+	
+	static class UsuarioServiceEmMemoria implements UsuarioService {
+		
+		private final Optional<Usuario> usuario;
+		
+		UsuarioServiceEmMemoria(Usuario usuario) {
+			this.usuario = Optional.of(usuario);
+		}
+		
+		@Override
+		public Optional<Usuario> obterporId(Long id) {
+			return usuario;
+		}
+		
+		@Override
+		public Usuario obterReferencia(Long id) {
+			return usuario.get();
+		}
+		
+		@Override
+		public Usuario autenticar(String email, String senha) {
+			throw new UnsupportedOperationException();
+		}
+		
+		@Override
+		public Usuario salvarUsuario(Usuario usuario) {
+			throw new UnsupportedOperationException();
+		}
+		
+		@Override
+		public void validarEmail(String email) {
+		}
+	}
+	
+}
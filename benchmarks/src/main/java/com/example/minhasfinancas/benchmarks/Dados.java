@@ -0,0 +1,58 @@
+package com.example.minhasfinancas.benchmarks;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.example.minhasfinancas.model.entity.Lancamento;
+import com.example.minhasfinancas.model.entity.Usuario;
+import com.example.minhasfinancas.model.enums.StatusLancamento;
+import com.example.minhasfinancas.model.enums.TipoLancamento;
+
+/**
+ * Gera massas de dados deterministicas (semente fixa) para que execucoes
+ * em commits diferentes meçam exatamente o mesmo trabalho.
+ */
+final class Dados {
+
+	static final long SEMENTE = 20191001L;
+	
+	private static final String[] DESCRICOES = {
+		"Aluguel", "Supermercado", "Salario", "Conta de luz", "Internet", 
+		"Farmacia", "Restaurante", "Combustivel", "Academia", "Freelance"
+	};
+	
+	private Dados() {
+	}
+	
+	
+	static Usuario usuario() {
+		return Usuario.builder().id(1l).nome("usuario").email("usuario@email.com").senha("senha").build();
+	}
+	
+	static List<Lancamento> lancamentos(int quantidade) {
+		
+		SplittableRandom random = new SplittableRandom(SEMENTE);
+		Usuario usuario = usuario();
+		List<Lancamento> lancamentos = new ArrayList<>(quantidade);
+		
+		for(int i = 0; i < quantidade; i++) {
+			lancamentos.add(Lancamento.builder()
+					.id((long) i + 1)
+					.descricao(DESCRICOES[random.nextInt(DESCRICOES.length)] + " " + i)
+					.ano(2015 + random.nextInt(5))
+					.mes(1 + random.nextInt(12))
+					.valor(BigDecimal.valueOf(random.nextInt(1, 500_000), 2))
+					.tipo(random.nextBoolean() ? TipoLancamento.RECEITA : TipoLancamento.DESPESA)
+					.status(StatusLancamento.values()[random.nextInt(StatusLancamento.values().length)])
+					.usuario(usuario)
+					.dataCadastro(LocalDate.of(2019, 1, 1).plusDays(random.nextInt(365)))
+					.build());
+		}
+		
+		return lancamentos;
+	}
+	
+}
@@ -0,0 +1,107 @@
+package com.example.minhasfinancas.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.minhasfinancas.MinhasfinancasApplication;
+import com.example.minhasfinancas.model.enums.StatusLancamento;
+import com.example.minhasfinancas.model.repository.LancamentoRepository;
+import com.example.minhasfinancas.service.LancamentoService;
+import com.example.minhasfinancas.service.SaldoUsuarioService;
+
+/**
+ * Sobe a aplicacao sobre o H2 do perfil de testes, carrega usuarios x lancamentos
+ * e mede a leitura do saldo pelo ledger contra a agregacao sobre a tabela de lancamentos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SaldoUsuarioBenchmark {
+
+	@Param({"100"})
+	int usuarios;
+	
+	@Param({"1000"})
+	int lancamentosPorUsuario;
+	
+	ConfigurableApplicationContext contexto;
+	LancamentoService lancamentoService;
+	LancamentoRepository lancamentoRepository;
+	Long idUsuario;
+	
+	@Setup(Level.Trial)
+	public void setUp() {
+		
+		contexto = new SpringApplicationBuilder(MinhasfinancasApplication.class)
+				.profiles("test")
+				.web(WebApplicationType.NONE)
+				.properties("spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS financas",
+							"logging.level.root=WARN")
+				.run();
+		
+		JdbcTemplate jdbc = contexto.getBean(JdbcTemplate.class);
+		jdbc.update("insert into financas.usuario (nome, email, senha) "
+				  + " select 'usuario' || x, 'usuario' || x || '@email.com', 'senha' from system_range(1, ?)", usuarios);
+		
+		Long primeiro = jdbc.queryForObject("select min(id) from financas.usuario", Long.class);
+		
+		jdbc.update("insert into financas.lancamento (id, descricao, mes, ano, valor, tipo, status, id_usuario, data_cadastro) "
+				  + " select next value for financas.lancamento_seq, 'lancamento ' || x, mod(x, 12) + 1, 2015 + mod(x, 5), "
+				  + "        mod(x * 7919, 100000) / 100.0, "
+				  + "        case when mod(x, 3) = 0 then 'RECEITA' else 'DESPESA' end, "
+				  + "        case mod(x, 10) when 0 then 'CANCELADO' when 1 then 'PENDENTE' else 'EFETIVADO' end, "
+				  + "        ? + mod(x, ?), current_date "
+				  + "   from system_range(1, ?)", primeiro, usuarios, (long) usuarios * lancamentosPorUsuario);
+		jdbc.execute("analyze");
+		
+		SaldoUsuarioService saldoService = contexto.getBean(SaldoUsuarioService.class);
+		for(long id = primeiro; id < primeiro + usuarios; id++) {
+			saldoService.reconciliar(id);
+		}
+		
+		lancamentoService = contexto.getBean(LancamentoService.class);
+		lancamentoRepository = contexto.getBean(LancamentoRepository.class);
+		idUsuario = primeiro + usuarios / 2;
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		contexto.close();
+	}
+	
+	
+	@Benchmark
+	public BigDecimal obterSaldoPorUsuario() {
+		return lancamentoService.obterSaldoPorUsuario(idUsuario);
+	}
+	
+	@Benchmark
+	public BigDecimal calcularSaldoPorAgregacao() {
+		return lancamentoRepository
+				.obterResumoSaldoPorUsuario(idUsuario, EnumSet.of(StatusLancamento.PENDENTE, StatusLancamento.EFETIVADO))
+				.getSaldo();
+	}
+	
+}
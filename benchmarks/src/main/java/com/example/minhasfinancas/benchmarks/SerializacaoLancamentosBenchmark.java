@@ -0,0 +1,61 @@
+package com.example.minhasfinancas.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.minhasfinancas.model.entity.Lancamento;
+import com.example.minhasfinancas.model.projection.LancamentoResumo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serializa listas de lancamentos com o mesmo ObjectMapper que o Spring configura,
+ * comparando a entidade completa com a projecao usada nas respostas de listagem.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class SerializacaoLancamentosBenchmark {
+
+	@Param({"1000", "10000", "100000"})
+	int linhas;
+	
+	ObjectMapper objectMapper;
+	List<Lancamento> lancamentos;
+	List<LancamentoResumo> resumos;
+	
+	@Setup
+	public void setUp() {
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		lancamentos = Dados.lancamentos(linhas);
+		resumos = lancamentos.stream().map(LancamentoResumo::de).collect(Collectors.toList());
+	}
+	
+	
+	@Benchmark
+	public byte[] serializarEntidades() throws Exception {
+		return objectMapper.writeValueAsBytes(lancamentos);
+	}
+	
+	@Benchmark
+	public byte[] serializarResumos() throws Exception {
+		return objectMapper.writeValueAsBytes(resumos);
+	}
+	
+}
@@ -0,0 +1,57 @@
+package com.example.minhasfinancas.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.example.minhasfinancas.exception.RegraNegocioException;
+import com.example.minhasfinancas.model.entity.Lancamento;
+import com.example.minhasfinancas.service.impl.LancamentoServiceImpl;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class ValidacaoLancamentoBenchmark {
+
+	LancamentoServiceImpl service;
+	Lancamento valido;
+	Lancamento semValor;
+	
+	@Setup
+	public void setUp() {
+		service = new LancamentoServiceImpl(null, null, null, null);
+		valido = Dados.lancamentos(1).get(0);
+		semValor = Dados.lancamentos(1).get(0);
+		semValor.setValor(null);
+	}
+	
+	
+	@Benchmark
+	public Lancamento validarLancamentoValido() {
+		service.validar(valido);
+		return valido;
+	}
+	
+	@Benchmark
+	public void validarLancamentoInvalido(Blackhole blackhole) {
+		try {
+			service.validar(semValor);
+		}catch(RegraNegocioException e) {
+			blackhole.consume(e);
+		}
+	}
+	
+}
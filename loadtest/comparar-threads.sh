@@ -0,0 +1,39 @@
+#!/bin/sh
+# Compara o Tomcat com threads de plataforma ao modo de threads virtuais
+# (minhasfinancas.threads.virtuais=true) sob o mesmo mix de carga, na mesma JVM.
+# O projeto compila em Java 8, mas a comparacao precisa rodar em um JDK 21 ou
+# superior, indicado em JAVA_EXECUCAO (padrao: o java do PATH).
+#
+#   JAVA_EXECUCAO=/opt/jdk-21/bin/java ./loadtest/comparar-threads.sh --threads=400 --duracao=60
+#
+# Use mais threads de carga do que server.tomcat.max-threads (200) para ver a
+# diferenca. Os histogramas ficam em loadtest/resultados/plataforma e
+# loadtest/resultados/virtuais.
+set -e
+
+RAIZ=$(cd "$(dirname "$0")/.." && pwd)
+JAVA_EXECUCAO=${JAVA_EXECUCAO:-java}
+
+VERSAO=$("$JAVA_EXECUCAO" -XshowSettings:properties -version 2>&1 | sed -n 's/.*java\.specification\.version = //p')
+if [ "${VERSAO%%.*}" -lt 21 ]; then
+	echo "Threads virtuais exigem JDK 21 ou superior; $JAVA_EXECUCAO e $VERSAO." >&2
+	exit 1
+fi
+
+mvn -q -B -f "$RAIZ/pom.xml" install -DskipTests
+mvn -q -B -f "$RAIZ/loadtest/pom.xml" compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+
+CLASSPATH="$RAIZ/loadtest/target/classes:$(cat "$RAIZ/loadtest/target/classpath.txt")"
+
+medir() {
+	NOME=$1
+	VIRTUAIS=$2
+	shift 2
+	echo
+	echo "=== $NOME ==="
+	"$JAVA_EXECUCAO" $JAVA_OPTS -Dminhasfinancas.threads.virtuais=$VIRTUAIS -cp "$CLASSPATH" \
+		com.example.minhasfinancas.carga.CargaHttp --saida="$RAIZ/loadtest/resultados/$NOME" "$@"
+}
+
+medir plataforma false "$@"
+medir virtuais true "$@"
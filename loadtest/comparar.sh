@@ -0,0 +1,62 @@
+#!/bin/sh
+# Compara a pilha servlet (Tomcat + JPA/Hikari) com a variante reativa (Netty +
+# R2DBC) sob o mesmo mix de carga. Cada aplicacao sobe sozinha, em seu proprio
+# processo e sobre seu proprio H2 em memoria, e recebe a massa pela propria API.
+#
+#   ./loadtest/comparar.sh --threads=64 --duracao=60
+#   ./loadtest/comparar.sh --taxa=3000 --mix=listar:50,saldo:30,criar:20
+#
+# Os histogramas ficam em loadtest/resultados/servlet e loadtest/resultados/reativo.
+set -e
+
+RAIZ=$(cd "$(dirname "$0")/.." && pwd)
+
+mvn -q -B -f "$RAIZ/pom.xml" install -DskipTests
+mvn -q -B -f "$RAIZ/reactive/pom.xml" package -DskipTests
+mvn -q -B -f "$RAIZ/loadtest/pom.xml" compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+
+CLASSPATH="$RAIZ/loadtest/target/classes:$(cat "$RAIZ/loadtest/target/classpath.txt")"
+PID=
+
+parar() {
+	if [ -n "$PID" ]; then
+		kill "$PID" 2>/dev/null || true
+		wait "$PID" 2>/dev/null || true
+		PID=
+	fi
+}
+trap parar EXIT INT TERM
+
+aguardar() {
+	for i in $(seq 1 120); do
+		if curl -s -o /dev/null "http://localhost:$1/api/usuarios/autenticar"; then
+			return 0
+		fi
+		sleep 1
+	done
+	echo "A aplicacao nao subiu na porta $1" >&2
+	exit 1
+}
+
+medir() {
+	NOME=$1
+	PORTA=$2
+	shift 2
+	aguardar "$PORTA"
+	echo
+	echo "=== $NOME ==="
+	java $JAVA_OPTS -cp "$CLASSPATH" com.example.minhasfinancas.carga.CargaHttp \
+		--url="http://localhost:$PORTA" --saida="$RAIZ/loadtest/resultados/$NOME" "$@"
+	parar
+}
+
+java $APP_OPTS -jar "$RAIZ"/target/minhasfinancas-*-exec.jar \
+	--spring.profiles.active=test --server.port=8080 --logging.level.root=WARN \
+	"--spring.datasource.url=jdbc:h2:mem:comparacao;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS financas" &
+PID=$!
+medir servlet 8080 "$@"
+
+java $APP_OPTS -jar "$RAIZ"/reactive/target/minhasfinancas-reativo-*.jar \
+	--spring.profiles.active=test --server.port=8081 --logging.level.root=WARN &
+PID=$!
+medir reativo 8081 "$@"
@@ -0,0 +1,21 @@
+#!/bin/sh
+# Sobe a aplicacao sobre H2, popula usuarios x lancamentos e dispara a carga HTTP.
+#
+#   ./loadtest/run.sh --usuarios=200 --lancamentos=500 --threads=32 --duracao=60
+#   ./loadtest/run.sh --taxa=2000 --mix=listar:50,saldo:30,criar:20
+#   ./loadtest/run.sh --url=http://localhost:8081   (aplicacao ja em execucao, massa via API)
+#
+# Propriedades da aplicacao podem ser passadas como -D em JAVA_OPTS, por exemplo
+#   JAVA_OPTS="-Dserver.tomcat.max-threads=50 -Dspring.datasource.hikari.maximum-pool-size=20"
+set -e
+
+RAIZ=$(cd "$(dirname "$0")/.." && pwd)
+
+mvn -q -B -f "$RAIZ/pom.xml" install -DskipTests
+mvn -q -B -f "$RAIZ/loadtest/pom.xml" compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+
+mkdir -p "$RAIZ/loadtest/resultados"
+CLASSPATH="$RAIZ/loadtest/target/classes:$(cat "$RAIZ/loadtest/target/classpath.txt")"
+
+java $JAVA_OPTS -cp "$CLASSPATH" com.example.minhasfinancas.carga.CargaHttp \
+	--saida="$RAIZ/loadtest/resultados" "$@"
@@ -0,0 +1,271 @@
+package com.example.minhasfinancas.carga;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.minhasfinancas.MinhasfinancasApplication;
+
+/**
+ * Sobe a aplicacao sobre H2 em uma porta livre (ou usa a que estiver em --url),
+ * popula a massa e dispara um mix configuravel de requisicoes contra a API,
+ * medindo a latencia de cada uma em histogramas HdrHistogram.
+ *
+ * Com --taxa=0 cada thread envia a proxima requisicao assim que recebe a resposta
+ * (malha fechada). Com --taxa=N as requisicoes sao agendadas em intervalos fixos e a
+ * latencia e medida a partir do instante agendado, para que um servidor lento nao
+ * esconda a propria fila (coordinated omission).
+ */
+public class CargaHttp {
+
+	private static final long LATENCIA_MAXIMA = TimeUnit.MINUTES.toNanos(1);
+	private static final double NANOS_POR_MILISSEGUNDO = 1_000_000.0;
+	private static final String[] STATUS = { "PENDENTE", "EFETIVADO", "CANCELADO" };
+
+	private final Configuracao configuracao;
+	private final Massa massa;
+	private final String base;
+	private final Operacao[] sorteio;
+	private final Map<Operacao, Histogram> histogramas = new EnumMap<>(Operacao.class);
+	private final Map<Operacao, LongAdder> erros = new EnumMap<>(Operacao.class);
+
+	private volatile boolean medindo;
+	private volatile boolean parar;
+
+	CargaHttp(Configuracao configuracao, Massa massa, String base) {
+		this.configuracao = configuracao;
+		this.massa = massa;
+		this.base = base;
+		this.sorteio = sorteio(configuracao.mix);
+
+		for(Operacao operacao : configuracao.mix.keySet()) {
+			histogramas.put(operacao, new ConcurrentHistogram(LATENCIA_MAXIMA, 3));
+			erros.put(operacao, new LongAdder());
+		}
+	}
+
+
+	public static void main(String[] args) throws Exception {
+
+		Configuracao configuracao = Configuracao.de(args);
+		System.setProperty("http.maxConnections", String.valueOf(Math.max(5, configuracao.threads)));
+		System.setProperty("spring.devtools.restart.enabled", "false");
+		
+		if(configuracao.url != null) {
+			System.out.println("Populando via API " + configuracao.usuarios + " usuarios x " + configuracao.lancamentosPorUsuario + " lancamentos...");
+			Massa massa = Massa.popular(configuracao.url, configuracao.usuarios, configuracao.lancamentosPorUsuario, configuracao.threads);
+			
+			System.out.println(configuracao);
+			new CargaHttp(configuracao, massa, configuracao.url).executar();
+			return;
+		}
+
+		ConfigurableApplicationContext contexto = new SpringApplicationBuilder(MinhasfinancasApplication.class)
+				.profiles("test")
+				.properties("server.port=0",
+							"spring.datasource.url=jdbc:h2:mem:carga;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;INIT=CREATE SCHEMA IF NOT EXISTS financas",
+							"logging.level.root=WARN")
+				.run();
+
+		try {
+			int porta = ((ServletWebServerApplicationContext) contexto).getWebServer().getPort();
+
+			System.out.println("Populando " + configuracao.usuarios + " usuarios x " + configuracao.lancamentosPorUsuario + " lancamentos...");
+			Massa massa = Massa.popular(contexto, configuracao.usuarios, configuracao.lancamentosPorUsuario);
+
+			System.out.println(configuracao);
+			new CargaHttp(configuracao, massa, "http://localhost:" + porta).executar();
+
+		} finally {
+			contexto.close();
+		}
+	}
+
+
+	void executar() throws InterruptedException, FileNotFoundException {
+
+		List<Thread> workers = new ArrayList<>(configuracao.threads);
+		for(int i = 0; i < configuracao.threads; i++) {
+			Thread worker = new Thread(this::trabalhar, "carga-" + i);
+			worker.setDaemon(true);
+			worker.start();
+			workers.add(worker);
+		}
+
+		TimeUnit.SECONDS.sleep(configuracao.aquecimentoSegundos);
+		medindo = true;
+		long inicio = System.nanoTime();
+
+		TimeUnit.SECONDS.sleep(configuracao.duracaoSegundos);
+		medindo = false;
+		long fim = System.nanoTime();
+
+		parar = true;
+		for(Thread worker : workers) {
+			worker.join(TimeUnit.SECONDS.toMillis(30));
+		}
+
+		relatar((fim - inicio) / 1_000_000_000.0);
+	}
+
+	private void trabalhar() {
+
+		ClienteHttp cliente = new ClienteHttp(base);
+		ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+
+		long intervalo = configuracao.taxa > 0 ? TimeUnit.SECONDS.toNanos(configuracao.threads) / configuracao.taxa : 0;
+		long agendado = System.nanoTime() + (intervalo > 0 ? aleatorio.nextLong(intervalo) : 0);
+
+		while(!parar) {
+
+			long inicio;
+			if(intervalo > 0) {
+				long espera;
+				while((espera = agendado - System.nanoTime()) > 0) {
+					LockSupport.parkNanos(espera);
+				}
+				inicio = agendado;
+				agendado += intervalo;
+			} else {
+				inicio = System.nanoTime();
+			}
+
+			Operacao operacao = sorteio[aleatorio.nextInt(sorteio.length)];
+			boolean sucesso;
+			try {
+				sucesso = enviar(cliente, operacao, aleatorio) < 400;
+			} catch(Exception e) {
+				sucesso = false;
+			}
+
+			long latencia = System.nanoTime() - inicio;
+
+			if(medindo) {
+				histogramas.get(operacao).recordValue(Math.min(latencia, LATENCIA_MAXIMA));
+				if(!sucesso) {
+					erros.get(operacao).increment();
+				}
+			}
+		}
+	}
+
+	private int enviar(ClienteHttp cliente, Operacao operacao, ThreadLocalRandom aleatorio) throws Exception {
+
+		int usuario = aleatorio.nextInt(massa.usuarios.length);
+		int lancamento = aleatorio.nextInt(massa.lancamentos.length);
+		int dono = massa.donosLancamentos[lancamento];
+
+		switch(operacao) {
+			case LISTAR:
+				return cliente.enviar("GET", "/api/lancamentos?usuario=" + massa.usuarios[usuario]
+						+ "&ano=" + ano(aleatorio) + "&mes=" + (aleatorio.nextInt(12) + 1), massa.tokens[usuario], null);
+			case CRIAR:
+				return cliente.enviar("POST", "/api/lancamentos", massa.tokens[usuario],
+						lancamento(null, massa.usuarios[usuario], aleatorio));
+			case ATUALIZAR:
+				return cliente.enviar("PUT", "/api/lancamentos/" + massa.lancamentos[lancamento], massa.tokens[dono],
+						lancamento(massa.lancamentos[lancamento], massa.usuarios[dono], aleatorio));
+			case STATUS:
+				return cliente.enviar("PUT", "/api/lancamentos/" + massa.lancamentos[lancamento] + "/atualiza-status", massa.tokens[dono],
+						"{\"status\":\"" + STATUS[aleatorio.nextInt(STATUS.length)] + "\"}");
+			case SALDO:
+				return cliente.enviar("GET", "/api/usuarios/" + massa.usuarios[usuario] + "/saldo", massa.tokens[usuario], null);
+			case AUTENTICAR:
+				return cliente.enviar("POST", "/api/usuarios/autenticar", null,
+						"{\"email\":\"" + massa.emails[usuario] + "\",\"senha\":\"" + Massa.SENHA + "\"}");
+			default:
+				throw new IllegalStateException(operacao.name());
+		}
+	}
+
+	private static String lancamento(Long id, long usuario, ThreadLocalRandom aleatorio) {
+
+		return "{" + (id == null ? "" : "\"id\":" + id + ",")
+				+ "\"descricao\":\"carga " + aleatorio.nextInt(1_000_000) + "\","
+				+ "\"mes\":" + (aleatorio.nextInt(12) + 1) + ","
+				+ "\"ano\":" + ano(aleatorio) + ","
+				+ "\"valor\":" + (aleatorio.nextInt(100_000) + 1) / 100.0 + ","
+				+ "\"usuario\":" + usuario + ","
+				+ "\"tipo\":\"" + (aleatorio.nextBoolean() ? "RECEITA" : "DESPESA") + "\""
+				+ (id == null ? "" : ",\"status\":\"PENDENTE\"")
+				+ "}";
+	}
+
+	private static int ano(ThreadLocalRandom aleatorio) {
+		return Massa.ANO_INICIAL + aleatorio.nextInt(Massa.ANOS);
+	}
+
+	private static Operacao[] sorteio(Map<Operacao, Integer> mix) {
+
+		List<Operacao> sorteio = new ArrayList<>();
+		mix.forEach((operacao, peso) -> {
+			for(int i = 0; i < peso; i++) {
+				sorteio.add(operacao);
+			}
+		});
+		return sorteio.toArray(new Operacao[0]);
+	}
+
+	private void relatar(double segundos) throws FileNotFoundException {
+
+		Histogram total = new Histogram(LATENCIA_MAXIMA, 3);
+		long totalErros = 0;
+
+		System.out.println();
+		System.out.println(String.format("%-12s %10s %8s %10s %9s %9s %9s %9s %9s",
+				"operacao", "requisicoes", "erros", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+
+		for(Map.Entry<Operacao, Histogram> entrada : histogramas.entrySet()) {
+			Histogram histograma = entrada.getValue();
+			long quantidadeErros = erros.get(entrada.getKey()).sum();
+			total.add(histograma);
+			totalErros += quantidadeErros;
+
+			imprimir(entrada.getKey().getChave(), histograma, quantidadeErros, segundos);
+			gravar(entrada.getKey().getChave(), histograma);
+		}
+
+		imprimir("total", total, totalErros, segundos);
+		gravar("total", total);
+	}
+
+	private static void imprimir(String nome, Histogram histograma, long quantidadeErros, double segundos) {
+
+		System.out.println(String.format("%-12s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f",
+				nome, histograma.getTotalCount(), quantidadeErros, histograma.getTotalCount() / segundos,
+				histograma.getValueAtPercentile(50) / NANOS_POR_MILISSEGUNDO,
+				histograma.getValueAtPercentile(90) / NANOS_POR_MILISSEGUNDO,
+				histograma.getValueAtPercentile(99) / NANOS_POR_MILISSEGUNDO,
+				histograma.getValueAtPercentile(99.9) / NANOS_POR_MILISSEGUNDO,
+				histograma.getMaxValue() / NANOS_POR_MILISSEGUNDO));
+	}
+
+	private void gravar(String nome, Histogram histograma) throws FileNotFoundException {
+
+		if(configuracao.saida == null || histograma.getTotalCount() == 0) {
+			return;
+		}
+
+		File diretorio = new File(configuracao.saida);
+		diretorio.mkdirs();
+
+		try(PrintStream saida = new PrintStream(new File(diretorio, nome + ".hgrm"))) {
+			histograma.outputPercentileDistribution(saida, NANOS_POR_MILISSEGUNDO);
+		}
+	}
+
+}
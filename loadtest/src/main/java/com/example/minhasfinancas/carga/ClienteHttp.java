@@ -0,0 +1,91 @@
+package com.example.minhasfinancas.carga;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Cliente HTTP minimo sobre HttpURLConnection. O corpo da resposta e sempre
+ * consumido por inteiro para que a conexao volte ao pool de keep-alive.
+ */
+final class ClienteHttp {
+
+	private final String base;
+	private final byte[] descarte = new byte[8192];
+	
+	ClienteHttp(String base) {
+		this.base = base;
+	}
+	
+	
+	int enviar(String metodo, String caminho, String token, String json) throws IOException {
+		
+		HttpURLConnection conexao = abrir(metodo, caminho, token, json);
+		int status = conexao.getResponseCode();
+		InputStream entrada = status >= 400 ? conexao.getErrorStream() : conexao.getInputStream();
+		
+		if(entrada != null) {
+			try(InputStream corpo = entrada) {
+				while(corpo.read(descarte) != -1) {
+					// descarta
+				}
+			}
+		}
+		
+		return status;
+	}
+	
+	String enviarLendoResposta(String metodo, String caminho, String token, String json) throws IOException {
+		
+		HttpURLConnection conexao = abrir(metodo, caminho, token, json);
+		int status = conexao.getResponseCode();
+		InputStream entrada = status >= 400 ? conexao.getErrorStream() : conexao.getInputStream();
+		
+		ByteArrayOutputStream resposta = new ByteArrayOutputStream();
+		if(entrada != null) {
+			try(InputStream corpo = entrada) {
+				int lidos;
+				while((lidos = corpo.read(descarte)) != -1) {
+					resposta.write(descarte, 0, lidos);
+				}
+			}
+		}
+		
+		String conteudo = new String(resposta.toByteArray(), StandardCharsets.UTF_8);
+		if(status >= 400) {
+			throw new IOException(metodo + " " + caminho + " retornou " + status + ": " + conteudo);
+		}
+		
+		return conteudo;
+	}
+	
+	
+	
+	private HttpURLConnection abrir(String metodo, String caminho, String token, String json) throws IOException {
+		
+		HttpURLConnection conexao = (HttpURLConnection) new URL(base + caminho).openConnection();
+		conexao.setRequestMethod(metodo);
+		conexao.setRequestProperty("Accept", "application/json");
+		
+		if(token != null) {
+			conexao.setRequestProperty("Authorization", "Bearer " + token);
+		}
+		
+		if(json != null) {
+			byte[] corpo = json.getBytes(StandardCharsets.UTF_8);
+			conexao.setDoOutput(true);
+			conexao.setRequestProperty("Content-Type", "application/json");
+			conexao.setFixedLengthStreamingMode(corpo.length);
+			try(OutputStream saida = conexao.getOutputStream()) {
+				saida.write(corpo);
+			}
+		}
+		
+		return conexao;
+	}
+	
+}
@@ -0,0 +1,84 @@
+package com.example.minhasfinancas.carga;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parametros da execucao no formato --chave=valor.
+ */
+final class Configuracao {
+
+	static final String MIX_PADRAO = "listar:40,saldo:20,criar:15,atualizar:10,status:10,autenticar:5";
+	
+	final int usuarios;
+	final int lancamentosPorUsuario;
+	final int threads;
+	final int aquecimentoSegundos;
+	final int duracaoSegundos;
+	final int taxa;
+	final Map<Operacao, Integer> mix;
+	final String saida;
+	final String url;
+	
+	private Configuracao(Map<String, String> valores) {
+		usuarios = inteiro(valores, "usuarios", 100);
+		lancamentosPorUsuario = inteiro(valores, "lancamentos", 200);
+		threads = inteiro(valores, "threads", 16);
+		aquecimentoSegundos = inteiro(valores, "aquecimento", 10);
+		duracaoSegundos = inteiro(valores, "duracao", 30);
+		taxa = inteiro(valores, "taxa", 0);
+		mix = mix(valores.getOrDefault("mix", MIX_PADRAO));
+		saida = valores.get("saida");
+		url = valores.get("url");
+	}
+	
+	
+	static Configuracao de(String[] args) {
+		
+		Map<String, String> valores = new HashMap<>();
+		
+		for(String arg : args) {
+			if(!arg.startsWith("--") || !arg.contains("=")) {
+				throw new IllegalArgumentException("Argumento invalido: " + arg + " (use --chave=valor)");
+			}
+			int separador = arg.indexOf('=');
+			valores.put(arg.substring(2, separador), arg.substring(separador + 1));
+		}
+		
+		return new Configuracao(valores);
+	}
+	
+	
+	private static int inteiro(Map<String, String> valores, String chave, int padrao) {
+		String valor = valores.get(chave);
+		return valor == null ? padrao : Integer.parseInt(valor);
+	}
+	
+	private static Map<Operacao, Integer> mix(String valor) {
+		
+		Map<Operacao, Integer> mix = new EnumMap<>(Operacao.class);
+		
+		for(String item : valor.split(",")) {
+			String[] partes = item.split(":");
+			int peso = Integer.parseInt(partes[1].trim());
+			if(peso > 0) {
+				mix.put(Operacao.de(partes[0]), peso);
+			}
+		}
+		
+		if(mix.isEmpty()) {
+			throw new IllegalArgumentException("O mix deve ter ao menos uma operacao com peso positivo");
+		}
+		
+		return mix;
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("alvo=%s usuarios=%d lancamentos/usuario=%d threads=%d aquecimento=%ds duracao=%ds taxa=%s mix=%s",
+				url == null ? "aplicacao embarcada" : url, usuarios, lancamentosPorUsuario, threads, aquecimentoSegundos, duracaoSegundos,
+				taxa > 0 ? taxa + " req/s" : "malha fechada", mix);
+	}
+	
+}
@@ -0,0 +1,161 @@
+package com.example.minhasfinancas.carga;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.minhasfinancas.model.entity.Usuario;
+import com.example.minhasfinancas.service.JwtService;
+import com.example.minhasfinancas.service.ResumoMensalService;
+import com.example.minhasfinancas.service.SaldoUsuarioService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Popula o banco com usuarios x lancamentos e guarda, para os workers, os ids
+ * gerados e um token valido por usuario. Com a aplicacao embarcada a massa vai
+ * direto via SQL; contra uma URL externa (--url) ela e criada pela propria API.
+ */
+final class Massa {
+
+	static final String SENHA = "senha";
+	static final int ANO_INICIAL = 2015;
+	static final int ANOS = 5;
+	
+	final long[] usuarios;
+	final String[] emails;
+	final String[] tokens;
+	final long[] lancamentos;
+	final int[] donosLancamentos;
+	
+	private Massa(long[] usuarios, String[] emails, String[] tokens, long[] lancamentos, int[] donosLancamentos) {
+		this.usuarios = usuarios;
+		this.emails = emails;
+		this.tokens = tokens;
+		this.lancamentos = lancamentos;
+		this.donosLancamentos = donosLancamentos;
+	}
+	
+	
+	static Massa popular(ConfigurableApplicationContext contexto, int quantidadeUsuarios, int lancamentosPorUsuario) {
+		
+		JdbcTemplate jdbc = contexto.getBean(JdbcTemplate.class);
+		jdbc.update("insert into financas.usuario (nome, email, senha) "
+				  + " select 'usuario' || x, 'usuario' || x || '@email.com', ? from system_range(1, ?)", SENHA, quantidadeUsuarios);
+		
+		Long primeiro = jdbc.queryForObject("select min(id) from financas.usuario", Long.class);
+		
+		jdbc.update("insert into financas.lancamento (id, descricao, mes, ano, valor, tipo, status, id_usuario, data_cadastro) "
+				  + " select next value for financas.lancamento_seq, 'lancamento ' || x, mod(x, 12) + 1, ? + mod(x, ?), "
+				  + "        mod(x * 7919, 100000) / 100.0 + 1, "
+				  + "        case when mod(x, 3) = 0 then 'RECEITA' else 'DESPESA' end, "
+				  + "        case mod(x, 10) when 0 then 'CANCELADO' when 1 then 'PENDENTE' else 'EFETIVADO' end, "
+				  + "        ? + mod(x, ?), current_date "
+				  + "   from system_range(1, ?)", ANO_INICIAL, ANOS, primeiro, quantidadeUsuarios, 
+				  (long) quantidadeUsuarios * lancamentosPorUsuario);
+		jdbc.execute("analyze");
+		
+		List<Usuario> cadastrados = jdbc.query("select id, nome, email from financas.usuario order by id",
+				(rs, i) -> Usuario.builder().id(rs.getLong(1)).nome(rs.getString(2)).email(rs.getString(3)).build());
+		
+		SaldoUsuarioService saldoService = contexto.getBean(SaldoUsuarioService.class);
+		ResumoMensalService resumoMensalService = contexto.getBean(ResumoMensalService.class);
+		JwtService jwtService = contexto.getBean(JwtService.class);
+		
+		Map<Long, Integer> indices = new HashMap<>();
+		long[] usuarios = new long[cadastrados.size()];
+		String[] emails = new String[cadastrados.size()];
+		String[] tokens = new String[cadastrados.size()];
+		
+		for(int i = 0; i < cadastrados.size(); i++) {
+			Usuario usuario = cadastrados.get(i);
+			usuarios[i] = usuario.getId();
+			indices.put(usuario.getId(), i);
+			emails[i] = usuario.getEmail();
+			tokens[i] = jwtService.gerarToken(usuario);
+			
+			saldoService.reconciliar(usuario.getId());
+			for(int ano = ANO_INICIAL; ano < ANO_INICIAL + ANOS; ano++) {
+				for(int mes = 1; mes <= 12; mes++) {
+					resumoMensalService.reconciliar(usuario.getId(), ano, mes);
+				}
+			}
+		}
+		
+		List<long[]> pares = jdbc.query("select id, id_usuario from financas.lancamento order by id",
+				(rs, i) -> new long[] { rs.getLong(1), rs.getLong(2) });
+		
+		long[] lancamentos = new long[pares.size()];
+		int[] donos = new int[pares.size()];
+		for(int i = 0; i < pares.size(); i++) {
+			lancamentos[i] = pares.get(i)[0];
+			donos[i] = indices.get(pares.get(i)[1]);
+		}
+		
+		return new Massa(usuarios, emails, tokens, lancamentos, donos);
+	}
+	
+	static Massa popular(String base, int quantidadeUsuarios, int lancamentosPorUsuario, int threads) throws Exception {
+		
+		ObjectMapper mapper = new ObjectMapper();
+		String execucao = Long.toString(System.currentTimeMillis(), 36);
+		
+		long[] usuarios = new long[quantidadeUsuarios];
+		String[] emails = new String[quantidadeUsuarios];
+		String[] tokens = new String[quantidadeUsuarios];
+		long[] lancamentos = new long[quantidadeUsuarios * lancamentosPorUsuario];
+		int[] donos = new int[lancamentos.length];
+		
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		List<Future<?>> tarefas = new ArrayList<>(quantidadeUsuarios);
+		
+		for(int i = 0; i < quantidadeUsuarios; i++) {
+			int indice = i;
+			tarefas.add(executor.submit(() -> {
+				
+				ClienteHttp cliente = new ClienteHttp(base);
+				emails[indice] = "carga-" + execucao + "-" + indice + "@email.com";
+				
+				usuarios[indice] = mapper.readTree(cliente.enviarLendoResposta("POST", "/api/usuarios", null, 
+						"{\"nome\":\"usuario" + indice + "\",\"email\":\"" + emails[indice] + "\",\"senha\":\"" + SENHA + "\"}"))
+						.get("id").asLong();
+				
+				tokens[indice] = mapper.readTree(cliente.enviarLendoResposta("POST", "/api/usuarios/autenticar", null, 
+						"{\"email\":\"" + emails[indice] + "\",\"senha\":\"" + SENHA + "\"}"))
+						.get("token").asText();
+				
+				for(int j = 0; j < lancamentosPorUsuario; j++) {
+					int x = indice * lancamentosPorUsuario + j;
+					String lancamento = "{\"descricao\":\"lancamento " + x + "\","
+							+ "\"mes\":" + (x % 12 + 1) + ","
+							+ "\"ano\":" + (ANO_INICIAL + x % ANOS) + ","
+							+ "\"valor\":" + ((x * 7919L) % 100000 / 100.0 + 1) + ","
+							+ "\"usuario\":" + usuarios[indice] + ","
+							+ "\"tipo\":\"" + (x % 3 == 0 ? "RECEITA" : "DESPESA") + "\"}";
+					
+					lancamentos[x] = mapper.readTree(cliente.enviarLendoResposta("POST", "/api/lancamentos", tokens[indice], lancamento))
+							.get("id").asLong();
+					donos[x] = indice;
+				}
+				return null;
+			}));
+		}
+		
+		try {
+			for(Future<?> tarefa : tarefas) {
+				tarefa.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		
+		return new Massa(usuarios, emails, tokens, lancamentos, donos);
+	}
+	
+}
@@ -0,0 +1,31 @@
+package com.example.minhasfinancas.carga;
+
+enum Operacao {
+
+	LISTAR("listar"),
+	CRIAR("criar"),
+	ATUALIZAR("atualizar"),
+	STATUS("status"),
+	SALDO("saldo"),
+	AUTENTICAR("autenticar");
+	
+	private final String chave;
+	
+	Operacao(String chave) {
+		this.chave = chave;
+	}
+	
+	String getChave() {
+		return chave;
+	}
+	
+	static Operacao de(String chave) {
+		for(Operacao operacao : values()) {
+			if(operacao.chave.equalsIgnoreCase(chave.trim())) {
+				return operacao;
+			}
+		}
+		throw new IllegalArgumentException("Operacao desconhecida: " + chave);
+	}
+	
+}
@@ -0,0 +1,13 @@
+package com.example.minhasfinancas.reativo;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class MinhasfinancasReativoApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(MinhasfinancasReativoApplication.class, args);
+	}
+
+}
@@ -0,0 +1,88 @@
+package com.example.minhasfinancas.reativo.api.filter;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.example.minhasfinancas.exception.ErroAutenticacao;
+import com.example.minhasfinancas.service.JwtService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class JwtTokenWebFilter implements WebFilter, Ordered {
+
+	public static final String ATRIBUTO_ID_USUARIO = "minhasfinancas.idUsuarioAutenticado";
+	
+	private static final String PREFIXO = "Bearer ";
+	
+	private final JwtService jwtService;
+	
+	
+	@Override
+	public int getOrder() {
+		return Ordered.HIGHEST_PRECEDENCE + 10;
+	}
+	
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+		
+		ServerHttpRequest request = exchange.getRequest();
+		
+		if(naoFiltrar(request)) {
+			return chain.filter(exchange);
+		}
+		
+		String autorizacao = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+		
+		if(autorizacao == null || !autorizacao.startsWith(PREFIXO)) {
+			return negar(exchange.getResponse(), "Token de autenticação não informado");
+		}
+		
+		try {
+			Long idUsuario = jwtService.obterIdUsuario(autorizacao.substring(PREFIXO.length()).trim());
+			exchange.getAttributes().put(ATRIBUTO_ID_USUARIO, idUsuario);
+			
+		}catch(ErroAutenticacao e) {
+			return negar(exchange.getResponse(), e.getMessage());
+		}
+		
+		return chain.filter(exchange);
+	}
+	
+	
+	
+	private boolean naoFiltrar(ServerHttpRequest request) {
+		
+		String caminho = request.getPath().pathWithinApplication().value();
+		
+		if(HttpMethod.OPTIONS == request.getMethod() || !caminho.startsWith("/api/")) {
+			return true;
+		}
+		
+		return HttpMethod.POST == request.getMethod()
+				&& (caminho.equals("/api/usuarios") || caminho.equals("/api/usuarios/autenticar"));
+	}
+	
+	private Mono<Void> negar(ServerHttpResponse response, String mensagem) {
+		
+		response.setStatusCode(HttpStatus.UNAUTHORIZED);
+		response.getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+		response.getHeaders().setContentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8));
+		
+		DataBuffer corpo = response.bufferFactory().wrap(mensagem.getBytes(StandardCharsets.UTF_8));
+		return response.writeWith(Mono.just(corpo));
+	}
+	
+}
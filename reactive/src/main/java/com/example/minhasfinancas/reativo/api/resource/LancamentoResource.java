@@ -0,0 +1,238 @@
+package com.example.minhasfinancas.reativo.api.resource;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.example.minhasfinancas.api.dto.AtualizaStatusDTO;
+import com.example.minhasfinancas.api.dto.ConflitoDTO;
+import com.example.minhasfinancas.api.dto.LancamentoDTO;
+import com.example.minhasfinancas.exception.AcessoNegadoException;
+import com.example.minhasfinancas.exception.ConflitoAtualizacaoException;
+import com.example.minhasfinancas.exception.RegistroNaoEncontradoException;
+import com.example.minhasfinancas.exception.RegraNegocioException;
+import com.example.minhasfinancas.model.enums.StatusLancamento;
+import com.example.minhasfinancas.model.enums.TipoLancamento;
+import com.example.minhasfinancas.model.projection.LancamentoResumo;
+import com.example.minhasfinancas.reativo.api.filter.JwtTokenWebFilter;
+import com.example.minhasfinancas.reativo.model.entity.Lancamento;
+import com.example.minhasfinancas.reativo.service.LancamentoService;
+import com.example.minhasfinancas.reativo.service.UsuarioService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/lancamentos")
+@RequiredArgsConstructor
+public class LancamentoResource {
+	
+	private static final String USUARIO_NAO_ENCONTRADO = "Usuario não encontrado para o ID Informado";
+	
+	private  final LancamentoService service;
+	private  final UsuarioService usuarioService;
+	
+	
+	
+	
+	@GetMapping
+	public Mono<ResponseEntity> buscar( 
+			@RequestParam(value = "descricao" , required = false) String descricao,
+			@RequestParam(value = "mes" , required = false) Integer mes,
+			@RequestParam(value = "ano" , required = false) Integer ano,
+			@RequestParam("usuario") Long idUsuario,
+			@RequestParam(value = "cursor" , required = false) String cursor,
+			@RequestParam(value = "tamanho" , required = false) Integer tamanho,
+			@RequestParam(value = "todos" , defaultValue = "false") boolean todos,
+			@RequestAttribute(value = JwtTokenWebFilter.ATRIBUTO_ID_USUARIO, required = false) Long idAutenticado,
+			ServerWebExchange exchange
+			) {
+		
+		if(AcessoUsuario.negado(idAutenticado, idUsuario)) {
+			return AcessoUsuario.proibido();
+		}
+		
+		Lancamento lancamentoFiltro = new Lancamento();
+		lancamentoFiltro.setDescricao(descricao);
+		lancamentoFiltro.setMes(mes);
+		lancamentoFiltro.setAno(ano);
+		lancamentoFiltro.setIdUsuario(idUsuario);
+		
+		return usuarioService.obterporId(idUsuario).hasElement().flatMap(existe -> {
+			
+			if(!existe) {
+				return Mono.just(ResponseEntity.badRequest().body("Não foi possivel realizar a consulta. Usuario não encontrado para ID Informado"));
+			}
+			
+			return service.obterVersaoDados(idUsuario).flatMap(versao -> {
+				
+				if(exchange.checkNotModified(idUsuario + "-" + versao)) {
+					return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+				}
+				
+				Mono<?> lancamentos = todos 
+						? service.buscar(lancamentoFiltro) 
+						: service.buscarPagina(lancamentoFiltro, cursor, tamanho);
+				
+				return lancamentos.<ResponseEntity>map(ResponseEntity::ok)
+						.onErrorResume(RegraNegocioException.class, e -> Mono.just(ResponseEntity.badRequest().body(e.getMessage())));
+			});
+		});
+	}
+	
+	
+	
+	
+	@PostMapping
+	public Mono<ResponseEntity> salvar(@RequestBody  LancamentoDTO dto,
+			@RequestAttribute(value = JwtTokenWebFilter.ATRIBUTO_ID_USUARIO, required = false) Long idAutenticado) {
+		
+		if(AcessoUsuario.negado(idAutenticado, dto.getUsuario())) {
+			return AcessoUsuario.proibido();
+		}
+		
+		return Mono.fromCallable(() -> converter(dto))
+				.flatMap(service::salvar)
+				.<ResponseEntity>map(entidade -> new ResponseEntity(resumo(entidade), HttpStatus.CREATED))
+				.onErrorResume(RegraNegocioException.class, e -> Mono.just(ResponseEntity.badRequest().body(e.getMessage())))
+				.onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().body("Tipo ou Status de lancamento invalido")))
+				.onErrorResume(ViolacaoIntegridade::usuarioInexistente, e -> Mono.just(ResponseEntity.badRequest().body(USUARIO_NAO_ENCONTRADO)));
+	}
+	
+	@PutMapping("{id}")
+	public Mono<ResponseEntity> atualizar(@PathVariable("id") Long id, @RequestBody LancamentoDTO dto,
+			@RequestAttribute(value = JwtTokenWebFilter.ATRIBUTO_ID_USUARIO, required = false) Long idAutenticado) {
+		
+		if(AcessoUsuario.negado(idAutenticado, dto.getUsuario())) {
+			return AcessoUsuario.proibido();
+		}
+		
+		return Mono.fromCallable(() -> {
+					Lancamento lancamento = converter(dto);
+					lancamento.setId(id);
+					lancamento.setVersao(dto.getVersao());
+					return lancamento;
+				})
+				.flatMap(lancamento -> service.atualizar(lancamento, idAutenticado))
+				.<ResponseEntity>map(lancamento -> ResponseEntity.ok(resumo(lancamento)))
+				.onErrorResume(e -> Mono.just(erro(e)));
+	}
+	
+	@PutMapping("{id}/atualiza-status")
+	public Mono<ResponseEntity> atualizarStatus(@PathVariable("id") Long id, @RequestBody AtualizaStatusDTO dto,
+			@RequestAttribute(value = JwtTokenWebFilter.ATRIBUTO_ID_USUARIO, required = false) Long idAutenticado) {
+		
+		if(dto.getStatus() == null) {
+			return Mono.just(ResponseEntity.badRequest().body("Não foi Possivel atualizar o status do lancamento, envie um status valido"));
+		}
+		
+		return Mono.fromCallable(() -> StatusLancamento.valueOf(dto.getStatus()))
+				.flatMap(status -> service.atualizarStatus(id, status, idAutenticado))
+				.<ResponseEntity>map(ResponseEntity::ok)
+				.onErrorResume(IllegalArgumentException.class, 
+						e -> Mono.just(ResponseEntity.badRequest().body("Não foi Possivel atualizar o status do lancamento, envie um status valido")))
+				.onErrorResume(e -> Mono.just(erro(e)));
+	}
+	
+	@DeleteMapping("{id}")
+	public Mono<ResponseEntity> deletar(@PathVariable("id") Long id,
+			@RequestAttribute(value = JwtTokenWebFilter.ATRIBUTO_ID_USUARIO, required = false) Long idAutenticado) {
+		
+		return pertenceAOutroUsuario(id, idAutenticado).flatMap(outroUsuario -> outroUsuario 
+				? AcessoUsuario.proibido()
+				: service.deletar(id)
+						.thenReturn((ResponseEntity) new ResponseEntity(HttpStatus.NO_CONTENT))
+						.onErrorResume(RegistroNaoEncontradoException.class, 
+								e -> Mono.just(new ResponseEntity("Lancamento não Encontrado na Base de Dados.", HttpStatus.BAD_REQUEST)))
+						.onErrorResume(ConflitoAtualizacaoException.class, 
+								e -> Mono.just(new ResponseEntity("O lancamento foi alterado por outra operação, consulte-o novamente", HttpStatus.CONFLICT))));
+	}
+	
+	
+	
+	
+	private Mono<Boolean> pertenceAOutroUsuario(Long id, Long idAutenticado) {
+		
+		if(idAutenticado == null) {
+			return Mono.just(false);
+		}
+		
+		return service.obterPorId(id)
+				.map(lancamento -> AcessoUsuario.negado(idAutenticado, lancamento.getIdUsuario()))
+				.defaultIfEmpty(false);
+	}
+	
+	private ResponseEntity erro(Throwable e) {
+		
+		if(e instanceof AcessoNegadoException) {
+			return new ResponseEntity(AcessoUsuario.ACESSO_NEGADO, HttpStatus.FORBIDDEN);
+		}
+		if(e instanceof RegistroNaoEncontradoException) {
+			return new ResponseEntity(e.getMessage(), HttpStatus.NOT_FOUND);
+		}
+		if(e instanceof ConflitoAtualizacaoException) {
+			return new ResponseEntity(new ConflitoDTO(e.getMessage(), ((ConflitoAtualizacaoException) e).getEstadoAtual()), HttpStatus.CONFLICT);
+		}
+		if(e instanceof RegraNegocioException) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+		if(e instanceof IllegalArgumentException) {
+			return ResponseEntity.badRequest().body("Tipo ou Status de lancamento invalido");
+		}
+		if(ViolacaoIntegridade.usuarioInexistente(e)) {
+			return ResponseEntity.badRequest().body(USUARIO_NAO_ENCONTRADO);
+		}
+		throw Exceptions.propagate(e);
+	}
+	
+	private LancamentoResumo resumo(Lancamento lancamento) {
+		return new LancamentoResumo(
+				lancamento.getId(), 
+				lancamento.getDescricao(), 
+				lancamento.getMes(), 
+				lancamento.getAno(), 
+				lancamento.getValor(), 
+				lancamento.getTipo(), 
+				lancamento.getStatus(), 
+				lancamento.getIdUsuario(),
+				lancamento.getVersao());
+	}
+	
+	private Lancamento converter(LancamentoDTO dto) {
+		Lancamento lancamento = new Lancamento();
+		lancamento.setId(dto.getId());
+		lancamento.setDescricao(dto.getDescricao());
+		lancamento.setAno(dto.getAno());
+		lancamento.setMes(dto.getMes());
+		lancamento.setValor(dto.getValor());
+		
+		if(dto.getUsuario() == null) {
+			throw new RegraNegocioException(USUARIO_NAO_ENCONTRADO);
+		}
+		
+		lancamento.setIdUsuario(dto.getUsuario());
+		
+		if(dto.getTipo()!= null) {
+			lancamento.setTipo(TipoLancamento.valueOf(dto.getTipo()));
+		}
+		
+		if(dto.getStatus()!=null) {
+			lancamento.setStatus(StatusLancamento.valueOf(dto.getStatus()));
+		}
+		
+		return lancamento;
+	}
+	
+
+}
@@ -0,0 +1,110 @@
+package com.example.minhasfinancas.reativo.api.resource;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.example.minhasfinancas.api.dto.TokenDTO;
+import com.example.minhasfinancas.api.dto.UsuarioDTO;
+import com.example.minhasfinancas.exception.ErroAutenticacao;
+import com.example.minhasfinancas.exception.RegraNegocioException;
+import com.example.minhasfinancas.reativo.api.filter.JwtTokenWebFilter;
+import com.example.minhasfinancas.reativo.model.entity.Usuario;
+import com.example.minhasfinancas.reativo.service.LancamentoService;
+import com.example.minhasfinancas.reativo.service.UsuarioService;
+import com.example.minhasfinancas.service.JwtService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/usuarios")
+@RequiredArgsConstructor
+public class UsuarioResource {
+
+	
+	private final UsuarioService service;
+	private final LancamentoService lancamentoService;
+	private final JwtService jwtService;
+	
+
+	
+	
+	@PostMapping("/autenticar")
+	public Mono<ResponseEntity> autenticar(@RequestBody UsuarioDTO dto) {
+		
+		return service.autenticar(dto.getEmail(), dto.getSenha())
+				.<ResponseEntity>map(usuario -> ResponseEntity.ok(new TokenDTO(usuario.getId(), usuario.getNome(), usuario.getEmail(), gerarToken(usuario))))
+				.onErrorResume(ErroAutenticacao.class, e -> Mono.just(ResponseEntity.badRequest().body(e.getMessage())));
+	}
+	
+	@PostMapping
+	public Mono<ResponseEntity> salvar(@RequestBody UsuarioDTO dto) {
+		
+		Usuario usuario = Usuario.builder()
+				          .nome(dto.getNome())
+				          .email(dto.getEmail())
+				          .senha(dto.getSenha())
+				          .build();
+		
+		return service.salvarUsuario(usuario)
+				.<ResponseEntity>map(usuarioSalvo -> new ResponseEntity(usuarioSalvo, HttpStatus.CREATED))
+				.onErrorResume(RegraNegocioException.class, e -> Mono.just(ResponseEntity.badRequest().body(e.getMessage())));
+	}
+	
+	@GetMapping("{id}/saldo")
+	public Mono<ResponseEntity> obterSaldo(@PathVariable("id") Long id, ServerWebExchange exchange,
+			@RequestAttribute(value = JwtTokenWebFilter.ATRIBUTO_ID_USUARIO, required = false) Long idAutenticado) {
+		
+		if(AcessoUsuario.negado(idAutenticado, id)) {
+			return AcessoUsuario.proibido();
+		}
+		
+		return service.obterporId(id)
+				.flatMap(usuario -> lancamentoService.obterVersaoDados(id))
+				.flatMap(versao -> {
+					
+					if(exchange.checkNotModified(id + "-" + versao)) {
+						return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+					}
+					
+					return lancamentoService.obterSaldoPorUsuario(id).<ResponseEntity>map(ResponseEntity::ok);
+				})
+				.defaultIfEmpty(new ResponseEntity(HttpStatus.NOT_FOUND));
+	}
+	
+	@GetMapping("{id}/resumo")
+	public Mono<ResponseEntity> obterResumoMensal(@PathVariable("id") Long id, @RequestParam("ano") Integer ano,
+			@RequestAttribute(value = JwtTokenWebFilter.ATRIBUTO_ID_USUARIO, required = false) Long idAutenticado) {
+		
+		if(AcessoUsuario.negado(idAutenticado, id)) {
+			return AcessoUsuario.proibido();
+		}
+		
+		return service.obterporId(id)
+				.flatMap(usuario -> lancamentoService.obterResumoMensal(id, ano).collectList())
+				.<ResponseEntity>map(ResponseEntity::ok)
+				.defaultIfEmpty(new ResponseEntity(HttpStatus.NOT_FOUND));
+	}
+	
+	
+	
+	
+	private String gerarToken(Usuario usuario) {
+		
+		return jwtService.gerarToken(com.example.minhasfinancas.model.entity.Usuario.builder()
+				.id(usuario.getId())
+				.nome(usuario.getNome())
+				.email(usuario.getEmail())
+				.build());
+	}
+	
+}
@@ -0,0 +1,43 @@
+package com.example.minhasfinancas.reativo.api.resource;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import io.r2dbc.spi.R2dbcException;
+
+/**
+ * Reconhece a violacao de chave estrangeira na coluna id_usuario, o unico erro de
+ * integridade que corresponde a um usuario inexistente. As chaves estrangeiras nao tem
+ * nome fixo entre os bancos, entao a coluna e procurada na mensagem do driver.
+ */
+final class ViolacaoIntegridade {
+	
+	/** 23503 no PostgreSQL (padrao SQL), 23506 no H2 quando falta o registro pai. */
+	private static final List<String> VIOLACOES_CHAVE_ESTRANGEIRA = Arrays.asList("23503", "23506");
+	private static final String COLUNA_USUARIO = "id_usuario";
+	
+	private ViolacaoIntegridade() {
+	}
+	
+	
+	static boolean usuarioInexistente(Throwable e) {
+	
+		if(!(e instanceof DataIntegrityViolationException)) {
+			return false;
+		}
+	
+		for(Throwable causa = e; causa != null; causa = causa.getCause()) {
+			if(causa instanceof R2dbcException) {
+				R2dbcException erro = (R2dbcException) causa;
+				return VIOLACOES_CHAVE_ESTRANGEIRA.contains(erro.getSqlState())
+						&& erro.getMessage() != null
+						&& erro.getMessage().toLowerCase().contains(COLUNA_USUARIO);
+			}
+		}
+		
+		return false;
+	}
+	
+}
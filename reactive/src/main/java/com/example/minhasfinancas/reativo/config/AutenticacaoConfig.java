@@ -0,0 +1,23 @@
+package com.example.minhasfinancas.reativo.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import com.example.minhasfinancas.reativo.api.filter.JwtTokenWebFilter;
+import com.example.minhasfinancas.service.JwtService;
+import com.example.minhasfinancas.service.impl.JwtServiceImpl;
+
+@Configuration
+@Import(JwtServiceImpl.class)
+public class AutenticacaoConfig {
+
+	@Bean
+	@ConditionalOnProperty(name = "minhasfinancas.jwt.habilitado", havingValue = "true", matchIfMissing = true)
+	public JwtTokenWebFilter jwtTokenWebFilter(JwtService jwtService) {
+		
+		return new JwtTokenWebFilter(jwtService);
+	}
+	
+}
@@ -0,0 +1,60 @@
+package com.example.minhasfinancas.reativo.config;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.r2dbc.connectionfactory.init.ConnectionFactoryInitializer;
+import org.springframework.data.r2dbc.connectionfactory.init.ResourceDatabasePopulator;
+
+import io.r2dbc.spi.ConnectionFactory;
+import reactor.core.publisher.Mono;
+
+/**
+ * O Flyway so fala JDBC, entao em um banco vazio (H2 dos testes e da comparacao de
+ * carga) o schema e criado executando, em ordem, as mesmas migracoes comuns da
+ * aplicacao servlet, uma unica vez por banco. Contra o PostgreSQL o schema continua sendo do Flyway dela.
+ */
+@Configuration
+@ConditionalOnProperty(name = "minhasfinancas.reativo.esquema.inicializar", havingValue = "true")
+public class EsquemaConfig {
+
+	private static final String TABELA_LANCAMENTO = "select count(*) from information_schema.tables "
+			+ " where lower(table_schema) = 'financas' and lower(table_name) = 'lancamento'";
+	
+	private static final Pattern VERSAO = Pattern.compile("^V(\\d+)__");
+	
+	@Bean
+	public ConnectionFactoryInitializer inicializadorEsquema(ConnectionFactory connectionFactory) throws IOException {
+		
+		Resource[] migracoes = new PathMatchingResourcePatternResolver().getResources("classpath*:db/migration/common/V*.sql");
+		Arrays.sort(migracoes, Comparator.comparingInt(EsquemaConfig::versao));
+		
+		ResourceDatabasePopulator populador = new ResourceDatabasePopulator(migracoes);
+		
+		ConnectionFactoryInitializer inicializador = new ConnectionFactoryInitializer();
+		inicializador.setConnectionFactory(connectionFactory);
+		inicializador.setDatabasePopulator(conexao -> Mono.from(conexao.createStatement(TABELA_LANCAMENTO).execute())
+				.flatMap(resultado -> Mono.from(resultado.map((linha, metadados) -> linha.get(0, Number.class).intValue())))
+				.flatMap(tabelas -> tabelas > 0 ? Mono.<Void>empty() : populador.populate(conexao)));
+		return inicializador;
+	}
+	
+	
+	private static int versao(Resource migracao) {
+		
+		Matcher matcher = VERSAO.matcher(migracao.getFilename());
+		if(!matcher.find()) {
+			throw new IllegalStateException("Migracao sem versao: " + migracao.getFilename());
+		}
+		return Integer.parseInt(matcher.group(1));
+	}
+	
+}
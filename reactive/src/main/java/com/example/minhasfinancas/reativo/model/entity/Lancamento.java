@@ -0,0 +1,72 @@
+package com.example.minhasfinancas.reativo.model.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import com.example.minhasfinancas.model.enums.StatusLancamento;
+import com.example.minhasfinancas.model.enums.TipoLancamento;
+import com.example.minhasfinancas.util.NormalizadorTexto;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Mesma linha de financas.lancamento mapeada pela aplicacao servlet, com o usuario
+ * referenciado apenas pelo id. O id vem da sequence lancamento_seq e a versao e
+ * controlada pelos updates condicionais do repositorio, sem @Version.
+ */
+@Table("financas.lancamento")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Lancamento {
+	
+	@Id
+	@Column("id")
+	private Long id;
+	
+	@Column("descricao")
+	private String descricao;
+	
+	@Column("mes")
+	private Integer mes;
+	
+	@Column("ano")
+	private Integer ano;
+	
+	@Column("id_usuario")
+	private Long idUsuario;
+	
+	@Column("valor")
+	private BigDecimal valor;
+	
+	@Column("data_cadastro")
+	private LocalDate dataCadastro;
+	
+	@Column("tipo")
+	private TipoLancamento tipo;
+	
+	@Column("status")
+	private StatusLancamento status;
+	
+	@Column("versao")
+	private Long versao;
+	
+	@JsonIgnore
+	@Column("descricao_busca")
+	private String descricaoBusca;
+	
+	
+	public void normalizarDescricao() {
+		this.descricaoBusca = NormalizadorTexto.normalizar(descricao);
+	}
+	
+}
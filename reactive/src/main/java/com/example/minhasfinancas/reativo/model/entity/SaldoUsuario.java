@@ -0,0 +1,37 @@
+package com.example.minhasfinancas.reativo.model.entity;
+
+import java.math.BigDecimal;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Table("financas.saldo_usuario")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaldoUsuario {
+
+	@Id
+	@Column("id_usuario")
+	private Long idUsuario;
+	
+	@Column("receitas")
+	private BigDecimal receitas;
+	
+	@Column("despesas")
+	private BigDecimal despesas;
+	
+	@Column("saldo")
+	private BigDecimal saldo;
+	
+	@Column("versao")
+	private Long versao;
+	
+}
@@ -0,0 +1,35 @@
+package com.example.minhasfinancas.reativo.model.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Table("financas.usuario")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Usuario {
+	
+	@Id
+	@Column("id")
+	private Long id;
+
+	@Column("nome")
+	private String nome;
+	
+	@Column("email")
+	private String email;
+	
+	@Column("senha")
+	@JsonIgnore
+	private String senha;
+
+}
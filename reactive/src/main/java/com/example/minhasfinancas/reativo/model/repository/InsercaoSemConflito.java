@@ -0,0 +1,51 @@
+package com.example.minhasfinancas.reativo.model.repository;
+
+import org.springframework.data.r2dbc.core.DatabaseClient;
+import org.springframework.data.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+
+import io.r2dbc.spi.R2dbcException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Insert que tolera a chave ja existir: roda na conexao da transacao atual protegido por
+ * um savepoint e, se outra transacao gravou a mesma chave primeiro, desfaz so o insert e
+ * devolve false. Sem o savepoint o PostgreSQL abortaria a transacao inteira.
+ *
+ * O savepoint nao e liberado (o H2 nao tem RELEASE SAVEPOINT); ele some no fim da transacao.
+ */
+final class InsercaoSemConflito {
+
+	private static final String VIOLACAO_CHAVE_UNICA = "23505";
+	private static final String SAVEPOINT = "insercao_sem_conflito";
+	
+	private InsercaoSemConflito() {
+	}
+	
+	
+	static Mono<Boolean> inserir(DatabaseClient databaseClient, GenericExecuteSpec insercao) {
+		
+		return executar(databaseClient, "savepoint " + SAVEPOINT)
+				.then(insercao.fetch().rowsUpdated())
+				.thenReturn(true)
+				.onErrorResume(InsercaoSemConflito::chaveDuplicada,
+						e -> executar(databaseClient, "rollback to savepoint " + SAVEPOINT).thenReturn(false));
+	}
+	
+	
+	private static Mono<Void> executar(DatabaseClient databaseClient, String sql) {
+		
+		return databaseClient.execute(sql).then();
+	}
+	
+	private static boolean chaveDuplicada(Throwable e) {
+		
+		for(Throwable causa = e; causa != null; causa = causa.getCause()) {
+			if(causa instanceof R2dbcException) {
+				return VIOLACAO_CHAVE_UNICA.equals(((R2dbcException) causa).getSqlState());
+			}
+		}
+		
+		return false;
+	}
+	
+}
@@ -0,0 +1,31 @@
+package com.example.minhasfinancas.reativo.model.repository;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+import com.example.minhasfinancas.model.enums.StatusLancamento;
+import com.example.minhasfinancas.reativo.model.entity.Lancamento;
+
+import reactor.core.publisher.Mono;
+
+public interface LancamentoRepository extends ReactiveCrudRepository<Lancamento, Long>, LancamentoRepositoryCustom {
+	
+	
+	@Modifying
+	@Query(value = "update financas.lancamento set status = :status, versao = versao + 1 "
+			     + " where id = :id and versao = :versao")
+	Mono<Integer> atualizarStatus(
+			@Param("id") Long id,
+			@Param("versao") Long versao,
+			@Param("status") StatusLancamento status);
+	
+	
+	@Modifying
+	@Query(value = "delete from financas.lancamento where id = :id and versao = :versao")
+	Mono<Integer> remover(
+			@Param("id") Long id,
+			@Param("versao") Long versao);
+	
+}
@@ -0,0 +1,20 @@
+package com.example.minhasfinancas.reativo.model.repository;
+
+import com.example.minhasfinancas.model.paginacao.CursorLancamento;
+import com.example.minhasfinancas.model.projection.LancamentoResumo;
+import com.example.minhasfinancas.reativo.model.entity.Lancamento;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface LancamentoRepositoryCustom {
+
+	Flux<LancamentoResumo> buscar(Lancamento filtro, CursorLancamento apos, int limite);
+	
+	Mono<LancamentoResumo> obterResumoPorId(Long id);
+	
+	Mono<Lancamento> inserir(Lancamento lancamento);
+	
+	Mono<Integer> atualizarDados(Lancamento lancamento);
+	
+}
@@ -0,0 +1,152 @@
+package com.example.minhasfinancas.reativo.model.repository;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.data.r2dbc.core.DatabaseClient;
+import org.springframework.data.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+
+import com.example.minhasfinancas.model.enums.StatusLancamento;
+import com.example.minhasfinancas.model.enums.TipoLancamento;
+import com.example.minhasfinancas.model.paginacao.CursorLancamento;
+import com.example.minhasfinancas.model.projection.LancamentoResumo;
+import com.example.minhasfinancas.reativo.model.entity.Lancamento;
+
+import io.r2dbc.spi.Row;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class LancamentoRepositoryImpl implements LancamentoRepositoryCustom {
+
+	private static final String COLUNAS_RESUMO = "select id, descricao, mes, ano, valor, tipo, status, id_usuario, versao from financas.lancamento ";
+	
+	private final DatabaseClient databaseClient;
+	
+	public LancamentoRepositoryImpl(DatabaseClient databaseClient) {
+		this.databaseClient = databaseClient;
+	}
+	
+	
+	
+	@Override
+	public Flux<LancamentoResumo> buscar(Lancamento filtro, CursorLancamento apos, int limite) {
+		
+		StringBuilder sql = new StringBuilder(COLUNAS_RESUMO).append(" where 1 = 1");
+		Map<String, Object> parametros = new LinkedHashMap<>();
+		
+		if(filtro.getIdUsuario() != null) {
+			sql.append(" and id_usuario = :idUsuario");
+			parametros.put("idUsuario", filtro.getIdUsuario());
+		}
+		
+		if(filtro.getDescricao() != null && !filtro.getDescricao().trim().isEmpty()) {
+			sql.append(" and lower(descricao) like :descricao escape '!'");
+			parametros.put("descricao", "%" + filtro.getDescricao().toLowerCase().replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%");
+		}
+		
+		if(filtro.getAno() != null) {
+			sql.append(" and ano = :ano");
+			parametros.put("ano", filtro.getAno());
+		}
+		
+		if(filtro.getMes() != null) {
+			sql.append(" and mes = :mes");
+			parametros.put("mes", filtro.getMes());
+		}
+		
+		if(filtro.getTipo() != null) {
+			sql.append(" and tipo = :tipo");
+			parametros.put("tipo", filtro.getTipo().name());
+		}
+		
+		if(filtro.getStatus() != null) {
+			sql.append(" and status = :status");
+			parametros.put("status", filtro.getStatus().name());
+		}
+		
+		if(apos != null) {
+			sql.append(" and ano >= :cursorAno and (ano > :cursorAno or (ano = :cursorAno and mes > :cursorMes) or (ano = :cursorAno and mes = :cursorMes and id > :cursorId))");
+			parametros.put("cursorAno", apos.getAno());
+			parametros.put("cursorMes", apos.getMes());
+			parametros.put("cursorId", apos.getId());
+		}
+		
+		sql.append(" order by ano, mes, id limit :limite");
+		parametros.put("limite", limite);
+		
+		GenericExecuteSpec consulta = databaseClient.execute(sql.toString());
+		for(Map.Entry<String, Object> parametro : parametros.entrySet()) {
+			consulta = consulta.bind(parametro.getKey(), parametro.getValue());
+		}
+		
+		return consulta.map((row, metadados) -> resumo(row)).all();
+	}
+	
+	@Override
+	public Mono<LancamentoResumo> obterResumoPorId(Long id) {
+		
+		return databaseClient.execute(COLUNAS_RESUMO + " where id = :id")
+				.bind("id", id)
+				.map((row, metadados) -> resumo(row))
+				.one();
+	}
+	
+	@Override
+	public Mono<Lancamento> inserir(Lancamento lancamento) {
+		
+		return databaseClient.execute("select nextval('financas.lancamento_seq')")
+				.map((row, metadados) -> row.get(0, Long.class))
+				.one()
+				.flatMap(id -> {
+					lancamento.setId(id);
+					return databaseClient.insert()
+							.into(Lancamento.class)
+							.using(lancamento)
+							.then()
+							.thenReturn(lancamento);
+				});
+	}
+	
+	@Override
+	public Mono<Integer> atualizarDados(Lancamento lancamento) {
+		
+		return databaseClient.execute("update financas.lancamento set descricao = :descricao, descricao_busca = :descricaoBusca, "
+				+ " mes = :mes, ano = :ano, valor = :valor, tipo = :tipo, status = :status, id_usuario = :idUsuario, "
+				+ " versao = versao + 1 "
+				+ " where id = :id and versao = :versao")
+				.bind("descricao", lancamento.getDescricao())
+				.bind("descricaoBusca", lancamento.getDescricaoBusca())
+				.bind("mes", lancamento.getMes())
+				.bind("ano", lancamento.getAno())
+				.bind("valor", lancamento.getValor())
+				.bind("tipo", lancamento.getTipo().name())
+				.bind("status", lancamento.getStatus().name())
+				.bind("idUsuario", lancamento.getIdUsuario())
+				.bind("id", lancamento.getId())
+				.bind("versao", lancamento.getVersao())
+				.fetch()
+				.rowsUpdated();
+	}
+	
+	
+	
+	
+	private static LancamentoResumo resumo(Row row) {
+		
+		String tipo = row.get(5, String.class);
+		String status = row.get(6, String.class);
+		
+		return new LancamentoResumo(
+				row.get(0, Long.class),
+				row.get(1, String.class),
+				row.get(2, Integer.class),
+				row.get(3, Integer.class),
+				row.get(4, BigDecimal.class),
+				tipo == null ? null : TipoLancamento.valueOf(tipo),
+				status == null ? null : StatusLancamento.valueOf(status),
+				row.get(7, Long.class),
+				row.get(8, Long.class));
+	}
+	
+}
@@ -0,0 +1,77 @@
+package com.example.minhasfinancas.reativo.model.repository;
+
+import java.math.BigDecimal;
+
+import org.springframework.data.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.example.minhasfinancas.model.entity.ResumoMensal;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * O Spring Data R2DBC nao mapeia chaves compostas, entao o resumo mensal
+ * (id_usuario, ano, mes) e acessado direto pelo DatabaseClient.
+ */
+@Repository
+public class ResumoMensalRepository {
+
+	private final DatabaseClient databaseClient;
+	
+	public ResumoMensalRepository(DatabaseClient databaseClient) {
+		this.databaseClient = databaseClient;
+	}
+	
+	
+	
+	public Mono<Integer> somar(Long idUsuario, Integer ano, Integer mes, BigDecimal receitas, BigDecimal despesas) {
+		
+		return databaseClient.execute("update financas.lancamento_resumo_mensal set receitas = receitas + :receitas, "
+				+ " despesas = despesas + :despesas "
+				+ " where id_usuario = :idUsuario and ano = :ano and mes = :mes")
+				.bind("receitas", receitas)
+				.bind("despesas", despesas)
+				.bind("idUsuario", idUsuario)
+				.bind("ano", ano)
+				.bind("mes", mes)
+				.fetch()
+				.rowsUpdated();
+	}
+	
+	/**
+	 * Cria o resumo do mes a partir dos lancamentos contabilizados. Devolve false quando
+	 * outra transacao ja criou o resumo.
+	 */
+	public Mono<Boolean> criarAPartirDosLancamentos(Long idUsuario, Integer ano, Integer mes) {
+		
+		return InsercaoSemConflito.inserir(databaseClient, databaseClient.execute("insert into financas.lancamento_resumo_mensal (id_usuario, ano, mes, receitas, despesas) "
+				+ " select :idUsuario, :ano, :mes, "
+				+ "        coalesce(sum(case when tipo = 'RECEITA' then valor else 0 end), 0), "
+				+ "        coalesce(sum(case when tipo = 'DESPESA' then valor else 0 end), 0) "
+				+ "   from financas.lancamento "
+				+ "  where id_usuario = :idUsuario and ano = :ano and mes = :mes "
+				+ "    and status in (:status)")
+				.bind("idUsuario", idUsuario)
+				.bind("ano", ano)
+				.bind("mes", mes)
+				.bind("status", SaldoUsuarioRepositoryImpl.STATUS_CONTABILIZADOS));
+	}
+	
+	public Flux<ResumoMensal> obterPorAno(Long idUsuario, Integer ano) {
+		
+		return databaseClient.execute("select id_usuario, ano, mes, receitas, despesas from financas.lancamento_resumo_mensal "
+				+ " where id_usuario = :idUsuario and ano = :ano order by mes")
+				.bind("idUsuario", idUsuario)
+				.bind("ano", ano)
+				.map((row, metadados) -> ResumoMensal.builder()
+						.idUsuario(row.get(0, Long.class))
+						.ano(row.get(1, Integer.class))
+						.mes(row.get(2, Integer.class))
+						.receitas(row.get(3, BigDecimal.class))
+						.despesas(row.get(4, BigDecimal.class))
+						.build())
+				.all();
+	}
+	
+}
@@ -0,0 +1,32 @@
+package com.example.minhasfinancas.reativo.model.repository;
+
+import java.math.BigDecimal;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+import com.example.minhasfinancas.reativo.model.entity.SaldoUsuario;
+
+import reactor.core.publisher.Mono;
+
+public interface SaldoUsuarioRepository extends ReactiveCrudRepository<SaldoUsuario, Long>, SaldoUsuarioRepositoryCustom {
+
+	
+	@Modifying
+	@Query(value = "update financas.saldo_usuario set receitas = receitas + :receitas, "
+			     + " despesas = despesas + :despesas, "
+			     + " saldo = saldo + :receitas - :despesas, "
+			     + " versao = versao + 1 "
+			     + " where id_usuario = :idUsuario")
+	Mono<Integer> somar(
+			@Param("idUsuario") Long idUsuario,
+			@Param("receitas") BigDecimal receitas,
+			@Param("despesas") BigDecimal despesas);
+	
+	
+	@Query(value = "select versao from financas.saldo_usuario where id_usuario = :idUsuario")
+	Mono<Long> obterVersao(@Param("idUsuario") Long idUsuario);
+	
+}
@@ -0,0 +1,17 @@
+package com.example.minhasfinancas.reativo.model.repository;
+
+import java.math.BigDecimal;
+
+import reactor.core.publisher.Mono;
+
+public interface SaldoUsuarioRepositoryCustom {
+
+	Mono<BigDecimal> calcularSaldo(Long idUsuario);
+	
+	/**
+	 * Cria o saldo a partir dos lancamentos contabilizados. Devolve false quando outra
+	 * transacao ja criou o saldo do usuario.
+	 */
+	Mono<Boolean> criarAPartirDosLancamentos(Long idUsuario);
+	
+}
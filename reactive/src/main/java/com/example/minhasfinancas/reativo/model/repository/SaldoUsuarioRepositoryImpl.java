@@ -0,0 +1,55 @@
+package com.example.minhasfinancas.reativo.model.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.data.r2dbc.core.DatabaseClient;
+
+import com.example.minhasfinancas.model.enums.StatusLancamento;
+import com.example.minhasfinancas.service.Movimento;
+
+import reactor.core.publisher.Mono;
+
+public class SaldoUsuarioRepositoryImpl implements SaldoUsuarioRepositoryCustom {
+
+	static final List<String> STATUS_CONTABILIZADOS = Movimento.STATUS_CONTABILIZADOS.stream()
+			.map(StatusLancamento::name)
+			.collect(Collectors.toList());
+	
+	private final DatabaseClient databaseClient;
+	
+	public SaldoUsuarioRepositoryImpl(DatabaseClient databaseClient) {
+		this.databaseClient = databaseClient;
+	}
+	
+	
+	
+	@Override
+	public Mono<BigDecimal> calcularSaldo(Long idUsuario) {
+		
+		return databaseClient.execute("select coalesce(sum(case when tipo = 'RECEITA' then valor when tipo = 'DESPESA' then -valor else 0 end), 0) "
+				+ " from financas.lancamento "
+				+ " where id_usuario = :idUsuario and status in (:status)")
+				.bind("idUsuario", idUsuario)
+				.bind("status", STATUS_CONTABILIZADOS)
+				.map((row, metadados) -> row.get(0, BigDecimal.class))
+				.one();
+	}
+	
+	@Override
+	public Mono<Boolean> criarAPartirDosLancamentos(Long idUsuario) {
+		
+		return InsercaoSemConflito.inserir(databaseClient, databaseClient.execute("insert into financas.saldo_usuario (id_usuario, receitas, despesas, saldo, versao) "
+				+ " select :idUsuario, "
+				+ "        coalesce(sum(case when tipo = 'RECEITA' then valor else 0 end), 0), "
+				+ "        coalesce(sum(case when tipo = 'DESPESA' then valor else 0 end), 0), "
+				+ "        coalesce(sum(case when tipo = 'RECEITA' then valor when tipo = 'DESPESA' then -valor else 0 end), 0), "
+				+ "        1 "
+				+ "   from financas.lancamento "
+				+ "  where id_usuario = :idUsuario and status in (:status)")
+				.bind("idUsuario", idUsuario)
+				.bind("status", STATUS_CONTABILIZADOS));
+	}
+	
+}
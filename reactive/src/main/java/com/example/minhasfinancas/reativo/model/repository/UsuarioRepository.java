@@ -0,0 +1,19 @@
+package com.example.minhasfinancas.reativo.model.repository;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+import com.example.minhasfinancas.reativo.model.entity.Usuario;
+
+import reactor.core.publisher.Mono;
+
+public interface UsuarioRepository extends ReactiveCrudRepository<Usuario, Long> {
+
+	
+	@Query(value = "select exists(select 1 from financas.usuario where email = :email)")
+	Mono<Boolean> existsByEmail(@Param("email") String email);
+	
+	Mono<Usuario> findByEmail(String email);
+	
+}
@@ -0,0 +1,47 @@
+package com.example.minhasfinancas.reativo.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.example.minhasfinancas.model.entity.ResumoMensal;
+import com.example.minhasfinancas.model.enums.StatusLancamento;
+import com.example.minhasfinancas.model.paginacao.Pagina;
+import com.example.minhasfinancas.model.projection.LancamentoResumo;
+import com.example.minhasfinancas.reativo.model.entity.Lancamento;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface LancamentoService {
+
+	Mono<Lancamento> salvar(Lancamento lancamento);
+	
+	Mono<Lancamento> atualizar(Lancamento lancamento);
+	
+	/**
+	 * Atualiza conferindo o dono na mesma leitura que obtem a versao atual: falha com
+	 * AcessoNegadoException quando o lancamento nao e do usuario autenticado.
+	 */
+	Mono<Lancamento> atualizar(Lancamento lancamento, Long idAutenticado);
+	
+	Mono<Void> deletar(Long id);
+	
+	Mono<Lancamento> obterPorId(Long id);
+	
+	Mono<List<LancamentoResumo>> buscar(Lancamento lancamentoFiltro);
+	
+	Mono<Pagina<LancamentoResumo>> buscarPagina(Lancamento lancamentoFiltro, String cursor, Integer tamanho);
+	
+	Mono<LancamentoResumo> atualizarStatus(Long id, StatusLancamento status);
+	
+	Mono<LancamentoResumo> atualizarStatus(Long id, StatusLancamento status, Long idAutenticado);
+	
+	void validar(Lancamento lancamento);
+	
+	Mono<BigDecimal> obterSaldoPorUsuario(Long id);
+	
+	Mono<Long> obterVersaoDados(Long idUsuario);
+	
+	Flux<ResumoMensal> obterResumoMensal(Long idUsuario, Integer ano);
+	
+}
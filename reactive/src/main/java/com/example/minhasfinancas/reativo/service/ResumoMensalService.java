@@ -0,0 +1,19 @@
+package com.example.minhasfinancas.reativo.service;
+
+import com.example.minhasfinancas.model.entity.ResumoMensal;
+import com.example.minhasfinancas.reativo.model.entity.Lancamento;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ResumoMensalService {
+
+	Mono<Void> registrar(Lancamento lancamento);
+	
+	Mono<Void> estornar(Lancamento lancamento);
+	
+	Mono<Void> atualizar(Lancamento anterior, Lancamento atual);
+	
+	Flux<ResumoMensal> obterPorAno(Long idUsuario, Integer ano);
+	
+}
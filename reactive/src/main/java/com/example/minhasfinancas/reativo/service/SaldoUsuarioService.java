@@ -0,0 +1,21 @@
+package com.example.minhasfinancas.reativo.service;
+
+import java.math.BigDecimal;
+
+import com.example.minhasfinancas.reativo.model.entity.Lancamento;
+
+import reactor.core.publisher.Mono;
+
+public interface SaldoUsuarioService {
+
+	Mono<Void> registrar(Lancamento lancamento);
+	
+	Mono<Void> estornar(Lancamento lancamento);
+	
+	Mono<Void> atualizar(Lancamento anterior, Lancamento atual);
+	
+	Mono<BigDecimal> obterSaldo(Long idUsuario);
+	
+	Mono<Long> obterVersao(Long idUsuario);
+	
+}
@@ -0,0 +1,17 @@
+package com.example.minhasfinancas.reativo.service;
+
+import com.example.minhasfinancas.reativo.model.entity.Usuario;
+
+import reactor.core.publisher.Mono;
+
+public interface UsuarioService {
+
+	Mono<Usuario> autenticar(String email, String senha);
+	
+	Mono<Usuario> salvarUsuario(Usuario usuario);
+	
+	Mono<Void> validarEmail(String email);
+	
+	Mono<Usuario> obterporId(Long id);
+	
+}
@@ -0,0 +1,327 @@
+package com.example.minhasfinancas.reativo.service.impl;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.minhasfinancas.exception.AcessoNegadoException;
+import com.example.minhasfinancas.exception.ConflitoAtualizacaoException;
+import com.example.minhasfinancas.exception.RegistroNaoEncontradoException;
+import com.example.minhasfinancas.exception.RegraNegocioException;
+import com.example.minhasfinancas.model.entity.ResumoMensal;
+import com.example.minhasfinancas.model.enums.StatusLancamento;
+import com.example.minhasfinancas.model.paginacao.CursorLancamento;
+import com.example.minhasfinancas.model.paginacao.Pagina;
+import com.example.minhasfinancas.model.projection.LancamentoResumo;
+import com.example.minhasfinancas.reativo.model.entity.Lancamento;
+import com.example.minhasfinancas.reativo.model.repository.LancamentoRepository;
+import com.example.minhasfinancas.reativo.service.LancamentoService;
+import com.example.minhasfinancas.reativo.service.ResumoMensalService;
+import com.example.minhasfinancas.reativo.service.SaldoUsuarioService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+public class LancamentoServiceImpl implements LancamentoService {
+
+	private LancamentoRepository repository;
+	private SaldoUsuarioService saldoService;
+	private ResumoMensalService resumoMensalService;
+	
+	@Value("${minhasfinancas.lancamentos.pagina.tamanho-padrao:50}")
+	private int tamanhoPadraoPagina;
+	
+	@Value("${minhasfinancas.lancamentos.pagina.tamanho-maximo:500}")
+	private int tamanhoMaximoPagina;
+	
+	@Value("${minhasfinancas.lancamentos.busca.limite:1000}")
+	private int limiteBusca;
+	
+	@Value("${minhasfinancas.lancamentos.status.tentativas:3}")
+	private int tentativasStatus;
+	
+	public LancamentoServiceImpl(LancamentoRepository repository, SaldoUsuarioService saldoService, 
+			ResumoMensalService resumoMensalService) {
+		this.repository = repository;
+		this.saldoService = saldoService;
+		this.resumoMensalService = resumoMensalService;
+	}
+	
+	
+	
+	
+	@Override
+	@Transactional
+	public Mono<Lancamento> salvar(Lancamento lancamento) {
+		
+		return Mono.defer(() -> {
+			
+			validar(lancamento);
+			lancamento.setId(null);
+			lancamento.setStatus(StatusLancamento.PENDENTE);
+			lancamento.setVersao(0l);
+			lancamento.normalizarDescricao();
+			
+			return repository.inserir(lancamento);
+			
+		}).flatMap(lancamentoSalvo -> saldoService.registrar(lancamentoSalvo)
+				.then(resumoMensalService.registrar(lancamentoSalvo))
+				.thenReturn(lancamentoSalvo));
+	}
+
+	@Override
+	@Transactional
+	public Mono<Lancamento> atualizar(Lancamento lancamento) {
+		
+		return atualizar(lancamento, null);
+	}
+
+	@Override
+	@Transactional
+	public Mono<Lancamento> atualizar(Lancamento lancamento, Long idAutenticado) {
+		
+		Objects.requireNonNull(lancamento.getId());
+		
+		return repository.obterResumoPorId(lancamento.getId())
+				.switchIfEmpty(naoEncontrado())
+				.flatMap(anterior -> {
+					
+					if(pertenceAOutroUsuario(anterior, idAutenticado)) {
+						return Mono.error(acessoNegado());
+					}
+					
+					if(lancamento.getVersao() == null) {
+						lancamento.setVersao(anterior.getVersao());
+					}else if(!lancamento.getVersao().equals(anterior.getVersao())) {
+						return Mono.error(conflito(anterior));
+					}
+					
+					if(lancamento.getStatus() == null) {
+						lancamento.setStatus(anterior.getStatus());
+					}
+					
+					validar(lancamento);
+					lancamento.normalizarDescricao();
+					
+					return repository.atualizarDados(lancamento).flatMap(atualizados -> {
+						
+						if(atualizados == 0) {
+							return conflitoOuNaoEncontrado(lancamento.getId());
+						}
+						
+						lancamento.setVersao(lancamento.getVersao() + 1);
+						
+						return saldoService.atualizar(paraLedger(anterior), lancamento)
+								.then(resumoMensalService.atualizar(paraLedger(anterior), lancamento))
+								.thenReturn(lancamento);
+					});
+				});
+	}
+
+	@Override
+	@Transactional
+	public Mono<Void> deletar(Long id) {
+		
+		Objects.requireNonNull(id);
+		
+		return repository.obterResumoPorId(id)
+				.switchIfEmpty(naoEncontrado())
+				.flatMap(atual -> repository.remover(id, atual.getVersao()).flatMap(removidos -> {
+					
+					if(removidos == 0) {
+						return conflitoOuNaoEncontrado(id);
+					}
+					
+					return saldoService.estornar(paraLedger(atual))
+							.then(resumoMensalService.estornar(paraLedger(atual)));
+				}));
+	}
+
+	@Override
+	@Transactional(readOnly=true)
+	public Mono<Lancamento> obterPorId(Long id) {
+		
+		return repository.findById(id);
+	}
+
+	@Override
+	@Transactional(readOnly=true)
+	public Mono<List<LancamentoResumo>> buscar(Lancamento lancamentoFiltro) {
+		
+		return repository.buscar(lancamentoFiltro, null, limiteBusca + 1)
+				.collectList()
+				.flatMap(lancamentos -> lancamentos.size() > limiteBusca
+						? Mono.error(new RegraNegocioException("A consulta retornou mais de " + limiteBusca + " lancamentos, utilize a busca paginada"))
+						: Mono.just(lancamentos));
+	}
+
+	@Override
+	@Transactional(readOnly=true)
+	public Mono<Pagina<LancamentoResumo>> buscarPagina(Lancamento lancamentoFiltro, String cursor, Integer tamanho) {
+		
+		int tamanhoPagina = tamanho == null ? tamanhoPadraoPagina : Math.max(1, Math.min(tamanho, tamanhoMaximoPagina));
+		
+		return Mono.defer(() -> repository.buscar(lancamentoFiltro, CursorLancamento.decodificar(cursor), tamanhoPagina + 1).collectList())
+				.map(lancamentos -> {
+					
+					if(lancamentos.size() <= tamanhoPagina) {
+						return new Pagina<>(lancamentos, null);
+					}
+					
+					List<LancamentoResumo> conteudo = new ArrayList<>(lancamentos.subList(0, tamanhoPagina));
+					String proximoCursor = CursorLancamento.de(conteudo.get(tamanhoPagina - 1)).codificar();
+					
+					return new Pagina<>(conteudo, proximoCursor);
+				});
+	}
+
+	@Override
+	@Transactional
+	public Mono<LancamentoResumo> atualizarStatus(Long id, StatusLancamento status) {
+		
+		return atualizarStatus(id, status, null);
+	}
+
+	@Override
+	@Transactional
+	public Mono<LancamentoResumo> atualizarStatus(Long id, StatusLancamento status, Long idAutenticado) {
+		
+		Objects.requireNonNull(id);
+		Objects.requireNonNull(status);
+		
+		return atualizarStatus(id, status, idAutenticado, 1);
+	}
+
+	@Override
+	public void validar(Lancamento lancamento) {
+		
+		if(lancamento.getDescricao() ==null || lancamento.getDescricao().trim().equals("")) {
+			throw new RegraNegocioException("Informe uma descricao valida");
+		}
+		
+		if (lancamento.getMes() == null || lancamento.getMes()<1 || lancamento.getMes()> 12) {
+			throw new RegraNegocioException("Informe um Mês valido");
+		}
+		
+		if (lancamento.getAno() ==null || lancamento.getAno().toString().length() != 4 ) {
+			throw new RegraNegocioException("Informe um Ano valido");
+		}
+		
+		if (lancamento.getIdUsuario() ==null) {
+			throw new RegraNegocioException("Informe um Usuario");
+		}
+		
+		if (lancamento.getValor() == null || lancamento.getValor().compareTo(BigDecimal.ZERO)<1) {
+			throw new RegraNegocioException("Informe um valor Valido");
+		}
+		
+		if (lancamento.getTipo() ==null) {
+			throw new RegraNegocioException("Informe um Tipo de Lancamento");
+		}
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Mono<BigDecimal> obterSaldoPorUsuario(Long id) {
+		
+		return saldoService.obterSaldo(id);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Mono<Long> obterVersaoDados(Long idUsuario) {
+		
+		return saldoService.obterVersao(idUsuario);
+	}
+
+	@Override
+	public Flux<ResumoMensal> obterResumoMensal(Long idUsuario, Integer ano) {
+		
+		return resumoMensalService.obterPorAno(idUsuario, ano);
+	}
+	
+	
+	
+	
+	private Mono<LancamentoResumo> atualizarStatus(Long id, StatusLancamento status, Long idAutenticado, int tentativa) {
+		
+		return repository.obterResumoPorId(id)
+				.switchIfEmpty(naoEncontrado())
+				.flatMap(atual -> {
+					
+					if(pertenceAOutroUsuario(atual, idAutenticado)) {
+						return Mono.error(acessoNegado());
+					}
+					
+					if(atual.getStatus() == status) {
+						return Mono.just(atual);
+					}
+					
+					return repository.atualizarStatus(id, atual.getVersao(), status).flatMap(atualizados -> {
+						
+						if(atualizados == 1) {
+							
+							LancamentoResumo atualizado = new LancamentoResumo(atual.getId(), atual.getDescricao(), atual.getMes(), atual.getAno(), 
+									atual.getValor(), atual.getTipo(), status, atual.getUsuarioId(), atual.getVersao() + 1);
+							
+							return saldoService.atualizar(paraLedger(atual), paraLedger(atualizado))
+									.then(resumoMensalService.atualizar(paraLedger(atual), paraLedger(atualizado)))
+									.thenReturn(atualizado);
+						}
+						
+						if(tentativa >= tentativasStatus) {
+							return conflitoOuNaoEncontrado(id);
+						}
+						
+						return atualizarStatus(id, status, idAutenticado, tentativa + 1);
+					});
+				});
+	}
+	
+	private boolean pertenceAOutroUsuario(LancamentoResumo lancamento, Long idAutenticado) {
+		
+		return idAutenticado != null && !idAutenticado.equals(lancamento.getUsuarioId());
+	}
+	
+	private AcessoNegadoException acessoNegado() {
+		
+		return new AcessoNegadoException("Acesso negado aos dados de outro usuario");
+	}
+	
+	private <T> Mono<T> naoEncontrado() {
+		
+		return Mono.defer(() -> Mono.error(new RegistroNaoEncontradoException("Lancamento não encontrado na base de dados.")));
+	}
+	
+	private <T> Mono<T> conflitoOuNaoEncontrado(Long id) {
+		
+		return repository.obterResumoPorId(id)
+				.flatMap(atual -> Mono.<T>error(conflito(atual)))
+				.switchIfEmpty(naoEncontrado());
+	}
+	
+	private ConflitoAtualizacaoException conflito(LancamentoResumo atual) {
+		
+		return new ConflitoAtualizacaoException("O lancamento foi alterado por outra operação, consulte-o novamente", atual);
+	}
+	
+	private Lancamento paraLedger(LancamentoResumo resumo) {
+		
+		return Lancamento.builder()
+				.id(resumo.getId())
+				.mes(resumo.getMes())
+				.ano(resumo.getAno())
+				.idUsuario(resumo.getUsuarioId())
+				.valor(resumo.getValor())
+				.tipo(resumo.getTipo())
+				.status(resumo.getStatus())
+				.build();
+	}
+	
+}
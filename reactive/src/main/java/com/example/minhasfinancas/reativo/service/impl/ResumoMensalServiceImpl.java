@@ -0,0 +1,112 @@
+package com.example.minhasfinancas.reativo.service.impl;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.minhasfinancas.model.entity.ResumoMensal;
+import com.example.minhasfinancas.model.entity.ResumoMensalId;
+import com.example.minhasfinancas.reativo.model.entity.Lancamento;
+import com.example.minhasfinancas.reativo.model.repository.ResumoMensalRepository;
+import com.example.minhasfinancas.reativo.service.ResumoMensalService;
+import com.example.minhasfinancas.service.Movimento;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+public class ResumoMensalServiceImpl implements ResumoMensalService {
+
+	private ResumoMensalRepository repository;
+	
+	public ResumoMensalServiceImpl(ResumoMensalRepository repository) {
+		this.repository = repository;
+	}
+	
+	
+	
+	
+	@Override
+	@Transactional
+	public Mono<Void> registrar(Lancamento lancamento) {
+		
+		if(!possuiPeriodo(lancamento)) {
+			return Mono.empty();
+		}
+		
+		return aplicar(chave(lancamento), movimento(lancamento));
+	}
+
+	@Override
+	@Transactional
+	public Mono<Void> estornar(Lancamento lancamento) {
+		
+		if(!possuiPeriodo(lancamento)) {
+			return Mono.empty();
+		}
+		
+		return aplicar(chave(lancamento), movimento(lancamento).negar());
+	}
+
+	@Override
+	@Transactional
+	public Mono<Void> atualizar(Lancamento anterior, Lancamento atual) {
+		
+		if(!possuiPeriodo(anterior) || !possuiPeriodo(atual) || !chave(anterior).equals(chave(atual))) {
+			return estornar(anterior).then(registrar(atual));
+		}
+		
+		return aplicar(chave(atual), movimento(atual).subtrair(movimento(anterior)));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Flux<ResumoMensal> obterPorAno(Long idUsuario, Integer ano) {
+		
+		return repository.obterPorAno(idUsuario, ano);
+	}
+	
+	
+	
+	
+	/**
+	 * Soma a diferenca no resumo do mes ou, se ele ainda nao existe, cria a partir dos
+	 * lancamentos. Se outra transacao criou o resumo antes, soma a diferenca sobre o dela.
+	 */
+	private Mono<Void> aplicar(ResumoMensalId chave, Movimento movimento) {
+		
+		if(movimento.isZero()) {
+			return Mono.empty();
+		}
+		
+		return somar(chave, movimento)
+				.filter(atualizados -> atualizados == 0)
+				.flatMap(nenhum -> repository.criarAPartirDosLancamentos(chave.getIdUsuario(), chave.getAno(), chave.getMes()))
+				.filter(criado -> !criado)
+				.flatMap(criadoPorOutra -> somar(chave, movimento))
+				.then();
+	}
+	
+	private Mono<Integer> somar(ResumoMensalId chave, Movimento movimento) {
+		
+		return repository.somar(chave.getIdUsuario(), chave.getAno(), chave.getMes(), movimento.getReceitas(), movimento.getDespesas());
+	}
+	
+	private ResumoMensalId chave(Lancamento lancamento) {
+		
+		return new ResumoMensalId(lancamento.getIdUsuario(), lancamento.getAno(), lancamento.getMes());
+	}
+	
+	private boolean possuiPeriodo(Lancamento lancamento) {
+		
+		return lancamento != null
+				&& lancamento.getIdUsuario() != null
+				&& lancamento.getAno() != null
+				&& lancamento.getMes() != null;
+	}
+	
+	private Movimento movimento(Lancamento lancamento) {
+		
+		return Movimento.de(lancamento.getTipo(), lancamento.getStatus(), lancamento.getValor());
+	}
+
+}
@@ -0,0 +1,110 @@
+package com.example.minhasfinancas.reativo.service.impl;
+
+import java.math.BigDecimal;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.minhasfinancas.reativo.model.entity.Lancamento;
+import com.example.minhasfinancas.reativo.model.entity.SaldoUsuario;
+import com.example.minhasfinancas.reativo.model.repository.SaldoUsuarioRepository;
+import com.example.minhasfinancas.reativo.service.SaldoUsuarioService;
+import com.example.minhasfinancas.service.Movimento;
+
+import reactor.core.publisher.Mono;
+
+@Service
+public class SaldoUsuarioServiceImpl implements SaldoUsuarioService {
+
+	private SaldoUsuarioRepository repository;
+	
+	public SaldoUsuarioServiceImpl(SaldoUsuarioRepository repository) {
+		this.repository = repository;
+	}
+	
+	
+	
+	
+	@Override
+	@Transactional
+	public Mono<Void> registrar(Lancamento lancamento) {
+		
+		if(!possuiUsuario(lancamento)) {
+			return Mono.empty();
+		}
+		
+		return aplicar(lancamento.getIdUsuario(), movimento(lancamento));
+	}
+
+	@Override
+	@Transactional
+	public Mono<Void> estornar(Lancamento lancamento) {
+		
+		if(!possuiUsuario(lancamento)) {
+			return Mono.empty();
+		}
+		
+		return aplicar(lancamento.getIdUsuario(), movimento(lancamento).negar());
+	}
+
+	@Override
+	@Transactional
+	public Mono<Void> atualizar(Lancamento anterior, Lancamento atual) {
+		
+		if(!possuiUsuario(anterior) || !possuiUsuario(atual) 
+				|| !anterior.getIdUsuario().equals(atual.getIdUsuario())) {
+			return estornar(anterior).then(registrar(atual));
+		}
+		
+		return aplicar(atual.getIdUsuario(), movimento(atual).subtrair(movimento(anterior)));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Mono<BigDecimal> obterSaldo(Long idUsuario) {
+		
+		return repository.findById(idUsuario)
+				.map(SaldoUsuario::getSaldo)
+				.switchIfEmpty(Mono.defer(() -> repository.calcularSaldo(idUsuario)));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Mono<Long> obterVersao(Long idUsuario) {
+		
+		return repository.obterVersao(idUsuario).defaultIfEmpty(0l);
+	}
+	
+	
+	
+	
+	/**
+	 * Soma a diferenca no saldo ou, se ele ainda nao existe, cria a partir dos lancamentos.
+	 * Se outra transacao criou o saldo antes, soma a diferenca sobre o registro dela.
+	 */
+	private Mono<Void> aplicar(Long idUsuario, Movimento movimento) {
+		
+		return somar(idUsuario, movimento)
+				.filter(atualizados -> atualizados == 0)
+				.flatMap(nenhum -> repository.criarAPartirDosLancamentos(idUsuario))
+				.filter(criado -> !criado)
+				.flatMap(criadoPorOutra -> somar(idUsuario, movimento))
+				.then();
+	}
+	
+	private Mono<Integer> somar(Long idUsuario, Movimento movimento) {
+		
+		return repository.somar(idUsuario, movimento.getReceitas(), movimento.getDespesas());
+	}
+	
+	private boolean possuiUsuario(Lancamento lancamento) {
+		
+		return lancamento != null && lancamento.getIdUsuario() != null;
+	}
+	
+	private Movimento movimento(Lancamento lancamento) {
+		
+		return Movimento.de(lancamento.getTipo(), lancamento.getStatus(), lancamento.getValor());
+	}
+
+}
@@ -0,0 +1,58 @@
+package com.example.minhasfinancas.reativo.service.impl;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.minhasfinancas.exception.ErroAutenticacao;
+import com.example.minhasfinancas.exception.RegraNegocioException;
+import com.example.minhasfinancas.reativo.model.entity.Usuario;
+import com.example.minhasfinancas.reativo.model.repository.UsuarioRepository;
+import com.example.minhasfinancas.reativo.service.UsuarioService;
+
+import reactor.core.publisher.Mono;
+
+@Service
+public class UsuarioServiceImpl implements UsuarioService {
+
+	private UsuarioRepository repository;
+	
+	public UsuarioServiceImpl(UsuarioRepository repository) {
+		this.repository = repository;
+	}
+
+	
+	
+	@Override
+	public Mono<Usuario> autenticar(String email, String senha) {
+		
+		return repository.findByEmail(email)
+				.switchIfEmpty(Mono.defer(() -> Mono.error(new ErroAutenticacao("Usuario não encontrado"))))
+				.flatMap(usuario -> usuario.getSenha().equals(senha) 
+						? Mono.just(usuario) 
+						: Mono.error(new ErroAutenticacao("Senha Invalida")));
+	}
+
+	@Override
+	@Transactional
+	public Mono<Usuario> salvarUsuario(Usuario usuario) {
+		
+		return validarEmail(usuario.getEmail())
+				.then(Mono.defer(() -> repository.save(usuario)));
+	}
+
+	@Override
+	public Mono<Void> validarEmail(String email) {
+		
+		return repository.existsByEmail(email)
+				.flatMap(existe -> existe 
+						? Mono.error(new RegraNegocioException("Ja existe um usuario com o email cadastrado"))
+						: Mono.empty());
+	}
+
+	@Override
+	public Mono<Usuario> obterporId(Long id) {
+		
+		return repository.findById(id);
+	}
+
+}
@@ -0,0 +1,289 @@
+package com.example.minhasfinancas.reativo.api.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.example.minhasfinancas.api.dto.AtualizaStatusDTO;
+import com.example.minhasfinancas.api.dto.LancamentoDTO;
+import com.example.minhasfinancas.model.enums.StatusLancamento;
+import com.example.minhasfinancas.model.projection.LancamentoResumo;
+import com.example.minhasfinancas.reativo.model.entity.Lancamento;
+import com.example.minhasfinancas.reativo.model.entity.Usuario;
+import com.example.minhasfinancas.reativo.model.repository.LancamentoRepository;
+import com.example.minhasfinancas.reativo.model.repository.UsuarioRepository;
+import com.example.minhasfinancas.reativo.service.LancamentoService;
+import com.example.minhasfinancas.service.JwtService;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureWebTestClient
+public class LancamentoResourceTest {
+
+	static final String API = "/api/lancamentos";
+	
+	@Autowired
+	WebTestClient client;
+	
+	@Autowired
+	UsuarioRepository usuarioRepository;
+	
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+	
+	@Autowired
+	LancamentoService service;
+	
+	@Autowired
+	JwtService jwtService;
+	
+	Usuario usuario;
+	String token;
+	
+	
+	@Before
+	public void setUp() {
+		usuario = usuarioRepository.save(Usuario.builder()
+				.nome("reativo")
+				.email(UUID.randomUUID() + "@email.com")
+				.senha("senha")
+				.build()).block();
+		
+		token = "Bearer " + jwtService.gerarToken(com.example.minhasfinancas.model.entity.Usuario.builder()
+				.id(usuario.getId())
+				.nome(usuario.getNome())
+				.build());
+	}
+	
+	
+	@Test
+	public void deveSalvarUmLancamentoEAtualizarOSaldo() {
+		
+		//Execucao
+		LancamentoResumo salvo = client.post().uri(API)
+				.header(HttpHeaders.AUTHORIZATION, token)
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(criarDTO(BigDecimal.TEN))
+				.exchange()
+				.expectStatus().isCreated()
+				.expectBody(LancamentoResumo.class)
+				.returnResult().getResponseBody();
+		
+		//Verificacao
+		assertThat(salvo.getId()).isNotNull();
+		assertThat(salvo.getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+		assertThat(salvo.getVersao()).isEqualTo(0l);
+		
+		client.get().uri("/api/usuarios/{id}/saldo", usuario.getId())
+				.header(HttpHeaders.AUTHORIZATION, token)
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody(BigDecimal.class).value(saldo -> assertThat(saldo).isEqualByComparingTo(BigDecimal.TEN));
+	}
+	
+	@Test
+	public void deveRetornarBadRequestAoSalvarLancamentoDeUsuarioInexistente() {
+		
+		//Cenario
+		Long inexistente = 987654321l;
+		LancamentoDTO dto = criarDTO(BigDecimal.TEN);
+		dto.setUsuario(inexistente);
+		
+		//Execucao e Verificacao
+		client.post().uri(API)
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.gerarToken(com.example.minhasfinancas.model.entity.Usuario.builder()
+						.id(inexistente)
+						.nome("inexistente")
+						.build()))
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(dto)
+				.exchange()
+				.expectStatus().isBadRequest()
+				.expectBody(String.class).isEqualTo("Usuario não encontrado para o ID Informado");
+	}
+	
+	@Test
+	public void deveRetornarBadRequestAoSalvarUmLancamentoInvalido() {
+		
+		client.post().uri(API)
+				.header(HttpHeaders.AUTHORIZATION, token)
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(criarDTO(BigDecimal.ZERO))
+				.exchange()
+				.expectStatus().isBadRequest()
+				.expectBody(String.class).isEqualTo("Informe um valor Valido");
+	}
+	
+	@Test
+	public void deveRetornarConflitoAoAtualizarComUmaVersaoDesatualizada() {
+		
+		//Cenario
+		Lancamento lancamento = service.salvar(converter(criarDTO(BigDecimal.TEN))).block();
+		service.atualizarStatus(lancamento.getId(), StatusLancamento.EFETIVADO).block();
+		
+		LancamentoDTO dto = criarDTO(BigDecimal.valueOf(25));
+		dto.setVersao(0l);
+		
+		//Execucao e Verificacao
+		client.put().uri(API + "/{id}", lancamento.getId())
+				.header(HttpHeaders.AUTHORIZATION, token)
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(dto)
+				.exchange()
+				.expectStatus().isEqualTo(HttpStatus.CONFLICT)
+				.expectBody()
+				.jsonPath("$.atual.versao").isEqualTo(1)
+				.jsonPath("$.atual.status").isEqualTo("EFETIVADO");
+		
+		assertThat(lancamentoRepository.obterResumoPorId(lancamento.getId()).block().getValor()).isEqualByComparingTo(BigDecimal.TEN);
+	}
+	
+	@Test
+	public void deveAtualizarOStatusEReconciliarOSaldo() {
+		
+		//Cenario
+		Lancamento lancamento = service.salvar(converter(criarDTO(BigDecimal.TEN))).block();
+		
+		//Execucao
+		client.put().uri(API + "/{id}/atualiza-status", lancamento.getId())
+				.header(HttpHeaders.AUTHORIZATION, token)
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(new AtualizaStatusDTO("CANCELADO"))
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.status").isEqualTo("CANCELADO")
+				.jsonPath("$.versao").isEqualTo(1);
+		
+		//Verificacao
+		assertThat(service.obterSaldoPorUsuario(usuario.getId()).block()).isEqualByComparingTo(BigDecimal.ZERO);
+	}
+	
+	@Test
+	public void deveRetornarNaoModificadoQuandoAVersaoDosDadosNaoMudou() {
+		
+		//Cenario
+		service.salvar(converter(criarDTO(BigDecimal.TEN))).block();
+		
+		String etag = client.get().uri(API + "?usuario={id}", usuario.getId())
+				.header(HttpHeaders.AUTHORIZATION, token)
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.conteudo.length()").isEqualTo(1)
+				.returnResult().getResponseHeaders().getETag();
+		
+		//Execucao e Verificacao
+		client.get().uri(API + "?usuario={id}", usuario.getId())
+				.header(HttpHeaders.AUTHORIZATION, token)
+				.header(HttpHeaders.IF_NONE_MATCH, etag)
+				.exchange()
+				.expectStatus().isNotModified()
+				.expectBody().isEmpty();
+	}
+	
+	@Test
+	public void deveDeletarUmLancamentoEEstornarOSaldo() {
+		
+		//Cenario
+		Lancamento lancamento = service.salvar(converter(criarDTO(BigDecimal.TEN))).block();
+		
+		//Execucao
+		client.delete().uri(API + "/{id}", lancamento.getId())
+				.header(HttpHeaders.AUTHORIZATION, token)
+				.exchange()
+				.expectStatus().isNoContent();
+		
+		//Verificacao
+		assertThat(lancamentoRepository.findById(lancamento.getId()).block()).isNull();
+		assertThat(service.obterSaldoPorUsuario(usuario.getId()).block()).isEqualByComparingTo(BigDecimal.ZERO);
+	}
+	
+	@Test
+	public void deveNegarRequisicaoSemToken() {
+		
+		client.get().uri(API + "?usuario={id}", usuario.getId())
+				.exchange()
+				.expectStatus().isUnauthorized()
+				.expectHeader().valueEquals(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+	}
+	
+	@Test
+	public void deveNegarAcessoAosDadosDeOutroUsuario() {
+		
+		//Cenario
+		Lancamento lancamento = service.salvar(converter(criarDTO(BigDecimal.TEN))).block();
+		Usuario outro = usuarioRepository.save(Usuario.builder()
+				.nome("outro")
+				.email(UUID.randomUUID() + "@email.com")
+				.senha("senha")
+				.build()).block();
+		String tokenOutro = "Bearer " + jwtService.gerarToken(com.example.minhasfinancas.model.entity.Usuario.builder()
+				.id(outro.getId())
+				.nome(outro.getNome())
+				.build());
+		
+		//Execucao e Verificacao
+		client.get().uri(API + "?usuario={id}", usuario.getId())
+				.header(HttpHeaders.AUTHORIZATION, tokenOutro)
+				.exchange()
+				.expectStatus().isForbidden();
+		
+		client.get().uri("/api/usuarios/{id}/saldo", usuario.getId())
+				.header(HttpHeaders.AUTHORIZATION, tokenOutro)
+				.exchange()
+				.expectStatus().isForbidden();
+		
+		client.put().uri(API + "/{id}/atualiza-status", lancamento.getId())
+				.header(HttpHeaders.AUTHORIZATION, tokenOutro)
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(new AtualizaStatusDTO("CANCELADO"))
+				.exchange()
+				.expectStatus().isForbidden();
+		
+		client.delete().uri(API + "/{id}", lancamento.getId())
+				.header(HttpHeaders.AUTHORIZATION, tokenOutro)
+				.exchange()
+				.expectStatus().isForbidden();
+		
+		assertThat(lancamentoRepository.findById(lancamento.getId()).block().getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+	}
+	
+	
+	private LancamentoDTO criarDTO(BigDecimal valor) {
+		return LancamentoDTO.builder()
+				.descricao("lancamento reativo")
+				.mes(1)
+				.ano(2019)
+				.valor(valor)
+				.usuario(usuario.getId())
+				.tipo("RECEITA")
+				.build();
+	}
+	
+	private Lancamento converter(LancamentoDTO dto) {
+		return Lancamento.builder()
+				.descricao(dto.getDescricao())
+				.mes(dto.getMes())
+				.ano(dto.getAno())
+				.valor(dto.getValor())
+				.idUsuario(dto.getUsuario())
+				.tipo(com.example.minhasfinancas.model.enums.TipoLancamento.valueOf(dto.getTipo()))
+				.build();
+	}
+	
+}
@@ -0,0 +1,88 @@
+package com.example.minhasfinancas.reativo.api.resource;
+
+import java.util.UUID;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.example.minhasfinancas.api.dto.UsuarioDTO;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureWebTestClient
+public class UsuarioResourceTest {
+
+	static final String API = "/api/usuarios";
+	
+	@Autowired
+	WebTestClient client;
+	
+	
+	@Test
+	public void deveCriarEAutenticarUmUsuario() {
+		
+		//Cenario
+		UsuarioDTO dto = UsuarioDTO.builder().nome("usuario").email(UUID.randomUUID() + "@email.com").senha("123").build();
+		
+		client.post().uri(API)
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(dto)
+				.exchange()
+				.expectStatus().isCreated()
+				.expectBody()
+				.jsonPath("$.id").isNotEmpty()
+				.jsonPath("$.senha").doesNotExist();
+		
+		//Execucao e Verificacao
+		client.post().uri(API + "/autenticar")
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(dto)
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.email").isEqualTo(dto.getEmail())
+				.jsonPath("$.token").isNotEmpty();
+	}
+	
+	@Test
+	public void deveRetornarBadRequestAoCriarUmUsuarioComEmailJaCadastrado() {
+		
+		//Cenario
+		UsuarioDTO dto = UsuarioDTO.builder().nome("usuario").email(UUID.randomUUID() + "@email.com").senha("123").build();
+		client.post().uri(API).contentType(MediaType.APPLICATION_JSON).bodyValue(dto).exchange().expectStatus().isCreated();
+		
+		//Execucao e Verificacao
+		client.post().uri(API)
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(dto)
+				.exchange()
+				.expectStatus().isBadRequest()
+				.expectBody(String.class).isEqualTo("Ja existe um usuario com o email cadastrado");
+	}
+	
+	@Test
+	public void deveRetornarBadRequestAoAutenticarComSenhaInvalida() {
+		
+		//Cenario
+		UsuarioDTO dto = UsuarioDTO.builder().nome("usuario").email(UUID.randomUUID() + "@email.com").senha("123").build();
+		client.post().uri(API).contentType(MediaType.APPLICATION_JSON).bodyValue(dto).exchange().expectStatus().isCreated();
+		dto.setSenha("outra");
+		
+		//Execucao e Verificacao
+		client.post().uri(API + "/autenticar")
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(dto)
+				.exchange()
+				.expectStatus().isBadRequest()
+				.expectBody(String.class).isEqualTo("Senha Invalida");
+	}
+	
+}
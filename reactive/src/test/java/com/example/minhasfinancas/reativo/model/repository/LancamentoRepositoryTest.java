@@ -0,0 +1,137 @@
+package com.example.minhasfinancas.reativo.model.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.example.minhasfinancas.model.enums.StatusLancamento;
+import com.example.minhasfinancas.model.enums.TipoLancamento;
+import com.example.minhasfinancas.model.paginacao.CursorLancamento;
+import com.example.minhasfinancas.model.projection.LancamentoResumo;
+import com.example.minhasfinancas.reativo.model.entity.Lancamento;
+import com.example.minhasfinancas.reativo.model.entity.Usuario;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class LancamentoRepositoryTest {
+
+	@Autowired
+	LancamentoRepository repository;
+	
+	@Autowired
+	UsuarioRepository usuarioRepository;
+	
+	Usuario usuario;
+	
+	
+	@Before
+	public void setUp() {
+		usuario = usuarioRepository.save(Usuario.builder()
+				.nome("repositorio")
+				.email(UUID.randomUUID() + "@email.com")
+				.senha("senha")
+				.build()).block();
+	}
+	
+	
+	@Test
+	public void deveInserirUmLancamentoComIdDaSequence() {
+		
+		//Execucao
+		Lancamento lancamento = repository.inserir(criarLancamento(usuario.getId(), 2019, 1)).block();
+		
+		//Verificacao
+		assertThat(lancamento.getId()).isNotNull();
+		
+		LancamentoResumo salvo = repository.obterResumoPorId(lancamento.getId()).block();
+		assertThat(salvo.getDescricao()).isEqualTo("lancamento qualquer");
+		assertThat(salvo.getTipo()).isEqualTo(TipoLancamento.RECEITA);
+		assertThat(salvo.getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+		assertThat(salvo.getUsuarioId()).isEqualTo(usuario.getId());
+		assertThat(salvo.getVersao()).isEqualTo(0l);
+	}
+	
+	@Test
+	public void deveAtualizarOStatusSomenteNaVersaoInformada() {
+		
+		//Cenario
+		Lancamento lancamento = repository.inserir(criarLancamento(usuario.getId(), 2019, 1)).block();
+		
+		//Execucao
+		Integer atualizados = repository.atualizarStatus(lancamento.getId(), 0l, StatusLancamento.EFETIVADO).block();
+		Integer desatualizados = repository.atualizarStatus(lancamento.getId(), 0l, StatusLancamento.CANCELADO).block();
+		
+		//Verificacao
+		assertThat(atualizados).isEqualTo(1);
+		assertThat(desatualizados).isEqualTo(0);
+		
+		LancamentoResumo atual = repository.obterResumoPorId(lancamento.getId()).block();
+		assertThat(atual.getStatus()).isEqualTo(StatusLancamento.EFETIVADO);
+		assertThat(atual.getVersao()).isEqualTo(1l);
+	}
+	
+	@Test
+	public void deveAtualizarOsDadosSomenteNaVersaoInformada() {
+		
+		//Cenario
+		Lancamento lancamento = repository.inserir(criarLancamento(usuario.getId(), 2019, 1)).block();
+		lancamento.setValor(BigDecimal.valueOf(25));
+		lancamento.normalizarDescricao();
+		
+		//Execucao
+		Integer atualizados = repository.atualizarDados(lancamento).block();
+		Integer desatualizados = repository.atualizarDados(lancamento).block();
+		
+		//Verificacao
+		assertThat(atualizados).isEqualTo(1);
+		assertThat(desatualizados).isEqualTo(0);
+		assertThat(repository.obterResumoPorId(lancamento.getId()).block().getValor()).isEqualByComparingTo(BigDecimal.valueOf(25));
+	}
+	
+	@Test
+	public void deveBuscarPorPeriodoAPartirDoCursor() {
+		
+		//Cenario
+		Lancamento janeiro = repository.inserir(criarLancamento(usuario.getId(), 2019, 1)).block();
+		Lancamento fevereiro = repository.inserir(criarLancamento(usuario.getId(), 2019, 2)).block();
+		Lancamento marco = repository.inserir(criarLancamento(usuario.getId(), 2019, 3)).block();
+		repository.inserir(criarLancamento(usuario.getId(), 2020, 1)).block();
+		
+		Lancamento filtro = new Lancamento();
+		filtro.setIdUsuario(usuario.getId());
+		filtro.setAno(2019);
+		filtro.setDescricao("QUALQUER");
+		
+		//Execucao
+		List<LancamentoResumo> lancamentos = repository.buscar(filtro, new CursorLancamento(2019, 1, janeiro.getId()), 10).collectList().block();
+		
+		//Verificacao
+		assertThat(lancamentos).extracting(LancamentoResumo::getId).containsExactly(fevereiro.getId(), marco.getId());
+	}
+	
+	
+	public static Lancamento criarLancamento(Long idUsuario, Integer ano, Integer mes) {
+		return Lancamento.builder()
+				.ano(ano)
+				.mes(mes)
+				.descricao("lancamento qualquer")
+				.valor(BigDecimal.TEN)
+				.tipo(TipoLancamento.RECEITA)
+				.status(StatusLancamento.PENDENTE)
+				.idUsuario(idUsuario)
+				.versao(0l)
+				.build();
+	}
+	
+}
@@ -0,0 +1,90 @@
+package com.example.minhasfinancas.reativo.model.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.example.minhasfinancas.model.enums.StatusLancamento;
+import com.example.minhasfinancas.reativo.model.entity.Lancamento;
+import com.example.minhasfinancas.reativo.model.entity.SaldoUsuario;
+import com.example.minhasfinancas.reativo.model.entity.Usuario;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class SaldoUsuarioRepositoryTest {
+
+	@Autowired
+	SaldoUsuarioRepository repository;
+	
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+	
+	@Autowired
+	UsuarioRepository usuarioRepository;
+	
+	@Autowired
+	TransactionalOperator transacao;
+	
+	Usuario usuario;
+	
+	
+	@Before
+	public void setUp() {
+		usuario = usuarioRepository.save(Usuario.builder()
+				.nome("saldo")
+				.email(UUID.randomUUID() + "@email.com")
+				.senha("senha")
+				.build()).block();
+	}
+	
+	
+	@Test
+	public void deveCriarOSaldoSomenteComOsLancamentosContabilizados() {
+		
+		//Cenario
+		lancamentoRepository.inserir(LancamentoRepositoryTest.criarLancamento(usuario.getId(), 2019, 1)).block();
+		Lancamento cancelado = LancamentoRepositoryTest.criarLancamento(usuario.getId(), 2019, 1);
+		cancelado.setStatus(StatusLancamento.CANCELADO);
+		lancamentoRepository.inserir(cancelado).block();
+		
+		//Execucao
+		Boolean criado = transacao.transactional(repository.criarAPartirDosLancamentos(usuario.getId())).block();
+		
+		//Verificacao
+		assertThat(criado).isTrue();
+		assertThat(repository.calcularSaldo(usuario.getId()).block()).isEqualByComparingTo(BigDecimal.TEN);
+		assertThat(repository.findById(usuario.getId()).block().getSaldo()).isEqualByComparingTo(BigDecimal.TEN);
+	}
+	
+	@Test
+	public void deveSeguirNaTransacaoQuandoOSaldoJaTiverSidoCriado() {
+		
+		//Cenario
+		lancamentoRepository.inserir(LancamentoRepositoryTest.criarLancamento(usuario.getId(), 2019, 1)).block();
+		transacao.transactional(repository.criarAPartirDosLancamentos(usuario.getId())).block();
+		
+		//Execucao
+		Integer somados = transacao.transactional(repository.criarAPartirDosLancamentos(usuario.getId())
+				.filter(criado -> !criado)
+				.flatMap(criadoPorOutra -> repository.somar(usuario.getId(), BigDecimal.ONE, BigDecimal.ZERO)))
+				.block();
+		
+		//Verificacao
+		assertThat(somados).isEqualTo(1);
+		SaldoUsuario saldo = repository.findById(usuario.getId()).block();
+		assertThat(saldo.getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(11));
+		assertThat(saldo.getVersao()).isEqualTo(2l);
+	}
+	
+}
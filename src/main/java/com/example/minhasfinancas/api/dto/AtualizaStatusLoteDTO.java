@@ -0,0 +1,22 @@
+package com.example.minhasfinancas.api.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AtualizaStatusLoteDTO {
+
+	private Long usuario;
+	private List<Long> ids;
+	private Integer ano;
+	private Integer mes;
+	private String status;
+	
+}
@@ -0,0 +1,15 @@
+package com.example.minhasfinancas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ConflitoDTO {
+
+	private String mensagem;
+	private Object atual;
+	
+}
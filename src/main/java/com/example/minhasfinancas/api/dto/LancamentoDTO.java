@@ -17,6 +17,7 @@ public class LancamentoDTO {
 	private Long usuario;
 	private String tipo;
 	private String status;
+	private Long versao;
 	
 
 }
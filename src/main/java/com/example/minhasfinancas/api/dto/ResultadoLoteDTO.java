@@ -0,0 +1,32 @@
+package com.example.minhasfinancas.api.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResultadoLoteDTO {
+
+	private int recebidos;
+	private int salvos;
+	private List<Long> ids;
+	private List<ErroLoteDTO> erros;
+	
+	
+	@Data
+	@AllArgsConstructor
+	@NoArgsConstructor
+	public static class ErroLoteDTO {
+		
+		private int indice;
+		private String mensagem;
+		
+	}
+	
+}
@@ -0,0 +1,15 @@
+package com.example.minhasfinancas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TokenDTO {
+
+	private Long id;
+	private String nome;
+	private String email;
+	private String token;
+	
+}
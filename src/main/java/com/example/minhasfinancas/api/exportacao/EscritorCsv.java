@@ -0,0 +1,76 @@
+package com.example.minhasfinancas.api.exportacao;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import com.example.minhasfinancas.model.entity.Lancamento;
+
+public class EscritorCsv implements EscritorLancamentos {
+
+	private static final String CABECALHO = "id,descricao,mes,ano,valor,usuario,tipo,status,dataCadastro";
+	
+	private final Writer escritor;
+	
+	public EscritorCsv(OutputStream saida) throws IOException {
+		this.escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+		this.escritor.write(CABECALHO);
+		this.escritor.write("\r\n");
+	}
+	
+	
+	
+	@Override
+	public void escrever(Lancamento lancamento) throws IOException {
+		
+		escritor.write(valor(lancamento.getId()));
+		escritor.write(',');
+		escritor.write(texto(lancamento.getDescricao()));
+		escritor.write(',');
+		escritor.write(valor(lancamento.getMes()));
+		escritor.write(',');
+		escritor.write(valor(lancamento.getAno()));
+		escritor.write(',');
+		escritor.write(lancamento.getValor() == null ? "" : lancamento.getValor().toPlainString());
+		escritor.write(',');
+		escritor.write(lancamento.getUsuario() == null ? "" : valor(lancamento.getUsuario().getId()));
+		escritor.write(',');
+		escritor.write(valor(lancamento.getTipo()));
+		escritor.write(',');
+		escritor.write(valor(lancamento.getStatus()));
+		escritor.write(',');
+		escritor.write(valor(lancamento.getDataCadastro()));
+		escritor.write("\r\n");
+	}
+
+	@Override
+	public void finalizar() throws IOException {
+		
+		escritor.flush();
+	}
+	
+	
+	
+	
+	private String valor(Object valor) {
+		
+		return valor == null ? "" : valor.toString();
+	}
+	
+	private String texto(String valor) {
+		
+		if(valor == null) {
+			return "";
+		}
+		
+		if(valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+			return valor;
+		}
+		
+		return "\"" + valor.replace("\"", "\"\"") + "\"";
+	}
+
+}
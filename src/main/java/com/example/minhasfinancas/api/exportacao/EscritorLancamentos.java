@@ -0,0 +1,14 @@
+package com.example.minhasfinancas.api.exportacao;
+
+import java.io.IOException;
+
+import com.example.minhasfinancas.model.entity.Lancamento;
+
+public interface EscritorLancamentos {
+
+	
+	void escrever(Lancamento lancamento) throws IOException;
+	
+	void finalizar() throws IOException;
+	
+}
@@ -0,0 +1,48 @@
+package com.example.minhasfinancas.api.exportacao;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.example.minhasfinancas.model.entity.Lancamento;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+
+public class EscritorNdjson implements EscritorLancamentos {
+
+	private static final JsonFactory FACTORY = new JsonFactory();
+	
+	private final JsonGenerator gerador;
+	
+	public EscritorNdjson(OutputStream saida) throws IOException {
+		this.gerador = FACTORY.createGenerator(saida, JsonEncoding.UTF8);
+		this.gerador.setPrettyPrinter(new MinimalPrettyPrinter(""));
+	}
+	
+	
+	
+	@Override
+	public void escrever(Lancamento lancamento) throws IOException {
+		
+		gerador.writeStartObject();
+		gerador.writeObjectField("id", lancamento.getId());
+		gerador.writeStringField("descricao", lancamento.getDescricao());
+		gerador.writeObjectField("mes", lancamento.getMes());
+		gerador.writeObjectField("ano", lancamento.getAno());
+		gerador.writeObjectField("valor", lancamento.getValor());
+		gerador.writeObjectField("usuario", lancamento.getUsuario() == null ? null : lancamento.getUsuario().getId());
+		gerador.writeStringField("tipo", lancamento.getTipo() == null ? null : lancamento.getTipo().name());
+		gerador.writeStringField("status", lancamento.getStatus() == null ? null : lancamento.getStatus().name());
+		gerador.writeStringField("dataCadastro", lancamento.getDataCadastro() == null ? null : lancamento.getDataCadastro().toString());
+		gerador.writeEndObject();
+		gerador.writeRaw('\n');
+	}
+
+	@Override
+	public void finalizar() throws IOException {
+		
+		gerador.flush();
+	}
+
+}
@@ -0,0 +1,56 @@
+package com.example.minhasfinancas.api.exportacao;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.springframework.http.MediaType;
+
+import com.example.minhasfinancas.exception.RegraNegocioException;
+
+public enum FormatoExportacao {
+
+	NDJSON("application/x-ndjson", "ndjson") {
+		@Override
+		public EscritorLancamentos criarEscritor(OutputStream saida) throws IOException {
+			return new EscritorNdjson(saida);
+		}
+	},
+	
+	CSV("text/csv;charset=UTF-8", "csv") {
+		@Override
+		public EscritorLancamentos criarEscritor(OutputStream saida) throws IOException {
+			return new EscritorCsv(saida);
+		}
+	};
+	
+	
+	private final MediaType mediaType;
+	private final String extensao;
+	
+	FormatoExportacao(String mediaType, String extensao) {
+		this.mediaType = MediaType.parseMediaType(mediaType);
+		this.extensao = extensao;
+	}
+	
+	public abstract EscritorLancamentos criarEscritor(OutputStream saida) throws IOException;
+	
+	public MediaType getMediaType() {
+		return mediaType;
+	}
+	
+	public String getExtensao() {
+		return extensao;
+	}
+	
+	public static FormatoExportacao de(String formato) {
+		
+		for(FormatoExportacao valor : values()) {
+			if(valor.extensao.equalsIgnoreCase(formato)) {
+				return valor;
+			}
+		}
+		
+		throw new RegraNegocioException("Formato de exportacao invalido, utilize ndjson ou csv");
+	}
+	
+}
@@ -0,0 +1,240 @@
+package com.example.minhasfinancas.api.filter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.example.minhasfinancas.api.idempotencia.ArmazenamentoIdempotencia;
+import com.example.minhasfinancas.api.idempotencia.RespostaIdempotente;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Atende o cabecalho Idempotency-Key nas operacoes de escrita de lancamentos que o
+ * aplicativo repete quando a rede falha. A primeira requisicao com a chave executa
+ * normalmente e, se terminar com sucesso, a resposta fica guardada; as repeticoes com o
+ * mesmo corpo recebem essa resposta sem chegar ao controller. A chave e separada por
+ * usuario, metodo e caminho.
+ *
+ * Respostas de erro nao sao guardadas: a reserva e desfeita e a mesma chave pode ser
+ * usada de novo depois de corrigir a requisicao. Depois de uma execucao com sucesso a
+ * reserva nunca e desfeita, nem quando a resposta nao pode ser guardada: as repeticoes
+ * recebem 409 ate a reserva vencer em vez de executar a operacao de novo.
+ *
+ * A chave exige um usuario autenticado, entao o filtro depende do JwtTokenFilter.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class IdempotenciaFilter extends OncePerRequestFilter {
+
+	public static final String CABECALHO = "Idempotency-Key";
+	public static final String CABECALHO_REPETICAO = "Idempotency-Replayed";
+	public static final String METRICA = "minhasfinancas.idempotencia";
+
+	static final int TAMANHO_MAXIMO_CHAVE = 255;
+
+	private static final List<String> ROTAS = Arrays.asList(
+			"POST /api/lancamentos",
+			"POST /api/lancamentos/lote",
+			"PUT /api/lancamentos/atualiza-status",
+			"PUT /api/lancamentos/*/atualiza-status");
+
+	private static final AntPathMatcher CAMINHOS = new AntPathMatcher();
+
+	private final ArmazenamentoIdempotencia armazenamento;
+	private final MeterRegistry registry;
+
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+
+		if(request.getHeader(CABECALHO) == null) {
+			return true;
+		}
+
+		String rota = request.getMethod() + " " + caminho(request);
+		return ROTAS.stream().noneMatch(padrao -> CAMINHOS.match(padrao, rota));
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+
+		String chaveInformada = request.getHeader(CABECALHO).trim();
+
+		if(chaveInformada.isEmpty() || chaveInformada.length() > TAMANHO_MAXIMO_CHAVE) {
+			responder(response, HttpStatus.BAD_REQUEST, "O cabecalho " + CABECALHO + " deve ter entre 1 e " + TAMANHO_MAXIMO_CHAVE + " caracteres");
+			return;
+		}
+
+		Object idUsuario = request.getAttribute(JwtTokenFilter.ATRIBUTO_ID_USUARIO);
+
+		if(idUsuario == null) {
+			responder(response, HttpStatus.BAD_REQUEST, "O cabecalho " + CABECALHO + " exige um usuario autenticado");
+			return;
+		}
+
+		byte[] corpo = StreamUtils.copyToByteArray(request.getInputStream());
+		String hash = DigestUtils.md5DigestAsHex(corpo);
+		String chave = idUsuario + ":" + request.getMethod() + ":" + caminho(request) + ":" + chaveInformada;
+
+		Optional<RespostaIdempotente> existente = armazenamento.reservar(chave, hash);
+
+		if(existente.isPresent()) {
+			repetir(existente.get(), hash, response);
+			return;
+		}
+
+		ContentCachingResponseWrapper resposta = new ContentCachingResponseWrapper(response);
+		boolean sucesso = false;
+
+		try {
+			chain.doFilter(new RequisicaoComCorpo(request, corpo), resposta);
+
+			sucesso = resposta.getStatus() >= 200 && resposta.getStatus() < 300;
+			if(sucesso) {
+				guardar(chave, new RespostaIdempotente(hash, resposta.getStatus(), resposta.getContentType(), resposta.getContentAsByteArray()));
+			}
+			contar("executada");
+
+		}finally {
+			if(!sucesso) {
+				armazenamento.liberar(chave);
+			}
+			resposta.copyBodyToResponse();
+		}
+	}
+
+
+
+	private void guardar(String chave, RespostaIdempotente resposta) {
+
+		try {
+			armazenamento.concluir(chave, resposta);
+
+		}catch(RuntimeException e) {
+			contar("nao_guardada");
+			log.warn("Resposta da chave de idempotencia {} nao guardada, a reserva continua ate vencer.", chave, e);
+		}
+	}
+
+	private void repetir(RespostaIdempotente existente, String hash, HttpServletResponse response) throws IOException {
+
+		if(!existente.getHashRequisicao().equals(hash)) {
+			contar("divergente");
+			responder(response, HttpStatus.UNPROCESSABLE_ENTITY, "A chave de idempotencia ja foi usada com outra requisicao");
+			return;
+		}
+
+		if(!existente.isConcluida()) {
+			contar("em_andamento");
+			responder(response, HttpStatus.CONFLICT, "A requisicao com esta chave de idempotencia ainda esta em processamento");
+			return;
+		}
+
+		contar("repetida");
+		response.setStatus(existente.getStatus());
+		response.setHeader(CABECALHO_REPETICAO, "true");
+		if(existente.getTipoConteudo() != null) {
+			response.setContentType(existente.getTipoConteudo());
+		}
+		if(existente.getCorpo() != null) {
+			response.setContentLength(existente.getCorpo().length);
+			response.getOutputStream().write(existente.getCorpo());
+		}
+	}
+
+	private void responder(HttpServletResponse response, HttpStatus status, String mensagem) throws IOException {
+		response.setStatus(status.value());
+		response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+		response.setCharacterEncoding("UTF-8");
+		response.getWriter().write(mensagem);
+	}
+
+	private void contar(String resultado) {
+		registry.counter(METRICA, "resultado", resultado).increment();
+	}
+
+	private static String caminho(HttpServletRequest request) {
+		return request.getRequestURI().substring(request.getContextPath().length());
+	}
+
+
+
+	private static class RequisicaoComCorpo extends HttpServletRequestWrapper {
+
+		private final byte[] corpo;
+
+		RequisicaoComCorpo(HttpServletRequest request, byte[] corpo) {
+			super(request);
+			this.corpo = corpo;
+		}
+
+		@Override
+		public ServletInputStream getInputStream() {
+
+			ByteArrayInputStream entrada = new ByteArrayInputStream(corpo);
+
+			return new ServletInputStream() {
+
+				@Override
+				public int read() {
+					return entrada.read();
+				}
+
+				@Override
+				public int read(byte[] b, int off, int len) {
+					return entrada.read(b, off, len);
+				}
+
+				@Override
+				public boolean isFinished() {
+					return entrada.available() == 0;
+				}
+
+				@Override
+				public boolean isReady() {
+					return true;
+				}
+
+				@Override
+				public void setReadListener(ReadListener listener) {
+					throw new UnsupportedOperationException();
+				}
+			};
+		}
+
+		@Override
+		public BufferedReader getReader() {
+
+			Charset charset = getCharacterEncoding() != null ? Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8;
+			return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+		}
+
+	}
+
+}
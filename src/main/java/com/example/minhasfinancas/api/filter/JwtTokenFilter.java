@@ -0,0 +1,76 @@
+package com.example.minhasfinancas.api.filter;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.example.minhasfinancas.exception.ErroAutenticacao;
+import com.example.minhasfinancas.service.JwtService;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class JwtTokenFilter extends OncePerRequestFilter {
+
+	public static final String ATRIBUTO_ID_USUARIO = "minhasfinancas.idUsuarioAutenticado";
+	
+	private static final String PREFIXO = "Bearer ";
+	
+	private final JwtService jwtService;
+	
+	
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		
+		String caminho = request.getRequestURI().substring(request.getContextPath().length());
+		
+		if(HttpMethod.OPTIONS.matches(request.getMethod())) {
+			return true;
+		}
+		
+		return HttpMethod.POST.matches(request.getMethod())
+				&& (caminho.equals("/api/usuarios") || caminho.equals("/api/usuarios/autenticar"));
+	}
+	
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		
+		String autorizacao = request.getHeader(HttpHeaders.AUTHORIZATION);
+		
+		if(autorizacao == null || !autorizacao.startsWith(PREFIXO)) {
+			negar(response, "Token de autenticação não informado");
+			return;
+		}
+		
+		try {
+			Long idUsuario = jwtService.obterIdUsuario(autorizacao.substring(PREFIXO.length()).trim());
+			request.setAttribute(ATRIBUTO_ID_USUARIO, idUsuario);
+			
+		}catch(ErroAutenticacao e) {
+			negar(response, e.getMessage());
+			return;
+		}
+		
+		chain.doFilter(request, response);
+	}
+	
+	
+	
+	private void negar(HttpServletResponse response, String mensagem) throws IOException {
+		response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+		response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+		response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+		response.setCharacterEncoding("UTF-8");
+		response.getWriter().write(mensagem);
+	}
+	
+}
@@ -0,0 +1,21 @@
+package com.example.minhasfinancas.api.idempotencia;
+
+import java.util.Optional;
+
+public interface ArmazenamentoIdempotencia {
+
+	/**
+	 * Reserva a chave para uma nova execucao. Se ela ja existir (concluida ou ainda em
+	 * andamento), nada e reservado e o registro atual e devolvido.
+	 */
+	Optional<RespostaIdempotente> reservar(String chave, String hashRequisicao);
+	
+	void concluir(String chave, RespostaIdempotente resposta);
+	
+	/**
+	 * Desfaz a reserva de uma execucao que nao terminou com sucesso, para que a mesma
+	 * chave possa ser usada de novo.
+	 */
+	void liberar(String chave);
+	
+}
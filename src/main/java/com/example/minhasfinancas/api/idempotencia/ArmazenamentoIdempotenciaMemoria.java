@@ -0,0 +1,41 @@
+package com.example.minhasfinancas.api.idempotencia;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Guarda as respostas na memoria de cada instancia, limitadas em quantidade e em tempo.
+ * Com mais de uma instancia atras do balanceador, uma repeticao que caia em outra
+ * instancia volta a executar; para esse caso use o armazenamento em tabela.
+ */
+public class ArmazenamentoIdempotenciaMemoria implements ArmazenamentoIdempotencia {
+
+	private final Cache<String, RespostaIdempotente> respostas;
+	
+	public ArmazenamentoIdempotenciaMemoria(long tamanhoMaximo, long validadeMinutos) {
+		this.respostas = Caffeine.newBuilder()
+				.maximumSize(tamanhoMaximo)
+				.expireAfterWrite(validadeMinutos, TimeUnit.MINUTES)
+				.build();
+	}
+	
+	
+	@Override
+	public Optional<RespostaIdempotente> reservar(String chave, String hashRequisicao) {
+		return Optional.ofNullable(respostas.asMap().putIfAbsent(chave, RespostaIdempotente.emAndamento(hashRequisicao)));
+	}
+
+	@Override
+	public void concluir(String chave, RespostaIdempotente resposta) {
+		respostas.put(chave, resposta);
+	}
+
+	@Override
+	public void liberar(String chave) {
+		respostas.asMap().computeIfPresent(chave, (k, resposta) -> resposta.isConcluida() ? resposta : null);
+	}
+
+}
@@ -0,0 +1,79 @@
+package com.example.minhasfinancas.api.idempotencia;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Guarda as respostas na tabela financas.idempotencia, compartilhada entre as instancias.
+ * A chave primaria garante que so uma requisicao reserve cada chave; os registros
+ * vencidos sao ignorados na reserva e apagados periodicamente.
+ */
+@Slf4j
+public class ArmazenamentoIdempotenciaTabela implements ArmazenamentoIdempotencia {
+
+	private final JdbcTemplate jdbc;
+	private final long validadeMillis;
+	
+	public ArmazenamentoIdempotenciaTabela(DataSource dataSource, long validadeMinutos) {
+		this.jdbc = new JdbcTemplate(dataSource);
+		this.validadeMillis = TimeUnit.MINUTES.toMillis(validadeMinutos);
+	}
+	
+	
+	@Override
+	public Optional<RespostaIdempotente> reservar(String chave, String hashRequisicao) {
+		
+		jdbc.update("delete from financas.idempotencia where chave = ? and criado_em < ?", chave, limite());
+		
+		try {
+			jdbc.update("insert into financas.idempotencia (chave, hash_requisicao, criado_em) values (?, ?, ?)",
+					chave, hashRequisicao, new Timestamp(System.currentTimeMillis()));
+			return Optional.empty();
+			
+		}catch(DuplicateKeyException e) {
+			List<RespostaIdempotente> existentes = jdbc.query(
+					"select hash_requisicao, status, tipo_conteudo, corpo from financas.idempotencia where chave = ?",
+					(rs, linha) -> new RespostaIdempotente(rs.getString(1), (Integer) rs.getObject(2), rs.getString(3), rs.getBytes(4)),
+					chave);
+			
+			return Optional.of(existentes.isEmpty() ? RespostaIdempotente.emAndamento(hashRequisicao) : existentes.get(0));
+		}
+	}
+
+	@Override
+	public void concluir(String chave, RespostaIdempotente resposta) {
+		jdbc.update("update financas.idempotencia set status = ?, tipo_conteudo = ?, corpo = ? where chave = ?",
+				resposta.getStatus(), resposta.getTipoConteudo(), resposta.getCorpo(), chave);
+	}
+
+	@Override
+	public void liberar(String chave) {
+		jdbc.update("delete from financas.idempotencia where chave = ? and status is null", chave);
+	}
+	
+	@Scheduled(fixedDelayString = "${minhasfinancas.idempotencia.limpeza-ms:600000}")
+	public void limpar() {
+		
+		int apagadas = jdbc.update("delete from financas.idempotencia where criado_em < ?", limite());
+		
+		if(apagadas > 0) {
+			log.info("{} chaves de idempotencia vencidas apagadas.", apagadas);
+		}
+	}
+	
+	
+	private Timestamp limite() {
+		return new Timestamp(System.currentTimeMillis() - validadeMillis);
+	}
+
+}
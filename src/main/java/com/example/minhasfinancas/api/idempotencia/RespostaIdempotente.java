@@ -0,0 +1,26 @@
+package com.example.minhasfinancas.api.idempotencia;
+
+import lombok.Value;
+
+/**
+ * Resposta guardada para uma chave de idempotencia. Enquanto a primeira requisicao nao
+ * termina, a chave fica reservada sem status nem corpo.
+ */
+@Value
+public class RespostaIdempotente {
+
+	private String hashRequisicao;
+	private Integer status;
+	private String tipoConteudo;
+	private byte[] corpo;
+	
+	
+	public static RespostaIdempotente emAndamento(String hashRequisicao) {
+		return new RespostaIdempotente(hashRequisicao, null, null, null);
+	}
+	
+	public boolean isConcluida() {
+		return status != null;
+	}
+	
+}
@@ -0,0 +1,29 @@
+package com.example.minhasfinancas.api.resource;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Confere se o usuario do token (atributo preenchido pelo JwtTokenFilter) e o dono dos
+ * dados pedidos. Sem o filtro (minhasfinancas.jwt.habilitado=false) nao ha usuario
+ * autenticado e nada e conferido.
+ */
+final class AcessoUsuario {
+	
+	static final String ACESSO_NEGADO = "Acesso negado aos dados de outro usuario";
+	
+	private AcessoUsuario() {
+	}
+	
+	
+	static boolean negado(Long idAutenticado, Long idUsuario) {
+	
+		return idAutenticado != null && idUsuario != null && !idAutenticado.equals(idUsuario);
+	}
+	
+	static ResponseEntity proibido() {
+	
+		return new ResponseEntity(ACESSO_NEGADO, HttpStatus.FORBIDDEN);
+	}
+	
+}
@@ -1,27 +1,56 @@
 package com.example.minhasfinancas.api.resource;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.example.minhasfinancas.api.dto.AtualizaStatusDTO;
+import com.example.minhasfinancas.api.dto.AtualizaStatusLoteDTO;
+import com.example.minhasfinancas.api.dto.ConflitoDTO;
 import com.example.minhasfinancas.api.dto.LancamentoDTO;
+import com.example.minhasfinancas.api.dto.ResultadoLoteDTO;
+import com.example.minhasfinancas.api.dto.ResultadoLoteDTO.ErroLoteDTO;
+import com.example.minhasfinancas.api.exportacao.EscritorLancamentos;
+import com.example.minhasfinancas.api.exportacao.FormatoExportacao;
+import com.example.minhasfinancas.api.filter.JwtTokenFilter;
+import com.example.minhasfinancas.exception.AcessoNegadoException;
+import com.example.minhasfinancas.exception.ConflitoAtualizacaoException;
+import com.example.minhasfinancas.exception.RegistroNaoEncontradoException;
 import com.example.minhasfinancas.exception.RegraNegocioException;
 import com.example.minhasfinancas.model.entity.Lancamento;
 import com.example.minhasfinancas.model.entity.Usuario;
 import com.example.minhasfinancas.model.enums.StatusLancamento;
 import com.example.minhasfinancas.model.enums.TipoLancamento;
+import com.example.minhasfinancas.model.paginacao.Pagina;
+import com.example.minhasfinancas.model.projection.LancamentoResumo;
 import com.example.minhasfinancas.service.LancamentoService;
 import com.example.minhasfinancas.service.UsuarioService;
 
@@ -32,9 +61,14 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class LancamentoResource {
 	
+	private static final String USUARIO_NAO_ENCONTRADO = "Usuario não encontrado para o ID Informado";
+	
 	private  final LancamentoService service;
 	private  final UsuarioService usuarioService;
 	
+	@Value("${minhasfinancas.lancamentos.lote.tamanho-maximo:5000}")
+	private int tamanhoMaximoLote;
+	
 
 	
 	
@@ -43,8 +77,18 @@ public class LancamentoResource {
 			@RequestParam(value = "descricao" , required = false) String descricao,
 			@RequestParam(value = "mes" , required = false) Integer mes,
 			@RequestParam(value = "ano" , required = false) Integer ano,
-			@RequestParam("usuario") Long idUsuario
+			@RequestParam("usuario") Long idUsuario,
+			@RequestParam(value = "cursor" , required = false) String cursor,
+			@RequestParam(value = "tamanho" , required = false) Integer tamanho,
+			@RequestParam(value = "todos" , defaultValue = "false") boolean todos,
+			@RequestAttribute(value = JwtTokenFilter.ATRIBUTO_ID_USUARIO, required = false) Long idAutenticado,
+			WebRequest request
 			) {
+		
+		if(AcessoUsuario.negado(idAutenticado, idUsuario)) {
+			return AcessoUsuario.proibido();
+		}
+		
 		Lancamento lancamentoFiltro = new Lancamento();
 		lancamentoFiltro.setDescricao(descricao);
 		lancamentoFiltro.setMes(mes);
@@ -58,10 +102,53 @@ public class LancamentoResource {
 			lancamentoFiltro.setUsuario(usuario.get());
 		}
 		
-		List<Lancamento> lancamentos = service.buscar(lancamentoFiltro);
-		return ResponseEntity.ok(lancamentos);
+		if(request.checkNotModified(idUsuario + "-" + service.obterVersaoDados(idUsuario))) {
+			return null;
+		}
+		
+		try {
+			
+			if(todos) {
+				List<LancamentoResumo> lancamentos = service.buscar(lancamentoFiltro);
+				return ResponseEntity.ok(lancamentos);
+			}
+			
+			Pagina<LancamentoResumo> pagina = service.buscarPagina(lancamentoFiltro, cursor, tamanho);
+			return ResponseEntity.ok(pagina);
+			
+		}catch(RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+		
 		
 		
+	}
+	
+	
+	
+	
+	
+	
+	
+	
+	@GetMapping("/busca")
+	public ResponseEntity buscarPorDescricao(
+			@RequestParam("usuario") Long idUsuario,
+			@RequestParam("q") String termo,
+			@RequestParam(value = "limite" , required = false) Integer limite,
+			@RequestAttribute(value = JwtTokenFilter.ATRIBUTO_ID_USUARIO, required = false) Long idAutenticado
+			) {
+		
+		if(AcessoUsuario.negado(idAutenticado, idUsuario)) {
+			return AcessoUsuario.proibido();
+		}
+		
+		if(!usuarioService.obterporId(idUsuario).isPresent()) {
+			return ResponseEntity.badRequest().body("Não foi possivel realizar a consulta. Usuario não encontrado para ID Informado");
+		}
+		
+		List<LancamentoResumo> lancamentos = service.buscarPorDescricao(idUsuario, termo, limite);
+		return ResponseEntity.ok(lancamentos);
 		
 	}
 	
@@ -70,68 +157,228 @@ public class LancamentoResource {
 	
 	
 	
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> exportar(
+			@RequestParam("usuario") Long idUsuario,
+			@RequestParam(value = "formato" , defaultValue = "ndjson") String formato,
+			@RequestAttribute(value = JwtTokenFilter.ATRIBUTO_ID_USUARIO, required = false) Long idAutenticado
+			) {
+		
+		if(AcessoUsuario.negado(idAutenticado, idUsuario)) {
+			return erroExportacao(HttpStatus.FORBIDDEN, AcessoUsuario.ACESSO_NEGADO);
+		}
+		
+		if(!usuarioService.obterporId(idUsuario).isPresent()) {
+			return erroExportacao(HttpStatus.BAD_REQUEST, "Não foi possivel realizar a exportação. Usuario não encontrado para ID Informado");
+		}
+		
+		try {
+			
+			FormatoExportacao formatoExportacao = FormatoExportacao.de(formato);
+			
+			StreamingResponseBody corpo = saida -> {
+				EscritorLancamentos escritor = formatoExportacao.criarEscritor(saida);
+				service.exportar(idUsuario, lancamento -> {
+					try {
+						escritor.escrever(lancamento);
+					}catch(IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+				escritor.finalizar();
+			};
+			
+			return ResponseEntity.ok()
+					.contentType(formatoExportacao.getMediaType())
+					.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=lancamentos." + formatoExportacao.getExtensao())
+					.body(corpo);
+			
+		}catch(RegraNegocioException e) {
+			return erroExportacao(HttpStatus.BAD_REQUEST, e.getMessage());
+		}
+		
+	}
+	
+	
+	
+	
 	
 	
 	@PostMapping
-	public ResponseEntity salvar(@RequestBody  LancamentoDTO dto) {
+	public ResponseEntity salvar(@RequestBody  LancamentoDTO dto,
+			@RequestAttribute(value = JwtTokenFilter.ATRIBUTO_ID_USUARIO, required = false) Long idAutenticado) {
+		
+		if(AcessoUsuario.negado(idAutenticado, dto.getUsuario())) {
+			return AcessoUsuario.proibido();
+		}
 		
 		try {
 			Lancamento entidade  = converter(dto);
 			service.salvar(entidade);
 			
-			return new ResponseEntity(entidade, HttpStatus.CREATED);
+			return new ResponseEntity(LancamentoResumo.de(entidade), HttpStatus.CREATED);
 		
 		}catch(RegraNegocioException e){
 		
 			return ResponseEntity.badRequest().body(e.getMessage());
 		
+		}catch(DataIntegrityViolationException e) {
+			
+			if(!ViolacaoIntegridade.usuarioInexistente(e)) {
+				throw e;
+			}
+			return ResponseEntity.badRequest().body(USUARIO_NAO_ENCONTRADO);
 		}
 		
 		
 	}
 	
-	@PutMapping("{id}")
-	public ResponseEntity atualizar(@PathVariable("id") Long id, @RequestBody LancamentoDTO dto) {
+	@PostMapping("/lote")
+	public ResponseEntity salvarLote(@RequestBody List<LancamentoDTO> dtos,
+			@RequestAttribute(value = JwtTokenFilter.ATRIBUTO_ID_USUARIO, required = false) Long idAutenticado) {
 		
-		return service.obterPorId(id).map(entity -> {
-			
+		if(dtos.size() > tamanhoMaximoLote) {
+			return ResponseEntity.badRequest().body("O lote deve conter no maximo " + tamanhoMaximoLote + " lancamentos");
+		}
+		
+		if(dtos.stream().anyMatch(dto -> AcessoUsuario.negado(idAutenticado, dto.getUsuario()))) {
+			return AcessoUsuario.proibido();
+		}
+		
+		Map<Long, Optional<Usuario>> usuarios = new HashMap<>();
+		List<ErroLoteDTO> erros = new ArrayList<>();
+		List<Lancamento> lancamentos = new ArrayList<>(dtos.size());
+		List<Integer> posicoes = new ArrayList<>(dtos.size());
+		
+		for(int i = 0; i < dtos.size(); i++) {
 			try {
+				lancamentos.add(converter(dtos.get(i), usuarios));
+				posicoes.add(i);
+				
+			}catch(RegraNegocioException e) {
+				erros.add(new ErroLoteDTO(i, e.getMessage()));
+			}catch(IllegalArgumentException e) {
+				erros.add(new ErroLoteDTO(i, "Tipo ou Status de lancamento invalido"));
+			}
+		}
+		
+		Map<Integer, String> errosValidacao = service.salvarLote(lancamentos);
+		errosValidacao.forEach((indice, mensagem) -> erros.add(new ErroLoteDTO(posicoes.get(indice), mensagem)));
+		erros.sort(Comparator.comparingInt(ErroLoteDTO::getIndice));
+		
+		List<Long> ids = new ArrayList<>();
+		for(int i = 0; i < lancamentos.size(); i++) {
+			if(!errosValidacao.containsKey(i)) {
+				ids.add(lancamentos.get(i).getId());
+			}
+		}
+		
+		ResultadoLoteDTO resultado = ResultadoLoteDTO.builder()
+				.recebidos(dtos.size())
+				.salvos(ids.size())
+				.ids(ids)
+				.erros(erros)
+				.build();
+		
+		return new ResponseEntity(resultado, ids.isEmpty() ? HttpStatus.BAD_REQUEST : HttpStatus.CREATED);
+		
+	}
+	
+	@PutMapping("{id}")
+	public ResponseEntity atualizar(@PathVariable("id") Long id, @RequestBody LancamentoDTO dto,
+			@RequestAttribute(value = JwtTokenFilter.ATRIBUTO_ID_USUARIO, required = false) Long idAutenticado) {
+		
+		if(AcessoUsuario.negado(idAutenticado, dto.getUsuario())) {
+			return AcessoUsuario.proibido();
+		}
+		
+		try {
 			
-				Lancamento lancamento = converter(dto);
-				lancamento.setId(entity.getId());
-				service.atualizar(lancamento);
-				return ResponseEntity.ok(lancamento);
+			Lancamento lancamento = converter(dto);
+			lancamento.setId(id);
+			lancamento.setVersao(dto.getVersao());
+			service.atualizar(lancamento, idAutenticado);
+			return ResponseEntity.ok(LancamentoResumo.de(lancamento));
 			
-			}catch(RegraNegocioException e) {
-				return ResponseEntity.badRequest().body(e.getMessage());
+		}catch(AcessoNegadoException e) {
+			return AcessoUsuario.proibido();
+		}catch(RegistroNaoEncontradoException e) {
+			return new ResponseEntity(e.getMessage(), HttpStatus.NOT_FOUND);
+		}catch(ConflitoAtualizacaoException e) {
+			return new ResponseEntity(new ConflitoDTO(e.getMessage(), e.getEstadoAtual()), HttpStatus.CONFLICT);
+		}catch(RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}catch(DataIntegrityViolationException e) {
+			if(!ViolacaoIntegridade.usuarioInexistente(e)) {
+				throw e;
 			}
-				
-				
-				
-		}).orElseGet(()-> new ResponseEntity("Lancamento não encontrado na base de dados.", HttpStatus.BAD_REQUEST));
+			return ResponseEntity.badRequest().body(USUARIO_NAO_ENCONTRADO);
+		}
 		
 		
 	}
 	
 	@PutMapping("{id}/atualiza-status")
-	public ResponseEntity atualizarStatus(@PathVariable("id") Long id, @RequestBody AtualizaStatusDTO dto) {
-		
-		return service.obterPorId(id).map(entity ->{
-			   StatusLancamento statusSelecionado  = StatusLancamento.valueOf(dto.getStatus());
-			   if(statusSelecionado == null) {
-				   return ResponseEntity.badRequest().body("Não foi Possivel atualizar o status do lancamento, envie um status valido");
-			   }
-			   
-			   try {
-			   entity.setStatus(statusSelecionado);
-			   service.atualizar(entity);
-			   return ResponseEntity.ok(entity);
-			   }catch (RegraNegocioException e) {
-				   return ResponseEntity.badRequest().body(e.getMessage());
-				   
-			   }
-		}).orElseGet( ()->
-		       new ResponseEntity("Lancamento não encontrado na base de Dados.",HttpStatus.BAD_REQUEST));
+	public ResponseEntity atualizarStatus(@PathVariable("id") Long id, @RequestBody AtualizaStatusDTO dto,
+			@RequestAttribute(value = JwtTokenFilter.ATRIBUTO_ID_USUARIO, required = false) Long idAutenticado) {
+		
+		if(dto.getStatus() == null) {
+			return ResponseEntity.badRequest().body("Não foi Possivel atualizar o status do lancamento, envie um status valido");
+		}
+		
+		try {
+			StatusLancamento statusSelecionado = StatusLancamento.valueOf(dto.getStatus());
+			LancamentoResumo lancamento = service.atualizarStatus(id, statusSelecionado, idAutenticado);
+			return ResponseEntity.ok(lancamento);
+			
+		}catch(AcessoNegadoException e) {
+			return AcessoUsuario.proibido();
+		}catch(IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body("Não foi Possivel atualizar o status do lancamento, envie um status valido");
+		}catch(RegistroNaoEncontradoException e) {
+			return new ResponseEntity(e.getMessage(), HttpStatus.NOT_FOUND);
+		}catch(ConflitoAtualizacaoException e) {
+			return new ResponseEntity(new ConflitoDTO(e.getMessage(), e.getEstadoAtual()), HttpStatus.CONFLICT);
+		}catch(RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+		
+	}
+	
+	
+	
+	
+	
+	@PutMapping("atualiza-status")
+	public ResponseEntity atualizarStatusEmLote(@RequestBody AtualizaStatusLoteDTO dto,
+			@RequestAttribute(value = JwtTokenFilter.ATRIBUTO_ID_USUARIO, required = false) Long idAutenticado) {
+		
+		if(dto.getUsuario() == null || dto.getStatus() == null) {
+			return ResponseEntity.badRequest().body("Informe o usuario e o status dos lancamentos");
+		}
+		
+		if(dto.getIds() != null && dto.getIds().size() > tamanhoMaximoLote) {
+			return ResponseEntity.badRequest().body("O lote deve conter no maximo " + tamanhoMaximoLote + " lancamentos");
+		}
+		
+		if(AcessoUsuario.negado(idAutenticado, dto.getUsuario())) {
+			return AcessoUsuario.proibido();
+		}
+		
+		try {
+			StatusLancamento status = StatusLancamento.valueOf(dto.getStatus());
+			
+			int atualizados = dto.getIds() != null
+					? service.atualizarStatusEmLote(dto.getUsuario(), dto.getIds(), status)
+					: service.atualizarStatusEmLote(dto.getUsuario(), dto.getAno(), dto.getMes(), status);
+			
+			return ResponseEntity.ok(Collections.singletonMap("atualizados", atualizados));
+			
+		}catch(IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body("Não foi Possivel atualizar o status dos lancamentos, envie um status valido");
+		}catch(RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
 		
 	}
 	
@@ -140,11 +387,19 @@ public class LancamentoResource {
 	
 	
 	@DeleteMapping("{id}")
-	public ResponseEntity deletar(@PathVariable("id") Long id) {
+	public ResponseEntity deletar(@PathVariable("id") Long id,
+			@RequestAttribute(value = JwtTokenFilter.ATRIBUTO_ID_USUARIO, required = false) Long idAutenticado) {
 		
 		return service.obterPorId(id).map(entidade ->{
-			service.deletar(entidade);
-			return new ResponseEntity(HttpStatus.NO_CONTENT);
+			if(AcessoUsuario.negado(idAutenticado, entidade.getUsuario().getId())) {
+				return AcessoUsuario.proibido();
+			}
+			try {
+				service.deletar(entidade);
+				return new ResponseEntity(HttpStatus.NO_CONTENT);
+			}catch(ObjectOptimisticLockingFailureException e) {
+				return new ResponseEntity("O lancamento foi alterado por outra operação, consulte-o novamente", HttpStatus.CONFLICT);
+			}
 			
 		}).orElseGet(()-> 
 		   new ResponseEntity("Lancamento não Encontrado na Base de Dados.", HttpStatus.BAD_REQUEST));
@@ -158,7 +413,23 @@ public class LancamentoResource {
 	
 	
 	
+	private ResponseEntity<StreamingResponseBody> erroExportacao(HttpStatus status, String mensagem) {
+		return ResponseEntity.status(status)
+				.contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+				.body(saida -> saida.write(mensagem.getBytes(StandardCharsets.UTF_8)));
+	}
+	
 	private Lancamento converter(LancamentoDTO dto) {
+		return converter(dto, usuarioService::obterReferencia);
+	}
+	
+	private Lancamento converter(LancamentoDTO dto, Map<Long, Optional<Usuario>> usuarios) {
+		return converter(dto, id -> usuarios
+				.computeIfAbsent(id, usuarioService::obterporId)
+				.orElseThrow(() -> new RegraNegocioException(USUARIO_NAO_ENCONTRADO)));
+	}
+	
+	private Lancamento converter(LancamentoDTO dto, Function<Long, Usuario> usuarios) {
 		Lancamento lancamento = new Lancamento();
 		lancamento.setId(dto.getId());
 		lancamento.setDescricao(dto.getDescricao());
@@ -166,11 +437,11 @@ public class LancamentoResource {
 		lancamento.setMes(dto.getMes());
 		lancamento.setValor(dto.getValor());
 		
-		Usuario usuario = usuarioService
-				.obterporId(dto.getUsuario())
-				.orElseThrow(() -> new RegraNegocioException("Usuario não encontrado para o ID Informado"));
+		if(dto.getUsuario() == null) {
+			throw new RegraNegocioException(USUARIO_NAO_ENCONTRADO);
+		}
 		
-		lancamento.setUsuario(usuario);
+		lancamento.setUsuario(usuarios.apply(dto.getUsuario()));
 		
 		if(dto.getTipo()!= null) {
 			lancamento.setTipo(TipoLancamento.valueOf(dto.getTipo()));
@@ -1,6 +1,7 @@
 package com.example.minhasfinancas.api.resource;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.http.HttpStatus;
@@ -8,14 +9,21 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.example.minhasfinancas.api.dto.TokenDTO;
 import com.example.minhasfinancas.api.dto.UsuarioDTO;
+import com.example.minhasfinancas.api.filter.JwtTokenFilter;
 import com.example.minhasfinancas.exception.ErroAutenticacao;
 import com.example.minhasfinancas.exception.RegraNegocioException;
+import com.example.minhasfinancas.model.entity.ResumoMensal;
 import com.example.minhasfinancas.model.entity.Usuario;
+import com.example.minhasfinancas.service.JwtService;
 import com.example.minhasfinancas.service.LancamentoService;
 import com.example.minhasfinancas.service.UsuarioService;
 
@@ -29,6 +37,7 @@ public class UsuarioResource {
 	
 	private final UsuarioService service;
 	private final LancamentoService lancamentoService;
+	private final JwtService jwtService;
 	
 
 	
@@ -37,7 +46,9 @@ public class UsuarioResource {
 	public ResponseEntity autenticar(@RequestBody UsuarioDTO dto) {
 		try {
 			Usuario usuarioAutenticado = service.autenticar(dto.getEmail(), dto.getSenha());
-			return ResponseEntity.ok(usuarioAutenticado);
+			String token = jwtService.gerarToken(usuarioAutenticado);
+			
+			return ResponseEntity.ok(new TokenDTO(usuarioAutenticado.getId(), usuarioAutenticado.getNome(), usuarioAutenticado.getEmail(), token));
 			
 		}catch(ErroAutenticacao e){
 			return ResponseEntity.badRequest().body(e.getMessage());
@@ -75,7 +86,12 @@ public class UsuarioResource {
 	}
 	
 	@GetMapping("{id}/saldo")
-	public ResponseEntity obterSaldo(@PathVariable("id") Long id) {
+	public ResponseEntity obterSaldo(@PathVariable("id") Long id, WebRequest request,
+			@RequestAttribute(value = JwtTokenFilter.ATRIBUTO_ID_USUARIO, required = false) Long idAutenticado) {
+		
+		if(AcessoUsuario.negado(idAutenticado, id)) {
+			return AcessoUsuario.proibido();
+		}
 		
 		Optional<Usuario> usuario = service.obterporId(id);
 		
@@ -83,7 +99,13 @@ public class UsuarioResource {
 			return new ResponseEntity(HttpStatus.NOT_FOUND);
 		}
 		
-		BigDecimal saldo = lancamentoService.obterSaldoPorUsuario(id);
+		Long versao = lancamentoService.obterVersaoDados(id);
+		
+		if(request.checkNotModified(id + "-" + versao)) {
+			return null;
+		}
+		
+		BigDecimal saldo = lancamentoService.obterSaldoPorUsuario(id, versao);
 		return ResponseEntity.ok(saldo);
 		
 		
@@ -93,4 +115,21 @@ public class UsuarioResource {
 	
 	
 	
+	@GetMapping("{id}/resumo")
+	public ResponseEntity obterResumoMensal(@PathVariable("id") Long id, @RequestParam("ano") Integer ano,
+			@RequestAttribute(value = JwtTokenFilter.ATRIBUTO_ID_USUARIO, required = false) Long idAutenticado) {
+		
+		if(AcessoUsuario.negado(idAutenticado, id)) {
+			return AcessoUsuario.proibido();
+		}
+		
+		if(!service.obterporId(id).isPresent()) {
+			return new ResponseEntity(HttpStatus.NOT_FOUND);
+		}
+		
+		List<ResumoMensal> resumo = lancamentoService.obterResumoMensal(id, ano);
+		return ResponseEntity.ok(resumo);
+	}
+	
+	
 }
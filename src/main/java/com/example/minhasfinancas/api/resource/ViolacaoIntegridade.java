@@ -0,0 +1,38 @@
+package com.example.minhasfinancas.api.resource;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Reconhece a violacao de chave estrangeira na coluna id_usuario, o unico erro de
+ * integridade que corresponde a um usuario inexistente. As chaves estrangeiras nao tem
+ * nome fixo entre os bancos, entao a coluna e procurada na mensagem do driver.
+ */
+final class ViolacaoIntegridade {
+	
+	/** 23503 no PostgreSQL (padrao SQL), 23506 no H2 quando falta o registro pai. */
+	private static final List<String> VIOLACOES_CHAVE_ESTRANGEIRA = Arrays.asList("23503", "23506");
+	private static final String COLUNA_USUARIO = "id_usuario";
+	
+	private ViolacaoIntegridade() {
+	}
+	
+	
+	static boolean usuarioInexistente(DataIntegrityViolationException e) {
+	
+		for(Throwable causa = e; causa != null; causa = causa.getCause()) {
+			if(causa instanceof SQLException) {
+				SQLException erro = (SQLException) causa;
+				return VIOLACOES_CHAVE_ESTRANGEIRA.contains(erro.getSQLState())
+						&& erro.getMessage() != null
+						&& erro.getMessage().toLowerCase().contains(COLUNA_USUARIO);
+			}
+		}
+		
+		return false;
+	}
+	
+}
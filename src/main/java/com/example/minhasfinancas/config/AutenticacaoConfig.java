@@ -0,0 +1,25 @@
+package com.example.minhasfinancas.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.example.minhasfinancas.api.filter.JwtTokenFilter;
+import com.example.minhasfinancas.service.JwtService;
+
+@Configuration
+@ConditionalOnProperty(name = "minhasfinancas.jwt.habilitado", havingValue = "true", matchIfMissing = true)
+public class AutenticacaoConfig {
+
+	@Bean
+	public FilterRegistrationBean<JwtTokenFilter> jwtTokenFilter(JwtService jwtService) {
+		
+		FilterRegistrationBean<JwtTokenFilter> registro = new FilterRegistrationBean<>(new JwtTokenFilter(jwtService));
+		registro.addUrlPatterns("/api/*");
+		registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+		return registro;
+	}
+	
+}
@@ -0,0 +1,92 @@
+package com.example.minhasfinancas.config;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Junta as chamadas concorrentes de obterSaldoPorUsuario para o mesmo usuario e a mesma
+ * versao dos dados: a primeira executa a consulta e as que chegam enquanto ela esta em
+ * andamento recebem o mesmo resultado (ou a mesma excecao), sem abrir transacao nem pegar
+ * conexao. Por isso fica fora do proxy transacional (que usa a ordem padrao, a menor
+ * precedencia).
+ *
+ * A versao faz parte da chave: quem ja leu a versao de uma gravacao confirmada (para o
+ * ETag) nunca aproveita uma consulta iniciada antes dela.
+ */
+@Aspect
+@Component
+@Order(0)
+public class CoalescenciaSaldoAspect {
+
+	public static final String METRICA = "minhasfinancas.coalescencia";
+
+	private final ConcurrentMap<String, CompletableFuture<Object>> emAndamento = new ConcurrentHashMap<>();
+	private final Counter executadas;
+	private final Counter compartilhadas;
+
+	public CoalescenciaSaldoAspect(MeterRegistry registry) {
+		this.executadas = contador(registry, "executada");
+		this.compartilhadas = contador(registry, "compartilhada");
+		Gauge.builder(METRICA + ".andamento", emAndamento, ConcurrentMap::size)
+				.description("Consultas de saldo em andamento")
+				.tag("operacao", "saldo")
+				.register(registry);
+	}
+
+
+	@Around("execution(* com.example.minhasfinancas.service.LancamentoService.obterSaldoPorUsuario(..)) && args(idUsuario, versaoDados)")
+	public Object coalescer(ProceedingJoinPoint joinPoint, Long idUsuario, Long versaoDados) throws Throwable {
+
+		if(idUsuario == null || versaoDados == null) {
+			return joinPoint.proceed();
+		}
+
+		String chave = idUsuario + "-" + versaoDados;
+		CompletableFuture<Object> nova = new CompletableFuture<>();
+		CompletableFuture<Object> existente = emAndamento.putIfAbsent(chave, nova);
+
+		if(existente != null) {
+			compartilhadas.increment();
+			try {
+				return existente.join();
+			} catch(CompletionException e) {
+				throw e.getCause();
+			}
+		}
+
+		executadas.increment();
+		try {
+			Object resultado = joinPoint.proceed();
+			nova.complete(resultado);
+			return resultado;
+
+		}catch(Throwable e) {
+			nova.completeExceptionally(e);
+			throw e;
+
+		}finally {
+			emAndamento.remove(chave, nova);
+		}
+	}
+
+	private static Counter contador(MeterRegistry registry, String resultado) {
+		return Counter.builder(METRICA)
+				.description("Chamadas coalescidas: executada abriu a consulta, compartilhada aproveitou uma em andamento")
+				.tag("operacao", "saldo")
+				.tag("resultado", resultado)
+				.register(registry);
+	}
+
+}
@@ -0,0 +1,62 @@
+package com.example.minhasfinancas.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.BaseSessionEventListener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Conta as instrucoes JDBC que demoram mais que o limite configurado.
+ * O Hibernate cria uma instancia por sessao a partir do nome da classe,
+ * por isso o contador e o limite sao compartilhados de forma estatica.
+ */
+public class ConsultaLentaListener extends BaseSessionEventListener {
+
+	private static final long serialVersionUID = 1L;
+	
+	public static final String METRICA = "minhasfinancas.hibernate.consultas.lentas";
+	
+	private static volatile long limiteNanos = TimeUnit.MILLISECONDS.toNanos(200);
+	private static volatile Counter consultasLentas;
+	
+	private long inicio;
+	
+	
+	static void configurar(MeterRegistry registry, long limiteMillis) {
+		limiteNanos = TimeUnit.MILLISECONDS.toNanos(limiteMillis);
+		consultasLentas = Counter.builder(METRICA)
+				.description("Instrucoes JDBC mais lentas que o limite configurado")
+				.register(registry);
+	}
+	
+	@Override
+	public void jdbcExecuteStatementStart() {
+		inicio = System.nanoTime();
+	}
+	
+	@Override
+	public void jdbcExecuteStatementEnd() {
+		registrar();
+	}
+	
+	@Override
+	public void jdbcExecuteBatchStart() {
+		inicio = System.nanoTime();
+	}
+	
+	@Override
+	public void jdbcExecuteBatchEnd() {
+		registrar();
+	}
+	
+	
+	private void registrar() {
+		Counter contador = consultasLentas;
+		if(contador != null && System.nanoTime() - inicio > limiteNanos) {
+			contador.increment();
+		}
+	}
+	
+}
@@ -0,0 +1,99 @@
+package com.example.minhasfinancas.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Limita quantas conexoes podem estar emprestadas ao mesmo tempo. Quem passa do
+ * limite espera em uma fila justa por ate {@code esperaMillis} e a permissao so e
+ * devolvida quando a conexao e fechada, de modo que o pool por tras nunca recebe
+ * mais pedidos simultaneos do que consegue atender.
+ */
+public class DataSourceLimitado extends DelegatingDataSource {
+
+	private final Semaphore permissoes;
+	private final long esperaMillis;
+	private final int limite;
+
+	public DataSourceLimitado(DataSource alvo, int limite, long esperaMillis) {
+		super(alvo);
+		this.permissoes = new Semaphore(limite, true);
+		this.esperaMillis = esperaMillis;
+		this.limite = limite;
+	}
+
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		adquirir();
+		return liberarAoFechar(() -> obtainTargetDataSource().getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		adquirir();
+		return liberarAoFechar(() -> obtainTargetDataSource().getConnection(username, password));
+	}
+
+	public int getLimite() {
+		return limite;
+	}
+
+	public int getConexoesDisponiveis() {
+		return permissoes.availablePermits();
+	}
+
+	public int getAguardando() {
+		return permissoes.getQueueLength();
+	}
+
+	private void adquirir() throws SQLException {
+		try {
+			if(!permissoes.tryAcquire(esperaMillis, TimeUnit.MILLISECONDS)) {
+				throw new SQLTransientConnectionException("Nenhuma das " + limite + " conexoes ficou disponivel em " + esperaMillis + "ms.");
+			}
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLTransientConnectionException("Interrompido aguardando uma conexao.", e);
+		}
+	}
+
+	private Connection liberarAoFechar(Abertura abertura) throws SQLException {
+
+		Connection conexao;
+		try {
+			conexao = abertura.abrir();
+		} catch(SQLException | RuntimeException e) {
+			permissoes.release();
+			throw e;
+		}
+
+		AtomicBoolean fechada = new AtomicBoolean();
+		return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class }, (proxy, metodo, argumentos) -> {
+			try {
+				return metodo.invoke(conexao, argumentos);
+			} catch(InvocationTargetException e) {
+				throw e.getCause();
+			} finally {
+				if(metodo.getName().equals("close") && fechada.compareAndSet(false, true)) {
+					permissoes.release();
+				}
+			}
+		});
+	}
+
+	private interface Abertura {
+		Connection abrir() throws SQLException;
+	}
+
+}
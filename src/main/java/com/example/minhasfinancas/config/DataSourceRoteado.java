@@ -0,0 +1,144 @@
+package com.example.minhasfinancas.config;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.example.minhasfinancas.api.filter.JwtTokenFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Envia as transacoes readOnly para a replica e todo o resto para o primario. A leitura
+ * volta para o primario enquanto o {@link MonitorReplica} considerar a replica atrasada
+ * ou fora do ar, quando a replica recusar a conexao, e durante {@code aderenciaMillis}
+ * depois de uma escrita confirmada do proprio usuario autenticado, para que ele sempre
+ * leia o que acabou de gravar.
+ *
+ * Precisa ficar atras de um LazyConnectionDataSourceProxy: a conexao so e escolhida no
+ * primeiro comando, quando o flag readOnly da transacao ja foi definido.
+ */
+public class DataSourceRoteado extends AbstractRoutingDataSource implements Closeable {
+
+	public enum Destino { PRIMARIO, REPLICA }
+
+	private final DataSource primario;
+	private final DataSource replica;
+	private final MonitorReplica monitor;
+	private final Cache<Long, Boolean> escritasRecentes;
+
+	public DataSourceRoteado(DataSource primario, DataSource replica, String consultaAtraso, long atrasoMaximoMillis, long aderenciaMillis) {
+		this.primario = primario;
+		this.replica = replica;
+		this.monitor = new MonitorReplica(replica, consultaAtraso, atrasoMaximoMillis);
+		this.escritasRecentes = Caffeine.newBuilder()
+				.expireAfterWrite(aderenciaMillis, TimeUnit.MILLISECONDS)
+				.build();
+
+		Map<Object, Object> destinos = new HashMap<>();
+		destinos.put(Destino.PRIMARIO, primario);
+		destinos.put(Destino.REPLICA, replica);
+		setTargetDataSources(destinos);
+		setDefaultTargetDataSource(primario);
+		afterPropertiesSet();
+	}
+
+
+	@Override
+	public Connection getConnection() throws SQLException {
+
+		Destino destino = determineCurrentLookupKey();
+
+		if(destino == Destino.PRIMARIO) {
+			registrarEscrita();
+			return primario.getConnection();
+		}
+
+		try {
+			return replica.getConnection();
+		} catch(SQLException e) {
+			monitor.marcarIndisponivel(e);
+			return primario.getConnection();
+		}
+	}
+
+	@Override
+	protected Destino determineCurrentLookupKey() {
+
+		if(!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || !monitor.isDisponivel()) {
+			return Destino.PRIMARIO;
+		}
+
+		Long idUsuario = usuarioAutenticado();
+		if(idUsuario != null && escritasRecentes.getIfPresent(idUsuario) != null) {
+			return Destino.PRIMARIO;
+		}
+
+		return Destino.REPLICA;
+	}
+
+	@Override
+	public void close() throws IOException {
+		fechar(replica);
+		fechar(primario);
+	}
+
+	public MonitorReplica getMonitor() {
+		return monitor;
+	}
+
+	public DataSource getPrimario() {
+		return primario;
+	}
+
+	public DataSource getReplica() {
+		return replica;
+	}
+
+	private void registrarEscrita() {
+
+		Long idUsuario = usuarioAutenticado();
+
+		if(idUsuario != null && TransactionSynchronizationManager.isSynchronizationActive()
+				&& !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void afterCommit() {
+					escritasRecentes.put(idUsuario, Boolean.TRUE);
+				}
+			});
+		}
+	}
+
+	private static void fechar(DataSource dataSource) throws IOException {
+		try {
+			if(dataSource.isWrapperFor(Closeable.class)) {
+				dataSource.unwrap(Closeable.class).close();
+			}
+		} catch(SQLException e) {
+			throw new IOException(e);
+		}
+	}
+
+	private static Long usuarioAutenticado() {
+
+		RequestAttributes requisicao = RequestContextHolder.getRequestAttributes();
+		if(requisicao == null) {
+			return null;
+		}
+		return (Long) requisicao.getAttribute(JwtTokenFilter.ATRIBUTO_ID_USUARIO, RequestAttributes.SCOPE_REQUEST);
+	}
+
+}
@@ -0,0 +1,50 @@
+package com.example.minhasfinancas.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.example.minhasfinancas.api.filter.IdempotenciaFilter;
+import com.example.minhasfinancas.api.idempotencia.ArmazenamentoIdempotencia;
+import com.example.minhasfinancas.api.idempotencia.ArmazenamentoIdempotenciaMemoria;
+import com.example.minhasfinancas.api.idempotencia.ArmazenamentoIdempotenciaTabela;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(name = "minhasfinancas.idempotencia.habilitada", havingValue = "true", matchIfMissing = true)
+public class IdempotenciaConfig {
+
+	@Bean
+	@ConditionalOnProperty(name = "minhasfinancas.idempotencia.armazenamento", havingValue = "memoria", matchIfMissing = true)
+	public ArmazenamentoIdempotencia armazenamentoIdempotenciaMemoria(
+			@Value("${minhasfinancas.idempotencia.tamanho-maximo:100000}") long tamanhoMaximo,
+			@Value("${minhasfinancas.idempotencia.validade-minutos:1440}") long validadeMinutos) {
+		
+		return new ArmazenamentoIdempotenciaMemoria(tamanhoMaximo, validadeMinutos);
+	}
+	
+	@Bean
+	@ConditionalOnProperty(name = "minhasfinancas.idempotencia.armazenamento", havingValue = "tabela")
+	public ArmazenamentoIdempotencia armazenamentoIdempotenciaTabela(
+			DataSource dataSource,
+			@Value("${minhasfinancas.idempotencia.validade-minutos:1440}") long validadeMinutos) {
+		
+		return new ArmazenamentoIdempotenciaTabela(dataSource, validadeMinutos);
+	}
+	
+	@Bean
+	public FilterRegistrationBean<IdempotenciaFilter> idempotenciaFilter(ArmazenamentoIdempotencia armazenamento, MeterRegistry registry) {
+		
+		FilterRegistrationBean<IdempotenciaFilter> registro = new FilterRegistrationBean<>(new IdempotenciaFilter(armazenamento, registry));
+		registro.addUrlPatterns("/api/lancamentos/*");
+		registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+		return registro;
+	}
+	
+}
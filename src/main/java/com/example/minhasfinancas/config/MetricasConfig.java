@@ -0,0 +1,23 @@
+package com.example.minhasfinancas.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class MetricasConfig {
+
+	@Bean
+	public HibernatePropertiesCustomizer consultaLentaCustomizer(
+			MeterRegistry registry,
+			@Value("${minhasfinancas.metricas.consulta-lenta.limite-ms:200}") long limiteMillis) {
+		
+		ConsultaLentaListener.configurar(registry, limiteMillis);
+		return propriedades -> propriedades.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, ConsultaLentaListener.class.getName());
+	}
+	
+}
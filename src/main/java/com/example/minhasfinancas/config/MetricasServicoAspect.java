@@ -0,0 +1,74 @@
+package com.example.minhasfinancas.config;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+/**
+ * Registra um timer por metodo publico dos servicos de lancamento e usuario,
+ * com a classe, o metodo e a excecao lancada (quando houver) como tags. Os timers
+ * ficam guardados por metodo e excecao, e cada chamada so para a amostra.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class MetricasServicoAspect {
+
+	public static final String METRICA = "minhasfinancas.servico";
+	
+	private final MeterRegistry registry;
+	
+	private final ConcurrentMap<ChaveTimer, Timer> timers = new ConcurrentHashMap<>();
+	
+	
+	@Around("execution(public * com.example.minhasfinancas.service.impl.LancamentoServiceImpl.*(..)) "
+		  + "|| execution(public * com.example.minhasfinancas.service.impl.UsuarioServiceImpl.*(..))")
+	public Object medir(ProceedingJoinPoint joinPoint) throws Throwable {
+		
+		Timer.Sample amostra = Timer.start(registry);
+		Method metodo = ((MethodSignature) joinPoint.getSignature()).getMethod();
+		String excecao = "none";
+		
+		try {
+			return joinPoint.proceed();
+			
+		}catch(Throwable e) {
+			excecao = e.getClass().getSimpleName();
+			throw e;
+			
+		}finally {
+			amostra.stop(timers.computeIfAbsent(new ChaveTimer(metodo, excecao), this::registrar));
+		}
+	}
+	
+	
+	private Timer registrar(ChaveTimer chave) {
+		
+		return Timer.builder(METRICA)
+				.description("Tempo de execucao dos metodos de servico")
+				.tag("classe", chave.getMetodo().getDeclaringClass().getSimpleName())
+				.tag("metodo", chave.getMetodo().getName())
+				.tag("excecao", chave.getExcecao())
+				.register(registry);
+	}
+	
+	
+	@Value
+	private static class ChaveTimer {
+		
+		Method metodo;
+		String excecao;
+	}
+	
+}
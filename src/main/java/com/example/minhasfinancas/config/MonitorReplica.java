@@ -0,0 +1,71 @@
+package com.example.minhasfinancas.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mede periodicamente o atraso da replica com a consulta configurada (em milissegundos)
+ * e a considera disponivel apenas enquanto o atraso ficar dentro do limite. Uma falha
+ * ao consultar, ou ao abrir uma conexao no roteamento, tira a replica de uso ate a
+ * proxima verificacao bem sucedida.
+ */
+@Slf4j
+public class MonitorReplica {
+
+	private final JdbcTemplate jdbc;
+	private final String consultaAtraso;
+	private final long atrasoMaximoMillis;
+
+	private volatile boolean disponivel;
+	private volatile long atrasoMillis = -1;
+
+	public MonitorReplica(DataSource replica, String consultaAtraso, long atrasoMaximoMillis) {
+		this.jdbc = new JdbcTemplate(replica);
+		this.jdbc.setQueryTimeout(1);
+		this.consultaAtraso = consultaAtraso;
+		this.atrasoMaximoMillis = atrasoMaximoMillis;
+	}
+
+
+	@Scheduled(fixedDelayString = "${minhasfinancas.replica.verificacao-ms:1000}", initialDelayString = "${minhasfinancas.replica.verificacao-ms:1000}")
+	public void verificar() {
+
+		try {
+			Number atraso = jdbc.queryForObject(consultaAtraso, Number.class);
+			atrasoMillis = atraso == null ? -1 : atraso.longValue();
+
+		} catch(RuntimeException e) {
+			marcarIndisponivel(e);
+			return;
+		}
+
+		boolean dentroDoLimite = atrasoMillis >= 0 && atrasoMillis <= atrasoMaximoMillis;
+		if(dentroDoLimite != disponivel) {
+			log.info("Replica {} para leitura (atraso de {}ms, limite de {}ms).",
+					dentroDoLimite ? "liberada" : "retirada", atrasoMillis, atrasoMaximoMillis);
+		}
+		disponivel = dentroDoLimite;
+	}
+
+	public void marcarIndisponivel(Exception causa) {
+
+		if(disponivel) {
+			log.warn("Replica retirada de leitura: {}", causa.getMessage());
+		}
+		disponivel = false;
+		atrasoMillis = -1;
+	}
+
+	public boolean isDisponivel() {
+		return disponivel;
+	}
+
+	public long getAtrasoMillis() {
+		return atrasoMillis;
+	}
+
+}
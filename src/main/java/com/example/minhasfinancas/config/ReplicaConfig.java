@@ -0,0 +1,124 @@
+package com.example.minhasfinancas.config;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Separa leitura e escrita em dois pools (minhasfinancas.replica.habilitada=true): o
+ * primario continua configurado em spring.datasource.* e a replica em
+ * minhasfinancas.replica.datasource.* (propriedades do Hikari, como jdbc-url). O
+ * DataSource da aplicacao passa a ser um {@link DataSourceRoteado}, e o Hibernate passa a
+ * devolver a conexao ao fim de cada transacao, para que cada uma seja roteada por conta
+ * propria mesmo com o open-in-view segurando a sessao durante toda a requisicao.
+ *
+ * Os dois pools nao sao beans: o DataSourceInitializerInvoker do Boot procura o
+ * DataSource primario assim que qualquer DataSource termina de ser criado, o que fecharia
+ * um ciclo com o proprio roteamento.
+ *
+ * A consulta padrao de atraso e a de uma replica por streaming do PostgreSQL, que
+ * responde 0 quando ja aplicou tudo o que recebeu.
+ */
+@Configuration
+@ConditionalOnProperty(name = "minhasfinancas.replica.habilitada", havingValue = "true")
+public class ReplicaConfig {
+
+	public static final String METRICA_ATRASO = "minhasfinancas.replica.atraso";
+
+	static final String CONSULTA_ATRASO_POSTGRES = "select case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0 "
+			+ "else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000, 0) end";
+
+	@Bean
+	@Primary
+	public DataSource dataSource(
+			DataSourceProperties properties,
+			Environment environment,
+			@Value("${minhasfinancas.replica.consulta-atraso:" + CONSULTA_ATRASO_POSTGRES + "}") String consultaAtraso,
+			@Value("${minhasfinancas.replica.atraso-maximo-ms:1000}") long atrasoMaximoMillis,
+			@Value("${minhasfinancas.replica.aderencia-ms:5000}") long aderenciaMillis) {
+
+		HikariDataSource primario = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		if(StringUtils.hasText(properties.getName())) {
+			primario.setPoolName(properties.getName());
+		}
+		Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primario));
+
+		HikariDataSource replica = new HikariDataSource();
+		replica.setPoolName("minhasfinancas-replica");
+		Binder.get(environment).bind("minhasfinancas.replica.datasource", Bindable.ofInstance(replica));
+
+		return new DataSourceReplicado(new DataSourceRoteado(limitar(primario, environment), limitar(replica, environment),
+				consultaAtraso, atrasoMaximoMillis, aderenciaMillis));
+	}
+
+	@Bean
+	public MonitorReplica monitorReplica(DataSource dataSource) throws SQLException {
+		return dataSource.unwrap(DataSourceRoteado.class).getMonitor();
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer conexaoPorTransacaoCustomizer() {
+		return propriedades -> propriedades.put(AvailableSettings.CONNECTION_HANDLING, "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+	}
+
+	@Bean
+	public MeterBinder replicaMetricas(DataSource dataSource, MonitorReplica monitor) {
+		return registry -> {
+			Gauge.builder(METRICA_ATRASO, monitor, MonitorReplica::getAtrasoMillis)
+					.description("Atraso da replica em milissegundos, -1 quando indisponivel")
+					.baseUnit("milliseconds")
+					.register(registry);
+			try {
+				HikariDataSource replica = dataSource.unwrap(DataSourceRoteado.class).getReplica().unwrap(HikariDataSource.class);
+				if(replica.getMetricRegistry() == null && replica.getMetricsTrackerFactory() == null) {
+					replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+				}
+			} catch(SQLException e) {
+				throw new IllegalStateException(e);
+			}
+		};
+	}
+
+	private static DataSource limitar(HikariDataSource pool, Environment environment) {
+		return environment.getProperty("minhasfinancas.threads.virtuais", Boolean.class, false)
+				? ThreadsVirtuaisConfig.limitar(pool, environment)
+				: pool;
+	}
+
+
+	static class DataSourceReplicado extends LazyConnectionDataSourceProxy implements Closeable {
+
+		DataSourceReplicado(DataSourceRoteado roteamento) {
+			super(roteamento);
+		}
+
+		@Override
+		public void close() throws IOException {
+			((DataSourceRoteado) obtainTargetDataSource()).close();
+		}
+
+	}
+
+}
@@ -0,0 +1,107 @@
+package com.example.minhasfinancas.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import javax.sql.DataSource;
+
+import org.apache.coyote.AbstractProtocol;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Modo opcional (minhasfinancas.threads.virtuais=true) que atende cada requisicao do
+ * Tomcat, e cada tarefa do applicationTaskExecutor (@Async e requisicoes assincronas
+ * do MVC, como a exportacao), em uma thread virtual. Exige JDK 21 ou superior em tempo
+ * de execucao; o projeto continua compilando em Java 8, por isso a API e acessada por
+ * reflexao.
+ *
+ * Como a quantidade de threads deixa de limitar a concorrencia, o DataSource passa a
+ * ficar atras de um {@link DataSourceLimitado} com tantas permissoes quanto o pool do
+ * Hikari, para que as requisicoes esperem em fila em vez de disputarem o pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "minhasfinancas.threads.virtuais", havingValue = "true")
+public class ThreadsVirtuaisConfig {
+
+	public static final String METRICA_AGUARDANDO = "minhasfinancas.datasource.aguardando";
+
+	private static final int TAMANHO_PADRAO_POOL_HIKARI = 10;
+
+	@Bean(destroyMethod = "shutdown")
+	public ExecutorService executorThreadsVirtuais() {
+		return criarExecutor("virtual-");
+	}
+
+	@Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+	public AsyncTaskExecutor applicationTaskExecutor(ExecutorService executorThreadsVirtuais) {
+		return new TaskExecutorAdapter(executorThreadsVirtuais);
+	}
+
+	@Bean
+	public WebServerFactoryCustomizer<TomcatServletWebServerFactory> tomcatThreadsVirtuais(ExecutorService executorThreadsVirtuais) {
+		return fabrica -> fabrica.addConnectorCustomizers(conector ->
+				((AbstractProtocol<?>) conector.getProtocolHandler()).setExecutor(executorThreadsVirtuais));
+	}
+
+	@Bean
+	public static BeanPostProcessor dataSourceLimitadoPostProcessor(Environment environment) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				return bean instanceof HikariDataSource ? limitar((HikariDataSource) bean, environment) : bean;
+			}
+		};
+	}
+
+	@Bean
+	public MeterBinder dataSourceLimitadoMetricas(DataSource dataSource) {
+		return registry -> {
+			if(dataSource instanceof DataSourceLimitado) {
+				Gauge.builder(METRICA_AGUARDANDO, (DataSourceLimitado) dataSource, DataSourceLimitado::getAguardando)
+						.description("Requisicoes aguardando uma conexao do DataSource")
+						.register(registry);
+			}
+		};
+	}
+
+	static DataSourceLimitado limitar(HikariDataSource hikari, Environment environment) {
+
+		int tamanhoPool = hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : TAMANHO_PADRAO_POOL_HIKARI;
+		return new DataSourceLimitado(hikari,
+				environment.getProperty("minhasfinancas.threads.virtuais.conexoes", Integer.class, tamanhoPool),
+				environment.getProperty("minhasfinancas.threads.virtuais.espera-conexao-ms", Long.class, hikari.getConnectionTimeout()));
+	}
+
+	static ExecutorService criarExecutor(String prefixo) {
+		try {
+			Class<?> construtor = Class.forName("java.lang.Thread$Builder");
+			Object virtual = Thread.class.getMethod("ofVirtual").invoke(null);
+			virtual = construtor.getMethod("name", String.class, long.class).invoke(virtual, prefixo, 0L);
+			ThreadFactory fabrica = (ThreadFactory) construtor.getMethod("factory").invoke(virtual);
+			return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, fabrica);
+
+		} catch(ClassNotFoundException | NoSuchMethodException e) {
+			throw new IllegalStateException("minhasfinancas.threads.virtuais exige JDK 21 ou superior; esta JVM e "
+					+ System.getProperty("java.version") + ".", e);
+		} catch(IllegalAccessException | InvocationTargetException e) {
+			throw new IllegalStateException("Nao foi possivel criar o executor de threads virtuais.", e);
+		}
+	}
+
+}
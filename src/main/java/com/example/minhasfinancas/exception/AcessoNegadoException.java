@@ -0,0 +1,9 @@
+package com.example.minhasfinancas.exception;
+
+public class AcessoNegadoException extends RegraNegocioException {
+
+	public AcessoNegadoException(String msg) {
+		super(msg);
+	}
+	
+}
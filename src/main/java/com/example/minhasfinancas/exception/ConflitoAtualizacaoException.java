@@ -0,0 +1,20 @@
+package com.example.minhasfinancas.exception;
+
+public class ConflitoAtualizacaoException extends RegraNegocioException {
+
+	private final Object estadoAtual;
+	
+	public ConflitoAtualizacaoException(String msg) {
+		this(msg, null);
+	}
+	
+	public ConflitoAtualizacaoException(String msg, Object estadoAtual) {
+		super(msg);
+		this.estadoAtual = estadoAtual;
+	}
+	
+	public Object getEstadoAtual() {
+		return estadoAtual;
+	}
+	
+}
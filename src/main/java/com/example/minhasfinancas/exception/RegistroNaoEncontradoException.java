@@ -0,0 +1,9 @@
+package com.example.minhasfinancas.exception;
+
+public class RegistroNaoEncontradoException extends RegraNegocioException {
+
+	public RegistroNaoEncontradoException(String msg) {
+		super(msg);
+	}
+	
+}
@@ -0,0 +1,53 @@
+package com.example.minhasfinancas.job;
+
+import java.util.List;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.minhasfinancas.model.repository.UsuarioRepository;
+import com.example.minhasfinancas.service.SaldoUsuarioService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReconciliacaoSaldoJob {
+
+	private static final int TAMANHO_LOTE = 500;
+	
+	private final UsuarioRepository usuarioRepository;
+	private final SaldoUsuarioService saldoService;
+	
+	
+	
+	@Scheduled(cron = "${minhasfinancas.saldo.reconciliacao.cron:0 0 3 * * *}")
+	public void executar() {
+		
+		int verificados = 0;
+		int corrigidos = 0;
+		Long ultimoId = 0L;
+		
+		List<Long> ids = usuarioRepository.obterIdsApos(ultimoId, PageRequest.of(0, TAMANHO_LOTE));
+		
+		while(!ids.isEmpty()) {
+			
+			for(Long id : ids) {
+				if(saldoService.reconciliar(id)) {
+					log.warn("Saldo do usuario {} divergente da soma dos lancamentos, corrigido.", id);
+					corrigidos++;
+				}
+				verificados++;
+			}
+			
+			ultimoId = ids.get(ids.size() - 1);
+			ids = usuarioRepository.obterIdsApos(ultimoId, PageRequest.of(0, TAMANHO_LOTE));
+		}
+		
+		log.info("Reconciliacao de saldos concluida: {} usuarios verificados, {} corrigidos.", verificados, corrigidos);
+	}
+	
+}
@@ -7,17 +7,24 @@ import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Version;
 
 import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
 
 import com.example.minhasfinancas.model.enums.StatusLancamento;
 import com.example.minhasfinancas.model.enums.TipoLancamento;
+import com.example.minhasfinancas.util.NormalizadorTexto;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -34,7 +41,8 @@ public class Lancamento {
 	
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lancamento_seq")
+	@SequenceGenerator(name = "lancamento_seq", schema = "financas", sequenceName = "lancamento_seq", allocationSize = 50)
 	@Column(name = "id")
 	private Long id;
 	
@@ -48,14 +56,14 @@ public class Lancamento {
 	@Column(name = "ano")
 	private Integer ano;
 	
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name="id_usuario")
 	private Usuario usuario;
 	
 	@Column(name = "valor")
 	private BigDecimal valor;
 	
-	@Column(name="data_cadastro")
+	@Column(name="data_cadastro", columnDefinition = "date")
 	@Convert(converter = Jsr310JpaConverters.LocalDateConverter.class)
 	private LocalDate dataCadastro;
 	
@@ -67,6 +75,21 @@ public class Lancamento {
 	@Column(name = "status")
 	@Enumerated(value = EnumType.STRING)
 	private StatusLancamento status;
+	
+	@Version
+	@Column(name = "versao")
+	private Long versao;
+	
+	@JsonIgnore
+	@Column(name = "descricao_busca")
+	private String descricaoBusca;
+	
+	
+	@PrePersist
+	@PreUpdate
+	public void normalizarDescricao() {
+		this.descricaoBusca = NormalizadorTexto.normalizar(descricao);
+	}
 
 
 	
@@ -0,0 +1,48 @@
+package com.example.minhasfinancas.model.entity;
+
+import java.math.BigDecimal;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "lancamento_resumo_mensal", schema = "financas")
+@IdClass(ResumoMensalId.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoMensal {
+
+	@Id
+	@Column(name = "id_usuario")
+	private Long idUsuario;
+	
+	@Id
+	@Column(name = "ano")
+	private Integer ano;
+	
+	@Id
+	@Column(name = "mes")
+	private Integer mes;
+	
+	@Column(name = "receitas")
+	private BigDecimal receitas;
+	
+	@Column(name = "despesas")
+	private BigDecimal despesas;
+	
+	
+	public BigDecimal getSaldo() {
+		return receitas.subtract(despesas);
+	}
+	
+}
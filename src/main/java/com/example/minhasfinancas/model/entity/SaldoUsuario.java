@@ -0,0 +1,43 @@
+package com.example.minhasfinancas.model.entity;
+
+import java.math.BigDecimal;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Saldo agregado por usuario. A tabela financas.saldo_usuario e criada em
+ * db/migration/common/V1__criar_schema_financas.sql e a coluna versao em V5.
+ */
+@Entity
+@Table(name = "saldo_usuario", schema = "financas")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaldoUsuario {
+
+	@Id
+	@Column(name = "id_usuario")
+	private Long idUsuario;
+	
+	@Column(name = "receitas")
+	private BigDecimal receitas;
+	
+	@Column(name = "despesas")
+	private BigDecimal despesas;
+	
+	@Column(name = "saldo")
+	private BigDecimal saldo;
+	
+	@Column(name = "versao")
+	private Long versao;
+	
+}
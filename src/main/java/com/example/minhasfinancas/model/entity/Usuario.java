@@ -7,6 +7,9 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import lombok.AllArgsConstructor;
@@ -16,12 +19,16 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name="usuario", schema="financas")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Usuario.REGIAO_CACHE)
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Usuario {
 	
+	public static final String REGIAO_CACHE = "usuario";
+	public static final String REGIAO_CACHE_CONSULTAS = "usuario-consultas";
+	
 	@Id
 	@Column(name = "id")
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,67 @@
+package com.example.minhasfinancas.model.paginacao;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.example.minhasfinancas.exception.RegraNegocioException;
+import com.example.minhasfinancas.model.entity.Lancamento;
+import com.example.minhasfinancas.model.projection.LancamentoResumo;
+
+import lombok.Getter;
+
+@Getter
+public class CursorLancamento {
+
+	private static final String CURSOR_INVALIDO = "Cursor de paginacao invalido";
+	
+	private final Integer ano;
+	private final Integer mes;
+	private final Long id;
+	
+	/**
+	 * A busca compara (ano, mes, id) com o cursor, entao nenhuma das partes pode faltar.
+	 */
+	public CursorLancamento(Integer ano, Integer mes, Long id) {
+		
+		if(ano == null || mes == null || id == null) {
+			throw new RegraNegocioException(CURSOR_INVALIDO);
+		}
+		
+		this.ano = ano;
+		this.mes = mes;
+		this.id = id;
+	}
+	
+	
+	public static CursorLancamento de(Lancamento lancamento) {
+		return new CursorLancamento(lancamento.getAno(), lancamento.getMes(), lancamento.getId());
+	}
+	
+	public static CursorLancamento de(LancamentoResumo lancamento) {
+		return new CursorLancamento(lancamento.getAno(), lancamento.getMes(), lancamento.getId());
+	}
+	
+	public static CursorLancamento decodificar(String token) {
+		
+		if(token == null || token.trim().isEmpty()) {
+			return null;
+		}
+		
+		try {
+			String[] partes = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\.");
+			if(partes.length != 3) {
+				throw new RegraNegocioException(CURSOR_INVALIDO);
+			}
+			return new CursorLancamento(Integer.valueOf(partes[0]), Integer.valueOf(partes[1]), Long.valueOf(partes[2]));
+			
+		}catch(IllegalArgumentException e) {
+			throw new RegraNegocioException(CURSOR_INVALIDO);
+		}
+	}
+	
+	public String codificar() {
+		String valor = ano + "." + mes + "." + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+	}
+	
+}
@@ -0,0 +1,15 @@
+package com.example.minhasfinancas.model.paginacao;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class Pagina<T> {
+
+	private final List<T> conteudo;
+	private final String proximoCursor;
+	
+}
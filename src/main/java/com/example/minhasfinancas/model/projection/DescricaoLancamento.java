@@ -0,0 +1,9 @@
+package com.example.minhasfinancas.model.projection;
+
+public interface DescricaoLancamento {
+
+	Long getId();
+	
+	String getDescricao();
+	
+}
@@ -0,0 +1,38 @@
+package com.example.minhasfinancas.model.projection;
+
+import java.math.BigDecimal;
+
+import com.example.minhasfinancas.model.entity.Lancamento;
+import com.example.minhasfinancas.model.enums.StatusLancamento;
+import com.example.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.Value;
+
+@Value
+public class LancamentoResumo {
+
+	private final Long id;
+	private final String descricao;
+	private final Integer mes;
+	private final Integer ano;
+	private final BigDecimal valor;
+	private final TipoLancamento tipo;
+	private final StatusLancamento status;
+	private final Long usuarioId;
+	private final Long versao;
+	
+	
+	public static LancamentoResumo de(Lancamento lancamento) {
+		return new LancamentoResumo(
+				lancamento.getId(), 
+				lancamento.getDescricao(), 
+				lancamento.getMes(), 
+				lancamento.getAno(), 
+				lancamento.getValor(), 
+				lancamento.getTipo(), 
+				lancamento.getStatus(), 
+				lancamento.getUsuario() == null ? null : lancamento.getUsuario().getId(),
+				lancamento.getVersao());
+	}
+	
+}
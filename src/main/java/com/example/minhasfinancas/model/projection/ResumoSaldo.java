@@ -0,0 +1,20 @@
+package com.example.minhasfinancas.model.projection;
+
+import java.math.BigDecimal;
+
+import lombok.Getter;
+
+@Getter
+public class ResumoSaldo {
+
+	private final BigDecimal receitas;
+	private final BigDecimal despesas;
+	private final BigDecimal saldo;
+	
+	public ResumoSaldo(BigDecimal receitas, BigDecimal despesas) {
+		this.receitas = receitas == null ? BigDecimal.ZERO : receitas;
+		this.despesas = despesas == null ? BigDecimal.ZERO : despesas;
+		this.saldo = this.receitas.subtract(this.despesas);
+	}
+	
+}
@@ -0,0 +1,21 @@
+package com.example.minhasfinancas.model.projection;
+
+import java.math.BigDecimal;
+
+import com.example.minhasfinancas.model.enums.StatusLancamento;
+import com.example.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class TotalLancamentos {
+
+	private final Integer ano;
+	private final Integer mes;
+	private final TipoLancamento tipo;
+	private final StatusLancamento status;
+	private final BigDecimal valor;
+	
+}
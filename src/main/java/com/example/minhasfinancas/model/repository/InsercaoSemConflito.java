@@ -0,0 +1,52 @@
+package com.example.minhasfinancas.model.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+import javax.persistence.EntityManager;
+
+import org.hibernate.Session;
+
+/**
+ * Insert que tolera a chave ja existir: roda na conexao da transacao atual protegido por
+ * um savepoint e, se outra transacao gravou a mesma chave primeiro, desfaz so o insert e
+ * devolve false. Sem o savepoint o PostgreSQL abortaria a transacao inteira.
+ *
+ * Nao passa pelo flush do Hibernate: quem depende de alteracoes pendentes da sessao deve
+ * consulta-las (e assim descarrega-las) antes.
+ */
+final class InsercaoSemConflito {
+
+	private static final String VIOLACAO_CHAVE_UNICA = "23505";
+	
+	private InsercaoSemConflito() {
+	}
+	
+	
+	static boolean inserir(EntityManager entityManager, String sql, Object... parametros) {
+		
+		return entityManager.unwrap(Session.class).doReturningWork(conexao -> {
+			
+			Savepoint savepoint = conexao.setSavepoint();
+			
+			try(PreparedStatement comando = conexao.prepareStatement(sql)) {
+				for(int i = 0; i < parametros.length; i++) {
+					comando.setObject(i + 1, parametros[i]);
+				}
+				comando.executeUpdate();
+				
+			}catch(SQLException e) {
+				if(!VIOLACAO_CHAVE_UNICA.equals(e.getSQLState())) {
+					throw e;
+				}
+				conexao.rollback(savepoint);
+				return false;
+			}
+			
+			conexao.releaseSavepoint(savepoint);
+			return true;
+		});
+	}
+	
+}
@@ -1,16 +1,27 @@
 package com.example.minhasfinancas.model.repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
+import javax.persistence.LockModeType;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.example.minhasfinancas.model.entity.Lancamento;
+import com.example.minhasfinancas.model.enums.StatusLancamento;
 import com.example.minhasfinancas.model.enums.TipoLancamento;
+import com.example.minhasfinancas.model.projection.DescricaoLancamento;
+import com.example.minhasfinancas.model.projection.LancamentoResumo;
+import com.example.minhasfinancas.model.projection.ResumoSaldo;
+import com.example.minhasfinancas.model.projection.TotalLancamentos;
 
-public interface LancamentoRepository extends JpaRepository<Lancamento, Long> {
+public interface LancamentoRepository extends JpaRepository<Lancamento, Long>, LancamentoRepositoryCustom {
 	
 	
 	@Query(value = "select sum(l.valor) from Lancamento l join l.usuario u "
@@ -18,5 +29,107 @@ public interface LancamentoRepository extends JpaRepository<Lancamento, Long> {
 	BigDecimal obterSaldoPorTipoLancamentoEUsuario(
 			@Param("idUsuario") Long idUsuario, 
 			@Param("tipo")TipoLancamento tipo);
+	
+	
+	@Query(value = "select new com.example.minhasfinancas.model.projection.ResumoSaldo( "
+			     + " sum(case when l.tipo = com.example.minhasfinancas.model.enums.TipoLancamento.RECEITA then l.valor else 0 end), "
+			     + " sum(case when l.tipo = com.example.minhasfinancas.model.enums.TipoLancamento.DESPESA then l.valor else 0 end)) "
+			     + " from Lancamento l "
+			     + " where l.usuario.id = :idUsuario and l.status in :status")
+	ResumoSaldo obterResumoSaldoPorUsuario(
+			@Param("idUsuario") Long idUsuario,
+			@Param("status") Collection<StatusLancamento> status);
+	
+	
+	@Query(value = "select new com.example.minhasfinancas.model.projection.ResumoSaldo( "
+			     + " sum(case when l.tipo = com.example.minhasfinancas.model.enums.TipoLancamento.RECEITA then l.valor else 0 end), "
+			     + " sum(case when l.tipo = com.example.minhasfinancas.model.enums.TipoLancamento.DESPESA then l.valor else 0 end)) "
+			     + " from Lancamento l "
+			     + " where l.usuario.id = :idUsuario and l.ano = :ano and l.mes = :mes and l.status in :status")
+	ResumoSaldo obterResumoMensalPorUsuario(
+			@Param("idUsuario") Long idUsuario,
+			@Param("ano") Integer ano,
+			@Param("mes") Integer mes,
+			@Param("status") Collection<StatusLancamento> status);
+	
+	
+	@Query(value = "select new com.example.minhasfinancas.model.projection.LancamentoResumo( "
+			     + " l.id, l.descricao, l.mes, l.ano, l.valor, l.tipo, l.status, l.usuario.id, l.versao) "
+			     + " from Lancamento l where l.id = :id")
+	Optional<LancamentoResumo> obterResumoPorId(@Param("id") Long id);
+	
+	
+	@Modifying
+	@Query(value = "update Lancamento l set l.descricao = :#{#lancamento.descricao}, "
+			     + " l.descricaoBusca = :#{#lancamento.descricaoBusca}, "
+			     + " l.mes = :#{#lancamento.mes}, "
+			     + " l.ano = :#{#lancamento.ano}, "
+			     + " l.valor = :#{#lancamento.valor}, "
+			     + " l.tipo = :#{#lancamento.tipo}, "
+			     + " l.status = :#{#lancamento.status}, "
+			     + " l.usuario = :#{#lancamento.usuario}, "
+			     + " l.versao = l.versao + 1 "
+			     + " where l.id = :#{#lancamento.id} and l.versao = :#{#lancamento.versao}")
+	int atualizarDados(@Param("lancamento") Lancamento lancamento);
+	
+	
+	@Modifying
+	@Query(value = "update Lancamento l set l.status = :status, l.versao = l.versao + 1 "
+			     + " where l.id = :id and l.versao = :versao")
+	int atualizarStatus(
+			@Param("id") Long id,
+			@Param("versao") Long versao,
+			@Param("status") StatusLancamento status);
+	
+	
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query(value = "select l.id from Lancamento l "
+			     + " where l.usuario.id = :idUsuario and l.id in :ids and l.status <> :status")
+	List<Long> travarParaAlterarStatus(
+			@Param("idUsuario") Long idUsuario,
+			@Param("ids") Collection<Long> ids,
+			@Param("status") StatusLancamento status);
+	
+	
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query(value = "select l.id from Lancamento l "
+			     + " where l.usuario.id = :idUsuario and l.ano = :ano and l.mes = :mes and l.status <> :status")
+	List<Long> travarParaAlterarStatus(
+			@Param("idUsuario") Long idUsuario,
+			@Param("ano") Integer ano,
+			@Param("mes") Integer mes,
+			@Param("status") StatusLancamento status);
+	
+	
+	@Query(value = "select new com.example.minhasfinancas.model.projection.TotalLancamentos(l.ano, l.mes, l.tipo, l.status, sum(l.valor)) "
+			     + " from Lancamento l where l.id in :ids "
+			     + " group by l.ano, l.mes, l.tipo, l.status")
+	List<TotalLancamentos> somarPorPeriodoTipoEStatus(@Param("ids") Collection<Long> ids);
+	
+	
+	@Modifying
+	@Query(value = "update Lancamento l set l.status = :status, l.versao = l.versao + 1 "
+			     + " where l.usuario.id = :idUsuario and l.id in :ids and l.status <> :status")
+	int atualizarStatusPorIds(
+			@Param("idUsuario") Long idUsuario,
+			@Param("ids") Collection<Long> ids,
+			@Param("status") StatusLancamento status);
+	
+	
+	
+	
+	@Query(value = "select l.id as id, l.descricao as descricao from Lancamento l where l.usuario.id = :idUsuario")
+	List<DescricaoLancamento> obterDescricoesPorUsuario(@Param("idUsuario") Long idUsuario);
+	
+	
+	@Query(value = "select l.* from financas.lancamento l "
+			     + " where l.id_usuario = :idUsuario and l.descricao_busca like :padrao escape '!' "
+			     + " order by similarity(l.descricao_busca, :termo) desc, l.id desc "
+			     + " limit :limite", nativeQuery = true)
+	List<Lancamento> buscarPorTrigramas(
+			@Param("idUsuario") Long idUsuario,
+			@Param("termo") String termo,
+			@Param("padrao") String padrao,
+			@Param("limite") int limite);
 
 }
@@ -0,0 +1,17 @@
+package com.example.minhasfinancas.model.repository;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.example.minhasfinancas.model.entity.Lancamento;
+import com.example.minhasfinancas.model.paginacao.CursorLancamento;
+import com.example.minhasfinancas.model.projection.LancamentoResumo;
+
+public interface LancamentoRepositoryCustom {
+
+	
+	List<LancamentoResumo> buscar(Lancamento filtro, CursorLancamento apos, int limite);
+	
+	void percorrerPorUsuario(Long idUsuario, int tamanhoFetch, Consumer<Lancamento> consumidor);
+	
+}
@@ -0,0 +1,135 @@
+package com.example.minhasfinancas.model.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.hibernate.jpa.QueryHints;
+
+import com.example.minhasfinancas.model.entity.Lancamento;
+import com.example.minhasfinancas.model.paginacao.CursorLancamento;
+import com.example.minhasfinancas.model.projection.LancamentoResumo;
+
+public class LancamentoRepositoryImpl implements LancamentoRepositoryCustom {
+
+	private static final char ESCAPE = '!';
+	
+	@PersistenceContext
+	private EntityManager entityManager;
+	
+	
+	
+	@Override
+	public List<LancamentoResumo> buscar(Lancamento filtro, CursorLancamento apos, int limite) {
+		
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<LancamentoResumo> query = cb.createQuery(LancamentoResumo.class);
+		Root<Lancamento> root = query.from(Lancamento.class);
+		
+		List<Predicate> predicados = filtrar(cb, root, filtro);
+		
+		if(apos != null) {
+			predicados.add(posterior(cb, root, apos));
+		}
+		
+		query.select(cb.construct(LancamentoResumo.class, 
+				root.get("id"), root.get("descricao"), root.get("mes"), root.get("ano"), 
+				root.get("valor"), root.get("tipo"), root.get("status"), root.get("usuario").get("id"), root.get("versao")))
+		     .where(predicados.toArray(new Predicate[0]))
+		     .orderBy(cb.asc(root.get("ano")), cb.asc(root.get("mes")), cb.asc(root.get("id")));
+		
+		return entityManager.createQuery(query)
+				.setMaxResults(limite)
+				.getResultList();
+	}
+	
+	
+	@Override
+	public void percorrerPorUsuario(Long idUsuario, int tamanhoFetch, Consumer<Lancamento> consumidor) {
+		
+		try(Stream<Lancamento> lancamentos = entityManager
+				.createQuery("select l from Lancamento l where l.usuario.id = :idUsuario order by l.ano, l.mes, l.id", Lancamento.class)
+				.setParameter("idUsuario", idUsuario)
+				.setHint(QueryHints.HINT_FETCH_SIZE, tamanhoFetch)
+				.setHint(QueryHints.HINT_READONLY, true)
+				.getResultStream()) {
+			
+			lancamentos.forEach(lancamento -> {
+				consumidor.accept(lancamento);
+				entityManager.detach(lancamento);
+			});
+		}
+	}
+	
+	
+	
+	
+	private List<Predicate> filtrar(CriteriaBuilder cb, Root<Lancamento> root, Lancamento filtro) {
+		
+		List<Predicate> predicados = new ArrayList<>();
+		
+		if(filtro.getUsuario() != null && filtro.getUsuario().getId() != null) {
+			predicados.add(cb.equal(root.get("usuario").get("id"), filtro.getUsuario().getId()));
+		}
+		
+		if(filtro.getDescricao() != null && !filtro.getDescricao().trim().isEmpty()) {
+			predicados.add(cb.like(cb.lower(root.get("descricao")), contendo(filtro.getDescricao().toLowerCase()), ESCAPE));
+		}
+		
+		if(filtro.getAno() != null) {
+			predicados.add(cb.equal(root.get("ano"), filtro.getAno()));
+		}
+		
+		if(filtro.getMes() != null) {
+			predicados.add(cb.equal(root.get("mes"), filtro.getMes()));
+		}
+		
+		if(filtro.getTipo() != null) {
+			predicados.add(cb.equal(root.get("tipo"), filtro.getTipo()));
+		}
+		
+		if(filtro.getStatus() != null) {
+			predicados.add(cb.equal(root.get("status"), filtro.getStatus()));
+		}
+		
+		return predicados;
+	}
+	
+	/**
+	 * Padrao do like que procura o texto literalmente: % e _ digitados na busca nao
+	 * viram curingas.
+	 */
+	private static String contendo(String texto) {
+		
+		return "%" + texto.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+	}
+	
+	/**
+	 * (ano, mes, id) depois do cursor. O "ano >=" repete o que o OR ja garante, mas e o
+	 * que o banco usa como inicio da faixa no indice (id_usuario, ano, mes, id); sem ele
+	 * o OR vira so filtro e cada pagina percorre o indice desde o primeiro lancamento.
+	 */
+	private Predicate posterior(CriteriaBuilder cb, Root<Lancamento> root, CursorLancamento cursor) {
+		
+		Path<Integer> ano = root.get("ano");
+		Path<Integer> mes = root.get("mes");
+		Path<Long> id = root.get("id");
+		
+		return cb.and(
+				cb.greaterThanOrEqualTo(ano, cursor.getAno()),
+				cb.or(
+						cb.greaterThan(ano, cursor.getAno()),
+						cb.and(cb.equal(ano, cursor.getAno()), cb.greaterThan(mes, cursor.getMes())),
+						cb.and(cb.equal(ano, cursor.getAno()), cb.equal(mes, cursor.getMes()), cb.greaterThan(id, cursor.getId()))));
+	}
+	
+}
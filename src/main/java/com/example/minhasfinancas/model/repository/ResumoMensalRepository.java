@@ -0,0 +1,43 @@
+package com.example.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.LockModeType;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.minhasfinancas.model.entity.ResumoMensal;
+import com.example.minhasfinancas.model.entity.ResumoMensalId;
+
+public interface ResumoMensalRepository extends JpaRepository<ResumoMensal, ResumoMensalId>, ResumoMensalRepositoryCustom {
+
+	
+	@Modifying
+	@Query(value = "update ResumoMensal r set r.receitas = r.receitas + :receitas, "
+			     + " r.despesas = r.despesas + :despesas "
+			     + " where r.idUsuario = :idUsuario and r.ano = :ano and r.mes = :mes")
+	int somar(
+			@Param("idUsuario") Long idUsuario,
+			@Param("ano") Integer ano,
+			@Param("mes") Integer mes,
+			@Param("receitas") BigDecimal receitas,
+			@Param("despesas") BigDecimal despesas);
+	
+	
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query(value = "select r from ResumoMensal r where r.idUsuario = :idUsuario and r.ano = :ano and r.mes = :mes")
+	Optional<ResumoMensal> obterParaAtualizacao(
+			@Param("idUsuario") Long idUsuario,
+			@Param("ano") Integer ano,
+			@Param("mes") Integer mes);
+	
+	
+	List<ResumoMensal> findByIdUsuarioAndAnoOrderByMes(Long idUsuario, Integer ano);
+	
+}
@@ -0,0 +1,14 @@
+package com.example.minhasfinancas.model.repository;
+
+import com.example.minhasfinancas.model.entity.ResumoMensal;
+
+public interface ResumoMensalRepositoryCustom {
+
+	
+	/**
+	 * Cria o resumo do mes. Devolve false, sem abortar a transacao, quando outra
+	 * transacao ja criou o resumo desse usuario no mesmo mes.
+	 */
+	boolean inserirSeAusente(ResumoMensal resumoMensal);
+	
+}
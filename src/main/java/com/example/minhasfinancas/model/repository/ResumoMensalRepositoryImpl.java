@@ -0,0 +1,23 @@
+package com.example.minhasfinancas.model.repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import com.example.minhasfinancas.model.entity.ResumoMensal;
+
+public class ResumoMensalRepositoryImpl implements ResumoMensalRepositoryCustom {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+	
+	
+	
+	@Override
+	public boolean inserirSeAusente(ResumoMensal resumoMensal) {
+		
+		return InsercaoSemConflito.inserir(entityManager, 
+				"insert into financas.lancamento_resumo_mensal (id_usuario, ano, mes, receitas, despesas) values (?, ?, ?, ?, ?)",
+				resumoMensal.getIdUsuario(), resumoMensal.getAno(), resumoMensal.getMes(), resumoMensal.getReceitas(), resumoMensal.getDespesas());
+	}
+	
+}
@@ -0,0 +1,39 @@
+package com.example.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import javax.persistence.LockModeType;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.minhasfinancas.model.entity.SaldoUsuario;
+
+public interface SaldoUsuarioRepository extends JpaRepository<SaldoUsuario, Long>, SaldoUsuarioRepositoryCustom {
+
+	
+	@Modifying
+	@Query(value = "update SaldoUsuario s set s.receitas = s.receitas + :receitas, "
+			     + " s.despesas = s.despesas + :despesas, "
+			     + " s.saldo = s.saldo + :receitas - :despesas, "
+			     + " s.versao = s.versao + 1 "
+			     + " where s.idUsuario = :idUsuario")
+	int somar(
+			@Param("idUsuario") Long idUsuario,
+			@Param("receitas") BigDecimal receitas,
+			@Param("despesas") BigDecimal despesas);
+	
+	
+	@Query(value = "select s.versao from SaldoUsuario s where s.idUsuario = :idUsuario")
+	Optional<Long> obterVersao(@Param("idUsuario") Long idUsuario);
+	
+	
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query(value = "select s from SaldoUsuario s where s.idUsuario = :idUsuario")
+	Optional<SaldoUsuario> obterParaAtualizacao(@Param("idUsuario") Long idUsuario);
+	
+}
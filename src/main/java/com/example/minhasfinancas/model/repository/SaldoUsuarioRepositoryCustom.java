@@ -0,0 +1,14 @@
+package com.example.minhasfinancas.model.repository;
+
+import com.example.minhasfinancas.model.entity.SaldoUsuario;
+
+public interface SaldoUsuarioRepositoryCustom {
+
+	
+	/**
+	 * Cria o saldo do usuario. Devolve false, sem abortar a transacao, quando outra
+	 * transacao ja criou o saldo desse usuario.
+	 */
+	boolean inserirSeAusente(SaldoUsuario saldo);
+	
+}
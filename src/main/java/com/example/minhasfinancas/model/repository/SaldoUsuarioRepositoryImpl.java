@@ -0,0 +1,23 @@
+package com.example.minhasfinancas.model.repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import com.example.minhasfinancas.model.entity.SaldoUsuario;
+
+public class SaldoUsuarioRepositoryImpl implements SaldoUsuarioRepositoryCustom {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+	
+	
+	
+	@Override
+	public boolean inserirSeAusente(SaldoUsuario saldo) {
+		
+		return InsercaoSemConflito.inserir(entityManager, 
+				"insert into financas.saldo_usuario (id_usuario, receitas, despesas, saldo, versao) values (?, ?, ?, ?, ?)",
+				saldo.getIdUsuario(), saldo.getReceitas(), saldo.getDespesas(), saldo.getSaldo(), saldo.getVersao());
+	}
+	
+}
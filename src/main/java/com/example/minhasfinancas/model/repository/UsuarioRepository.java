@@ -1,16 +1,30 @@
 package com.example.minhasfinancas.model.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.example.minhasfinancas.model.entity.Usuario;
 
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
 	
+	@QueryHints({ @QueryHint(name = "org.hibernate.cacheable", value = "true"), 
+				  @QueryHint(name = "org.hibernate.cacheRegion", value = Usuario.REGIAO_CACHE_CONSULTAS) })
 	boolean existsByEmail(String email);
 	
+	@QueryHints({ @QueryHint(name = "org.hibernate.cacheable", value = "true"), 
+				  @QueryHint(name = "org.hibernate.cacheRegion", value = Usuario.REGIAO_CACHE_CONSULTAS) })
 	Optional<Usuario> findByEmail(String email);
 	
+	@Query(value = "select u.id from Usuario u where u.id > :ultimoId order by u.id")
+	List<Long> obterIdsApos(@Param("ultimoId") Long ultimoId, Pageable pageable);
+	
 }
@@ -0,0 +1,16 @@
+package com.example.minhasfinancas.service;
+
+import java.util.List;
+
+import com.example.minhasfinancas.model.entity.Lancamento;
+
+public interface BuscaDescricaoService {
+
+	
+	List<Lancamento> buscar(Long idUsuario, String termo, int limite);
+	
+	void indexar(Lancamento lancamento);
+	
+	void remover(Lancamento lancamento);
+	
+}
@@ -0,0 +1,11 @@
+package com.example.minhasfinancas.service;
+
+import com.example.minhasfinancas.model.entity.Usuario;
+
+public interface JwtService {
+
+	String gerarToken(Usuario usuario);
+	
+	Long obterIdUsuario(String token);
+	
+}
@@ -2,26 +2,63 @@ package com.example.minhasfinancas.service;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import com.example.minhasfinancas.model.entity.Lancamento;
+import com.example.minhasfinancas.model.entity.ResumoMensal;
 import com.example.minhasfinancas.model.enums.StatusLancamento;
+import com.example.minhasfinancas.model.paginacao.Pagina;
+import com.example.minhasfinancas.model.projection.LancamentoResumo;
 
 public interface LancamentoService {
 
 	
 	Lancamento salvar(Lancamento lancamento);
+	
+	Map<Integer, String> salvarLote(List<Lancamento> lancamentos);
 	Lancamento atualizar(Lancamento lancamento);
 	
+	/**
+	 * Atualiza conferindo o dono na mesma leitura que obtem a versao atual: lanca
+	 * AcessoNegadoException quando o lancamento nao e do usuario autenticado.
+	 */
+	Lancamento atualizar(Lancamento lancamento, Long idAutenticado);
+	
 	void deletar(Lancamento lancamento);
 	
-	List<Lancamento> buscar(Lancamento lancamentoFiltro);
+	List<LancamentoResumo> buscar(Lancamento lancamentoFiltro);
+	
+	Pagina<LancamentoResumo> buscarPagina(Lancamento lancamentoFiltro, String cursor, Integer tamanho);
+	
+	List<LancamentoResumo> buscarPorDescricao(Long idUsuario, String termo, Integer limite);
+	
+	void exportar(Long idUsuario, Consumer<Lancamento> consumidor);
 	
 	void atualizarStatus(Lancamento lancamento,StatusLancamento status);
 	
+	LancamentoResumo atualizarStatus(Long id, StatusLancamento status);
+	
+	LancamentoResumo atualizarStatus(Long id, StatusLancamento status, Long idAutenticado);
+	
+	int atualizarStatusEmLote(Long idUsuario, List<Long> ids, StatusLancamento status);
+	
+	int atualizarStatusEmLote(Long idUsuario, Integer ano, Integer mes, StatusLancamento status);
+	
 	void validar(Lancamento lancamento);
 	
 	Optional<Lancamento> obterPorId(Long id);
 	
 	BigDecimal obterSaldoPorUsuario(Long id);
+	
+	/**
+	 * Saldo do usuario para a versao dos dados ja lida pelo chamador (a do ETag). Chamadas
+	 * concorrentes com a mesma versao compartilham a consulta (CoalescenciaSaldoAspect).
+	 */
+	BigDecimal obterSaldoPorUsuario(Long id, Long versaoDados);
+	
+	Long obterVersaoDados(Long idUsuario);
+	
+	List<ResumoMensal> obterResumoMensal(Long idUsuario, Integer ano);
 }
@@ -0,0 +1,72 @@
+package com.example.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.example.minhasfinancas.model.enums.StatusLancamento;
+import com.example.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.Value;
+
+/**
+ * Receitas e despesas que um lancamento (ou um conjunto deles) move no saldo e nos
+ * resumos mensais. Concentra a regra de quais lancamentos entram na conta, usada tanto
+ * pela aplicacao servlet quanto pela reativa.
+ */
+@Value
+public class Movimento {
+	
+	public static final Set<StatusLancamento> STATUS_CONTABILIZADOS =
+			Collections.unmodifiableSet(EnumSet.of(StatusLancamento.PENDENTE, StatusLancamento.EFETIVADO));
+	
+	public static final Movimento ZERO = new Movimento(BigDecimal.ZERO, BigDecimal.ZERO);
+	
+	BigDecimal receitas;
+	BigDecimal despesas;
+	
+	
+	
+	public static boolean contabilizavel(TipoLancamento tipo, StatusLancamento status, BigDecimal valor) {
+	
+		return valor != null
+				&& tipo != null
+				&& (status == null || STATUS_CONTABILIZADOS.contains(status));
+	}
+	
+	public static Movimento de(TipoLancamento tipo, StatusLancamento status, BigDecimal valor) {
+	
+		if(!contabilizavel(tipo, status, valor)) {
+			return ZERO;
+		}
+	
+		return tipo == TipoLancamento.RECEITA ? new Movimento(valor, BigDecimal.ZERO) : new Movimento(BigDecimal.ZERO, valor);
+	}
+	
+	
+	public Movimento somar(Movimento outro) {
+		return new Movimento(receitas.add(outro.receitas), despesas.add(outro.despesas));
+	}
+	
+	public Movimento subtrair(Movimento outro) {
+		return new Movimento(receitas.subtract(outro.receitas), despesas.subtract(outro.despesas));
+	}
+	
+	public Movimento negar() {
+		return new Movimento(receitas.negate(), despesas.negate());
+	}
+	
+	public boolean isZero() {
+		return receitas.signum() == 0 && despesas.signum() == 0;
+	}
+	
+	public boolean confere(BigDecimal receitas, BigDecimal despesas) {
+		return this.receitas.compareTo(receitas) == 0 && this.despesas.compareTo(despesas) == 0;
+	}
+	
+	public BigDecimal getSaldo() {
+		return receitas.subtract(despesas);
+	}
+	
+}
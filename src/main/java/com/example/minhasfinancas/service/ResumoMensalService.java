@@ -0,0 +1,26 @@
+package com.example.minhasfinancas.service;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.example.minhasfinancas.model.entity.Lancamento;
+import com.example.minhasfinancas.model.entity.ResumoMensal;
+
+public interface ResumoMensalService {
+
+	
+	void registrar(Lancamento lancamento);
+	
+	void registrar(Collection<Lancamento> lancamentos);
+	
+	void estornar(Lancamento lancamento);
+	
+	void atualizar(Lancamento anterior, Lancamento atual);
+	
+	void atualizar(Collection<Lancamento> anteriores, Collection<Lancamento> atuais);
+	
+	List<ResumoMensal> obterPorAno(Long idUsuario, Integer ano);
+	
+	boolean reconciliar(Long idUsuario, Integer ano, Integer mes);
+	
+}
@@ -0,0 +1,27 @@
+package com.example.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+
+import com.example.minhasfinancas.model.entity.Lancamento;
+
+public interface SaldoUsuarioService {
+
+	
+	void registrar(Lancamento lancamento);
+	
+	void registrar(Collection<Lancamento> lancamentos);
+	
+	void estornar(Lancamento lancamento);
+	
+	void atualizar(Lancamento anterior, Lancamento atual);
+	
+	void atualizar(Collection<Lancamento> anteriores, Collection<Lancamento> atuais);
+	
+	BigDecimal obterSaldo(Long idUsuario);
+	
+	Long obterVersao(Long idUsuario);
+	
+	boolean reconciliar(Long idUsuario);
+	
+}
@@ -15,6 +15,8 @@ public interface UsuarioService {
 	
 	Optional<Usuario> obterporId(Long id);
 	
+	Usuario obterReferencia(Long id);
+	
 	
 	
 	
@@ -0,0 +1,329 @@
+package com.example.minhasfinancas.service.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.minhasfinancas.model.entity.Lancamento;
+import com.example.minhasfinancas.model.projection.DescricaoLancamento;
+import com.example.minhasfinancas.model.repository.LancamentoRepository;
+import com.example.minhasfinancas.service.BuscaDescricaoService;
+import com.example.minhasfinancas.util.NormalizadorTexto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Indice invertido de trigramas mantido em memoria, equivalente ao pg_trgm para bancos
+ * sem suporte (H2). O indice de cada usuario e carregado na primeira busca e depois
+ * mantido pelas escritas, aplicadas somente apos o commit da transacao.
+ *
+ * Os indices ficam em um cache limitado e expiram depois de um tempo da carga; como cada
+ * instancia tem o seu, as escritas feitas em outra instancia so aparecem depois da
+ * expiracao. Com mais de uma instancia use o modo postgres.
+ */
+@Service
+@ConditionalOnProperty(name = "minhasfinancas.busca.descricao.modo", havingValue = "memoria", matchIfMissing = true)
+public class BuscaDescricaoIndiceInvertidoService implements BuscaDescricaoService {
+
+	private LancamentoRepository repository;
+	
+	private final Cache<Long, IndiceUsuario> indices;
+	
+	public BuscaDescricaoIndiceInvertidoService(LancamentoRepository repository,
+			@Value("${minhasfinancas.busca.descricao.memoria.usuarios-maximo:1000}") long usuariosMaximo,
+			@Value("${minhasfinancas.busca.descricao.memoria.expiracao-minutos:10}") long expiracaoMinutos) {
+		this.repository = repository;
+		this.indices = Caffeine.newBuilder()
+				.maximumSize(usuariosMaximo)
+				.expireAfterWrite(Duration.ofMinutes(expiracaoMinutos))
+				.build();
+	}
+	
+	
+	
+	@Override
+	@Transactional(readOnly = true)
+	public List<Lancamento> buscar(Long idUsuario, String termo, int limite) {
+		
+		String termoNormalizado = NormalizadorTexto.normalizar(termo);
+		
+		if(termoNormalizado == null || termoNormalizado.isEmpty()) {
+			return Collections.emptyList();
+		}
+		
+		IndiceUsuario indice = indices.get(idUsuario, id -> new IndiceUsuario());
+		indice.carregar(() -> repository.obterDescricoesPorUsuario(idUsuario));
+		
+		List<Long> ids = indice.buscar(termoNormalizado, limite);
+		
+		if(ids.isEmpty()) {
+			return Collections.emptyList();
+		}
+		
+		Map<Long, Lancamento> lancamentos = repository.findAllById(ids).stream()
+				.collect(Collectors.toMap(Lancamento::getId, Function.identity()));
+		
+		return ids.stream()
+				.map(lancamentos::get)
+				.filter(lancamento -> lancamento != null)
+				.collect(Collectors.toList());
+	}
+
+	@Override
+	public void indexar(Lancamento lancamento) {
+		
+		if(lancamento.getUsuario() == null || lancamento.getId() == null) {
+			return;
+		}
+		
+		Long idUsuario = lancamento.getUsuario().getId();
+		Long id = lancamento.getId();
+		String descricao = NormalizadorTexto.normalizar(lancamento.getDescricao());
+		
+		aposCommit(() -> {
+			IndiceUsuario indice = indices.getIfPresent(idUsuario);
+			if(indice != null) {
+				indice.adicionar(id, descricao);
+			}
+		});
+	}
+
+	@Override
+	public void remover(Lancamento lancamento) {
+		
+		if(lancamento.getUsuario() == null || lancamento.getId() == null) {
+			return;
+		}
+		
+		Long idUsuario = lancamento.getUsuario().getId();
+		Long id = lancamento.getId();
+		
+		aposCommit(() -> {
+			IndiceUsuario indice = indices.getIfPresent(idUsuario);
+			if(indice != null) {
+				indice.remover(id);
+			}
+		});
+	}
+	
+	
+	
+	
+	private void aposCommit(Runnable acao) {
+		
+		if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+			acao.run();
+			return;
+		}
+		
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+			@Override
+			public void afterCompletion(int status) {
+				if(status == TransactionSynchronization.STATUS_COMMITTED) {
+					acao.run();
+				}
+			}
+		});
+	}
+	
+	
+	
+	
+	/**
+	 * O indice entra no cache vazio e e carregado fora do lock do cache; as escritas
+	 * confirmadas durante a carga ja sao aplicadas nele e marcam o lancamento, para que a
+	 * leitura do banco (que pode ser anterior a elas) nao as sobrescreva.
+	 */
+	static class IndiceUsuario {
+		
+		private final ReadWriteLock lock = new ReentrantReadWriteLock();
+		private final Map<String, Set<Long>> postagens = new HashMap<>();
+		private final Map<Long, String> textos = new HashMap<>();
+		private final Set<Long> alteradosDuranteCarga = new HashSet<>();
+		private volatile boolean carregado;
+		
+		
+		void carregar(Supplier<List<DescricaoLancamento>> descricoes) {
+			
+			if(carregado) {
+				return;
+			}
+			
+			synchronized(this) {
+				
+				if(carregado) {
+					return;
+				}
+				
+				List<DescricaoLancamento> lidas = descricoes.get();
+				
+				lock.writeLock().lock();
+				try {
+					for(DescricaoLancamento descricao : lidas) {
+						if(!alteradosDuranteCarga.contains(descricao.getId())) {
+							indexar(descricao.getId(), NormalizadorTexto.normalizar(descricao.getDescricao()));
+						}
+					}
+					alteradosDuranteCarga.clear();
+					carregado = true;
+					
+				}finally {
+					lock.writeLock().unlock();
+				}
+			}
+		}
+		
+		void adicionar(Long id, String texto) {
+			
+			lock.writeLock().lock();
+			try {
+				marcar(id);
+				indexar(id, texto);
+				
+			}finally {
+				lock.writeLock().unlock();
+			}
+		}
+		
+		void remover(Long id) {
+			
+			lock.writeLock().lock();
+			try {
+				marcar(id);
+				desindexar(id);
+				
+			}finally {
+				lock.writeLock().unlock();
+			}
+		}
+		
+		private void marcar(Long id) {
+			
+			if(!carregado) {
+				alteradosDuranteCarga.add(id);
+			}
+		}
+		
+		private void indexar(Long id, String texto) {
+			
+			desindexar(id);
+			
+			if(texto == null) {
+				return;
+			}
+			
+			textos.put(id, texto);
+			for(String trigrama : NormalizadorTexto.trigramas(texto)) {
+				postagens.computeIfAbsent(trigrama, chave -> new HashSet<>()).add(id);
+			}
+		}
+		
+		private void desindexar(Long id) {
+			
+			String anterior = textos.remove(id);
+			
+			if(anterior == null) {
+				return;
+			}
+			
+			for(String trigrama : NormalizadorTexto.trigramas(anterior)) {
+				Set<Long> ids = postagens.get(trigrama);
+				if(ids != null) {
+					ids.remove(id);
+					if(ids.isEmpty()) {
+						postagens.remove(trigrama);
+					}
+				}
+			}
+		}
+		
+		List<Long> buscar(String termo, int limite) {
+			
+			Set<String> trigramasTermo = NormalizadorTexto.trigramas(termo);
+			
+			lock.readLock().lock();
+			try {
+				List<Long> candidatos = new ArrayList<>();
+				
+				if(trigramasTermo.isEmpty()) {
+					candidatos.addAll(textos.keySet());
+				}else {
+					candidatos.addAll(intersecao(trigramasTermo));
+				}
+				
+				Map<Long, Double> relevancia = new HashMap<>();
+				for(Long id : candidatos) {
+					String texto = textos.get(id);
+					if(texto.contains(termo)) {
+						relevancia.put(id, similaridade(trigramasTermo, texto));
+					}
+				}
+				
+				return relevancia.entrySet().stream()
+						.sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+								.thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+						.limit(limite)
+						.map(Map.Entry::getKey)
+						.collect(Collectors.toList());
+				
+			}finally {
+				lock.readLock().unlock();
+			}
+		}
+		
+		private Set<Long> intersecao(Set<String> trigramas) {
+			
+			List<Set<Long>> listas = new ArrayList<>();
+			
+			for(String trigrama : trigramas) {
+				Set<Long> ids = postagens.get(trigrama);
+				if(ids == null) {
+					return Collections.emptySet();
+				}
+				listas.add(ids);
+			}
+			
+			listas.sort(Comparator.comparingInt(Set::size));
+			
+			Set<Long> resultado = new HashSet<>(listas.get(0));
+			for(int i = 1; i < listas.size() && !resultado.isEmpty(); i++) {
+				resultado.retainAll(listas.get(i));
+			}
+			
+			return resultado;
+		}
+		
+		private double similaridade(Set<String> trigramasTermo, String texto) {
+			
+			Set<String> trigramasTexto = NormalizadorTexto.trigramas(texto);
+			
+			if(trigramasTermo.isEmpty() || trigramasTexto.isEmpty()) {
+				return 0;
+			}
+			
+			long comuns = trigramasTermo.stream().filter(trigramasTexto::contains).count();
+			return (double) comuns / (trigramasTermo.size() + trigramasTexto.size() - comuns);
+		}
+		
+	}
+
+}
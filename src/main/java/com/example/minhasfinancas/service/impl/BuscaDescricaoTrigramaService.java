@@ -0,0 +1,54 @@
+package com.example.minhasfinancas.service.impl;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.minhasfinancas.model.entity.Lancamento;
+import com.example.minhasfinancas.model.repository.LancamentoRepository;
+import com.example.minhasfinancas.service.BuscaDescricaoService;
+import com.example.minhasfinancas.util.NormalizadorTexto;
+
+/**
+ * Busca por descricao no PostgreSQL usando a extensao pg_trgm sobre a coluna
+ * descricao_busca (descricao normalizada, sem acentos e em minusculas), que
+ * e indexada com gin (descricao_busca gin_trgm_ops).
+ */
+@Service
+@ConditionalOnProperty(name = "minhasfinancas.busca.descricao.modo", havingValue = "postgres")
+public class BuscaDescricaoTrigramaService implements BuscaDescricaoService {
+
+	private LancamentoRepository repository;
+	
+	public BuscaDescricaoTrigramaService(LancamentoRepository repository) {
+		this.repository = repository;
+	}
+	
+	
+	
+	@Override
+	@Transactional(readOnly = true)
+	public List<Lancamento> buscar(Long idUsuario, String termo, int limite) {
+		
+		String termoNormalizado = NormalizadorTexto.normalizar(termo);
+		
+		if(termoNormalizado == null || termoNormalizado.isEmpty()) {
+			return Collections.emptyList();
+		}
+		
+		String padrao = "%" + termoNormalizado.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+		return repository.buscarPorTrigramas(idUsuario, termoNormalizado, padrao, limite);
+	}
+
+	@Override
+	public void indexar(Lancamento lancamento) {
+	}
+
+	@Override
+	public void remover(Lancamento lancamento) {
+	}
+
+}
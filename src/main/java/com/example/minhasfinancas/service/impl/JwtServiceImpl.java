@@ -0,0 +1,186 @@
+package com.example.minhasfinancas.service.impl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.minhasfinancas.exception.ErroAutenticacao;
+import com.example.minhasfinancas.model.entity.Usuario;
+import com.example.minhasfinancas.service.JwtService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Emite e verifica tokens JWT assinados com HMAC-SHA256 usando uma chave local, lida do
+ * ambiente; a aplicacao nao sobe sem ela ou com uma chave menor que 256 bits.
+ * Tokens ja verificados ficam em um cache pequeno ate expirarem, evitando
+ * recalcular a assinatura a cada requisicao.
+ */
+@Service
+public class JwtServiceImpl implements JwtService {
+
+	private static final String ALGORITMO = "HmacSHA256";
+	private static final int TAMANHO_MINIMO_CHAVE = 32;
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+	private static final String CABECALHO = ENCODER.encodeToString(
+			"{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+	
+	private final ObjectMapper objectMapper;
+	private final SecretKeySpec chave;
+	private final Duration expiracao;
+	private final Clock relogio;
+	private final Cache<String, TokenVerificado> tokensVerificados;
+	
+	@Autowired
+	public JwtServiceImpl(
+			ObjectMapper objectMapper,
+			@Value("${minhasfinancas.jwt.chave:}") String chave,
+			@Value("${minhasfinancas.jwt.expiracao-minutos:30}") long expiracaoMinutos,
+			@Value("${minhasfinancas.jwt.cache.tamanho-maximo:10000}") long tamanhoCache) {
+		this(objectMapper, chave, Duration.ofMinutes(expiracaoMinutos), tamanhoCache, Clock.systemUTC());
+	}
+	
+	public JwtServiceImpl(ObjectMapper objectMapper, String chave, Duration expiracao, long tamanhoCache, Clock relogio) {
+		
+		if(chave == null || chave.trim().isEmpty()) {
+			throw new IllegalStateException("A chave de assinatura dos tokens nao foi configurada (variavel de ambiente MINHASFINANCAS_JWT_CHAVE)");
+		}
+		
+		byte[] bytesChave = chave.getBytes(StandardCharsets.UTF_8);
+		if(bytesChave.length < TAMANHO_MINIMO_CHAVE) {
+			throw new IllegalStateException("A chave de assinatura dos tokens deve ter ao menos " + TAMANHO_MINIMO_CHAVE + " bytes (256 bits)");
+		}
+		
+		this.objectMapper = objectMapper;
+		this.chave = new SecretKeySpec(bytesChave, ALGORITMO);
+		this.expiracao = expiracao;
+		this.relogio = relogio;
+		this.tokensVerificados = Caffeine.newBuilder()
+				.maximumSize(tamanhoCache)
+				.expireAfterWrite(expiracao)
+				.build();
+	}
+	
+	
+	
+	@Override
+	public String gerarToken(Usuario usuario) {
+		
+		long agora = relogio.instant().getEpochSecond();
+		
+		Map<String, Object> claims = new LinkedHashMap<>();
+		claims.put("sub", String.valueOf(usuario.getId()));
+		claims.put("nome", usuario.getNome());
+		claims.put("iat", agora);
+		claims.put("exp", agora + expiracao.getSeconds());
+		
+		try {
+			String conteudo = CABECALHO + "." + ENCODER.encodeToString(objectMapper.writeValueAsBytes(claims));
+			return conteudo + "." + ENCODER.encodeToString(assinar(conteudo));
+			
+		}catch(IOException e) {
+			throw new IllegalStateException("Não foi possivel gerar o token", e);
+		}
+	}
+
+	@Override
+	public Long obterIdUsuario(String token) {
+		
+		if(token == null) {
+			throw new ErroAutenticacao("Token não informado");
+		}
+		
+		TokenVerificado verificado = tokensVerificados.getIfPresent(token);
+		
+		if(verificado == null) {
+			verificado = verificar(token);
+			tokensVerificados.put(token, verificado);
+		}
+		
+		if(relogio.instant().getEpochSecond() >= verificado.expiracao) {
+			tokensVerificados.invalidate(token);
+			throw new ErroAutenticacao("Token expirado");
+		}
+		
+		return verificado.idUsuario;
+	}
+	
+	
+	
+	
+	private TokenVerificado verificar(String token) {
+		
+		int fimCabecalho = token.indexOf('.');
+		int inicioAssinatura = token.lastIndexOf('.');
+		
+		if(fimCabecalho <= 0 || inicioAssinatura == fimCabecalho) {
+			throw new ErroAutenticacao("Token invalido");
+		}
+		
+		try {
+			
+			if(!CABECALHO.equals(token.substring(0, fimCabecalho))) {
+				throw new ErroAutenticacao("Token invalido");
+			}
+			
+			String conteudo = token.substring(0, inicioAssinatura);
+			byte[] assinatura = DECODER.decode(token.substring(inicioAssinatura + 1));
+			
+			if(!MessageDigest.isEqual(assinar(conteudo), assinatura)) {
+				throw new ErroAutenticacao("Assinatura do token invalida");
+			}
+			
+			JsonNode claims = objectMapper.readTree(DECODER.decode(token.substring(fimCabecalho + 1, inicioAssinatura)));
+			
+			if(!claims.hasNonNull("sub") || !claims.hasNonNull("exp")) {
+				throw new ErroAutenticacao("Token invalido");
+			}
+			
+			return new TokenVerificado(Long.valueOf(claims.get("sub").asText()), claims.get("exp").asLong());
+			
+		}catch(IOException | IllegalArgumentException e) {
+			throw new ErroAutenticacao("Token invalido");
+		}
+	}
+	
+	private byte[] assinar(String conteudo) {
+		try {
+			Mac mac = Mac.getInstance(ALGORITMO);
+			mac.init(chave);
+			return mac.doFinal(conteudo.getBytes(StandardCharsets.US_ASCII));
+			
+		}catch(GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	
+	
+	private static class TokenVerificado {
+		
+		private final Long idUsuario;
+		private final long expiracao;
+		
+		TokenVerificado(Long idUsuario, long expiracao) {
+			this.idUsuario = idUsuario;
+			this.expiracao = expiracao;
+		}
+	}
+	
+}
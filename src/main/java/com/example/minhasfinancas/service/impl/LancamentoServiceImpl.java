@@ -1,30 +1,66 @@
 package com.example.minhasfinancas.service.impl;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
-import org.springframework.data.domain.Example;
-import org.springframework.data.domain.ExampleMatcher;
-import org.springframework.data.domain.ExampleMatcher.StringMatcher;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.minhasfinancas.exception.AcessoNegadoException;
+import com.example.minhasfinancas.exception.ConflitoAtualizacaoException;
+import com.example.minhasfinancas.exception.RegistroNaoEncontradoException;
 import com.example.minhasfinancas.exception.RegraNegocioException;
 import com.example.minhasfinancas.model.entity.Lancamento;
+import com.example.minhasfinancas.model.entity.ResumoMensal;
+import com.example.minhasfinancas.model.entity.Usuario;
 import com.example.minhasfinancas.model.enums.StatusLancamento;
-import com.example.minhasfinancas.model.enums.TipoLancamento;
+import com.example.minhasfinancas.model.paginacao.CursorLancamento;
+import com.example.minhasfinancas.model.paginacao.Pagina;
+import com.example.minhasfinancas.model.projection.LancamentoResumo;
+import com.example.minhasfinancas.model.projection.TotalLancamentos;
 import com.example.minhasfinancas.model.repository.LancamentoRepository;
+import com.example.minhasfinancas.service.BuscaDescricaoService;
 import com.example.minhasfinancas.service.LancamentoService;
+import com.example.minhasfinancas.service.ResumoMensalService;
+import com.example.minhasfinancas.service.SaldoUsuarioService;
 
 @Service
 public class LancamentoServiceImpl implements LancamentoService {
 
 	private LancamentoRepository repository;
+	private SaldoUsuarioService saldoService;
+	private BuscaDescricaoService buscaDescricaoService;
+	private ResumoMensalService resumoMensalService;
 	
-	public LancamentoServiceImpl(LancamentoRepository repository) {
+	@Value("${minhasfinancas.lancamentos.pagina.tamanho-padrao:50}")
+	private int tamanhoPadraoPagina;
+	
+	@Value("${minhasfinancas.lancamentos.pagina.tamanho-maximo:500}")
+	private int tamanhoMaximoPagina;
+	
+	@Value("${minhasfinancas.lancamentos.busca.limite:1000}")
+	private int limiteBusca;
+	
+	@Value("${minhasfinancas.lancamentos.exportacao.tamanho-fetch:500}")
+	private int tamanhoFetchExportacao;
+	
+	@Value("${minhasfinancas.lancamentos.status.tentativas:3}")
+	private int tentativasStatus;
+	
+	public LancamentoServiceImpl(LancamentoRepository repository, SaldoUsuarioService saldoService, 
+			BuscaDescricaoService buscaDescricaoService, ResumoMensalService resumoMensalService) {
 		this.repository = repository;
+		this.saldoService = saldoService;
+		this.buscaDescricaoService = buscaDescricaoService;
+		this.resumoMensalService = resumoMensalService;
 	}
 	
 	
@@ -38,16 +74,86 @@ public class LancamentoServiceImpl implements LancamentoService {
 		lancamento.setStatus(StatusLancamento.PENDENTE);
 		
 		
-		return repository.save(lancamento);
+		Lancamento lancamentoSalvo = repository.save(lancamento);
+		saldoService.registrar(lancamentoSalvo);
+		resumoMensalService.registrar(lancamentoSalvo);
+		buscaDescricaoService.indexar(lancamentoSalvo);
+		
+		return lancamentoSalvo;
+		
+	}
+
+	@Override
+	@Transactional
+	public Map<Integer, String> salvarLote(List<Lancamento> lancamentos) {
+		
+		Map<Integer, String> erros = new LinkedHashMap<>();
+		List<Lancamento> validos = new ArrayList<>(lancamentos.size());
+		
+		for(int i = 0; i < lancamentos.size(); i++) {
+			Lancamento lancamento = lancamentos.get(i);
+			
+			try {
+				validar(lancamento);
+				lancamento.setStatus(StatusLancamento.PENDENTE);
+				validos.add(lancamento);
+				
+			}catch(RegraNegocioException e) {
+				erros.put(i, e.getMessage());
+			}
+		}
+		
+		if(!validos.isEmpty()) {
+			repository.saveAll(validos);
+			saldoService.registrar(validos);
+			resumoMensalService.registrar(validos);
+			validos.forEach(buscaDescricaoService::indexar);
+		}
 		
+		return erros;
 	}
 
 	@Override
 	@Transactional
 	public Lancamento atualizar(Lancamento lancamento) {
 		
+		return atualizar(lancamento, null);
+	}
+
+	@Override
+	@Transactional
+	public Lancamento atualizar(Lancamento lancamento, Long idAutenticado) {
+		
 		Objects.requireNonNull(lancamento.getId());
-		return repository.save(lancamento);
+		
+		LancamentoResumo anterior = repository.obterResumoPorId(lancamento.getId())
+				.orElseThrow(() -> new RegistroNaoEncontradoException("Lancamento não encontrado na base de dados."));
+		
+		verificarDono(anterior, idAutenticado);
+		
+		if(lancamento.getVersao() == null) {
+			lancamento.setVersao(anterior.getVersao());
+		}else if(!lancamento.getVersao().equals(anterior.getVersao())) {
+			throw conflito(anterior);
+		}
+		
+		if(lancamento.getStatus() == null) {
+			lancamento.setStatus(anterior.getStatus());
+		}
+		
+		lancamento.normalizarDescricao();
+		
+		if(repository.atualizarDados(lancamento) == 0) {
+			throw conflitoOuNaoEncontrado(lancamento.getId());
+		}
+		
+		lancamento.setVersao(lancamento.getVersao() + 1);
+		
+		saldoService.atualizar(comoLancamento(anterior), lancamento);
+		resumoMensalService.atualizar(comoLancamento(anterior), lancamento);
+		buscaDescricaoService.indexar(lancamento);
+		
+		return lancamento;
 	}
 
 	@Override
@@ -56,24 +162,61 @@ public class LancamentoServiceImpl implements LancamentoService {
 		
 		Objects.requireNonNull(lancamento.getId());
 		repository.delete(lancamento);
+		saldoService.estornar(lancamento);
+		resumoMensalService.estornar(lancamento);
+		buscaDescricaoService.remover(lancamento);
 	}
 
 	@Override
 	@Transactional(readOnly=true)
-	public List<Lancamento> buscar(Lancamento lancamentoFiltro) {
+	public List<LancamentoResumo> buscar(Lancamento lancamentoFiltro) {
+		
+		List<LancamentoResumo> lancamentos = repository.buscar(lancamentoFiltro, null, limiteBusca + 1);
+		
+		if(lancamentos.size() > limiteBusca) {
+			throw new RegraNegocioException("A consulta retornou mais de " + limiteBusca + " lancamentos, utilize a busca paginada");
+		}
+		
+		return lancamentos;
+	}
+	
+	@Override
+	@Transactional(readOnly=true)
+	public Pagina<LancamentoResumo> buscarPagina(Lancamento lancamentoFiltro, String cursor, Integer tamanho) {
 		
-		Example example = Example.of(lancamentoFiltro, 
-				                    ExampleMatcher
-				                    .matching()
-				                    .withIgnoreCase()
-				                    .withStringMatcher(StringMatcher.CONTAINING));
+		int tamanhoPagina = tamanho == null ? tamanhoPadraoPagina : Math.max(1, Math.min(tamanho, tamanhoMaximoPagina));
 		
+		List<LancamentoResumo> lancamentos = repository.buscar(lancamentoFiltro, CursorLancamento.decodificar(cursor), tamanhoPagina + 1);
+		
+		if(lancamentos.size() <= tamanhoPagina) {
+			return new Pagina<>(lancamentos, null);
+		}
 		
+		List<LancamentoResumo> conteudo = new ArrayList<>(lancamentos.subList(0, tamanhoPagina));
+		String proximoCursor = CursorLancamento.de(conteudo.get(tamanhoPagina - 1)).codificar();
 		
-		return repository.findAll(example);
+		return new Pagina<>(conteudo, proximoCursor);
 	}
 
 	@Override
+	@Transactional(readOnly=true)
+	public List<LancamentoResumo> buscarPorDescricao(Long idUsuario, String termo, Integer limite) {
+		
+		int limiteResultados = limite == null ? tamanhoPadraoPagina : Math.max(1, Math.min(limite, tamanhoMaximoPagina));
+		return buscaDescricaoService.buscar(idUsuario, termo, limiteResultados).stream()
+				.map(LancamentoResumo::de)
+				.collect(Collectors.toList());
+	}
+
+	@Override
+	@Transactional(readOnly=true)
+	public void exportar(Long idUsuario, Consumer<Lancamento> consumidor) {
+		
+		repository.percorrerPorUsuario(idUsuario, tamanhoFetchExportacao, consumidor);
+	}
+
+	@Override
+	@Transactional
 	public void atualizarStatus(Lancamento lancamento, StatusLancamento status) {
 		
 		lancamento.setStatus(status);
@@ -81,9 +224,80 @@ public class LancamentoServiceImpl implements LancamentoService {
 		
 	}
 
+	@Override
+	@Transactional
+	public LancamentoResumo atualizarStatus(Long id, StatusLancamento status) {
+		
+		return atualizarStatus(id, status, null);
+	}
+
+	@Override
+	@Transactional
+	public LancamentoResumo atualizarStatus(Long id, StatusLancamento status, Long idAutenticado) {
+		
+		Objects.requireNonNull(id);
+		Objects.requireNonNull(status);
+		
+		for(int tentativa = 1; ; tentativa++) {
+			
+			LancamentoResumo atual = repository.obterResumoPorId(id)
+					.orElseThrow(() -> new RegistroNaoEncontradoException("Lancamento não encontrado na base de Dados."));
+			
+			verificarDono(atual, idAutenticado);
+			
+			if(atual.getStatus() == status) {
+				return atual;
+			}
+			
+			if(repository.atualizarStatus(id, atual.getVersao(), status) == 1) {
+				
+				LancamentoResumo atualizado = new LancamentoResumo(atual.getId(), atual.getDescricao(), atual.getMes(), atual.getAno(), 
+						atual.getValor(), atual.getTipo(), status, atual.getUsuarioId(), atual.getVersao() + 1);
+				
+				saldoService.atualizar(comoLancamento(atual), comoLancamento(atualizado));
+				resumoMensalService.atualizar(comoLancamento(atual), comoLancamento(atualizado));
+				
+				return atualizado;
+			}
+			
+			if(tentativa >= tentativasStatus) {
+				throw conflitoOuNaoEncontrado(id);
+			}
+		}
+	}
+
 
 
 
+	@Override
+	@Transactional
+	public int atualizarStatusEmLote(Long idUsuario, List<Long> ids, StatusLancamento status) {
+		
+		Objects.requireNonNull(idUsuario);
+		Objects.requireNonNull(status);
+		
+		if(ids == null || ids.isEmpty()) {
+			throw new RegraNegocioException("Informe os lancamentos a serem atualizados");
+		}
+		
+		return alterarStatus(idUsuario, repository.travarParaAlterarStatus(idUsuario, ids, status), status);
+	}
+
+	@Override
+	@Transactional
+	public int atualizarStatusEmLote(Long idUsuario, Integer ano, Integer mes, StatusLancamento status) {
+		
+		Objects.requireNonNull(idUsuario);
+		Objects.requireNonNull(status);
+		
+		if(ano == null || mes == null) {
+			throw new RegraNegocioException("Informe o ano e o mês dos lancamentos a serem atualizados");
+		}
+		
+		return alterarStatus(idUsuario, repository.travarParaAlterarStatus(idUsuario, ano, mes, status), status);
+	}
+
+
 	@Override
 	public void validar(Lancamento lancamento) {
 		
@@ -133,25 +347,102 @@ public class LancamentoServiceImpl implements LancamentoService {
 	@Transactional(readOnly = true)
 	public BigDecimal obterSaldoPorUsuario(Long id) {
 		
-		BigDecimal receitas = repository.obterSaldoPorTipoLancamentoEUsuario(id, TipoLancamento.RECEITA);
-		BigDecimal despesas = repository.obterSaldoPorTipoLancamentoEUsuario(id, TipoLancamento.DESPESA);
+		return saldoService.obterSaldo(id);
+
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public BigDecimal obterSaldoPorUsuario(Long id, Long versaoDados) {
+		
+		return saldoService.obterSaldo(id);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Long obterVersaoDados(Long idUsuario) {
+		
+		return saldoService.obterVersao(idUsuario);
+	}
+
+	@Override
+	public List<ResumoMensal> obterResumoMensal(Long idUsuario, Integer ano) {
 		
+		return resumoMensalService.obterPorAno(idUsuario, ano);
+	}
+
+	
+	
+	
+	/**
+	 * Os lancamentos chegam travados, entao os totais somados antes do update sao
+	 * exatamente os alterados por ele. Saldo e resumo recebem so a diferenca de cada
+	 * periodo; entre PENDENTE e EFETIVADO ela e zero e so a versao do saldo muda.
+	 */
+	private int alterarStatus(Long idUsuario, List<Long> ids, StatusLancamento status) {
 		
-		if(receitas == null) {
-			receitas = BigDecimal.ZERO;
-			
+		if(ids.isEmpty()) {
+			return 0;
 		}
 		
-		if(despesas == null) {
-			despesas = BigDecimal.ZERO;
+		List<TotalLancamentos> totais = repository.somarPorPeriodoTipoEStatus(ids);
+		int atualizados = repository.atualizarStatusPorIds(idUsuario, ids, status);
+		
+		List<Lancamento> anteriores = totais.stream()
+				.map(total -> comoLancamento(idUsuario, total, total.getStatus()))
+				.collect(Collectors.toList());
+		List<Lancamento> atuais = totais.stream()
+				.map(total -> comoLancamento(idUsuario, total, status))
+				.collect(Collectors.toList());
+		
+		saldoService.atualizar(anteriores, atuais);
+		resumoMensalService.atualizar(anteriores, atuais);
+		
+		return atualizados;
+	}
+	
+	private void verificarDono(LancamentoResumo lancamento, Long idAutenticado) {
+		
+		if(idAutenticado != null && !idAutenticado.equals(lancamento.getUsuarioId())) {
+			throw new AcessoNegadoException("Acesso negado aos dados de outro usuario");
 		}
+	}
+	
+	private RegraNegocioException conflitoOuNaoEncontrado(Long id) {
 		
-		return receitas.subtract(despesas);
+		return repository.obterResumoPorId(id)
+				.<RegraNegocioException>map(this::conflito)
+				.orElseGet(() -> new RegistroNaoEncontradoException("Lancamento não encontrado na base de dados."));
+	}
+	
+	private ConflitoAtualizacaoException conflito(LancamentoResumo atual) {
 		
-
+		return new ConflitoAtualizacaoException("O lancamento foi alterado por outra operação, consulte-o novamente", atual);
 	}
-
 	
+	private Lancamento comoLancamento(LancamentoResumo resumo) {
+		
+		return Lancamento.builder()
+				.id(resumo.getId())
+				.mes(resumo.getMes())
+				.ano(resumo.getAno())
+				.usuario(Usuario.builder().id(resumo.getUsuarioId()).build())
+				.valor(resumo.getValor())
+				.tipo(resumo.getTipo())
+				.status(resumo.getStatus())
+				.build();
+	}
 	
+	private Lancamento comoLancamento(Long idUsuario, TotalLancamentos total, StatusLancamento status) {
+		
+		return Lancamento.builder()
+				.mes(total.getMes())
+				.ano(total.getAno())
+				.usuario(Usuario.builder().id(idUsuario).build())
+				.valor(total.getValor())
+				.tipo(total.getTipo())
+				.status(status)
+				.build();
+	}
 	
 }
@@ -0,0 +1,148 @@
+package com.example.minhasfinancas.service.impl;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.minhasfinancas.model.entity.Lancamento;
+import com.example.minhasfinancas.service.Movimento;
+
+/**
+ * Regras comuns aos registros derivados dos lancamentos (saldo por usuario e resumo
+ * mensal): cada gravacao soma a diferenca no registro da chave e, quando ele ainda nao
+ * existe, cria a partir dos lancamentos ja gravados. A criacao tolera outra transacao
+ * criando o mesmo registro ao mesmo tempo: quem perde soma a propria diferenca sobre o
+ * registro criado pela outra.
+ *
+ * @param <K> chave do registro
+ * @param <T> registro persistido
+ */
+abstract class LivroContabil<K, T> {
+	
+	@Transactional
+	public void registrar(Lancamento lancamento) {
+	
+		chave(lancamento).ifPresent(chave -> aplicar(chave, movimento(lancamento)));
+	}
+	
+	@Transactional
+	public void registrar(Collection<Lancamento> lancamentos) {
+	
+		Map<K, Movimento> porChave = new LinkedHashMap<>();
+	
+		lancamentos.forEach(lancamento -> chave(lancamento)
+				.ifPresent(chave -> porChave.merge(chave, movimento(lancamento), Movimento::somar)));
+	
+		porChave.forEach(this::aplicar);
+	}
+	
+	@Transactional
+	public void estornar(Lancamento lancamento) {
+	
+		chave(lancamento).ifPresent(chave -> aplicar(chave, movimento(lancamento).negar()));
+	}
+	
+	@Transactional
+	public void atualizar(Lancamento anterior, Lancamento atual) {
+	
+		Optional<K> chaveAnterior = chave(anterior);
+		Optional<K> chaveAtual = chave(atual);
+	
+		if(chaveAnterior.isPresent() && chaveAnterior.equals(chaveAtual)) {
+			aplicar(chaveAtual.get(), movimento(atual).subtrair(movimento(anterior)));
+			return;
+		}
+	
+		estornar(anterior);
+		registrar(atual);
+	}
+	
+	/**
+	 * Troca varios lancamentos (ou totais de lancamentos agrupados por chave) de uma vez,
+	 * aplicando uma unica diferenca por chave.
+	 */
+	@Transactional
+	public void atualizar(Collection<Lancamento> anteriores, Collection<Lancamento> atuais) {
+	
+		Map<K, Movimento> porChave = new LinkedHashMap<>();
+	
+		anteriores.forEach(anterior -> chave(anterior)
+				.ifPresent(chave -> porChave.merge(chave, movimento(anterior).negar(), Movimento::somar)));
+		atuais.forEach(atual -> chave(atual)
+				.ifPresent(chave -> porChave.merge(chave, movimento(atual), Movimento::somar)));
+	
+		porChave.forEach(this::aplicar);
+	}
+	
+	
+	
+	
+	protected void aplicar(K chave, Movimento movimento) {
+	
+		if(somar(chave, movimento) == 0 && !criar(chave)) {
+			somar(chave, movimento);
+		}
+	}
+	
+	/**
+	 * Confere o registro da chave com os lancamentos, criando-o se ainda nao existir.
+	 * Devolve true quando o registro foi criado ou corrigido.
+	 */
+	protected boolean reconciliarChave(K chave) {
+	
+		Optional<T> atual = obterParaAtualizacao(chave);
+	
+		if(!atual.isPresent()) {
+			if(criar(chave)) {
+				return true;
+			}
+			atual = obterParaAtualizacao(chave);
+		}
+	
+		T registro = atual.orElseThrow(() -> new IllegalStateException("Registro " + chave + " removido durante a reconciliacao"));
+		Movimento calculado = calcular(chave);
+	
+		if(confere(registro, calculado)) {
+			return false;
+		}
+	
+		corrigir(registro, calculado);
+		return true;
+	}
+	
+	/**
+	 * Cria o registro a partir dos lancamentos, o que ja inclui os desta transacao. Se outra
+	 * transacao criou o registro antes (sem enxergar os lancamentos desta), devolve false e
+	 * quem chamou aplica a propria diferenca sobre ele.
+	 */
+	private boolean criar(K chave) {
+	
+		return inserirSeAusente(chave, calcular(chave));
+	}
+	
+	private static Movimento movimento(Lancamento lancamento) {
+	
+		return Movimento.de(lancamento.getTipo(), lancamento.getStatus(), lancamento.getValor());
+	}
+	
+	
+	
+	
+	protected abstract Optional<K> chave(Lancamento lancamento);
+	
+	protected abstract int somar(K chave, Movimento movimento);
+	
+	protected abstract Movimento calcular(K chave);
+	
+	protected abstract boolean inserirSeAusente(K chave, Movimento movimento);
+	
+	protected abstract Optional<T> obterParaAtualizacao(K chave);
+	
+	protected abstract boolean confere(T registro, Movimento calculado);
+	
+	protected abstract void corrigir(T registro, Movimento calculado);
+	
+}
@@ -0,0 +1,119 @@
+package com.example.minhasfinancas.service.impl;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.minhasfinancas.model.entity.Lancamento;
+import com.example.minhasfinancas.model.entity.ResumoMensal;
+import com.example.minhasfinancas.model.entity.ResumoMensalId;
+import com.example.minhasfinancas.model.projection.ResumoSaldo;
+import com.example.minhasfinancas.model.repository.LancamentoRepository;
+import com.example.minhasfinancas.model.repository.ResumoMensalRepository;
+import com.example.minhasfinancas.service.Movimento;
+import com.example.minhasfinancas.service.ResumoMensalService;
+
+@Service
+public class ResumoMensalServiceImpl extends LivroContabil<ResumoMensalId, ResumoMensal> implements ResumoMensalService {
+	
+	private ResumoMensalRepository repository;
+	private LancamentoRepository lancamentoRepository;
+	
+	public ResumoMensalServiceImpl(ResumoMensalRepository repository, LancamentoRepository lancamentoRepository) {
+		this.repository = repository;
+		this.lancamentoRepository = lancamentoRepository;
+	}
+	
+	
+	
+	
+	@Override
+	@Transactional(readOnly = true)
+	public List<ResumoMensal> obterPorAno(Long idUsuario, Integer ano) {
+	
+		return repository.findByIdUsuarioAndAnoOrderByMes(idUsuario, ano);
+	}
+	
+	@Override
+	@Transactional
+	public boolean reconciliar(Long idUsuario, Integer ano, Integer mes) {
+	
+		return reconciliarChave(new ResumoMensalId(idUsuario, ano, mes));
+	}
+	
+	
+	
+	
+	@Override
+	protected void aplicar(ResumoMensalId chave, Movimento movimento) {
+	
+		if(movimento.isZero()) {
+			return;
+		}
+	
+		super.aplicar(chave, movimento);
+	}
+	
+	@Override
+	protected Optional<ResumoMensalId> chave(Lancamento lancamento) {
+	
+		if(lancamento == null
+				|| lancamento.getUsuario() == null
+				|| lancamento.getUsuario().getId() == null
+				|| lancamento.getAno() == null
+				|| lancamento.getMes() == null) {
+			return Optional.empty();
+		}
+	
+		return Optional.of(new ResumoMensalId(lancamento.getUsuario().getId(), lancamento.getAno(), lancamento.getMes()));
+	}
+	
+	@Override
+	protected int somar(ResumoMensalId chave, Movimento movimento) {
+	
+		return repository.somar(chave.getIdUsuario(), chave.getAno(), chave.getMes(), movimento.getReceitas(), movimento.getDespesas());
+	}
+	
+	@Override
+	protected Movimento calcular(ResumoMensalId chave) {
+	
+		ResumoSaldo resumo = lancamentoRepository.obterResumoMensalPorUsuario(chave.getIdUsuario(), chave.getAno(), chave.getMes(), Movimento.STATUS_CONTABILIZADOS);
+		return new Movimento(resumo.getReceitas(), resumo.getDespesas());
+	}
+	
+	@Override
+	protected boolean inserirSeAusente(ResumoMensalId chave, Movimento movimento) {
+	
+		return repository.inserirSeAusente(ResumoMensal.builder()
+				.idUsuario(chave.getIdUsuario())
+				.ano(chave.getAno())
+				.mes(chave.getMes())
+				.receitas(movimento.getReceitas())
+				.despesas(movimento.getDespesas())
+				.build());
+	}
+	
+	@Override
+	protected Optional<ResumoMensal> obterParaAtualizacao(ResumoMensalId chave) {
+	
+		return repository.obterParaAtualizacao(chave.getIdUsuario(), chave.getAno(), chave.getMes());
+	}
+	
+	@Override
+	protected boolean confere(ResumoMensal resumoMensal, Movimento calculado) {
+	
+		return calculado.confere(resumoMensal.getReceitas(), resumoMensal.getDespesas());
+	}
+	
+	@Override
+	protected void corrigir(ResumoMensal resumoMensal, Movimento calculado) {
+	
+		resumoMensal.setReceitas(calculado.getReceitas());
+		resumoMensal.setDespesas(calculado.getDespesas());
+	
+		repository.save(resumoMensal);
+	}
+	
+}
@@ -0,0 +1,123 @@
+package com.example.minhasfinancas.service.impl;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.minhasfinancas.model.entity.Lancamento;
+import com.example.minhasfinancas.model.entity.SaldoUsuario;
+import com.example.minhasfinancas.model.projection.ResumoSaldo;
+import com.example.minhasfinancas.model.repository.LancamentoRepository;
+import com.example.minhasfinancas.model.repository.SaldoUsuarioRepository;
+import com.example.minhasfinancas.service.Movimento;
+import com.example.minhasfinancas.service.SaldoUsuarioService;
+
+@Service
+public class SaldoUsuarioServiceImpl extends LivroContabil<Long, SaldoUsuario> implements SaldoUsuarioService {
+	
+	private SaldoUsuarioRepository repository;
+	private LancamentoRepository lancamentoRepository;
+	
+	public SaldoUsuarioServiceImpl(SaldoUsuarioRepository repository, LancamentoRepository lancamentoRepository) {
+		this.repository = repository;
+		this.lancamentoRepository = lancamentoRepository;
+	}
+	
+	
+	
+	
+	@Override
+	@Transactional(readOnly = true)
+	public Long obterVersao(Long idUsuario) {
+	
+		return repository.obterVersao(idUsuario).orElse(0l);
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public BigDecimal obterSaldo(Long idUsuario) {
+	
+		Optional<SaldoUsuario> saldo = repository.findById(idUsuario);
+	
+		if(saldo.isPresent()) {
+			return saldo.get().getSaldo();
+		}
+	
+		return calcular(idUsuario).getSaldo();
+	}
+	
+	@Override
+	@Transactional
+	public boolean reconciliar(Long idUsuario) {
+	
+		return reconciliarChave(idUsuario);
+	}
+	
+	
+	
+	
+	@Override
+	protected Optional<Long> chave(Lancamento lancamento) {
+	
+		if(lancamento == null || lancamento.getUsuario() == null) {
+			return Optional.empty();
+		}
+	
+		return Optional.ofNullable(lancamento.getUsuario().getId());
+	}
+	
+	/**
+	 * Incrementa a versao usada no ETag do saldo mesmo quando a diferenca e zero.
+	 */
+	@Override
+	protected int somar(Long idUsuario, Movimento movimento) {
+	
+		return repository.somar(idUsuario, movimento.getReceitas(), movimento.getDespesas());
+	}
+	
+	@Override
+	protected Movimento calcular(Long idUsuario) {
+	
+		ResumoSaldo resumo = lancamentoRepository.obterResumoSaldoPorUsuario(idUsuario, Movimento.STATUS_CONTABILIZADOS);
+		return new Movimento(resumo.getReceitas(), resumo.getDespesas());
+	}
+	
+	@Override
+	protected boolean inserirSeAusente(Long idUsuario, Movimento movimento) {
+	
+		return repository.inserirSeAusente(SaldoUsuario.builder()
+				.idUsuario(idUsuario)
+				.receitas(movimento.getReceitas())
+				.despesas(movimento.getDespesas())
+				.saldo(movimento.getSaldo())
+				.versao(1l)
+				.build());
+	}
+	
+	@Override
+	protected Optional<SaldoUsuario> obterParaAtualizacao(Long idUsuario) {
+	
+		return repository.obterParaAtualizacao(idUsuario);
+	}
+	
+	@Override
+	protected boolean confere(SaldoUsuario saldo, Movimento calculado) {
+	
+		return calculado.confere(saldo.getReceitas(), saldo.getDespesas())
+				&& saldo.getSaldo().compareTo(calculado.getSaldo()) == 0;
+	}
+	
+	@Override
+	protected void corrigir(SaldoUsuario saldo, Movimento calculado) {
+	
+		saldo.setReceitas(calculado.getReceitas());
+		saldo.setDespesas(calculado.getDespesas());
+		saldo.setSaldo(calculado.getSaldo());
+		saldo.setVersao(saldo.getVersao() == null ? 1l : saldo.getVersao() + 1);
+	
+		repository.save(saldo);
+	}
+	
+}
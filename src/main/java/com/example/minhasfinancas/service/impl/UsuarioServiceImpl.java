@@ -2,10 +2,11 @@ package com.example.minhasfinancas.service.impl;
 
 import java.util.Optional;
 
-import javax.transaction.Transactional;
-
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.minhasfinancas.exception.ErroAutenticacao;
 import com.example.minhasfinancas.exception.RegraNegocioException;
@@ -26,7 +27,12 @@ public class UsuarioServiceImpl implements UsuarioService{
 		this.repository = repository;
 	}
 
+	/**
+	 * Transacao de escrita para ler do primario: o usuario pode ter acabado de se
+	 * cadastrar e ainda nao ter chegado na replica.
+	 */
 	@Override
+	@Transactional
 	public Usuario autenticar(String email, String senha) {
 		
 		Optional<Usuario> usuario = repository.findByEmail(email);
@@ -45,6 +51,7 @@ public class UsuarioServiceImpl implements UsuarioService{
 
 	@Override
 	@Transactional
+	@CacheEvict(cacheNames = "usuarios", key = "#result.id", condition = "#result != null")
 	public Usuario salvarUsuario(Usuario usuario) {
 		
 		validarEmail(usuario.getEmail());
@@ -53,6 +60,7 @@ public class UsuarioServiceImpl implements UsuarioService{
 	}
 
 	@Override
+	@Transactional
 	public void validarEmail(String email) {
 		
 		boolean existe = repository.existsByEmail(email);
@@ -63,9 +71,16 @@ public class UsuarioServiceImpl implements UsuarioService{
 	}
 
 	@Override
+	@Cacheable(cacheNames = "usuarios", key = "#id", unless = "#result == null")
 	public Optional<Usuario> obterporId(Long id) {
 		
 		return repository.findById(id);
 	}
 
+	@Override
+	public Usuario obterReferencia(Long id) {
+		
+		return repository.getOne(id);
+	}
+
 }
@@ -0,0 +1,40 @@
+package com.example.minhasfinancas.util;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public final class NormalizadorTexto {
+
+	private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+	private static final Pattern ESPACOS = Pattern.compile("\\s+");
+	
+	private NormalizadorTexto() {
+	}
+	
+	
+	
+	public static String normalizar(String texto) {
+		
+		if(texto == null) {
+			return null;
+		}
+		
+		String semAcentos = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+		return ESPACOS.matcher(semAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+	}
+	
+	public static Set<String> trigramas(String textoNormalizado) {
+		
+		Set<String> trigramas = new LinkedHashSet<>();
+		
+		for(int i = 0; i + 3 <= textoNormalizado.length(); i++) {
+			trigramas.add(textoNormalizado.substring(i, i + 3));
+		}
+		
+		return trigramas;
+	}
+	
+}
@@ -0,0 +1,31 @@
+create schema if not exists financas;
+
+create table if not exists financas.usuario (
+	id bigserial primary key,
+	nome varchar(150),
+	email varchar(100),
+	senha varchar(255)
+);
+
+create table if not exists financas.lancamento (
+	id bigint primary key,
+	descricao varchar(255),
+	mes integer,
+	ano integer,
+	valor numeric(16,2),
+	tipo varchar(20),
+	status varchar(20),
+	id_usuario bigint references financas.usuario (id),
+	data_cadastro date
+);
+
+alter table financas.lancamento add column if not exists descricao_busca varchar(255);
+
+create sequence if not exists financas.lancamento_seq start with 1 increment by 50;
+
+create table if not exists financas.saldo_usuario (
+	id_usuario bigint primary key references financas.usuario (id),
+	receitas numeric(19,2) not null,
+	despesas numeric(19,2) not null,
+	saldo numeric(19,2) not null
+);
@@ -0,0 +1,5 @@
+create index if not exists idx_lancamento_usuario_ano_mes on financas.lancamento (id_usuario, ano, mes, id);
+
+create index if not exists idx_lancamento_usuario_tipo_status on financas.lancamento (id_usuario, tipo, status);
+
+create index if not exists idx_usuario_email on financas.usuario (email);
@@ -0,0 +1,19 @@
+create table if not exists financas.lancamento_resumo_mensal (
+	id_usuario bigint not null references financas.usuario (id),
+	ano integer not null,
+	mes integer not null,
+	receitas numeric(19,2) not null,
+	despesas numeric(19,2) not null,
+	primary key (id_usuario, ano, mes)
+);
+
+insert into financas.lancamento_resumo_mensal (id_usuario, ano, mes, receitas, despesas)
+select l.id_usuario, l.ano, l.mes,
+       sum(case when l.tipo = 'RECEITA' then l.valor else 0 end),
+       sum(case when l.tipo = 'DESPESA' then l.valor else 0 end)
+  from financas.lancamento l
+ where l.id_usuario is not null
+   and l.ano is not null
+   and l.mes is not null
+   and l.status in ('PENDENTE', 'EFETIVADO')
+ group by l.id_usuario, l.ano, l.mes;
@@ -0,0 +1 @@
+alter table financas.saldo_usuario add column versao bigint default 0 not null;
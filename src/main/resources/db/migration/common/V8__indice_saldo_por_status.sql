@@ -0,0 +1,3 @@
+drop index if exists financas.idx_lancamento_usuario_tipo_status;
+
+create index if not exists idx_lancamento_usuario_status on financas.lancamento (id_usuario, status, tipo, valor);
@@ -0,0 +1,11 @@
+create extension if not exists pg_trgm;
+create extension if not exists unaccent;
+
+update financas.lancamento
+   set descricao_busca = lower(unaccent(descricao))
+ where descricao_busca is null;
+
+create index if not exists idx_lancamento_descricao_busca_trgm
+    on financas.lancamento using gin (descricao_busca gin_trgm_ops);
+
+select setval('financas.lancamento_seq', (select coalesce(max(id), 0) + 50 from financas.lancamento));
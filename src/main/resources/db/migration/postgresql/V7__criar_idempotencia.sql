@@ -0,0 +1,10 @@
+create table financas.idempotencia (
+	chave varchar(400) primary key,
+	hash_requisicao varchar(64) not null,
+	status integer,
+	tipo_conteudo varchar(255),
+	corpo bytea,
+	criado_em timestamp not null
+);
+
+create index idx_idempotencia_criado_em on financas.idempotencia (criado_em);
@@ -0,0 +1,3 @@
+update financas.lancamento
+   set descricao_busca = trim(regexp_replace(lower(unaccent(descricao)), '\s+', ' ', 'g'))
+ where descricao_busca is distinct from trim(regexp_replace(lower(unaccent(descricao)), '\s+', ' ', 'g'));
@@ -0,0 +1,189 @@
+package com.example.minhasfinancas.api.filter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletResponse;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StreamUtils;
+
+import com.example.minhasfinancas.api.idempotencia.ArmazenamentoIdempotenciaMemoria;
+import com.example.minhasfinancas.api.idempotencia.RespostaIdempotente;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class IdempotenciaFilterTest {
+
+	ArmazenamentoIdempotenciaMemoria armazenamento = new ArmazenamentoIdempotenciaMemoria(100, 10);
+	SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	IdempotenciaFilter filtro = new IdempotenciaFilter(armazenamento, registry);
+	
+	AtomicInteger execucoes = new AtomicInteger();
+	int statusExecucao = 201;
+	
+	
+	@Test
+	public void deveRepetirARespostaGuardadaSemExecutarDeNovo() throws Exception {
+		
+		//Cenario
+		MockHttpServletResponse primeira = executar(requisicao("chave-1", "{\"valor\":10}"));
+		
+		//Execucao
+		MockHttpServletResponse repeticao = executar(requisicao("chave-1", "{\"valor\":10}"));
+		
+		//Verificacao
+		Assertions.assertThat(execucoes.get()).isEqualTo(1);
+		Assertions.assertThat(primeira.getStatus()).isEqualTo(201);
+		Assertions.assertThat(primeira.getContentAsString()).isEqualTo("{\"id\":1,\"recebido\":{\"valor\":10}}");
+		Assertions.assertThat(repeticao.getStatus()).isEqualTo(201);
+		Assertions.assertThat(repeticao.getContentType()).isEqualTo("application/json");
+		Assertions.assertThat(repeticao.getContentAsString()).isEqualTo(primeira.getContentAsString());
+		Assertions.assertThat(repeticao.getHeader(IdempotenciaFilter.CABECALHO_REPETICAO)).isEqualTo("true");
+		Assertions.assertThat(registry.counter(IdempotenciaFilter.METRICA, "resultado", "repetida").count()).isEqualTo(1);
+	}
+	
+	@Test
+	public void deveRecusarAMesmaChaveComOutraRequisicao() throws Exception {
+		
+		//Cenario
+		executar(requisicao("chave-2", "{\"valor\":10}"));
+		
+		//Execucao
+		MockHttpServletResponse resposta = executar(requisicao("chave-2", "{\"valor\":20}"));
+		
+		//Verificacao
+		Assertions.assertThat(resposta.getStatus()).isEqualTo(422);
+		Assertions.assertThat(execucoes.get()).isEqualTo(1);
+	}
+	
+	@Test
+	public void deveRecusarARepeticaoEnquantoAPrimeiraEstiverEmAndamento() throws Exception {
+		
+		//Cenario
+		armazenamento.reservar("1:POST:/api/lancamentos:chave-3", DigestUtils.md5DigestAsHex("{}".getBytes()));
+		
+		//Execucao
+		MockHttpServletResponse resposta = executar(requisicao("chave-3", "{}"));
+		
+		//Verificacao
+		Assertions.assertThat(resposta.getStatus()).isEqualTo(409);
+		Assertions.assertThat(execucoes.get()).isZero();
+	}
+	
+	@Test
+	public void naoDeveGuardarRespostaDeErro() throws Exception {
+		
+		//Cenario
+		statusExecucao = 400;
+		executar(requisicao("chave-4", "{}"));
+		statusExecucao = 201;
+		
+		//Execucao
+		MockHttpServletResponse resposta = executar(requisicao("chave-4", "{}"));
+		
+		//Verificacao
+		Assertions.assertThat(resposta.getStatus()).isEqualTo(201);
+		Assertions.assertThat(execucoes.get()).isEqualTo(2);
+	}
+	
+	@Test
+	public void deveSepararAsChavesPorUsuario() throws Exception {
+		
+		//Cenario
+		MockHttpServletRequest outroUsuario = requisicao("chave-5", "{}");
+		outroUsuario.setAttribute(JwtTokenFilter.ATRIBUTO_ID_USUARIO, 2l);
+		executar(requisicao("chave-5", "{}"));
+		
+		//Execucao
+		executar(outroUsuario);
+		
+		//Verificacao
+		Assertions.assertThat(execucoes.get()).isEqualTo(2);
+	}
+	
+	@Test
+	public void deveRecusarAChaveSemUsuarioAutenticado() throws Exception {
+		
+		//Cenario
+		MockHttpServletRequest semUsuario = requisicao("chave-7", "{}");
+		semUsuario.removeAttribute(JwtTokenFilter.ATRIBUTO_ID_USUARIO);
+		
+		//Execucao
+		MockHttpServletResponse resposta = executar(semUsuario);
+		
+		//Verificacao
+		Assertions.assertThat(resposta.getStatus()).isEqualTo(400);
+		Assertions.assertThat(execucoes.get()).isZero();
+	}
+	
+	@Test
+	public void naoDeveLiberarAChaveQuandoARespostaDeSucessoNaoForGuardada() throws Exception {
+		
+		//Cenario
+		filtro = new IdempotenciaFilter(new ArmazenamentoIdempotenciaMemoria(100, 10) {
+			@Override
+			public void concluir(String chave, RespostaIdempotente resposta) {
+				throw new IllegalStateException("falha ao guardar");
+			}
+		}, registry);
+		MockHttpServletResponse primeira = executar(requisicao("chave-8", "{}"));
+		
+		//Execucao
+		MockHttpServletResponse repeticao = executar(requisicao("chave-8", "{}"));
+		
+		//Verificacao
+		Assertions.assertThat(primeira.getStatus()).isEqualTo(201);
+		Assertions.assertThat(repeticao.getStatus()).isEqualTo(409);
+		Assertions.assertThat(execucoes.get()).isEqualTo(1);
+	}
+	
+	@Test
+	public void naoDeveAtuarSemOCabecalhoOuForaDasOperacoesDeEscrita() throws Exception {
+		
+		//Cenario
+		MockHttpServletRequest semChave = new MockHttpServletRequest("POST", "/api/lancamentos");
+		MockHttpServletRequest consulta = new MockHttpServletRequest("GET", "/api/lancamentos");
+		consulta.addHeader(IdempotenciaFilter.CABECALHO, "chave-6");
+		
+		//Execucao
+		executar(semChave);
+		executar(semChave);
+		executar(consulta);
+		executar(consulta);
+		
+		//Verificacao
+		Assertions.assertThat(execucoes.get()).isEqualTo(4);
+	}
+	
+	
+	private MockHttpServletRequest requisicao(String chave, String corpo) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/lancamentos");
+		request.addHeader(IdempotenciaFilter.CABECALHO, chave);
+		request.setContentType("application/json");
+		request.setContent(corpo.getBytes(StandardCharsets.UTF_8));
+		request.setAttribute(JwtTokenFilter.ATRIBUTO_ID_USUARIO, 1l);
+		return request;
+	}
+	
+	private MockHttpServletResponse executar(MockHttpServletRequest request) throws Exception {
+		
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		FilterChain chain = (req, res) -> {
+			int id = execucoes.incrementAndGet();
+			String recebido = StreamUtils.copyToString(req.getInputStream(), StandardCharsets.UTF_8);
+			((HttpServletResponse) res).setStatus(statusExecucao);
+			res.setContentType("application/json");
+			res.getWriter().write("{\"id\":" + id + ",\"recebido\":" + recebido + "}");
+		};
+		
+		filtro.doFilter(request, response, chain);
+		return response;
+	}
+	
+}
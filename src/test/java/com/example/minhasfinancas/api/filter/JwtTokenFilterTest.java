@@ -0,0 +1,88 @@
+package com.example.minhasfinancas.api.filter;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.example.minhasfinancas.exception.ErroAutenticacao;
+import com.example.minhasfinancas.service.JwtService;
+
+public class JwtTokenFilterTest {
+
+	JwtService jwtService = Mockito.mock(JwtService.class);
+	JwtTokenFilter filtro = new JwtTokenFilter(jwtService);
+	
+	
+	@Test
+	public void deveLiberarRequisicaoComTokenValido() throws Exception {
+		
+		//Cenario
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/lancamentos");
+		request.addHeader("Authorization", "Bearer token");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+		Mockito.when(jwtService.obterIdUsuario("token")).thenReturn(1l);
+		
+		//Execucao
+		filtro.doFilter(request, response, chain);
+		
+		//Verificacao
+		Assertions.assertThat(chain.getRequest()).isNotNull();
+		Assertions.assertThat(request.getAttribute(JwtTokenFilter.ATRIBUTO_ID_USUARIO)).isEqualTo(1l);
+	}
+	
+	@Test
+	public void deveRetornarNaoAutorizadoSemToken() throws Exception {
+		
+		//Cenario
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/lancamentos");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+		
+		//Execucao
+		filtro.doFilter(request, response, chain);
+		
+		//Verificacao
+		Assertions.assertThat(response.getStatus()).isEqualTo(401);
+		Assertions.assertThat(chain.getRequest()).isNull();
+	}
+	
+	@Test
+	public void deveRetornarNaoAutorizadoComTokenInvalido() throws Exception {
+		
+		//Cenario
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/lancamentos");
+		request.addHeader("Authorization", "Bearer token");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+		Mockito.when(jwtService.obterIdUsuario("token")).thenThrow(new ErroAutenticacao("Token expirado"));
+		
+		//Execucao
+		filtro.doFilter(request, response, chain);
+		
+		//Verificacao
+		Assertions.assertThat(response.getStatus()).isEqualTo(401);
+		Assertions.assertThat(response.getContentAsString()).isEqualTo("Token expirado");
+		Assertions.assertThat(chain.getRequest()).isNull();
+	}
+	
+	@Test
+	public void naoDeveExigirTokenParaAutenticarOuCadastrar() throws Exception {
+		
+		//Cenario
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/usuarios/autenticar");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+		
+		//Execucao
+		filtro.doFilter(request, response, chain);
+		
+		//Verificacao
+		Assertions.assertThat(chain.getRequest()).isNotNull();
+		Mockito.verifyZeroInteractions(jwtService);
+	}
+	
+}
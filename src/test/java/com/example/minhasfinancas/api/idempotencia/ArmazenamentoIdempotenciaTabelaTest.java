@@ -0,0 +1,75 @@
+package com.example.minhasfinancas.api.idempotencia;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import org.assertj.core.api.Assertions;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+@SpringBootTest(properties = "minhasfinancas.idempotencia.armazenamento=tabela")
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+public class ArmazenamentoIdempotenciaTabelaTest {
+
+	@Autowired
+	ArmazenamentoIdempotencia armazenamento;
+	
+	@Autowired
+	DataSource dataSource;
+	
+	
+	@After
+	public void tearDown() {
+		new JdbcTemplate(dataSource).update("delete from financas.idempotencia");
+	}
+	
+	
+	@Test
+	public void deveReservarAChaveUmaUnicaVezEDevolverARespostaConcluida() {
+		
+		//Cenario
+		byte[] corpo = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+		
+		//Execucao
+		Optional<RespostaIdempotente> reserva = armazenamento.reservar("1:POST:/api/lancamentos:a", "hash");
+		Optional<RespostaIdempotente> emAndamento = armazenamento.reservar("1:POST:/api/lancamentos:a", "hash");
+		armazenamento.concluir("1:POST:/api/lancamentos:a", new RespostaIdempotente("hash", 201, "application/json", corpo));
+		Optional<RespostaIdempotente> concluida = armazenamento.reservar("1:POST:/api/lancamentos:a", "hash");
+		
+		//Verificacao
+		Assertions.assertThat(armazenamento).isInstanceOf(ArmazenamentoIdempotenciaTabela.class);
+		Assertions.assertThat(reserva).isEmpty();
+		Assertions.assertThat(emAndamento.get().isConcluida()).isFalse();
+		Assertions.assertThat(concluida.get().getStatus()).isEqualTo(201);
+		Assertions.assertThat(concluida.get().getTipoConteudo()).isEqualTo("application/json");
+		Assertions.assertThat(concluida.get().getCorpo()).isEqualTo(corpo);
+	}
+	
+	@Test
+	public void deveLiberarAReservaEIgnorarChavesVencidas() {
+		
+		//Cenario
+		armazenamento.reservar("1:POST:/api/lancamentos:b", "hash");
+		armazenamento.reservar("1:POST:/api/lancamentos:c", "hash");
+		armazenamento.concluir("1:POST:/api/lancamentos:c", new RespostaIdempotente("hash", 201, null, new byte[0]));
+		new JdbcTemplate(dataSource).update("update financas.idempotencia set criado_em = ? where chave like '%:c'", Timestamp.valueOf("2019-01-01 00:00:00"));
+		
+		//Execucao
+		armazenamento.liberar("1:POST:/api/lancamentos:b");
+		
+		//Verificacao
+		Assertions.assertThat(armazenamento.reservar("1:POST:/api/lancamentos:b", "hash")).isEmpty();
+		Assertions.assertThat(armazenamento.reservar("1:POST:/api/lancamentos:c", "outro")).isEmpty();
+	}
+	
+}
@@ -0,0 +1,183 @@
+package com.example.minhasfinancas.api.resource;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import javax.persistence.EntityManager;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.minhasfinancas.api.dto.AtualizaStatusDTO;
+import com.example.minhasfinancas.api.dto.AtualizaStatusLoteDTO;
+import com.example.minhasfinancas.api.dto.LancamentoDTO;
+import com.example.minhasfinancas.model.entity.Lancamento;
+import com.example.minhasfinancas.model.entity.Usuario;
+import com.example.minhasfinancas.model.enums.StatusLancamento;
+import com.example.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.example.minhasfinancas.service.JwtService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Transactional
+public class AcessoUsuarioTest {
+
+	static final String LANCAMENTOS = "/api/lancamentos";
+	static final String USUARIOS = "/api/usuarios";
+
+	@Autowired
+	MockMvc mvc;
+
+	@Autowired
+	EntityManager entityManager;
+
+	@Autowired
+	JwtService jwtService;
+
+	Usuario dono;
+	Usuario outro;
+	Lancamento lancamento;
+
+
+	@Before
+	public void setUp() {
+		dono = Usuario.builder().nome("dono").email("dono@email.com").senha("senha").build();
+		outro = Usuario.builder().nome("outro").email("outro@email.com").senha("senha").build();
+		entityManager.persist(dono);
+		entityManager.persist(outro);
+
+		lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(dono);
+		entityManager.persist(lancamento);
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+
+	@Test
+	public void devePermitirAoDonoConsultarOsPropriosLancamentos() throws Exception {
+
+		mvc
+		   .perform(comToken(dono, MockMvcRequestBuilders.get(LANCAMENTOS).param("usuario", dono.getId().toString())))
+		   .andExpect(MockMvcResultMatchers.status().isOk());
+	}
+
+	@Test
+	public void deveNegarAConsultaDosLancamentosDeOutroUsuario() throws Exception {
+
+		mvc
+		   .perform(comToken(outro, MockMvcRequestBuilders.get(LANCAMENTOS).param("usuario", dono.getId().toString())))
+		   .andExpect(MockMvcResultMatchers.status().isForbidden());
+
+		mvc
+		   .perform(comToken(outro, MockMvcRequestBuilders.get(LANCAMENTOS + "/busca").param("usuario", dono.getId().toString()).param("q", "lanc")))
+		   .andExpect(MockMvcResultMatchers.status().isForbidden());
+
+		mvc
+		   .perform(comToken(outro, MockMvcRequestBuilders.get(LANCAMENTOS + "/export").param("usuario", dono.getId().toString())))
+		   .andExpect(MockMvcResultMatchers.status().isForbidden());
+	}
+
+	@Test
+	public void deveNegarOSaldoEOResumoDeOutroUsuario() throws Exception {
+
+		mvc
+		   .perform(comToken(outro, MockMvcRequestBuilders.get(USUARIOS + "/" + dono.getId() + "/saldo")))
+		   .andExpect(MockMvcResultMatchers.status().isForbidden());
+
+		mvc
+		   .perform(comToken(outro, MockMvcRequestBuilders.get(USUARIOS + "/" + dono.getId() + "/resumo").param("ano", "2019")))
+		   .andExpect(MockMvcResultMatchers.status().isForbidden());
+	}
+
+	@Test
+	public void deveNegarSalvarLancamentoEmNomeDeOutroUsuario() throws Exception {
+
+		mvc
+		   .perform(comToken(outro, MockMvcRequestBuilders.post(LANCAMENTOS)
+				   .contentType(MediaType.APPLICATION_JSON)
+				   .content(json(criarDTO(dono.getId())))))
+		   .andExpect(MockMvcResultMatchers.status().isForbidden());
+
+		mvc
+		   .perform(comToken(outro, MockMvcRequestBuilders.post(LANCAMENTOS + "/lote")
+				   .contentType(MediaType.APPLICATION_JSON)
+				   .content(json(Arrays.asList(criarDTO(outro.getId()), criarDTO(dono.getId()))))))
+		   .andExpect(MockMvcResultMatchers.status().isForbidden());
+	}
+
+	@Test
+	public void deveNegarAlterarLancamentoDeOutroUsuario() throws Exception {
+
+		//Execucao
+		mvc
+		   .perform(comToken(outro, MockMvcRequestBuilders.put(LANCAMENTOS + "/" + lancamento.getId())
+				   .contentType(MediaType.APPLICATION_JSON)
+				   .content(json(criarDTO(outro.getId())))))
+		   .andExpect(MockMvcResultMatchers.status().isForbidden());
+
+		mvc
+		   .perform(comToken(outro, MockMvcRequestBuilders.put(LANCAMENTOS + "/" + lancamento.getId() + "/atualiza-status")
+				   .contentType(MediaType.APPLICATION_JSON)
+				   .content(json(new AtualizaStatusDTO("CANCELADO")))))
+		   .andExpect(MockMvcResultMatchers.status().isForbidden());
+
+		mvc
+		   .perform(comToken(outro, MockMvcRequestBuilders.put(LANCAMENTOS + "/atualiza-status")
+				   .contentType(MediaType.APPLICATION_JSON)
+				   .content(json(AtualizaStatusLoteDTO.builder().usuario(dono.getId()).ids(Arrays.asList(lancamento.getId())).status("CANCELADO").build()))))
+		   .andExpect(MockMvcResultMatchers.status().isForbidden());
+
+		mvc
+		   .perform(comToken(outro, MockMvcRequestBuilders.delete(LANCAMENTOS + "/" + lancamento.getId())))
+		   .andExpect(MockMvcResultMatchers.status().isForbidden());
+
+		//Verificacao
+		entityManager.clear();
+		Lancamento atual = entityManager.find(Lancamento.class, lancamento.getId());
+		Assertions.assertThat(atual).isNotNull();
+		Assertions.assertThat(atual.getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+		Assertions.assertThat(atual.getValor()).isEqualByComparingTo(lancamento.getValor());
+	}
+
+
+
+	private MockHttpServletRequestBuilder comToken(Usuario usuario, MockHttpServletRequestBuilder request) {
+		return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.gerarToken(usuario));
+	}
+
+	private static String json(Object valor) throws Exception {
+		return new ObjectMapper().writeValueAsString(valor);
+	}
+
+	private LancamentoDTO criarDTO(Long idUsuario) {
+		return LancamentoDTO.builder()
+				.descricao("lancamento")
+				.ano(2019)
+				.mes(1)
+				.valor(BigDecimal.valueOf(99))
+				.tipo("RECEITA")
+				.status("PENDENTE")
+				.usuario(idUsuario)
+				.versao(0l)
+				.build();
+	}
+
+}
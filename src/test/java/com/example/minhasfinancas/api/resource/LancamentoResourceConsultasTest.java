@@ -0,0 +1,223 @@
+package com.example.minhasfinancas.api.resource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.minhasfinancas.api.dto.AtualizaStatusDTO;
+import com.example.minhasfinancas.api.dto.LancamentoDTO;
+import com.example.minhasfinancas.model.entity.Lancamento;
+import com.example.minhasfinancas.model.entity.Usuario;
+import com.example.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.example.minhasfinancas.service.JwtService;
+import com.example.minhasfinancas.service.ResumoMensalService;
+import com.example.minhasfinancas.service.SaldoUsuarioService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest(properties = {
+		"spring.jpa.properties.hibernate.session_factory.statement_inspector="
+				+ "com.example.minhasfinancas.api.resource.LancamentoResourceConsultasTest$ComandosExecutados"
+})
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Transactional
+public class LancamentoResourceConsultasTest {
+
+	static final String API = "/api/lancamentos";
+
+	static final Pattern TABELA_LANCAMENTO = Pattern.compile("\\bfinancas\\.lancamento\\b");
+	static final Pattern TABELA_USUARIO = Pattern.compile("\\bfinancas\\.usuario\\b");
+
+	@Autowired
+	MockMvc mvc;
+
+	@Autowired
+	EntityManager entityManager;
+
+	@Autowired
+	SaldoUsuarioService saldoService;
+
+	@Autowired
+	ResumoMensalService resumoMensalService;
+
+	@Autowired
+	JwtService jwtService;
+
+	Usuario usuario;
+	Lancamento lancamento;
+
+
+	@Before
+	public void setUp() {
+		usuario = Usuario.builder().nome("consultas").email("consultas@email.com").senha("senha").build();
+		entityManager.persist(usuario);
+
+		lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(usuario);
+		entityManager.persist(lancamento);
+		entityManager.flush();
+
+		saldoService.reconciliar(usuario.getId());
+		resumoMensalService.reconciliar(usuario.getId(), 2019, 1);
+		entityManager.flush();
+		entityManager.clear();
+
+		ComandosExecutados.COMANDOS.clear();
+	}
+
+
+	@Test
+	public void deveAtualizarUmLancamentoComUmUnicoUpdateSemConsultarOUsuario() throws Exception {
+
+		//Cenario
+		LancamentoDTO dto = criarDTO(BigDecimal.valueOf(25));
+
+		//Execucao
+		mvc
+		   .perform(comToken(usuario, MockMvcRequestBuilders.put(API.concat("/" + lancamento.getId()))
+				   .contentType(MediaType.APPLICATION_JSON)
+				   .content(new ObjectMapper().writeValueAsString(dto))))
+		   .andExpect(MockMvcResultMatchers.status().isOk());
+		entityManager.flush();
+
+		//Verificacao
+		List<String> lancamentos = comandosSobre(TABELA_LANCAMENTO);
+		Assertions.assertThat(lancamentos).hasSize(2);
+		Assertions.assertThat(lancamentos.stream().filter(sql -> sql.startsWith("update"))).hasSize(1);
+		Assertions.assertThat(lancamentos.stream().filter(sql -> sql.startsWith("select"))).hasSize(1);
+		Assertions.assertThat(comandosSobre(TABELA_USUARIO)).isEmpty();
+
+		entityManager.clear();
+		Lancamento atualizado = entityManager.find(Lancamento.class, lancamento.getId());
+		Assertions.assertThat(atualizado.getValor()).isEqualByComparingTo(BigDecimal.valueOf(25));
+		Assertions.assertThat(atualizado.getDataCadastro()).isEqualTo(lancamento.getDataCadastro());
+		Assertions.assertThat(saldoService.obterSaldo(usuario.getId())).isEqualByComparingTo(BigDecimal.valueOf(25));
+	}
+
+	@Test
+	public void deveAtualizarOStatusComUmaUnicaLeituraEUmUpdate() throws Exception {
+
+		//Execucao
+		mvc
+		   .perform(comToken(usuario, MockMvcRequestBuilders.put(API.concat("/" + lancamento.getId() + "/atualiza-status"))
+				   .contentType(MediaType.APPLICATION_JSON)
+				   .content(new ObjectMapper().writeValueAsString(new AtualizaStatusDTO("EFETIVADO")))))
+		   .andExpect(MockMvcResultMatchers.status().isOk());
+		entityManager.flush();
+
+		//Verificacao
+		List<String> lancamentos = comandosSobre(TABELA_LANCAMENTO);
+		Assertions.assertThat(lancamentos.stream().filter(sql -> sql.startsWith("select"))).hasSize(1);
+		Assertions.assertThat(lancamentos.stream().filter(sql -> sql.startsWith("update"))).hasSize(1);
+		Assertions.assertThat(comandosSobre(TABELA_USUARIO)).isEmpty();
+	}
+
+	@Test
+	public void deveNegarAAtualizacaoDeOutroUsuarioSemExecutarOUpdate() throws Exception {
+
+		//Cenario
+		Usuario outro = Usuario.builder().nome("outro").email("consultas-outro@email.com").senha("senha").build();
+		entityManager.persist(outro);
+		entityManager.flush();
+		ComandosExecutados.COMANDOS.clear();
+
+		//Execucao
+		mvc
+		   .perform(comToken(outro, MockMvcRequestBuilders.put(API.concat("/" + lancamento.getId() + "/atualiza-status"))
+				   .contentType(MediaType.APPLICATION_JSON)
+				   .content(new ObjectMapper().writeValueAsString(new AtualizaStatusDTO("CANCELADO")))))
+		   .andExpect(MockMvcResultMatchers.status().isForbidden());
+
+		//Verificacao
+		List<String> lancamentos = comandosSobre(TABELA_LANCAMENTO);
+		Assertions.assertThat(lancamentos).hasSize(1);
+		Assertions.assertThat(lancamentos.stream().filter(sql -> sql.startsWith("update"))).isEmpty();
+	}
+
+	@Test
+	public void deveRetornarNotFoundAoAtualizarUmLancamentoInexistente() throws Exception {
+
+		mvc
+		   .perform(comToken(usuario, MockMvcRequestBuilders.put(API.concat("/-1"))
+				   .contentType(MediaType.APPLICATION_JSON)
+				   .content(new ObjectMapper().writeValueAsString(criarDTO(BigDecimal.TEN)))))
+		   .andExpect(MockMvcResultMatchers.status().isNotFound());
+
+		Assertions.assertThat(comandosSobre(TABELA_LANCAMENTO).stream().filter(sql -> sql.startsWith("update"))).isEmpty();
+	}
+
+	@Test
+	public void deveSalvarUmLancamentoSemConsultarOUsuario() throws Exception {
+
+		//Execucao
+		mvc
+		   .perform(comToken(usuario, MockMvcRequestBuilders.post(API)
+				   .contentType(MediaType.APPLICATION_JSON)
+				   .content(new ObjectMapper().writeValueAsString(criarDTO(BigDecimal.TEN)))))
+		   .andExpect(MockMvcResultMatchers.status().isCreated());
+		entityManager.flush();
+
+		//Verificacao
+		Assertions.assertThat(comandosSobre(TABELA_LANCAMENTO).stream().filter(sql -> sql.startsWith("insert"))).hasSize(1);
+		Assertions.assertThat(comandosSobre(TABELA_USUARIO)).isEmpty();
+	}
+
+
+	private MockHttpServletRequestBuilder comToken(Usuario dono, MockHttpServletRequestBuilder request) {
+		return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.gerarToken(dono));
+	}
+
+	private LancamentoDTO criarDTO(BigDecimal valor) {
+		return LancamentoDTO.builder()
+				.descricao("lancamento atualizado")
+				.mes(1)
+				.ano(2019)
+				.valor(valor)
+				.usuario(usuario.getId())
+				.tipo("RECEITA")
+				.build();
+	}
+
+	private static List<String> comandosSobre(Pattern tabela) {
+		return ComandosExecutados.COMANDOS.stream()
+				.filter(sql -> tabela.matcher(sql).find())
+				.collect(Collectors.toList());
+	}
+
+
+	public static class ComandosExecutados implements StatementInspector {
+
+		static final List<String> COMANDOS = new CopyOnWriteArrayList<>();
+
+		@Override
+		public String inspect(String sql) {
+			COMANDOS.add(sql.trim().toLowerCase());
+			return sql;
+		}
+
+	}
+
+}
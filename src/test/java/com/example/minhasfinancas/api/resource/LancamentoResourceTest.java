@@ -0,0 +1,276 @@
+package com.example.minhasfinancas.api.resource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.example.minhasfinancas.api.dto.LancamentoDTO;
+import com.example.minhasfinancas.exception.ConflitoAtualizacaoException;
+import com.example.minhasfinancas.exception.RegistroNaoEncontradoException;
+import com.example.minhasfinancas.model.entity.Lancamento;
+import com.example.minhasfinancas.model.entity.Usuario;
+import com.example.minhasfinancas.model.enums.StatusLancamento;
+import com.example.minhasfinancas.model.enums.TipoLancamento;
+import com.example.minhasfinancas.model.paginacao.Pagina;
+import com.example.minhasfinancas.model.projection.LancamentoResumo;
+import com.example.minhasfinancas.service.LancamentoService;
+import com.example.minhasfinancas.service.UsuarioService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+@WebMvcTest(controllers = LancamentoResource.class)
+@AutoConfigureMockMvc
+public class LancamentoResourceTest {
+
+    static final String API = "/api/lancamentos";
+    
+    @Autowired
+    MockMvc mvc;
+    
+    @MockBean
+    LancamentoService service;
+    
+    @MockBean
+    UsuarioService usuarioService;
+    
+    
+    @Test
+    public void deveExportarOsLancamentosEmNdjson() throws Exception {
+    	//Cenario
+    	Usuario usuario = Usuario.builder().id(1l).build();
+    	Mockito.when(usuarioService.obterporId(1l)).thenReturn(Optional.of(usuario));
+    	simularExportacao(criarLancamento(1l, "Salario", usuario), criarLancamento(2l, "Aluguel", usuario));
+    	
+    	//Execucao
+    	MvcResult resultado = mvc
+    			.perform(MockMvcRequestBuilders.get(API.concat("/export")).param("usuario", "1"))
+    			.andExpect(MockMvcResultMatchers.request().asyncStarted())
+    			.andReturn();
+    	
+    	//Verificacao
+    	mvc
+    	   .perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+    	   .andExpect(MockMvcResultMatchers.status().isOk())
+    	   .andExpect(MockMvcResultMatchers.header().string("Content-Type", "application/x-ndjson"))
+    	   .andExpect(MockMvcResultMatchers.content().string(
+    			   "{\"id\":1,\"descricao\":\"Salario\",\"mes\":1,\"ano\":2019,\"valor\":10,\"usuario\":1,\"tipo\":\"RECEITA\",\"status\":\"PENDENTE\",\"dataCadastro\":\"2019-01-10\"}\n"
+    			 + "{\"id\":2,\"descricao\":\"Aluguel\",\"mes\":1,\"ano\":2019,\"valor\":10,\"usuario\":1,\"tipo\":\"RECEITA\",\"status\":\"PENDENTE\",\"dataCadastro\":\"2019-01-10\"}\n"));
+    	
+    }
+    
+    
+    @Test
+    public void deveExportarOsLancamentosEmCsvEscapandoADescricao() throws Exception {
+    	//Cenario
+    	Usuario usuario = Usuario.builder().id(1l).build();
+    	Mockito.when(usuarioService.obterporId(1l)).thenReturn(Optional.of(usuario));
+    	simularExportacao(criarLancamento(1l, "Mercado, \"feira\"", usuario));
+    	
+    	//Execucao
+    	MvcResult resultado = mvc
+    			.perform(MockMvcRequestBuilders.get(API.concat("/export")).param("usuario", "1").param("formato", "csv"))
+    			.andReturn();
+    	
+    	//Verificacao
+    	mvc
+    	   .perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+    	   .andExpect(MockMvcResultMatchers.status().isOk())
+    	   .andExpect(MockMvcResultMatchers.content().string(
+    			   "id,descricao,mes,ano,valor,usuario,tipo,status,dataCadastro\r\n"
+    			 + "1,\"Mercado, \"\"feira\"\"\",1,2019,10,1,RECEITA,PENDENTE,2019-01-10\r\n"));
+    	
+    }
+    
+    
+    @Test
+    public void deveRetornarBadRequestAoExportarEmFormatoInvalido() throws Exception {
+    	//Cenario
+    	Mockito.when(usuarioService.obterporId(1l)).thenReturn(Optional.of(Usuario.builder().id(1l).build()));
+    	
+    	//Execucao e Verificacao
+    	mvc
+    	   .perform(MockMvcRequestBuilders.get(API.concat("/export")).param("usuario", "1").param("formato", "xml"))
+    	   .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    	
+    	Mockito.verify(service, Mockito.never()).exportar(Mockito.anyLong(), Mockito.any());
+    }
+    
+    
+    
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void deveSalvarUmLoteConsultandoOUsuarioUmaUnicaVez() throws Exception {
+    	//Cenario
+    	Usuario usuario = Usuario.builder().id(1l).build();
+    	Mockito.when(usuarioService.obterporId(1l)).thenReturn(Optional.of(usuario));
+    	Mockito.when(usuarioService.obterporId(2l)).thenReturn(Optional.empty());
+    	
+    	Mockito.when(service.salvarLote(Mockito.anyList())).thenAnswer(invocacao -> {
+    		List<Lancamento> lancamentos = invocacao.getArgument(0);
+    		for(int i = 0; i < lancamentos.size(); i++) {
+    			lancamentos.get(i).setId(10l + i);
+    		}
+    		return Collections.singletonMap(1, "Informe um Mês valido");
+    	});
+    	
+    	List<LancamentoDTO> lote = Arrays.asList(
+    			criarDTO(1l, 1), 
+    			criarDTO(2l, 1), 
+    			criarDTO(1l, 13), 
+    			criarDTO(1l, 2));
+    	
+    	String json = new ObjectMapper().writeValueAsString(lote);
+    	
+    	//Execucao e Verificacao
+    	mvc
+    	   .perform(MockMvcRequestBuilders.post(API.concat("/lote")).contentType(MediaType.APPLICATION_JSON).content(json))
+    	   .andExpect(MockMvcResultMatchers.status().isCreated())
+    	   .andExpect(MockMvcResultMatchers.jsonPath("recebidos").value(4))
+    	   .andExpect(MockMvcResultMatchers.jsonPath("salvos").value(2))
+    	   .andExpect(MockMvcResultMatchers.jsonPath("ids[0]").value(10))
+    	   .andExpect(MockMvcResultMatchers.jsonPath("ids[1]").value(12))
+    	   .andExpect(MockMvcResultMatchers.jsonPath("erros[0].indice").value(1))
+    	   .andExpect(MockMvcResultMatchers.jsonPath("erros[1].indice").value(2))
+    	   .andExpect(MockMvcResultMatchers.jsonPath("erros[1].mensagem").value("Informe um Mês valido"));
+    	
+    	Mockito.verify(usuarioService, Mockito.times(1)).obterporId(1l);
+    }
+    
+    
+    @Test
+    public void deveRetornarNotFoundAoAtualizarOStatusDeUmLancamentoInexistente() throws Exception {
+    	//Cenario
+    	Mockito.when(service.atualizarStatus(1l, StatusLancamento.EFETIVADO, null))
+    		   .thenThrow(new RegistroNaoEncontradoException("Lancamento não encontrado na base de Dados."));
+    	
+    	//Execucao e Verificacao
+    	mvc
+    	   .perform(MockMvcRequestBuilders.put(API.concat("/1/atualiza-status"))
+    			   .contentType(MediaType.APPLICATION_JSON).content("{\"status\":\"EFETIVADO\"}"))
+    	   .andExpect(MockMvcResultMatchers.status().isNotFound());
+    	
+    	Mockito.verify(service, Mockito.never()).obterPorId(Mockito.anyLong());
+    }
+    
+    
+    @Test
+    public void deveRetornarConflitoQuandoOStatusMudarDuranteAAtualizacao() throws Exception {
+    	//Cenario
+    	LancamentoResumo atual = new LancamentoResumo(1l, "lancamento", 1, 2019, BigDecimal.TEN, 
+    			TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 1l, 3l);
+    	Mockito.when(service.atualizarStatus(1l, StatusLancamento.CANCELADO, null))
+    		   .thenThrow(new ConflitoAtualizacaoException("O lancamento foi alterado por outra operação", atual));
+    	
+    	//Execucao e Verificacao
+    	mvc
+    	   .perform(MockMvcRequestBuilders.put(API.concat("/1/atualiza-status"))
+    			   .contentType(MediaType.APPLICATION_JSON).content("{\"status\":\"CANCELADO\"}"))
+    	   .andExpect(MockMvcResultMatchers.status().isConflict())
+    	   .andExpect(MockMvcResultMatchers.jsonPath("mensagem").value("O lancamento foi alterado por outra operação"))
+    	   .andExpect(MockMvcResultMatchers.jsonPath("atual.status").value("EFETIVADO"))
+    	   .andExpect(MockMvcResultMatchers.jsonPath("atual.versao").value(3));
+    }
+    
+    
+    @Test
+    public void deveRetornarBadRequestAoAtualizarParaUmStatusInvalido() throws Exception {
+    	
+    	mvc
+    	   .perform(MockMvcRequestBuilders.put(API.concat("/1/atualiza-status"))
+    			   .contentType(MediaType.APPLICATION_JSON).content("{\"status\":\"PAGO\"}"))
+    	   .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+    
+    
+    @Test
+    public void deveRetornarNaoModificadoSemConsultarOsLancamentosQuandoAVersaoNaoMudou() throws Exception {
+    	//Cenario
+    	Mockito.when(usuarioService.obterporId(1l)).thenReturn(Optional.of(Usuario.builder().id(1l).build()));
+    	Mockito.when(service.obterVersaoDados(1l)).thenReturn(7l);
+    	
+    	//Execucao e Verificacao
+    	mvc
+    	   .perform(MockMvcRequestBuilders.get(API).param("usuario", "1").header("If-None-Match", "\"1-7\""))
+    	   .andExpect(MockMvcResultMatchers.status().isNotModified())
+    	   .andExpect(MockMvcResultMatchers.header().string("ETag", "\"1-7\""));
+    	
+    	Mockito.verify(service, Mockito.never()).buscarPagina(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+    
+    
+    @Test
+    public void deveConsultarOsLancamentosQuandoAVersaoMudou() throws Exception {
+    	//Cenario
+    	Mockito.when(usuarioService.obterporId(1l)).thenReturn(Optional.of(Usuario.builder().id(1l).build()));
+    	Mockito.when(service.obterVersaoDados(1l)).thenReturn(8l);
+    	Mockito.when(service.buscarPagina(Mockito.any(), Mockito.any(), Mockito.any()))
+    		   .thenReturn(new Pagina<>(Collections.emptyList(), null));
+    	
+    	//Execucao e Verificacao
+    	mvc
+    	   .perform(MockMvcRequestBuilders.get(API).param("usuario", "1").header("If-None-Match", "\"1-7\""))
+    	   .andExpect(MockMvcResultMatchers.status().isOk())
+    	   .andExpect(MockMvcResultMatchers.header().string("ETag", "\"1-8\""));
+    }
+    
+    
+    
+    
+    @SuppressWarnings("unchecked")
+    private void simularExportacao(Lancamento... lancamentos) {
+    	Mockito.doAnswer(invocacao -> {
+    		Consumer<Lancamento> consumidor = invocacao.getArgument(1);
+    		for(Lancamento lancamento : lancamentos) {
+    			consumidor.accept(lancamento);
+    		}
+    		return null;
+    	}).when(service).exportar(Mockito.eq(1l), Mockito.any(Consumer.class));
+    }
+    
+    private LancamentoDTO criarDTO(Long usuario, int mes) {
+    	return LancamentoDTO.builder()
+    			.descricao("lancamento")
+    			.mes(mes)
+    			.ano(2019)
+    			.valor(BigDecimal.valueOf(10))
+    			.usuario(usuario)
+    			.tipo("RECEITA")
+    			.build();
+    }
+    
+    private Lancamento criarLancamento(Long id, String descricao, Usuario usuario) {
+    	return Lancamento.builder()
+    			.id(id)
+    			.descricao(descricao)
+    			.mes(1)
+    			.ano(2019)
+    			.valor(BigDecimal.valueOf(10))
+    			.usuario(usuario)
+    			.tipo(TipoLancamento.RECEITA)
+    			.status(StatusLancamento.PENDENTE)
+    			.dataCadastro(LocalDate.of(2019, 1, 10))
+    			.build();
+    }
+    
+}
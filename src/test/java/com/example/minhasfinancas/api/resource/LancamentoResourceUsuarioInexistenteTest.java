@@ -0,0 +1,115 @@
+package com.example.minhasfinancas.api.resource;
+
+import java.math.BigDecimal;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.example.minhasfinancas.api.dto.LancamentoDTO;
+import com.example.minhasfinancas.model.entity.Lancamento;
+import com.example.minhasfinancas.model.entity.Usuario;
+import com.example.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.example.minhasfinancas.service.LancamentoService;
+import com.example.minhasfinancas.service.UsuarioService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Sem transacao no teste: a violacao da chave estrangeira so aparece no commit da
+ * transacao do servico, como em producao.
+ */
+@SpringBootTest(properties = "minhasfinancas.jwt.habilitado=false")
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class LancamentoResourceUsuarioInexistenteTest {
+
+	static final String API = "/api/lancamentos";
+	static final Long USUARIO_INEXISTENTE = 987654321l;
+
+	@Autowired
+	MockMvc mvc;
+
+	@Autowired
+	UsuarioService usuarioService;
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	@Autowired
+	JdbcTemplate jdbc;
+
+	Usuario usuario;
+	Lancamento lancamento;
+
+
+	@Before
+	public void setUp() {
+		usuario = usuarioService.salvarUsuario(Usuario.builder().nome("inexistente").email("inexistente@email.com").senha("senha").build());
+
+		lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(usuario);
+		lancamentoService.salvar(lancamento);
+	}
+
+	@After
+	public void tearDown() {
+		jdbc.update("delete from financas.lancamento where id_usuario = ?", usuario.getId());
+		jdbc.update("delete from financas.lancamento_resumo_mensal where id_usuario = ?", usuario.getId());
+		jdbc.update("delete from financas.saldo_usuario where id_usuario = ?", usuario.getId());
+		jdbc.update("delete from financas.usuario where id = ?", usuario.getId());
+	}
+
+
+	@Test
+	public void deveRetornarBadRequestAoSalvarLancamentoDeUsuarioInexistente() throws Exception {
+
+		mvc
+		   .perform(MockMvcRequestBuilders.post(API)
+				   .contentType(MediaType.APPLICATION_JSON)
+				   .content(json(criarDTO(0l))))
+		   .andExpect(MockMvcResultMatchers.status().isBadRequest())
+		   .andExpect(MockMvcResultMatchers.content().string("Usuario não encontrado para o ID Informado"));
+	}
+
+	@Test
+	public void deveRetornarBadRequestAoAtualizarLancamentoParaUsuarioInexistente() throws Exception {
+
+		mvc
+		   .perform(MockMvcRequestBuilders.put(API.concat("/" + lancamento.getId()))
+				   .contentType(MediaType.APPLICATION_JSON)
+				   .content(json(criarDTO(lancamento.getVersao()))))
+		   .andExpect(MockMvcResultMatchers.status().isBadRequest())
+		   .andExpect(MockMvcResultMatchers.content().string("Usuario não encontrado para o ID Informado"));
+	}
+
+
+	private static String json(Object valor) throws Exception {
+		return new ObjectMapper().writeValueAsString(valor);
+	}
+
+	private LancamentoDTO criarDTO(Long versao) {
+		return LancamentoDTO.builder()
+				.descricao("lancamento")
+				.ano(2019)
+				.mes(1)
+				.valor(BigDecimal.valueOf(99))
+				.tipo("RECEITA")
+				.status("PENDENTE")
+				.usuario(USUARIO_INEXISTENTE)
+				.versao(versao)
+				.build();
+	}
+
+}
@@ -1,5 +1,9 @@
 package com.example.minhasfinancas.api.resource;
 
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Optional;
+
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
@@ -18,7 +22,9 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import com.example.minhasfinancas.api.dto.UsuarioDTO;
 import com.example.minhasfinancas.exception.ErroAutenticacao;
 import com.example.minhasfinancas.exception.RegraNegocioException;
+import com.example.minhasfinancas.model.entity.ResumoMensal;
 import com.example.minhasfinancas.model.entity.Usuario;
+import com.example.minhasfinancas.service.JwtService;
 import com.example.minhasfinancas.service.LancamentoService;
 import com.example.minhasfinancas.service.UsuarioService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -42,6 +48,9 @@ public class UsuarioResourceTest {
     @MockBean
     LancamentoService lancamentoService;
     
+    @MockBean
+    JwtService jwtService;
+    
     @Test
     public void deveAutenticarUmUsuario() throws Exception {
     	//Cenario
@@ -52,6 +61,7 @@ public class UsuarioResourceTest {
     	Usuario usuario = Usuario.builder().id(1l).email(email).senha(senha).build();
     	
     	Mockito.when(service.autenticar(email, senha)).thenReturn(usuario);
+    	Mockito.when(jwtService.gerarToken(usuario)).thenReturn("token");
     	
     	String json = new ObjectMapper().writeValueAsString(dto);
     	
@@ -69,7 +79,8 @@ public class UsuarioResourceTest {
     	   .andExpect(MockMvcResultMatchers.status().isOk() )
     	   .andExpect(MockMvcResultMatchers.jsonPath("id").value(usuario.getId()))
     	   .andExpect(MockMvcResultMatchers.jsonPath("nome").value(usuario.getNome()))
-    	   .andExpect(MockMvcResultMatchers.jsonPath("email").value(usuario.getEmail()));
+    	   .andExpect(MockMvcResultMatchers.jsonPath("email").value(usuario.getEmail()))
+    	   .andExpect(MockMvcResultMatchers.jsonPath("token").value("token"));
     			   
     	   
     	
@@ -185,4 +196,62 @@ public class UsuarioResourceTest {
     
     
     
+    @Test
+    public void deveRetornarOSaldoComETagDaVersaoDosDados() throws Exception {
+    	//Cenario
+    	Mockito.when(service.obterporId(1l)).thenReturn(Optional.of(Usuario.builder().id(1l).build()));
+    	Mockito.when(lancamentoService.obterVersaoDados(1l)).thenReturn(5l);
+    	Mockito.when(lancamentoService.obterSaldoPorUsuario(1l, 5l)).thenReturn(BigDecimal.valueOf(100));
+    	
+    	//Execucao e Verificacao
+    	mvc
+    	   .perform(MockMvcRequestBuilders.get(API.concat("/1/saldo")).accept(JSON))
+    	   .andExpect(MockMvcResultMatchers.status().isOk())
+    	   .andExpect(MockMvcResultMatchers.header().string("ETag", "\"1-5\""))
+    	   .andExpect(MockMvcResultMatchers.content().string("100"));
+    	
+    }
+    
+    
+    @Test
+    public void deveRetornarNaoModificadoSemCalcularOSaldoQuandoAVersaoNaoMudou() throws Exception {
+    	//Cenario
+    	Mockito.when(service.obterporId(1l)).thenReturn(Optional.of(Usuario.builder().id(1l).build()));
+    	Mockito.when(lancamentoService.obterVersaoDados(1l)).thenReturn(5l);
+    	
+    	//Execucao e Verificacao
+    	mvc
+    	   .perform(MockMvcRequestBuilders.get(API.concat("/1/saldo")).accept(JSON).header("If-None-Match", "\"1-5\""))
+    	   .andExpect(MockMvcResultMatchers.status().isNotModified())
+    	   .andExpect(MockMvcResultMatchers.content().string(""));
+    	
+    	Mockito.verify(lancamentoService, Mockito.never()).obterSaldoPorUsuario(Mockito.anyLong(), Mockito.anyLong());
+    }
+    
+    
+    
+    @Test
+    public void deveRetornarOResumoMensalDoAno() throws Exception {
+    	//Cenario
+    	Usuario usuario = Usuario.builder().id(1l).build();
+    	ResumoMensal janeiro = ResumoMensal.builder()
+    			.idUsuario(1l).ano(2019).mes(1)
+    			.receitas(BigDecimal.valueOf(100)).despesas(BigDecimal.valueOf(40))
+    			.build();
+    	
+    	Mockito.when(service.obterporId(1l)).thenReturn(Optional.of(usuario));
+    	Mockito.when(lancamentoService.obterResumoMensal(1l, 2019)).thenReturn(Arrays.asList(janeiro));
+    	
+    	//Execucao e Verificacao
+    	mvc
+    	   .perform(MockMvcRequestBuilders.get(API.concat("/1/resumo")).param("ano", "2019").accept(JSON))
+    	   .andExpect(MockMvcResultMatchers.status().isOk())
+    	   .andExpect(MockMvcResultMatchers.jsonPath("$[0].mes").value(1))
+    	   .andExpect(MockMvcResultMatchers.jsonPath("$[0].receitas").value(100))
+    	   .andExpect(MockMvcResultMatchers.jsonPath("$[0].saldo").value(60));
+    	
+    }
+    
+    
+    
 }
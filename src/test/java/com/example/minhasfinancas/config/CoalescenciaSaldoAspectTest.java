@@ -0,0 +1,118 @@
+package com.example.minhasfinancas.config;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.example.minhasfinancas.service.LancamentoService;
+import com.example.minhasfinancas.service.SaldoUsuarioService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+public class CoalescenciaSaldoAspectTest {
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	@Autowired
+	MeterRegistry registry;
+
+	@MockBean
+	SaldoUsuarioService saldoService;
+
+	CountDownLatch iniciou = new CountDownLatch(1);
+	CountDownLatch liberar = new CountDownLatch(1);
+	ExecutorService executor = Executors.newFixedThreadPool(4);
+
+
+	@After
+	public void tearDown() {
+		liberar.countDown();
+		executor.shutdownNow();
+	}
+
+
+	@Test
+	public void deveExecutarUmaUnicaConsultaParaChamadasConcorrentesDoMesmoUsuario() throws Exception {
+
+		//Cenario
+		bloquearConsulta(BigDecimal.TEN);
+		double compartilhadasAntes = contagem("compartilhada");
+
+		//Execucao
+		List<Future<BigDecimal>> resultados = new ArrayList<>();
+		resultados.add(executor.submit(() -> lancamentoService.obterSaldoPorUsuario(1l, 4l)));
+		Assertions.assertThat(iniciou.await(5, TimeUnit.SECONDS)).isTrue();
+		for(int i = 0; i < 3; i++) {
+			resultados.add(executor.submit(() -> lancamentoService.obterSaldoPorUsuario(1l, 4l)));
+		}
+		aguardarCompartilhadas(compartilhadasAntes + 3);
+		liberar.countDown();
+
+		//Verificacao
+		for(Future<BigDecimal> resultado : resultados) {
+			Assertions.assertThat(resultado.get(5, TimeUnit.SECONDS)).isEqualByComparingTo(BigDecimal.TEN);
+		}
+		Mockito.verify(saldoService, Mockito.times(1)).obterSaldo(1l);
+		Assertions.assertThat(contagem("compartilhada") - compartilhadasAntes).isEqualTo(3);
+	}
+
+	@Test
+	public void naoDeveCompartilharAConsultaDeOutraVersaoDosDados() throws Exception {
+
+		//Cenario
+		bloquearConsulta(BigDecimal.ONE);
+		Future<BigDecimal> anterior = executor.submit(() -> lancamentoService.obterSaldoPorUsuario(2l, 1l));
+		Assertions.assertThat(iniciou.await(5, TimeUnit.SECONDS)).isTrue();
+
+		//Execucao
+		Mockito.doReturn(BigDecimal.TEN).when(saldoService).obterSaldo(2l);
+		BigDecimal posterior = lancamentoService.obterSaldoPorUsuario(2l, 2l);
+		liberar.countDown();
+
+		//Verificacao
+		Assertions.assertThat(posterior).isEqualByComparingTo(BigDecimal.TEN);
+		Assertions.assertThat(anterior.get(5, TimeUnit.SECONDS)).isEqualByComparingTo(BigDecimal.ONE);
+		Mockito.verify(saldoService, Mockito.times(2)).obterSaldo(2l);
+	}
+
+
+	private void bloquearConsulta(BigDecimal saldo) {
+		Mockito.when(saldoService.obterSaldo(Mockito.anyLong())).thenAnswer(invocacao -> {
+			iniciou.countDown();
+			liberar.await(5, TimeUnit.SECONDS);
+			return saldo;
+		});
+	}
+
+	private void aguardarCompartilhadas(double esperado) throws InterruptedException {
+		long limite = System.currentTimeMillis() + 5000;
+		while(contagem("compartilhada") < esperado && System.currentTimeMillis() < limite) {
+			Thread.sleep(10);
+		}
+	}
+
+	private double contagem(String resultado) {
+		return registry.get(CoalescenciaSaldoAspect.METRICA).tag("resultado", resultado).counter().count();
+	}
+
+}
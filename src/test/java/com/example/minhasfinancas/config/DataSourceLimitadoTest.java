@@ -0,0 +1,52 @@
+package com.example.minhasfinancas.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+public class DataSourceLimitadoTest {
+
+	@Test
+	public void deveLimitarAsConexoesEmprestadasAoMesmoTempo() throws SQLException {
+
+		//Cenario
+		DataSourceLimitado dataSource = new DataSourceLimitado(new DriverManagerDataSource("jdbc:h2:mem:limitado"), 2, 50);
+		Connection primeira = dataSource.getConnection();
+		Connection segunda = dataSource.getConnection();
+
+		//Execucao
+		Throwable erro = Assertions.catchThrowable(dataSource::getConnection);
+		primeira.close();
+		primeira.close();
+
+		//Verificacao
+		Assertions.assertThat(erro).isInstanceOf(SQLTransientConnectionException.class);
+		Assertions.assertThat(dataSource.getConexoesDisponiveis()).isEqualTo(1);
+
+		try(Connection terceira = dataSource.getConnection()) {
+			Assertions.assertThat(terceira.isValid(1)).isTrue();
+			Assertions.assertThat(dataSource.getConexoesDisponiveis()).isZero();
+		}
+		segunda.close();
+		Assertions.assertThat(dataSource.getConexoesDisponiveis()).isEqualTo(2);
+	}
+
+	@Test
+	public void deveDevolverAPermissaoQuandoOPoolNaoEntregaAConexao() {
+
+		//Cenario
+		DataSourceLimitado dataSource = new DataSourceLimitado(new DriverManagerDataSource("jdbc:inexistente:limitado"), 1, 50);
+
+		//Execucao
+		Throwable erro = Assertions.catchThrowable(dataSource::getConnection);
+
+		//Verificacao
+		Assertions.assertThat(erro).isInstanceOf(SQLException.class).isNotInstanceOf(SQLTransientConnectionException.class);
+		Assertions.assertThat(dataSource.getConexoesDisponiveis()).isEqualTo(1);
+	}
+
+}
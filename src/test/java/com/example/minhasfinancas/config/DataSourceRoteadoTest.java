@@ -0,0 +1,158 @@
+package com.example.minhasfinancas.config;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.assertj.core.api.Assertions;
+import org.flywaydb.core.Flyway;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.example.minhasfinancas.api.filter.JwtTokenFilter;
+import com.example.minhasfinancas.exception.RegraNegocioException;
+import com.example.minhasfinancas.model.entity.Lancamento;
+import com.example.minhasfinancas.model.entity.Usuario;
+import com.example.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.example.minhasfinancas.service.LancamentoService;
+import com.example.minhasfinancas.service.UsuarioService;
+
+@SpringBootTest(properties = {
+		"minhasfinancas.replica.habilitada=true",
+		"minhasfinancas.replica.datasource.jdbc-url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS financas",
+		"minhasfinancas.replica.datasource.username=sa",
+		"minhasfinancas.replica.datasource.password=sa",
+		"minhasfinancas.replica.consulta-atraso=select ms from financas.atraso_replica",
+		"minhasfinancas.replica.verificacao-ms=3600000"
+})
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+public class DataSourceRoteadoTest {
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	@Autowired
+	UsuarioService usuarioService;
+
+	@Autowired
+	MonitorReplica monitor;
+
+	@Autowired
+	DataSource dataSource;
+
+	JdbcTemplate jdbcPrimario;
+	JdbcTemplate jdbcReplica;
+	Usuario usuario;
+
+
+	@Before
+	public void setUp() throws SQLException {
+		DataSourceRoteado roteamento = dataSource.unwrap(DataSourceRoteado.class);
+		Flyway.configure().dataSource(roteamento.getReplica()).schemas("financas")
+				.locations("classpath:db/migration/common", "classpath:db/migration/h2")
+				.load().migrate();
+
+		jdbcPrimario = new JdbcTemplate(roteamento.getPrimario());
+		jdbcReplica = new JdbcTemplate(roteamento.getReplica());
+		jdbcReplica.execute("create table if not exists financas.atraso_replica(ms bigint)");
+		jdbcReplica.update("delete from financas.atraso_replica");
+		jdbcReplica.update("insert into financas.atraso_replica values (0)");
+		monitor.verificar();
+
+		usuario = usuarioService.salvarUsuario(Usuario.builder().nome("replica").email("replica@email.com").senha("senha").build());
+	}
+
+	@After
+	public void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+		jdbcPrimario.update("delete from financas.lancamento where id_usuario = ?", usuario.getId());
+		jdbcPrimario.update("delete from financas.lancamento_resumo_mensal where id_usuario = ?", usuario.getId());
+		jdbcPrimario.update("delete from financas.saldo_usuario where id_usuario = ?", usuario.getId());
+		jdbcPrimario.update("delete from financas.usuario where id = ?", usuario.getId());
+	}
+
+
+	@Test
+	public void deveEnviarAsLeiturasParaAReplicaEAsEscritasParaOPrimario() {
+
+		//Execucao
+		salvarLancamento();
+
+		//Verificacao
+		Assertions.assertThat(monitor.isDisponivel()).isTrue();
+		Assertions.assertThat(jdbcPrimario.queryForObject("select count(*) from financas.lancamento where id_usuario = ?", Long.class, usuario.getId())).isEqualTo(1);
+		Assertions.assertThat(jdbcReplica.queryForObject("select count(*) from financas.lancamento where id_usuario = ?", Long.class, usuario.getId())).isZero();
+		Assertions.assertThat(lancamentoService.obterSaldoPorUsuario(usuario.getId())).isEqualByComparingTo(BigDecimal.ZERO);
+	}
+
+	@Test
+	public void deveLerDoPrimarioEnquantoAReplicaEstiverAtrasada() {
+
+		//Cenario
+		salvarLancamento();
+		jdbcReplica.update("update financas.atraso_replica set ms = 5000");
+
+		//Execucao
+		monitor.verificar();
+
+		//Verificacao
+		Assertions.assertThat(monitor.isDisponivel()).isFalse();
+		Assertions.assertThat(lancamentoService.obterSaldoPorUsuario(usuario.getId())).isEqualByComparingTo(BigDecimal.TEN);
+	}
+
+	@Test
+	public void deveLerAsPropriasEscritasLogoAposGravar() {
+
+		//Cenario
+		autenticar(usuario.getId());
+
+		//Execucao
+		salvarLancamento();
+
+		//Verificacao
+		Assertions.assertThat(lancamentoService.obterSaldoPorUsuario(usuario.getId())).isEqualByComparingTo(BigDecimal.TEN);
+
+		autenticar(-1l);
+		Assertions.assertThat(lancamentoService.obterSaldoPorUsuario(usuario.getId())).isEqualByComparingTo(BigDecimal.ZERO);
+	}
+
+	@Test
+	public void deveAutenticarEValidarOEmailPeloPrimarioLogoAposOCadastro() {
+
+		//Execucao
+		Usuario autenticado = usuarioService.autenticar("replica@email.com", "senha");
+		Throwable erro = Assertions.catchThrowable(() -> usuarioService.validarEmail("replica@email.com"));
+
+		//Verificacao
+		Assertions.assertThat(jdbcReplica.queryForObject("select count(*) from financas.usuario where email = ?", Long.class, "replica@email.com")).isZero();
+		Assertions.assertThat(autenticado.getId()).isEqualTo(usuario.getId());
+		Assertions.assertThat(erro).isInstanceOf(RegraNegocioException.class);
+	}
+
+
+	private void salvarLancamento() {
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(usuario);
+		lancamento.setValor(BigDecimal.TEN);
+		lancamentoService.salvar(lancamento);
+	}
+
+	private static void autenticar(Long idUsuario) {
+		MockHttpServletRequest requisicao = new MockHttpServletRequest();
+		requisicao.setAttribute(JwtTokenFilter.ATRIBUTO_ID_USUARIO, idUsuario);
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(requisicao));
+	}
+
+}
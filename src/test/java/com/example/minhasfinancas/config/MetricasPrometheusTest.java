@@ -0,0 +1,77 @@
+package com.example.minhasfinancas.config;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.example.minhasfinancas.service.UsuarioService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = "minhasfinancas.metricas.consulta-lenta.limite-ms=0")
+@ActiveProfiles("test")
+public class MetricasPrometheusTest {
+
+	@Autowired
+	TestRestTemplate restTemplate;
+	
+	@Autowired
+	UsuarioService usuarioService;
+	
+	@Autowired
+	MeterRegistry registry;
+	
+	
+	@Test
+	public void deveExporAsMetricasNoFormatoPrometheus() {
+		
+		//Cenario
+		usuarioService.obterporId(-1l);
+		restTemplate.getForEntity("/api/usuarios/1/saldo", String.class);
+		
+		//Execucao
+		ResponseEntity<String> resposta = restTemplate.getForEntity("/actuator/prometheus", String.class);
+		
+		//Verificacao
+		Assertions.assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.OK);
+		Assertions.assertThat(resposta.getBody())
+				  .contains("minhasfinancas_servico_seconds_bucket{")
+				  .contains("classe=\"UsuarioServiceImpl\"")
+				  .contains("metodo=\"obterporId\"")
+				  .contains("http_server_requests_seconds_bucket{")
+				  .contains("hikaricp_connections_active{")
+				  .contains("hibernate_query_executions_total{")
+				  .contains("hibernate_entities_loads_total{")
+				  .contains("minhasfinancas_hibernate_consultas_lentas_total{");
+		Assertions.assertThat(registry.get(ConsultaLentaListener.METRICA).counter().count()).isPositive();
+	}
+	
+	@Test
+	public void deveRegistrarCadaChamadaNoTimerDoMetodo() {
+		
+		//Cenario
+		usuarioService.obterporId(-1l);
+		Timer timer = registry.get(MetricasServicoAspect.METRICA)
+				.tags("classe", "UsuarioServiceImpl", "metodo", "obterporId", "excecao", "none")
+				.timer();
+		long chamadasAntes = timer.count();
+		
+		//Execucao
+		usuarioService.obterporId(-1l);
+		usuarioService.obterporId(-1l);
+		
+		//Verificacao
+		Assertions.assertThat(timer.count() - chamadasAntes).isEqualTo(2);
+	}
+	
+}
@@ -0,0 +1,51 @@
+package com.example.minhasfinancas.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Assume;
+import org.junit.Test;
+
+public class ThreadsVirtuaisConfigTest {
+
+	@Test
+	public void deveExecutarAsTarefasEmThreadsVirtuais() throws Exception {
+
+		//Cenario
+		Assume.assumeTrue(suportaThreadsVirtuais());
+		ExecutorService executor = ThreadsVirtuaisConfig.criarExecutor("teste-");
+
+		//Execucao
+		Thread thread = executor.submit(Thread::currentThread).get(10, TimeUnit.SECONDS);
+		executor.shutdown();
+
+		//Verificacao
+		Assertions.assertThat(Thread.class.getMethod("isVirtual").invoke(thread)).isEqualTo(true);
+		Assertions.assertThat(thread.getName()).startsWith("teste-");
+	}
+
+	@Test
+	public void deveFalharComUmaMensagemClaraAntesDoJdk21() {
+
+		//Cenario
+		Assume.assumeFalse(suportaThreadsVirtuais());
+
+		//Execucao
+		Throwable erro = Assertions.catchThrowable(() -> ThreadsVirtuaisConfig.criarExecutor("teste-"));
+
+		//Verificacao
+		Assertions.assertThat(erro).isInstanceOf(IllegalStateException.class).hasMessageContaining("JDK 21");
+	}
+
+
+	private static boolean suportaThreadsVirtuais() {
+		try {
+			Thread.class.getMethod("ofVirtual");
+			return true;
+		} catch(NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+}
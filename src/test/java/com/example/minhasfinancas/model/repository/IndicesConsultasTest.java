@@ -0,0 +1,154 @@
+package com.example.minhasfinancas.model.repository;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.persistence.EntityManager;
+
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.example.minhasfinancas.model.entity.Lancamento;
+import com.example.minhasfinancas.model.entity.Usuario;
+import com.example.minhasfinancas.model.paginacao.CursorLancamento;
+import com.example.minhasfinancas.service.Movimento;
+
+/**
+ * Garante que as consultas mais frequentes continuam resolvidas pelos indices
+ * criados nas migracoes. O SQL explicado e o que o Hibernate gerou para o metodo do
+ * repositorio (capturado pelo StatementInspector), e o plano e obtido com EXPLAIN do
+ * H2 sobre uma massa pequena, suficiente para o otimizador preferir o indice a
+ * varredura da tabela.
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+		+ "com.example.minhasfinancas.model.repository.IndicesConsultasTest$ComandosExecutados")
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+public class IndicesConsultasTest {
+
+	@Autowired
+	EntityManager entityManager;
+
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	Long idUsuario;
+
+	@Before
+	public void setUp() {
+		entityManager.createNativeQuery(
+				"insert into financas.usuario (nome, email, senha) "
+			  + " select 'usuario' || x, 'usuario' || x || '@email.com', 'senha' from system_range(1, 200)")
+			.executeUpdate();
+
+		entityManager.createNativeQuery(
+				"insert into financas.lancamento (id, descricao, mes, ano, valor, tipo, status, id_usuario, data_cadastro) "
+			  + " select next value for financas.lancamento_seq, 'lancamento ' || x, mod(x, 12) + 1, 2015 + mod(x, 5), 10, "
+			  + "        case when mod(x, 2) = 0 then 'RECEITA' else 'DESPESA' end, 'PENDENTE', "
+			  + "        (select min(id) from financas.usuario) + mod(x, 200), current_date "
+			  + "   from system_range(1, 5000)")
+			.executeUpdate();
+
+		entityManager.createNativeQuery("analyze").executeUpdate();
+
+		idUsuario = ((Number) entityManager.createNativeQuery("select min(id) from financas.usuario").getSingleResult()).longValue();
+		ComandosExecutados.COMANDOS.clear();
+	}
+
+	@Test
+	public void deveUsarIndiceDePeriodoNaConsultaDeLancamentos() {
+		//cenario
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(Usuario.builder().id(idUsuario).build());
+
+		//execucao
+		lancamentoRepository.buscar(filtro, new CursorLancamento(2017, 6, 0l), 20);
+		String plano = explicar(ultimoComando());
+
+		//verificacao
+		assertThat(indiceUsado(plano)).containsIgnoringCase("idx_lancamento_usuario_ano_mes");
+		assertThat(indiceUsado(plano)).containsPattern("(?i)ANO\"? >= ");
+	}
+
+	@Test
+	public void deveUsarIndiceDeStatusNoCalculoDoSaldo() {
+		//execucao
+		lancamentoRepository.obterResumoSaldoPorUsuario(idUsuario, Movimento.STATUS_CONTABILIZADOS);
+		String plano = explicar(ultimoComando());
+
+		//verificacao
+		assertThat(plano).containsIgnoringCase("idx_lancamento_usuario_status");
+	}
+
+	@Test
+	public void deveUsarIndiceDeEmailNaBuscaDeUsuario() {
+		//execucao
+		usuarioRepository.findByEmail("indices@email.com");
+		String plano = explicar(ultimoComando());
+
+		//verificacao
+		assertThat(plano).containsIgnoringCase("idx_usuario_email");
+		assertThat(plano).doesNotContainPattern("(?i)tableScan");
+	}
+
+	/**
+	 * Comentario que o H2 poe apos a tabela com o indice escolhido e as condicoes usadas
+	 * para posicionar nele (o equivalente ao Index Cond do PostgreSQL); o que nao aparece
+	 * ali e so filtro sobre as linhas lidas.
+	 */
+	private static String indiceUsado(String plano) {
+		int inicio = plano.indexOf("/*");
+		assertThat(inicio).isNotNegative();
+		return plano.substring(inicio, plano.indexOf("*/", inicio));
+	}
+
+	private static String ultimoComando() {
+		assertThat(ComandosExecutados.COMANDOS).isNotEmpty();
+		return ComandosExecutados.COMANDOS.get(ComandosExecutados.COMANDOS.size() - 1);
+	}
+
+	/**
+	 * O EXPLAIN do H2 aceita os parametros sem valor: o plano depende das estatisticas
+	 * das tabelas, nao dos valores informados.
+	 */
+	private String explicar(String sql) {
+		return entityManager.unwrap(Session.class).doReturningWork(conexao -> {
+			try(Statement comando = conexao.createStatement();
+				ResultSet plano = comando.executeQuery("explain " + sql)) {
+				plano.next();
+				return plano.getString(1);
+			}
+		});
+	}
+
+
+	public static class ComandosExecutados implements StatementInspector {
+
+		static final List<String> COMANDOS = new CopyOnWriteArrayList<>();
+
+		@Override
+		public String inspect(String sql) {
+			COMANDOS.add(sql);
+			return sql;
+		}
+
+	}
+
+}
@@ -2,9 +2,14 @@ package com.example.minhasfinancas.model.repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
+import org.hibernate.Hibernate;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,8 +21,13 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import com.example.minhasfinancas.model.entity.Lancamento;
+import com.example.minhasfinancas.model.entity.Usuario;
 import com.example.minhasfinancas.model.enums.StatusLancamento;
+import com.example.minhasfinancas.model.paginacao.CursorLancamento;
 import com.example.minhasfinancas.model.enums.TipoLancamento;
+import com.example.minhasfinancas.model.projection.LancamentoResumo;
+import com.example.minhasfinancas.model.projection.ResumoSaldo;
+import com.example.minhasfinancas.model.projection.TotalLancamentos;
 
 @RunWith(SpringRunner.class)
 @DataJpaTest
@@ -121,6 +131,267 @@ public class LancamentoRepositoryTest {
    
    
 
+   @Test
+   public void deveSomarReceitasEDespesasDoUsuarioIgnorandoStatusExcluidos() {
+	   
+	   Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+	   Usuario outroUsuario = entityManager.persist(Usuario.builder().nome("outro").email("outro@email.com").build());
+	   
+	   persistir(usuario, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 100);
+	   persistir(usuario, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 50);
+	   persistir(usuario, TipoLancamento.RECEITA, StatusLancamento.CANCELADO, 1000);
+	   persistir(usuario, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, 30);
+	   persistir(usuario, TipoLancamento.DESPESA, StatusLancamento.CANCELADO, 500);
+	   persistir(outroUsuario, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 7);
+	   
+	   ResumoSaldo resumo = repository.obterResumoSaldoPorUsuario(usuario.getId(), 
+			   EnumSet.of(StatusLancamento.PENDENTE, StatusLancamento.EFETIVADO));
+	   
+	   assertThat(resumo.getReceitas()).isEqualByComparingTo(BigDecimal.valueOf(150));
+	   assertThat(resumo.getDespesas()).isEqualByComparingTo(BigDecimal.valueOf(30));
+	   assertThat(resumo.getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(120));
+	   
+	   ResumoSaldo somenteEfetivados = repository.obterResumoSaldoPorUsuario(usuario.getId(), 
+			   EnumSet.of(StatusLancamento.EFETIVADO));
+	   
+	   assertThat(somenteEfetivados.getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(70));
+   }
+   
+   
+   @Test
+   public void deveRetornarSaldoZeradoQuandoUsuarioNaoPossuiLancamentos() {
+	   
+	   ResumoSaldo resumo = repository.obterResumoSaldoPorUsuario(1l, EnumSet.allOf(StatusLancamento.class));
+	   
+	   assertThat(resumo.getReceitas()).isEqualByComparingTo(BigDecimal.ZERO);
+	   assertThat(resumo.getDespesas()).isEqualByComparingTo(BigDecimal.ZERO);
+	   assertThat(resumo.getSaldo()).isEqualByComparingTo(BigDecimal.ZERO);
+   }
+   
+   
+   
+   
+   
+   @Test
+   public void deveBuscarPaginasOrdenadasPorAnoMesEId() {
+	   
+	   Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+	   
+	   Lancamento maio2020 = persistir(usuario, 2020, 5);
+	   Lancamento janeiro2019 = persistir(usuario, 2019, 1);
+	   Lancamento dezembro2019 = persistir(usuario, 2019, 12);
+	   Lancamento outroJaneiro2019 = persistir(usuario, 2019, 1);
+	   
+	   Lancamento filtro = new Lancamento();
+	   filtro.setUsuario(usuario);
+	   
+	   List<LancamentoResumo> primeiraPagina = repository.buscar(filtro, null, 2);
+	   assertThat(primeiraPagina).extracting(LancamentoResumo::getId).containsExactly(janeiro2019.getId(), outroJaneiro2019.getId());
+	   
+	   List<LancamentoResumo> segundaPagina = repository.buscar(filtro, CursorLancamento.de(primeiraPagina.get(1)), 2);
+	   assertThat(segundaPagina).extracting(LancamentoResumo::getId).containsExactly(dezembro2019.getId(), maio2020.getId());
+	   
+	   List<LancamentoResumo> fim = repository.buscar(filtro, CursorLancamento.de(maio2020), 2);
+	   assertThat(fim).isEmpty();
+   }
+   
+   
+   @Test
+   public void naoDeveCarregarUsuarioAoBuscarLancamento() {
+	   
+	   Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+	   Lancamento lancamento = persistir(usuario, 2019, 1);
+	   entityManager.flush();
+	   entityManager.clear();
+	   
+	   Lancamento encontrado = repository.findById(lancamento.getId()).get();
+	   
+	   assertThat(Hibernate.isInitialized(encontrado.getUsuario())).isFalse();
+	   assertThat(encontrado.getUsuario().getId()).isEqualTo(usuario.getId());
+   }
+   
+   
+   @Test
+   public void deveFiltrarPorDescricaoIgnorandoMaiusculas() {
+	   
+	   Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+	   Lancamento aluguel = persistir(usuario, 2019, 1);
+	   aluguel.setDescricao("Aluguel de Janeiro");
+	   persistir(usuario, 2019, 2);
+	   
+	   Lancamento filtro = new Lancamento();
+	   filtro.setUsuario(usuario);
+	   filtro.setDescricao("ALUGUEL");
+	   
+	   List<LancamentoResumo> resultado = repository.buscar(filtro, null, 10);
+	   
+	   assertThat(resultado).extracting(LancamentoResumo::getId).containsExactly(aluguel.getId());
+   }
+   
+   @Test
+   public void deveTratarCuringasDaDescricaoComoTexto() {
+	   
+	   Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+	   Lancamento desconto = persistir(usuario, 2019, 1);
+	   desconto.setDescricao("Desconto de 10% no_mercado");
+	   Lancamento outro = persistir(usuario, 2019, 2);
+	   outro.setDescricao("Desconto de 105 no mercado");
+	   
+	   Lancamento filtro = new Lancamento();
+	   filtro.setUsuario(usuario);
+	   filtro.setDescricao("10% no_");
+	   
+	   List<LancamentoResumo> resultado = repository.buscar(filtro, null, 10);
+	   
+	   assertThat(resultado).extracting(LancamentoResumo::getId).containsExactly(desconto.getId());
+   }
+   
+   
+   
+   
+   
+   @Test
+   public void devePercorrerOsLancamentosDoUsuarioEmOrdemSemMantelosNoContexto() {
+	   
+	   Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+	   Lancamento dezembro = persistir(usuario, 2019, 12);
+	   Lancamento janeiro = persistir(usuario, 2019, 1);
+	   entityManager.flush();
+	   entityManager.clear();
+	   
+	   List<Lancamento> lancamentos = new ArrayList<>();
+	   repository.percorrerPorUsuario(usuario.getId(), 1, lancamentos::add);
+	   
+	   assertThat(lancamentos).extracting(Lancamento::getId).containsExactly(janeiro.getId(), dezembro.getId());
+	   assertThat(lancamentos).noneMatch(entityManager.getEntityManager()::contains);
+   }
+   
+   
+   
+   
+   
+   private Lancamento persistir(Usuario usuario, int ano, int mes) {
+	   Lancamento lancamento = criarLancamento();
+	   lancamento.setUsuario(usuario);
+	   lancamento.setAno(ano);
+	   lancamento.setMes(mes);
+	   return entityManager.persist(lancamento);
+   }
+   
+   @Test
+   public void deveAtualizarOStatusSomenteDosLancamentosDoUsuario() {
+	   
+	   Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+	   Usuario outroUsuario = entityManager.persist(Usuario.builder().nome("outro").email("outro@email.com").build());
+	   
+	   Lancamento doUsuario = persistir(usuario, 2019, 1);
+	   Lancamento jaEfetivado = persistir(usuario, 2019, 1);
+	   jaEfetivado.setStatus(StatusLancamento.EFETIVADO);
+	   Lancamento deOutroUsuario = persistir(outroUsuario, 2019, 1);
+	   entityManager.flush();
+	   
+	   int atualizados = repository.atualizarStatusPorIds(usuario.getId(), 
+			   Arrays.asList(doUsuario.getId(), jaEfetivado.getId(), deOutroUsuario.getId()), StatusLancamento.EFETIVADO);
+	   entityManager.clear();
+	   
+	   assertThat(atualizados).isEqualTo(1);
+	   assertThat(entityManager.find(Lancamento.class, doUsuario.getId()).getStatus()).isEqualTo(StatusLancamento.EFETIVADO);
+	   assertThat(entityManager.find(Lancamento.class, deOutroUsuario.getId()).getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+   }
+   
+   
+   @Test
+   public void deveTravarSomenteOsLancamentosDoPeriodoQueMudamDeStatus() {
+	   
+	   Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+	   
+	   Lancamento janeiro = persistir(usuario, 2019, 1);
+	   Lancamento jaEfetivado = persistir(usuario, 2019, 1);
+	   jaEfetivado.setStatus(StatusLancamento.EFETIVADO);
+	   persistir(usuario, 2019, 2);
+	   entityManager.flush();
+	   
+	   List<Long> ids = repository.travarParaAlterarStatus(usuario.getId(), 2019, 1, StatusLancamento.EFETIVADO);
+	   
+	   assertThat(ids).containsExactly(janeiro.getId());
+   }
+   
+   
+   @Test
+   public void deveSomarOsLancamentosInformadosPorPeriodoTipoEStatus() {
+	   
+	   Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+	   
+	   Lancamento primeiro = persistir(usuario, 2019, 1);
+	   Lancamento segundo = persistir(usuario, 2019, 1);
+	   Lancamento fevereiro = persistir(usuario, 2019, 2);
+	   persistir(usuario, 2019, 1);
+	   entityManager.flush();
+	   
+	   List<TotalLancamentos> totais = repository.somarPorPeriodoTipoEStatus(
+			   Arrays.asList(primeiro.getId(), segundo.getId(), fevereiro.getId()));
+	   
+	   assertThat(totais).hasSize(2);
+	   assertThat(totais).extracting(TotalLancamentos::getMes).containsExactlyInAnyOrder(1, 2);
+	   assertThat(totais.stream().filter(total -> total.getMes() == 1).findFirst().get().getValor())
+	   		.isEqualByComparingTo(primeiro.getValor().add(segundo.getValor()));
+   }
+   
+   
+   @Test
+   public void deveAtualizarOStatusSomenteSeAVersaoConferir() {
+	   
+	   Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+	   Lancamento lancamento = persistir(usuario, 2019, 1);
+	   entityManager.flush();
+	   
+	   int comVersaoDivergente = repository.atualizarStatus(lancamento.getId(), lancamento.getVersao() + 1, StatusLancamento.CANCELADO);
+	   int comVersaoConferida = repository.atualizarStatus(lancamento.getId(), lancamento.getVersao(), StatusLancamento.CANCELADO);
+	   entityManager.clear();
+	   
+	   LancamentoResumo atualizado = repository.obterResumoPorId(lancamento.getId()).get();
+	   assertThat(comVersaoDivergente).isEqualTo(0);
+	   assertThat(comVersaoConferida).isEqualTo(1);
+	   assertThat(atualizado.getStatus()).isEqualTo(StatusLancamento.CANCELADO);
+	   assertThat(atualizado.getVersao()).isEqualTo(lancamento.getVersao() + 1);
+   }
+   
+   
+   @Test
+   public void naoDeveAtualizarOsDadosComVersaoDesatualizada() {
+	   
+	   Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+	   Lancamento lancamento = persistir(usuario, 2019, 1);
+	   entityManager.flush();
+	   entityManager.detach(lancamento);
+	   
+	   lancamento.setValor(BigDecimal.valueOf(99));
+	   lancamento.setVersao(lancamento.getVersao() + 1);
+	   int comVersaoDesatualizada = repository.atualizarDados(lancamento);
+	   
+	   lancamento.setVersao(lancamento.getVersao() - 1);
+	   int comVersaoAtual = repository.atualizarDados(lancamento);
+	   entityManager.clear();
+	   
+	   assertThat(comVersaoDesatualizada).isEqualTo(0);
+	   assertThat(comVersaoAtual).isEqualTo(1);
+	   assertThat(entityManager.find(Lancamento.class, lancamento.getId()).getValor()).isEqualByComparingTo(BigDecimal.valueOf(99));
+   }
+   
+   
+   
+   
+   
+   private void persistir(Usuario usuario, TipoLancamento tipo, StatusLancamento status, int valor) {
+	   Lancamento lancamento = criarLancamento();
+	   lancamento.setUsuario(usuario);
+	   lancamento.setTipo(tipo);
+	   lancamento.setStatus(status);
+	   lancamento.setValor(BigDecimal.valueOf(valor));
+	   entityManager.persist(lancamento);
+   }
+   
+   
    private Lancamento criarEPersistirUmLancamento() {
 	   Lancamento lancamento = criarLancamento();
 	   entityManager.persist(lancamento);
@@ -0,0 +1,100 @@
+package com.example.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import javax.persistence.EntityManager;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.example.minhasfinancas.model.entity.Usuario;
+import com.example.minhasfinancas.model.enums.StatusLancamento;
+import com.example.minhasfinancas.model.enums.TipoLancamento;
+
+/**
+ * Compara as duas consultas SUM por tipo com a agregacao condicional em uma unica passada.
+ * Nao roda no build normal; execute com:
+ *
+ *   mvn test -Dtest=SaldoAgregacaoBenchmark -Dbenchmark.linhas=1000000
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+public class SaldoAgregacaoBenchmark {
+
+	static final int LINHAS = Integer.getInteger("benchmark.linhas", 1_000_000);
+	static final int AQUECIMENTO = Integer.getInteger("benchmark.aquecimento", 5);
+	static final int ITERACOES = Integer.getInteger("benchmark.iteracoes", 20);
+	
+	@Autowired
+	LancamentoRepository repository;
+	
+	@Autowired
+	TestEntityManager entityManager;
+	
+	
+	@Test
+	public void compararConsultasDeSaldo() {
+		
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		
+		long inicio = System.nanoTime();
+		popular(usuario.getId());
+		System.out.println(String.format("%n[benchmark] carga de %d lancamentos em %d ms", LINHAS, (System.nanoTime() - inicio) / 1_000_000));
+		
+		Set<StatusLancamento> status = EnumSet.of(StatusLancamento.PENDENTE, StatusLancamento.EFETIVADO);
+		
+		double antigo = medir(() -> repository.obterSaldoPorTipoLancamentoEUsuario(usuario.getId(), TipoLancamento.RECEITA)
+				.subtract(repository.obterSaldoPorTipoLancamentoEUsuario(usuario.getId(), TipoLancamento.DESPESA)));
+		
+		double novo = medir(() -> repository.obterResumoSaldoPorUsuario(usuario.getId(), status).getSaldo());
+		
+		System.out.println(String.format("%n[benchmark] %d lancamentos, %d iteracoes", LINHAS, ITERACOES));
+		System.out.println(String.format("[benchmark] 2x SUM por tipo        : %8.2f ms/op", antigo));
+		System.out.println(String.format("[benchmark] agregacao condicional  : %8.2f ms/op", novo));
+		System.out.println(String.format("[benchmark] ganho                  : %8.2fx%n", antigo / novo));
+	}
+	
+	
+	
+	
+	private double medir(Supplier<BigDecimal> consulta) {
+		
+		for(int i = 0; i < AQUECIMENTO; i++) {
+			consulta.get();
+		}
+		
+		long inicio = System.nanoTime();
+		for(int i = 0; i < ITERACOES; i++) {
+			consulta.get();
+		}
+		
+		return (System.nanoTime() - inicio) / 1_000_000.0 / ITERACOES;
+	}
+	
+	private void popular(Long idUsuario) {
+		
+		EntityManager em = entityManager.getEntityManager();
+		em.createNativeQuery("set optimize_reuse_results 0").executeUpdate();
+		em.createNativeQuery("insert into financas.lancamento (id, descricao, mes, ano, id_usuario, valor, data_cadastro, tipo, status) "
+				+ " select next value for financas.lancamento_seq, 'lancamento ' || x, mod(x, 12) + 1, 2000 + mod(x, 20), :idUsuario, mod(x, 1000) + 1, current_date, "
+				+ " case when mod(x, 3) = 0 then 'DESPESA' else 'RECEITA' end, "
+				+ " case mod(x, 10) when 0 then 'CANCELADO' when 1 then 'PENDENTE' else 'EFETIVADO' end "
+				+ " from system_range(1, :linhas)")
+		  .setParameter("idUsuario", idUsuario)
+		  .setParameter("linhas", LINHAS)
+		  .executeUpdate();
+	}
+	
+}
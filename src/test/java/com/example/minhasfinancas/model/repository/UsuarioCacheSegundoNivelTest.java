@@ -0,0 +1,112 @@
+package com.example.minhasfinancas.model.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.example.minhasfinancas.model.entity.Usuario;
+
+@SpringBootTest
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+public class UsuarioCacheSegundoNivelTest {
+
+	@Autowired
+	UsuarioRepository repository;
+
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+
+	Statistics estatisticas;
+	List<Usuario> criados = new ArrayList<>();
+
+
+	@Before
+	public void setUp() {
+		estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@After
+	public void tearDown() {
+		repository.deleteAll(criados);
+	}
+
+
+	@Test
+	public void deveLerOUsuarioPorIdDoCacheSemIrAoBanco() {
+
+		//Cenario
+		Usuario usuario = salvar("segundo-nivel-id@email.com");
+		repository.findById(usuario.getId());
+		long acertosAntes = acertos(Usuario.REGIAO_CACHE);
+		long carregamentosAntes = estatisticas.getEntityLoadCount();
+
+		//Execucao
+		Usuario lido = repository.findById(usuario.getId()).get();
+
+		//Verificacao
+		Assertions.assertThat(lido.getEmail()).isEqualTo("segundo-nivel-id@email.com");
+		Assertions.assertThat(acertos(Usuario.REGIAO_CACHE) - acertosAntes).isEqualTo(1);
+		Assertions.assertThat(estatisticas.getEntityLoadCount()).isEqualTo(carregamentosAntes);
+	}
+
+	@Test
+	public void deveGuardarAConsultaPorEmailEInvalidaLaAoCadastrar() {
+
+		//Cenario
+		String email = "segundo-nivel-consulta@email.com";
+		repository.existsByEmail(email);
+		long acertosAntes = estatisticas.getQueryRegionStatistics(Usuario.REGIAO_CACHE_CONSULTAS).getHitCount();
+
+		//Execucao
+		boolean antesDeCadastrar = repository.existsByEmail(email);
+		salvar(email);
+		boolean depoisDeCadastrar = repository.existsByEmail(email);
+
+		//Verificacao
+		Assertions.assertThat(antesDeCadastrar).isFalse();
+		Assertions.assertThat(depoisDeCadastrar).isTrue();
+		Assertions.assertThat(estatisticas.getQueryRegionStatistics(Usuario.REGIAO_CACHE_CONSULTAS).getHitCount() - acertosAntes).isEqualTo(1);
+		Assertions.assertThat(repository.findByEmail(email)).isPresent();
+	}
+
+	@Test
+	public void deveAtualizarOCacheAoAlterarOUsuario() {
+
+		//Cenario
+		Usuario usuario = salvar("segundo-nivel-alteracao@email.com");
+		repository.findById(usuario.getId());
+
+		//Execucao
+		usuario.setNome("alterado");
+		repository.save(usuario);
+
+		//Verificacao
+		Assertions.assertThat(repository.findById(usuario.getId()).get().getNome()).isEqualTo("alterado");
+	}
+
+
+	private Usuario salvar(String email) {
+		Usuario usuario = repository.save(Usuario.builder().nome("segundo nivel").email(email).senha("senha").build());
+		criados.add(usuario);
+		return usuario;
+	}
+
+	private long acertos(String regiao) {
+		return estatisticas.getDomainDataRegionStatistics(regiao).getHitCount();
+	}
+
+}
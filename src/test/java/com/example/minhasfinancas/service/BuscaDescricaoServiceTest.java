@@ -0,0 +1,142 @@
+package com.example.minhasfinancas.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.example.minhasfinancas.model.entity.Lancamento;
+import com.example.minhasfinancas.model.entity.Usuario;
+import com.example.minhasfinancas.model.projection.DescricaoLancamento;
+import com.example.minhasfinancas.model.repository.LancamentoRepository;
+import com.example.minhasfinancas.service.impl.BuscaDescricaoIndiceInvertidoService;
+
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+public class BuscaDescricaoServiceTest {
+
+	@SpyBean
+	BuscaDescricaoIndiceInvertidoService service;
+	
+	@MockBean
+	LancamentoRepository repository;
+	
+	
+	@Before
+	@SuppressWarnings("unchecked")
+	public void setUp() {
+		
+		Mockito.when(repository.obterDescricoesPorUsuario(1l)).thenReturn(Arrays.asList(
+				descricao(1l, "Pão de Açúcar"),
+				descricao(2l, "Conta de luz"),
+				descricao(3l, "Padaria do bairro"),
+				descricao(4l, "PAO")));
+		
+		Mockito.when(repository.findAllById(Mockito.anyIterable())).thenAnswer(invocacao -> 
+			((Collection<Long>) invocacao.getArgument(0)).stream()
+				.map(id -> Lancamento.builder().id(id).build())
+				.collect(Collectors.toList()));
+	}
+	
+	
+	@Test
+	public void deveEncontrarDescricoesIgnorandoAcentosEMaiusculas() {
+		
+		List<Lancamento> resultado = service.buscar(1l, "pao", 10);
+		
+		Assertions.assertThat(resultado).extracting(Lancamento::getId).containsExactly(4l, 1l);
+	}
+	
+	
+	@Test
+	public void deveBuscarPorSubstringNoMeioDaDescricao() {
+		
+		List<Lancamento> resultado = service.buscar(1l, "ACUCAR", 10);
+		
+		Assertions.assertThat(resultado).extracting(Lancamento::getId).containsExactly(1l);
+	}
+	
+	
+	@Test
+	public void deveLimitarAQuantidadeDeResultados() {
+		
+		List<Lancamento> resultado = service.buscar(1l, "de", 1);
+		
+		Assertions.assertThat(resultado).hasSize(1);
+	}
+	
+	
+	@Test
+	public void deveAtualizarOIndiceAoIndexarERemover() {
+		
+		service.buscar(1l, "luz", 10);
+		
+		Usuario usuario = Usuario.builder().id(1l).build();
+		service.indexar(Lancamento.builder().id(5l).usuario(usuario).descricao("Luz do escritório").build());
+		service.remover(Lancamento.builder().id(2l).usuario(usuario).build());
+		
+		List<Lancamento> resultado = service.buscar(1l, "luz", 10);
+		
+		Assertions.assertThat(resultado).extracting(Lancamento::getId).containsExactly(5l);
+		Mockito.verify(repository, Mockito.times(1)).obterDescricoesPorUsuario(1l);
+	}
+	
+	
+	@Test
+	public void deveManterAsEscritasConfirmadasDuranteACargaDoIndice() {
+		
+		//Cenario
+		Usuario usuario = Usuario.builder().id(2l).build();
+		Mockito.when(repository.obterDescricoesPorUsuario(2l)).thenAnswer(invocacao -> {
+			service.indexar(Lancamento.builder().id(10l).usuario(usuario).descricao("Mercado novo").build());
+			service.remover(Lancamento.builder().id(11l).usuario(usuario).build());
+			return Arrays.asList(descricao(10l, "Feira"), descricao(11l, "Mercado antigo"));
+		});
+		
+		//Execucao
+		List<Lancamento> resultado = service.buscar(2l, "mercado", 10);
+		
+		//Verificacao
+		Assertions.assertThat(resultado).extracting(Lancamento::getId).containsExactly(10l);
+		Assertions.assertThat(service.buscar(2l, "feira", 10)).isEmpty();
+	}
+	
+	
+	@Test
+	public void deveRetornarVazioQuandoNenhumaDescricaoContemOTermo() {
+		
+		List<Lancamento> resultado = service.buscar(1l, "mercado", 10);
+		
+		Assertions.assertThat(resultado).isEmpty();
+		Mockito.verify(repository, Mockito.never()).findAllById(Mockito.anyIterable());
+	}
+	
+	
+	
+	
+	private DescricaoLancamento descricao(Long id, String descricao) {
+		return new DescricaoLancamento() {
+			
+			@Override
+			public Long getId() {
+				return id;
+			}
+			
+			@Override
+			public String getDescricao() {
+				return descricao;
+			}
+		};
+	}
+	
+}
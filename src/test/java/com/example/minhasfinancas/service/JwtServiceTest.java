@@ -0,0 +1,145 @@
+package com.example.minhasfinancas.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+
+import com.example.minhasfinancas.exception.ErroAutenticacao;
+import com.example.minhasfinancas.model.entity.Usuario;
+import com.example.minhasfinancas.service.impl.JwtServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class JwtServiceTest {
+
+	static final String CHAVE = "chave-de-assinatura-usada-somente-nos-testes";
+	static final Instant AGORA = Instant.parse("2019-10-01T12:00:00Z");
+	
+	JwtService service = criarService(Clock.fixed(AGORA, ZoneOffset.UTC));
+	
+	
+	@Test
+	public void deveGerarTokenValidoParaOUsuario() {
+		
+		//Cenario
+		String token = service.gerarToken(Usuario.builder().id(7l).nome("usuario").build());
+		
+		//Execucao
+		Long idUsuario = service.obterIdUsuario(token);
+		
+		//Verificacao
+		Assertions.assertThat(token.split("\\.")).hasSize(3);
+		Assertions.assertThat(idUsuario).isEqualTo(7l);
+	}
+	
+	@Test
+	public void deveRejeitarTokenAdulterado() {
+		
+		//Cenario
+		String token = service.gerarToken(Usuario.builder().id(7l).build());
+		String[] partes = token.split("\\.");
+		String outroToken = service.gerarToken(Usuario.builder().id(8l).build());
+		String adulterado = partes[0] + "." + outroToken.split("\\.")[1] + "." + partes[2];
+		
+		//Execucao
+		Throwable erro = Assertions.catchThrowable(() -> service.obterIdUsuario(adulterado));
+		
+		//Verificacao
+		Assertions.assertThat(erro).isInstanceOf(ErroAutenticacao.class).hasMessage("Assinatura do token invalida");
+	}
+	
+	@Test
+	public void deveRejeitarTokenAssinadoComOutraChave() {
+		
+		//Cenario
+		JwtService outroService = new JwtServiceImpl(new ObjectMapper(), CHAVE + "-outra", Duration.ofMinutes(30), 10, Clock.fixed(AGORA, ZoneOffset.UTC));
+		String token = outroService.gerarToken(Usuario.builder().id(7l).build());
+		
+		//Execucao
+		Throwable erro = Assertions.catchThrowable(() -> service.obterIdUsuario(token));
+		
+		//Verificacao
+		Assertions.assertThat(erro).isInstanceOf(ErroAutenticacao.class);
+	}
+	
+	@Test
+	public void deveRejeitarTokenExpiradoMesmoJaVerificado() {
+		
+		//Cenario
+		MutableClock relogio = new MutableClock(AGORA);
+		JwtService service = criarService(relogio);
+		String token = service.gerarToken(Usuario.builder().id(7l).build());
+		service.obterIdUsuario(token);
+		
+		//Execucao
+		relogio.instante = AGORA.plus(Duration.ofMinutes(31));
+		Throwable erro = Assertions.catchThrowable(() -> service.obterIdUsuario(token));
+		
+		//Verificacao
+		Assertions.assertThat(erro).isInstanceOf(ErroAutenticacao.class).hasMessage("Token expirado");
+	}
+	
+	@Test
+	public void deveRejeitarTokenMalFormado() {
+		
+		//Execucao
+		Throwable erro = Assertions.catchThrowable(() -> service.obterIdUsuario("nao-e-um-token"));
+		
+		//Verificacao
+		Assertions.assertThat(erro).isInstanceOf(ErroAutenticacao.class);
+	}
+	
+	@Test
+	public void naoDeveCriarOServicoSemChaveConfigurada() {
+		
+		//Execucao
+		Throwable erro = Assertions.catchThrowable(() -> new JwtServiceImpl(new ObjectMapper(), "", Duration.ofMinutes(30), 10, Clock.systemUTC()));
+		
+		//Verificacao
+		Assertions.assertThat(erro).isInstanceOf(IllegalStateException.class).hasMessageContaining("MINHASFINANCAS_JWT_CHAVE");
+	}
+	
+	@Test
+	public void naoDeveCriarOServicoComChaveMenorQue256Bits() {
+		
+		//Execucao
+		Throwable erro = Assertions.catchThrowable(() -> new JwtServiceImpl(new ObjectMapper(), "chave-curta", Duration.ofMinutes(30), 10, Clock.systemUTC()));
+		
+		//Verificacao
+		Assertions.assertThat(erro).isInstanceOf(IllegalStateException.class).hasMessageContaining("256 bits");
+	}
+	
+	
+	
+	private static JwtService criarService(Clock relogio) {
+		return new JwtServiceImpl(new ObjectMapper(), CHAVE, Duration.ofMinutes(30), 10, relogio);
+	}
+	
+	static class MutableClock extends Clock {
+		
+		Instant instante;
+		
+		MutableClock(Instant instante) {
+			this.instante = instante;
+		}
+		
+		@Override
+		public Instant instant() {
+			return instante;
+		}
+		
+		@Override
+		public java.time.ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+		
+		@Override
+		public Clock withZone(java.time.ZoneId zone) {
+			return this;
+		}
+	}
+	
+}
@@ -0,0 +1,132 @@
+package com.example.minhasfinancas.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.example.minhasfinancas.exception.ConflitoAtualizacaoException;
+import com.example.minhasfinancas.model.entity.Lancamento;
+import com.example.minhasfinancas.model.entity.Usuario;
+import com.example.minhasfinancas.model.enums.StatusLancamento;
+import com.example.minhasfinancas.model.projection.LancamentoResumo;
+import com.example.minhasfinancas.model.repository.LancamentoRepository;
+import com.example.minhasfinancas.model.repository.LancamentoRepositoryTest;
+
+@SpringBootTest
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+public class LancamentoConcorrenciaTest {
+
+	static final int THREADS = 8;
+	static final int OPERACOES_POR_THREAD = 50;
+
+	@Autowired
+	LancamentoService service;
+
+	@Autowired
+	LancamentoRepository repository;
+
+	@Autowired
+	UsuarioService usuarioService;
+
+	@Autowired
+	SaldoUsuarioService saldoService;
+
+	@Autowired
+	ResumoMensalService resumoMensalService;
+
+	@Autowired
+	JdbcTemplate jdbc;
+
+	Usuario usuario;
+	Lancamento lancamento;
+
+
+	@Before
+	public void setUp() {
+		usuario = usuarioService.salvarUsuario(Usuario.builder().nome("concorrencia").email("concorrencia@email.com").senha("senha").build());
+
+		Lancamento novo = LancamentoRepositoryTest.criarLancamento();
+		novo.setUsuario(usuario);
+		lancamento = service.salvar(novo);
+	}
+
+	@After
+	public void tearDown() {
+		jdbc.update("delete from financas.lancamento where id_usuario = ?", usuario.getId());
+		jdbc.update("delete from financas.lancamento_resumo_mensal where id_usuario = ?", usuario.getId());
+		jdbc.update("delete from financas.saldo_usuario where id_usuario = ?", usuario.getId());
+		jdbc.update("delete from financas.usuario where id = ?", usuario.getId());
+	}
+
+
+	@Test
+	public void deveManterOsLedgersConsistentesSobAlteracoesConcorrentesDeStatus() throws Exception {
+
+		//Cenario
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch largada = new CountDownLatch(1);
+		AtomicInteger conflitos = new AtomicInteger();
+		Set<Long> versoes = ConcurrentHashMap.newKeySet();
+		List<Future<?>> tarefas = new ArrayList<>();
+
+		for(int t = 0; t < THREADS; t++) {
+			int deslocamento = t;
+			tarefas.add(executor.submit(() -> {
+				largada.await();
+				for(int i = 0; i < OPERACOES_POR_THREAD; i++) {
+					StatusLancamento status = (i + deslocamento) % 2 == 0 ? StatusLancamento.CANCELADO : StatusLancamento.PENDENTE;
+					try {
+						versoes.add(service.atualizarStatus(lancamento.getId(), status).getVersao());
+					}catch(ConflitoAtualizacaoException e) {
+						conflitos.incrementAndGet();
+					}
+				}
+				return null;
+			}));
+		}
+
+		//Execucao
+		long inicio = System.nanoTime();
+		largada.countDown();
+		for(Future<?> tarefa : tarefas) {
+			tarefa.get(1, TimeUnit.MINUTES);
+		}
+		double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+		executor.shutdown();
+
+		//Verificacao
+		int operacoes = THREADS * OPERACOES_POR_THREAD;
+		System.out.println(String.format("Contencao em um lancamento: %d operacoes em %.2fs (%.0f op/s), %d conflitos apos as tentativas",
+				operacoes, segundos, operacoes / segundos, conflitos.get()));
+
+		LancamentoResumo atual = repository.obterResumoPorId(lancamento.getId()).get();
+		Assertions.assertThat(versoes)
+				.as("cada alteracao aplicada deve gerar uma versao distinta e sequencial")
+				.containsAll(LongStream.rangeClosed(lancamento.getVersao() + 1, atual.getVersao()).boxed().collect(Collectors.toSet()));
+		Assertions.assertThat(conflitos.get()).isLessThan(operacoes);
+		Assertions.assertThat(saldoService.reconciliar(usuario.getId())).isFalse();
+		Assertions.assertThat(resumoMensalService.reconciliar(usuario.getId(), lancamento.getAno(), lancamento.getMes())).isFalse();
+	}
+
+}
@@ -1,23 +1,32 @@
 package com.example.minhasfinancas.service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.Collections;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 
 import org.assertj.core.api.Assertions;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
-import org.springframework.data.domain.Example;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import com.example.minhasfinancas.model.entity.Lancamento;
 import com.example.minhasfinancas.model.entity.Usuario;
 import com.example.minhasfinancas.model.enums.StatusLancamento;
+import com.example.minhasfinancas.model.enums.TipoLancamento;
+import com.example.minhasfinancas.model.paginacao.CursorLancamento;
+import com.example.minhasfinancas.model.paginacao.Pagina;
+import com.example.minhasfinancas.model.projection.LancamentoResumo;
+import com.example.minhasfinancas.model.projection.TotalLancamentos;
 import com.example.minhasfinancas.model.repository.LancamentoRepository;
 import com.example.minhasfinancas.model.repository.LancamentoRepositoryTest;
 import com.example.minhasfinancas.service.impl.LancamentoServiceImpl;
@@ -34,6 +43,15 @@ public class LancamentoServiceTest {
 	@MockBean
 	LancamentoRepository repository;
 	
+	@MockBean
+	SaldoUsuarioService saldoService;
+	
+	@MockBean
+	BuscaDescricaoService buscaDescricaoService;
+	
+	@MockBean
+	ResumoMensalService resumoMensalService;
+	
 	@Test
 	public void  deveSalvarUmLancamento() {
 		//Cenario
@@ -53,12 +71,40 @@ public class LancamentoServiceTest {
 		//Verificacao
 		Assertions.assertThat(lancamento.getId()).isEqualTo(lancamentoSalvo.getId());
 		Assertions.assertThat(lancamento.getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+		Mockito.verify(saldoService).registrar(lancamentoSalvo);
+		Mockito.verify(buscaDescricaoService).indexar(lancamentoSalvo);
 				
 		
 		
 	}
 	
 	
+	@Test
+	public void deveSalvarOsLancamentosValidosDoLoteEReportarOsInvalidos() {
+		//Cenario
+		Lancamento valido = LancamentoRepositoryTest.criarLancamento();
+		Lancamento invalido = LancamentoRepositoryTest.criarLancamento();
+		invalido.setDescricao(null);
+		Lancamento outroValido = LancamentoRepositoryTest.criarLancamento();
+		outroValido.setValor(BigDecimal.valueOf(20));
+		
+		Mockito.doNothing().when(service).validar(valido);
+		Mockito.doNothing().when(service).validar(outroValido);
+		Mockito.doThrow(new RegraNegocioException("Informe uma descricao valida")).when(service).validar(invalido);
+		
+		//Execucao
+		Map<Integer, String> erros = service.salvarLote(Arrays.asList(valido, invalido, outroValido));
+		
+		
+		//Verificacao
+		Assertions.assertThat(erros).containsOnlyKeys(1).containsEntry(1, "Informe uma descricao valida");
+		Mockito.verify(repository).saveAll(Arrays.asList(valido, outroValido));
+		Mockito.verify(saldoService).registrar(Arrays.asList(valido, outroValido));
+		Assertions.assertThat(valido.getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+		
+	}
+	
+	
 	public void naoDeveSalvarUmLancamentoQuandoHouverErroDeValidacao() {
 		
 		//Cenario
@@ -76,27 +122,90 @@ public class LancamentoServiceTest {
 	@Test
 	public void  deveAtualizarUmLancamento() {
 		//Cenario
-		Lancamento lancamentoASalvar = LancamentoRepositoryTest.criarLancamento();
-		Mockito.doNothing().when(service).validar(lancamentoASalvar);
-		
 		Lancamento lancamentoSalvo = LancamentoRepositoryTest.criarLancamento();
 		lancamentoSalvo.setId(1l);
 		lancamentoSalvo.setStatus(StatusLancamento.PENDENTE);
+		lancamentoSalvo.setVersao(0l);
 		
-		Mockito.when(repository.save(lancamentoASalvar)).thenReturn(lancamentoSalvo);
+		Mockito.when(repository.obterResumoPorId(1l)).thenReturn(Optional.of(LancamentoResumo.de(lancamentoSalvo)));
+		Mockito.when(repository.atualizarDados(lancamentoSalvo)).thenReturn(1);
 		
 		//Execucao
 		service.atualizar(lancamentoSalvo);
 		
 		
 		//Verificacao
-		Mockito.verify(repository, Mockito.times(1)).save(lancamentoSalvo);
+		Mockito.verify(repository, Mockito.times(1)).atualizarDados(lancamentoSalvo);
+		Mockito.verify(repository, Mockito.never()).save(Mockito.any());
 				
 		
 		
 	}
 	
 	
+	@Test
+	public void deveManterOStatusAnteriorQuandoNaoInformadoNaAtualizacao() {
+		//Cenario
+		Lancamento anterior = LancamentoRepositoryTest.criarLancamento();
+		anterior.setId(1l);
+		anterior.setStatus(StatusLancamento.EFETIVADO);
+		anterior.setVersao(0l);
+		
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1l);
+		lancamento.setStatus(null);
+		
+		Mockito.when(repository.obterResumoPorId(1l)).thenReturn(Optional.of(LancamentoResumo.de(anterior)));
+		Mockito.when(repository.atualizarDados(lancamento)).thenReturn(1);
+		
+		//Execucao
+		service.atualizar(lancamento);
+		
+		//Verificacao
+		Assertions.assertThat(lancamento.getStatus()).isEqualTo(StatusLancamento.EFETIVADO);
+	}
+	
+	
+	@Test(expected = RegistroNaoEncontradoException.class)
+	public void deveLancarErroAoAtualizarUmLancamentoRemovidoDuranteAAtualizacao() {
+		//Cenario
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1l);
+		lancamento.setVersao(0l);
+		
+		Mockito.when(repository.obterResumoPorId(1l)).thenReturn(Optional.of(LancamentoResumo.de(lancamento)), Optional.empty());
+		Mockito.when(repository.atualizarDados(lancamento)).thenReturn(0);
+		
+		//Execucao
+		service.atualizar(lancamento);
+	}
+	
+	
+    @Test
+    public void deveAtualizarOSaldoComOsValoresAnterioresDoLancamento() {
+    	//Cenario
+    	Lancamento anterior = LancamentoRepositoryTest.criarLancamento();
+    	anterior.setId(1l);
+    	anterior.setVersao(0l);
+    	
+    	Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+    	lancamento.setId(1l);
+    	lancamento.setValor(BigDecimal.valueOf(50));
+    	
+    	Mockito.when(repository.obterResumoPorId(1l)).thenReturn(Optional.of(LancamentoResumo.de(anterior)));
+    	Mockito.when(repository.atualizarDados(lancamento)).thenReturn(1);
+    	
+    	//Execucao
+    	service.atualizar(lancamento);
+    	
+    	//Verificacao
+    	ArgumentCaptor<Lancamento> captor = ArgumentCaptor.forClass(Lancamento.class);
+    	Mockito.verify(saldoService).atualizar(captor.capture(), Mockito.eq(lancamento));
+    	Assertions.assertThat(captor.getValue().getValor()).isEqualTo(BigDecimal.valueOf(10));
+    	
+    }
+	
+	
     public void deveLancarErroAoTentarAtualizarUmLancaemntoQueAindaNaoFoiSalvo() {
 		
 		//Cenario
@@ -123,6 +232,8 @@ public class LancamentoServiceTest {
     
     	//Verificacao
     	Mockito.verify(repository).delete(lancamento);
+    	Mockito.verify(saldoService).estornar(lancamento);
+    	Mockito.verify(buscaDescricaoService).remover(lancamento);
     	
     }
     
@@ -154,12 +265,12 @@ public class LancamentoServiceTest {
     	Lancamento lancamento  = LancamentoRepositoryTest.criarLancamento();
     	lancamento.setId(1l);
     	
-    	List<Lancamento> lista = Arrays.asList(lancamento);
-    	Mockito.when( repository.findAll(Mockito.any(Example.class)) ).thenReturn(lista);
+    	List<LancamentoResumo> lista = Arrays.asList(LancamentoResumo.de(lancamento));
+    	Mockito.when( repository.buscar(Mockito.any(Lancamento.class), Mockito.isNull(), Mockito.anyInt()) ).thenReturn(lista);
     	
     	
     	//Execução
-    	List<Lancamento> resultado = service.buscar(lancamento);
+    	List<LancamentoResumo> resultado = service.buscar(lancamento);
     	
     	
     	//Verificacao
@@ -167,8 +278,91 @@ public class LancamentoServiceTest {
     	        .assertThat(resultado)
     	        .isNotEmpty()
     	        .hasSize(1)
-    	        .contains(lancamento);
+    	        .contains(LancamentoResumo.de(lancamento));
+    	
     	
+    }
+    
+    
+    @Test
+    public void deveLancarErroQuandoAFiltragemUltrapassarOLimite() {
+    	
+    	//Cenario
+    	Lancamento lancamento  = LancamentoRepositoryTest.criarLancamento();
+    	List<LancamentoResumo> lista = Collections.nCopies(1001, LancamentoResumo.de(lancamento));
+    	Mockito.when( repository.buscar(Mockito.any(Lancamento.class), Mockito.isNull(), Mockito.anyInt()) ).thenReturn(lista);
+    	
+    	//Execução
+    	Throwable erro = Assertions.catchThrowable(() -> service.buscar(lancamento));
+    	
+    	//Verificacao
+    	Assertions.assertThat(erro).isInstanceOf(RegraNegocioException.class);
+    	
+    }
+    
+    
+    @Test
+    public void deveRetornarAProximaPaginaComCursor() {
+    	
+    	//Cenario
+    	Lancamento primeiro = LancamentoRepositoryTest.criarLancamento();
+    	primeiro.setId(1l);
+    	Lancamento segundo = LancamentoRepositoryTest.criarLancamento();
+    	segundo.setId(2l);
+    	Lancamento terceiro = LancamentoRepositoryTest.criarLancamento();
+    	terceiro.setId(3l);
+    	
+    	Mockito.when( repository.buscar(Mockito.any(Lancamento.class), Mockito.isNull(), Mockito.eq(3)) )
+    		   .thenReturn(Arrays.asList(LancamentoResumo.de(primeiro), LancamentoResumo.de(segundo), LancamentoResumo.de(terceiro)));
+    	
+    	//Execução
+    	Pagina<LancamentoResumo> pagina = service.buscarPagina(new Lancamento(), null, 2);
+    	
+    	//Verificacao
+    	Assertions.assertThat(pagina.getConteudo()).extracting(LancamentoResumo::getId).containsExactly(1l, 2l);
+    	CursorLancamento cursor = CursorLancamento.decodificar(pagina.getProximoCursor());
+    	Assertions.assertThat(cursor.getId()).isEqualTo(2l);
+    	Assertions.assertThat(cursor.getAno()).isEqualTo(2019);
+    	Assertions.assertThat(cursor.getMes()).isEqualTo(1);
+    	
+    }
+    
+    
+    @Test
+    public void naoDeveRetornarCursorNaUltimaPagina() {
+    	
+    	//Cenario
+    	Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+    	lancamento.setId(1l);
+    	
+    	Mockito.when( repository.buscar(Mockito.any(Lancamento.class), Mockito.any(), Mockito.anyInt()) )
+    		   .thenReturn(Arrays.asList(LancamentoResumo.de(lancamento)));
+    	
+    	//Execução
+    	Pagina<LancamentoResumo> pagina = service.buscarPagina(new Lancamento(), new CursorLancamento(2019, 1, 1l).codificar(), 2);
+    	
+    	//Verificacao
+    	Assertions.assertThat(pagina.getConteudo()).hasSize(1);
+    	Assertions.assertThat(pagina.getProximoCursor()).isNull();
+    	
+    }
+    
+    
+    @Test
+    public void deveRecusarCursorMalFormadoOuSemPeriodo() {
+    	
+    	//Cenario
+    	String semPeriodo = Base64.getUrlEncoder().encodeToString("null.null.5".getBytes(StandardCharsets.UTF_8));
+    	String partesDemais = Base64.getUrlEncoder().encodeToString("2019.1.5.9".getBytes(StandardCharsets.UTF_8));
+    	
+    	//Execução e Verificacao
+    	for(String cursor : Arrays.asList(semPeriodo, partesDemais, "!!")) {
+    		Assertions.assertThatThrownBy(() -> service.buscarPagina(new Lancamento(), cursor, 2))
+    				  .isInstanceOf(RegraNegocioException.class)
+    				  .hasMessage("Cursor de paginacao invalido");
+    	}
+    	Assertions.assertThatThrownBy(() -> new CursorLancamento(null, 1, 5l)).isInstanceOf(RegraNegocioException.class);
+    	Mockito.verify(repository, Mockito.never()).buscar(Mockito.any(), Mockito.any(), Mockito.anyInt());
     	
     }
     
@@ -201,6 +395,158 @@ public class LancamentoServiceTest {
     
     
     
+    @Test
+    public void deveAtualizarOStatusComUmUpdateCondicionadoAVersaoAtual() {
+    	
+    	//Cenario
+    	LancamentoResumo atual = new LancamentoResumo(1l, "lancamento", 1, 2019, BigDecimal.valueOf(10), 
+    			TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 2l, 4l);
+    	Mockito.when(repository.obterResumoPorId(1l)).thenReturn(Optional.of(atual));
+    	Mockito.when(repository.atualizarStatus(1l, 4l, StatusLancamento.CANCELADO)).thenReturn(1);
+    	
+    	//Execucao
+    	LancamentoResumo atualizado = service.atualizarStatus(1l, StatusLancamento.CANCELADO);
+    	
+    	//Verificacao
+    	Assertions.assertThat(atualizado.getStatus()).isEqualTo(StatusLancamento.CANCELADO);
+    	Assertions.assertThat(atualizado.getVersao()).isEqualTo(5l);
+    	Mockito.verify(repository, Mockito.never()).findById(Mockito.anyLong());
+    	Mockito.verify(repository, Mockito.never()).save(Mockito.any());
+    	
+    	ArgumentCaptor<Lancamento> captor = ArgumentCaptor.forClass(Lancamento.class);
+    	Mockito.verify(saldoService).atualizar(Mockito.any(), captor.capture());
+    	Assertions.assertThat(captor.getValue().getStatus()).isEqualTo(StatusLancamento.CANCELADO);
+    	Assertions.assertThat(captor.getValue().getUsuario().getId()).isEqualTo(2l);
+    }
+    
+    
+    @Test(expected = RegistroNaoEncontradoException.class)
+    public void deveLancarErroAoAtualizarOStatusDeUmLancamentoInexistente() {
+    	
+    	//Cenario
+    	Mockito.when(repository.obterResumoPorId(1l)).thenReturn(Optional.empty());
+    	
+    	//Execucao
+    	service.atualizarStatus(1l, StatusLancamento.EFETIVADO);
+    }
+    
+    
+    @Test
+    public void deveLancarConflitoComOEstadoAtualAposEsgotarAsTentativas() {
+    	
+    	//Cenario
+    	LancamentoResumo atual = new LancamentoResumo(1l, "lancamento", 1, 2019, BigDecimal.valueOf(10), 
+    			TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 2l, 4l);
+    	Mockito.when(repository.obterResumoPorId(1l)).thenReturn(Optional.of(atual));
+    	Mockito.when(repository.atualizarStatus(1l, 4l, StatusLancamento.EFETIVADO)).thenReturn(0);
+    	
+    	//Execucao
+    	Throwable erro = Assertions.catchThrowable(() -> service.atualizarStatus(1l, StatusLancamento.EFETIVADO));
+    	
+    	//Verificacao
+    	Assertions.assertThat(erro).isInstanceOf(ConflitoAtualizacaoException.class);
+    	Assertions.assertThat(((ConflitoAtualizacaoException) erro).getEstadoAtual()).isEqualTo(atual);
+    	Mockito.verify(repository, Mockito.times(3)).atualizarStatus(1l, 4l, StatusLancamento.EFETIVADO);
+    	Mockito.verifyZeroInteractions(saldoService, resumoMensalService);
+    }
+    
+    
+    @Test
+    public void deveRepetirAAlteracaoDeStatusComAVersaoRelidaAposUmConflito() {
+    	
+    	//Cenario
+    	LancamentoResumo lido = new LancamentoResumo(1l, "lancamento", 1, 2019, BigDecimal.valueOf(10), 
+    			TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 2l, 4l);
+    	LancamentoResumo relido = new LancamentoResumo(1l, "outra descricao", 1, 2019, BigDecimal.valueOf(10), 
+    			TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 2l, 5l);
+    	Mockito.when(repository.obterResumoPorId(1l)).thenReturn(Optional.of(lido), Optional.of(relido));
+    	Mockito.when(repository.atualizarStatus(1l, 4l, StatusLancamento.EFETIVADO)).thenReturn(0);
+    	Mockito.when(repository.atualizarStatus(1l, 5l, StatusLancamento.EFETIVADO)).thenReturn(1);
+    	
+    	//Execucao
+    	LancamentoResumo atualizado = service.atualizarStatus(1l, StatusLancamento.EFETIVADO);
+    	
+    	//Verificacao
+    	Assertions.assertThat(atualizado.getDescricao()).isEqualTo("outra descricao");
+    	Assertions.assertThat(atualizado.getVersao()).isEqualTo(6l);
+    }
+    
+    
+    @Test
+    public void deveLancarConflitoAoAtualizarComVersaoDesatualizadaSemExecutarOUpdate() {
+    	
+    	//Cenario
+    	Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+    	lancamento.setId(1l);
+    	lancamento.setVersao(3l);
+    	
+    	LancamentoResumo atual = new LancamentoResumo(1l, "lancamento", 1, 2019, BigDecimal.valueOf(10), 
+    			TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 2l, 4l);
+    	Mockito.when(repository.obterResumoPorId(1l)).thenReturn(Optional.of(atual));
+    	
+    	//Execucao
+    	Throwable erro = Assertions.catchThrowable(() -> service.atualizar(lancamento));
+    	
+    	//Verificacao
+    	Assertions.assertThat(erro).isInstanceOf(ConflitoAtualizacaoException.class);
+    	Assertions.assertThat(((ConflitoAtualizacaoException) erro).getEstadoAtual()).isEqualTo(atual);
+    	Mockito.verify(repository, Mockito.never()).atualizarDados(Mockito.any());
+    }
+    
+    
+    
+    @Test
+    public void deveAplicarSomenteADiferencaDosLancamentosAtualizadosEmLote() {
+    	
+    	//Cenario
+    	List<Long> ids = Arrays.asList(1l, 2l);
+    	Mockito.when(repository.travarParaAlterarStatus(10l, ids, StatusLancamento.CANCELADO)).thenReturn(ids);
+    	Mockito.when(repository.somarPorPeriodoTipoEStatus(ids)).thenReturn(Arrays.asList(
+    			new TotalLancamentos(2019, 1, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, BigDecimal.valueOf(30))));
+    	Mockito.when(repository.atualizarStatusPorIds(10l, ids, StatusLancamento.CANCELADO)).thenReturn(2);
+    	ArgumentCaptor<List<Lancamento>> anteriores = ArgumentCaptor.forClass(List.class);
+    	ArgumentCaptor<List<Lancamento>> atuais = ArgumentCaptor.forClass(List.class);
+    	
+    	//Execucao
+    	int atualizados = service.atualizarStatusEmLote(10l, ids, StatusLancamento.CANCELADO);
+    	
+    	//Verificacoes
+    	Assertions.assertThat(atualizados).isEqualTo(2);
+    	Mockito.verify(saldoService).atualizar(anteriores.capture(), atuais.capture());
+    	Mockito.verify(resumoMensalService).atualizar(anteriores.getValue(), atuais.getValue());
+    	Mockito.verify(saldoService, Mockito.never()).reconciliar(Mockito.anyLong());
+    	Mockito.verify(resumoMensalService, Mockito.never()).reconciliar(Mockito.anyLong(), Mockito.anyInt(), Mockito.anyInt());
+    	
+    	Lancamento anterior = anteriores.getValue().get(0);
+    	Lancamento atual = atuais.getValue().get(0);
+    	Assertions.assertThat(anterior.getUsuario().getId()).isEqualTo(10l);
+    	Assertions.assertThat(anterior.getStatus()).isEqualTo(StatusLancamento.EFETIVADO);
+    	Assertions.assertThat(atual.getStatus()).isEqualTo(StatusLancamento.CANCELADO);
+    	Assertions.assertThat(atual.getValor()).isEqualByComparingTo(BigDecimal.valueOf(30));
+    	Assertions.assertThat(atual.getMes()).isEqualTo(1);
+    	
+    }
+    
+    
+    @Test
+    public void naoDeveAlterarOSaldoQuandoNenhumLancamentoMudarDeStatus() {
+    	
+    	//Cenario
+    	Mockito.when(repository.travarParaAlterarStatus(10l, 2019, 1, StatusLancamento.EFETIVADO)).thenReturn(Collections.emptyList());
+    	
+    	//Execucao
+    	int atualizados = service.atualizarStatusEmLote(10l, 2019, 1, StatusLancamento.EFETIVADO);
+    	
+    	//Verificacoes
+    	Assertions.assertThat(atualizados).isZero();
+    	Mockito.verify(repository, Mockito.never()).atualizarStatusPorIds(Mockito.anyLong(), Mockito.anyList(), Mockito.any());
+    	Mockito.verify(saldoService, Mockito.never()).atualizar(Mockito.anyCollection(), Mockito.anyCollection());
+    	Mockito.verify(resumoMensalService, Mockito.never()).atualizar(Mockito.anyCollection(), Mockito.anyCollection());
+    	
+    }
+    
+    
+    
     @Test
     public void deveObterUmLancamentoPorID() {
     	
@@ -0,0 +1,155 @@
+package com.example.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.assertj.core.api.Assertions;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.minhasfinancas.model.entity.Lancamento;
+import com.example.minhasfinancas.model.entity.Usuario;
+import com.example.minhasfinancas.model.repository.LancamentoRepository;
+import com.example.minhasfinancas.model.repository.LancamentoRepositoryTest;
+
+@SpringBootTest
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+public class PrimeiroLancamentoConcorrenteTest {
+
+	@Autowired
+	LancamentoService service;
+
+	@Autowired
+	UsuarioService usuarioService;
+
+	@Autowired
+	SaldoUsuarioService saldoService;
+
+	@Autowired
+	ResumoMensalService resumoMensalService;
+
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@Autowired
+	JdbcTemplate jdbc;
+
+	Usuario usuario;
+	ExecutorService executor = Executors.newFixedThreadPool(2);
+
+
+	@Before
+	public void setUp() {
+		usuario = usuarioService.salvarUsuario(Usuario.builder().nome("primeiro").email("primeiro-lancamento@email.com").senha("senha").build());
+	}
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+		jdbc.update("delete from financas.lancamento where id_usuario = ?", usuario.getId());
+		jdbc.update("delete from financas.lancamento_resumo_mensal where id_usuario = ?", usuario.getId());
+		jdbc.update("delete from financas.saldo_usuario where id_usuario = ?", usuario.getId());
+		jdbc.update("delete from financas.usuario where id = ?", usuario.getId());
+	}
+
+
+	@Test
+	public void deveCriarOSaldoUmaUnicaVezQuandoOsPrimeirosLancamentosSaoConcorrentes() throws Exception {
+
+		//Cenario / Execucao
+		gravarConcorrentes(service::salvar, lancamento(1, 10), lancamento(2, 20));
+
+		//Verificacao
+		Assertions.assertThat(saldoService.obterSaldo(usuario.getId())).isEqualByComparingTo(BigDecimal.valueOf(30));
+		Assertions.assertThat(saldoService.reconciliar(usuario.getId())).isFalse();
+	}
+
+	@Test
+	public void deveCriarOResumoDoMesUmaUnicaVezQuandoOsPrimeirosLancamentosSaoConcorrentes() throws Exception {
+
+		//Cenario
+		service.salvar(lancamento(1, 5));
+
+		//Execucao
+		gravarConcorrentes(this::gravarSomenteResumo, lancamento(3, 10), lancamento(3, 20));
+
+		//Verificacao
+		Assertions.assertThat(resumoMensalService.obterPorAno(usuario.getId(), 2019))
+				.extracting(resumo -> resumo.getReceitas().intValue())
+				.containsExactly(5, 30);
+		Assertions.assertThat(resumoMensalService.reconciliar(usuario.getId(), 2019, 3)).isFalse();
+	}
+
+
+	/**
+	 * A primeira gravacao fica com a transacao aberta enquanto a segunda tenta criar os
+	 * mesmos registros derivados; a segunda so termina depois que a primeira confirma.
+	 */
+	private void gravarConcorrentes(Consumer<Lancamento> gravacao, Lancamento primeiro, Lancamento segundo) throws Exception {
+
+		CountDownLatch primeiraGravou = new CountDownLatch(1);
+		CountDownLatch liberarPrimeira = new CountDownLatch(1);
+		TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+
+		Future<?> primeira = executor.submit(() -> transacao.execute(status -> {
+			gravacao.accept(primeiro);
+			primeiraGravou.countDown();
+			aguardar(liberarPrimeira);
+			return null;
+		}));
+		Assertions.assertThat(primeiraGravou.await(10, TimeUnit.SECONDS)).isTrue();
+
+		Future<?> segunda = executor.submit(() -> transacao.execute(status -> {
+			gravacao.accept(segundo);
+			return null;
+		}));
+		Thread.sleep(300);
+		liberarPrimeira.countDown();
+		primeira.get(10, TimeUnit.SECONDS);
+		segunda.get(10, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * No salvar do servico a soma no saldo do usuario ja serializa as transacoes; aqui so o
+	 * resumo do mes e gravado, como na troca de status em lote.
+	 */
+	private void gravarSomenteResumo(Lancamento lancamento) {
+		lancamentoRepository.save(lancamento);
+		resumoMensalService.registrar(lancamento);
+	}
+
+	private Lancamento lancamento(int mes, int valor) {
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(usuario);
+		lancamento.setMes(mes);
+		lancamento.setValor(BigDecimal.valueOf(valor));
+		return lancamento;
+	}
+
+	private static void aguardar(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		}catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
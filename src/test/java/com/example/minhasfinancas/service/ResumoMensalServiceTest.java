@@ -0,0 +1,140 @@
+package com.example.minhasfinancas.service;
+
+import java.math.BigDecimal;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.example.minhasfinancas.model.entity.Lancamento;
+import com.example.minhasfinancas.model.entity.ResumoMensal;
+import com.example.minhasfinancas.model.entity.Usuario;
+import com.example.minhasfinancas.model.enums.StatusLancamento;
+import com.example.minhasfinancas.model.enums.TipoLancamento;
+import com.example.minhasfinancas.model.projection.ResumoSaldo;
+import com.example.minhasfinancas.model.repository.LancamentoRepository;
+import com.example.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.example.minhasfinancas.model.repository.ResumoMensalRepository;
+import com.example.minhasfinancas.service.impl.ResumoMensalServiceImpl;
+
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+public class ResumoMensalServiceTest {
+
+	@SpyBean
+	ResumoMensalServiceImpl service;
+	
+	@MockBean
+	ResumoMensalRepository repository;
+	
+	@MockBean
+	LancamentoRepository lancamentoRepository;
+	
+	
+	@Test
+	public void deveSomarUmaDespesaAoMesDoLancamento() {
+		//Cenario
+		Lancamento lancamento = criarLancamento(TipoLancamento.DESPESA, 10, 2019, 1);
+		Mockito.when(repository.somar(Mockito.anyLong(), Mockito.anyInt(), Mockito.anyInt(), Mockito.any(), Mockito.any())).thenReturn(1);
+		
+		//Execucao
+		service.registrar(lancamento);
+		
+		//Verificacao
+		Mockito.verify(repository).somar(1l, 2019, 1, BigDecimal.ZERO, BigDecimal.valueOf(10));
+		Mockito.verify(service, Mockito.never()).reconciliar(Mockito.anyLong(), Mockito.anyInt(), Mockito.anyInt());
+	}
+	
+	
+	@Test
+	public void deveMoverOValorAoTrocarOMesDoLancamento() {
+		//Cenario
+		Lancamento anterior = criarLancamento(TipoLancamento.RECEITA, 10, 2019, 1);
+		Lancamento atual = criarLancamento(TipoLancamento.RECEITA, 10, 2019, 2);
+		Mockito.when(repository.somar(Mockito.anyLong(), Mockito.anyInt(), Mockito.anyInt(), Mockito.any(), Mockito.any())).thenReturn(1);
+		
+		//Execucao
+		service.atualizar(anterior, atual);
+		
+		//Verificacao
+		Mockito.verify(repository).somar(1l, 2019, 1, BigDecimal.valueOf(-10), BigDecimal.ZERO);
+		Mockito.verify(repository).somar(1l, 2019, 2, BigDecimal.valueOf(10), BigDecimal.ZERO);
+	}
+	
+	
+	@Test
+	public void deveEstornarOMesAoCancelarOLancamento() {
+		//Cenario
+		Lancamento anterior = criarLancamento(TipoLancamento.RECEITA, 10, 2019, 1);
+		Lancamento atual = criarLancamento(TipoLancamento.RECEITA, 10, 2019, 1);
+		atual.setStatus(StatusLancamento.CANCELADO);
+		Mockito.when(repository.somar(Mockito.anyLong(), Mockito.anyInt(), Mockito.anyInt(), Mockito.any(), Mockito.any())).thenReturn(1);
+		
+		//Execucao
+		service.atualizar(anterior, atual);
+		
+		//Verificacao
+		Mockito.verify(repository).somar(1l, 2019, 1, BigDecimal.valueOf(-10), BigDecimal.ZERO);
+		Mockito.verifyNoMoreInteractions(repository);
+	}
+	
+	
+	@Test
+	public void deveCriarOResumoDoMesQuandoNaoExistir() {
+		//Cenario
+		Lancamento lancamento = criarLancamento(TipoLancamento.RECEITA, 10, 2019, 3);
+		Mockito.when(repository.somar(Mockito.anyLong(), Mockito.anyInt(), Mockito.anyInt(), Mockito.any(), Mockito.any())).thenReturn(0);
+		Mockito.when(repository.inserirSeAusente(Mockito.any())).thenReturn(true);
+		Mockito.when(lancamentoRepository.obterResumoMensalPorUsuario(Mockito.eq(1l), Mockito.eq(2019), Mockito.eq(3), Mockito.anyCollection()))
+			   .thenReturn(new ResumoSaldo(BigDecimal.valueOf(10), null));
+		
+		//Execucao
+		service.registrar(lancamento);
+		
+		//Verificacao
+		ArgumentCaptor<ResumoMensal> captor = ArgumentCaptor.forClass(ResumoMensal.class);
+		Mockito.verify(repository).inserirSeAusente(captor.capture());
+		Assertions.assertThat(captor.getValue().getMes()).isEqualTo(3);
+		Assertions.assertThat(captor.getValue().getReceitas()).isEqualByComparingTo(BigDecimal.valueOf(10));
+		Assertions.assertThat(captor.getValue().getDespesas()).isEqualByComparingTo(BigDecimal.ZERO);
+		Mockito.verify(repository, Mockito.times(1)).somar(Mockito.anyLong(), Mockito.anyInt(), Mockito.anyInt(), Mockito.any(), Mockito.any());
+	}
+	
+	
+	@Test
+	public void deveSomarSobreOResumoCriadoPorOutraTransacao() {
+		//Cenario
+		Lancamento lancamento = criarLancamento(TipoLancamento.DESPESA, 10, 2019, 3);
+		Mockito.when(repository.somar(Mockito.anyLong(), Mockito.anyInt(), Mockito.anyInt(), Mockito.any(), Mockito.any())).thenReturn(0, 1);
+		Mockito.when(repository.inserirSeAusente(Mockito.any())).thenReturn(false);
+		Mockito.when(lancamentoRepository.obterResumoMensalPorUsuario(Mockito.eq(1l), Mockito.eq(2019), Mockito.eq(3), Mockito.anyCollection()))
+			   .thenReturn(new ResumoSaldo(null, BigDecimal.valueOf(10)));
+		
+		//Execucao
+		service.registrar(lancamento);
+		
+		//Verificacao
+		Mockito.verify(repository, Mockito.times(2)).somar(1l, 2019, 3, BigDecimal.ZERO, BigDecimal.valueOf(10));
+		Mockito.verify(repository, Mockito.never()).save(Mockito.any());
+	}
+	
+	
+	
+	
+	private Lancamento criarLancamento(TipoLancamento tipo, int valor, int ano, int mes) {
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(Usuario.builder().id(1l).build());
+		lancamento.setTipo(tipo);
+		lancamento.setValor(BigDecimal.valueOf(valor));
+		lancamento.setAno(ano);
+		lancamento.setMes(mes);
+		return lancamento;
+	}
+	
+}
@@ -0,0 +1,296 @@
+package com.example.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.example.minhasfinancas.model.entity.Lancamento;
+import com.example.minhasfinancas.model.entity.SaldoUsuario;
+import com.example.minhasfinancas.model.entity.Usuario;
+import com.example.minhasfinancas.model.enums.StatusLancamento;
+import com.example.minhasfinancas.model.enums.TipoLancamento;
+import com.example.minhasfinancas.model.projection.ResumoSaldo;
+import com.example.minhasfinancas.model.repository.LancamentoRepository;
+import com.example.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.example.minhasfinancas.model.repository.SaldoUsuarioRepository;
+import com.example.minhasfinancas.service.impl.SaldoUsuarioServiceImpl;
+
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+public class SaldoUsuarioServiceTest {
+
+	@SpyBean
+	SaldoUsuarioServiceImpl service;
+	
+	@MockBean
+	SaldoUsuarioRepository repository;
+	
+	@MockBean
+	LancamentoRepository lancamentoRepository;
+	
+	
+	@Test
+	public void deveSomarUmaReceitaAoSaldoDoUsuario() {
+		//Cenario
+		Lancamento lancamento = criarLancamento(TipoLancamento.RECEITA, 10);
+		Mockito.when(repository.somar(Mockito.anyLong(), Mockito.any(), Mockito.any())).thenReturn(1);
+		
+		//Execucao
+		service.registrar(lancamento);
+		
+		//Verificacao
+		Mockito.verify(repository).somar(1l, BigDecimal.valueOf(10), BigDecimal.ZERO);
+		Mockito.verify(service, Mockito.never()).reconciliar(Mockito.anyLong());
+	}
+	
+	
+	@Test
+	public void deveSubtrairUmaDespesaAoEstornar() {
+		//Cenario
+		Lancamento lancamento = criarLancamento(TipoLancamento.DESPESA, 10);
+		Mockito.when(repository.somar(Mockito.anyLong(), Mockito.any(), Mockito.any())).thenReturn(1);
+		
+		//Execucao
+		service.estornar(lancamento);
+		
+		//Verificacao
+		Mockito.verify(repository).somar(1l, BigDecimal.ZERO, BigDecimal.valueOf(-10));
+	}
+	
+	
+	@Test
+	public void deveAplicarSomenteADiferencaAoAtualizar() {
+		//Cenario
+		Lancamento anterior = criarLancamento(TipoLancamento.RECEITA, 10);
+		Lancamento atual = criarLancamento(TipoLancamento.RECEITA, 25);
+		Mockito.when(repository.somar(Mockito.anyLong(), Mockito.any(), Mockito.any())).thenReturn(1);
+		
+		//Execucao
+		service.atualizar(anterior, atual);
+		
+		//Verificacao
+		Mockito.verify(repository).somar(1l, BigDecimal.valueOf(15), BigDecimal.ZERO);
+	}
+	
+	
+	@Test
+	public void deveMoverOValorAoTrocarOTipoDoLancamento() {
+		//Cenario
+		Lancamento anterior = criarLancamento(TipoLancamento.RECEITA, 10);
+		Lancamento atual = criarLancamento(TipoLancamento.DESPESA, 10);
+		Mockito.when(repository.somar(Mockito.anyLong(), Mockito.any(), Mockito.any())).thenReturn(1);
+		
+		//Execucao
+		service.atualizar(anterior, atual);
+		
+		//Verificacao
+		Mockito.verify(repository).somar(1l, BigDecimal.valueOf(-10), BigDecimal.valueOf(10));
+	}
+	
+	
+	@Test
+	public void deveEstornarOValorAoCancelarUmLancamento() {
+		//Cenario
+		Lancamento anterior = criarLancamento(TipoLancamento.DESPESA, 10);
+		Lancamento atual = criarLancamento(TipoLancamento.DESPESA, 10);
+		atual.setStatus(StatusLancamento.CANCELADO);
+		Mockito.when(repository.somar(Mockito.anyLong(), Mockito.any(), Mockito.any())).thenReturn(1);
+		
+		//Execucao
+		service.atualizar(anterior, atual);
+		
+		//Verificacao
+		Mockito.verify(repository).somar(1l, BigDecimal.ZERO, BigDecimal.valueOf(-10));
+	}
+	
+	
+	@Test
+	public void deveAplicarUmaUnicaDiferencaAoCancelarTotaisEmLote() {
+		//Cenario
+		Lancamento receitas = criarLancamento(TipoLancamento.RECEITA, 30);
+		Lancamento despesas = criarLancamento(TipoLancamento.DESPESA, 10);
+		Lancamento receitasCanceladas = criarLancamento(TipoLancamento.RECEITA, 30);
+		receitasCanceladas.setStatus(StatusLancamento.CANCELADO);
+		Lancamento despesasCanceladas = criarLancamento(TipoLancamento.DESPESA, 10);
+		despesasCanceladas.setStatus(StatusLancamento.CANCELADO);
+		Mockito.when(repository.somar(Mockito.anyLong(), Mockito.any(), Mockito.any())).thenReturn(1);
+		
+		//Execucao
+		service.atualizar(Arrays.asList(receitas, despesas), Arrays.asList(receitasCanceladas, despesasCanceladas));
+		
+		//Verificacao
+		Mockito.verify(repository).somar(1l, BigDecimal.valueOf(-30), BigDecimal.valueOf(-10));
+		Mockito.verify(lancamentoRepository, Mockito.never()).obterResumoSaldoPorUsuario(Mockito.anyLong(), Mockito.any());
+	}
+	
+	
+	@Test
+	public void naoDeveContabilizarUmLancamentoCanceladoApenasIncrementarAVersao() {
+		//Cenario
+		Lancamento lancamento = criarLancamento(TipoLancamento.RECEITA, 10);
+		lancamento.setStatus(StatusLancamento.CANCELADO);
+		Mockito.when(repository.somar(Mockito.anyLong(), Mockito.any(), Mockito.any())).thenReturn(1);
+		
+		//Execucao
+		service.registrar(lancamento);
+		
+		//Verificacao
+		Mockito.verify(repository).somar(1l, BigDecimal.ZERO, BigDecimal.ZERO);
+	}
+	
+	
+	@Test
+	public void deveIncrementarAVersaoMesmoSemAlterarOsValores() {
+		//Cenario
+		Lancamento anterior = criarLancamento(TipoLancamento.DESPESA, 10);
+		Lancamento atual = criarLancamento(TipoLancamento.DESPESA, 10);
+		atual.setDescricao("outra descricao");
+		Mockito.when(repository.somar(Mockito.anyLong(), Mockito.any(), Mockito.any())).thenReturn(1);
+		
+		//Execucao
+		service.atualizar(anterior, atual);
+		
+		//Verificacao
+		Mockito.verify(repository).somar(1l, BigDecimal.ZERO, BigDecimal.ZERO);
+	}
+	
+	
+	@Test
+	public void deveObterVersaoZeroQuandoOSaldoAindaNaoExiste() {
+		//Cenario
+		Mockito.when(repository.obterVersao(1l)).thenReturn(Optional.empty());
+		
+		//Execucao
+		Long versao = service.obterVersao(1l);
+		
+		//Verificacao
+		Assertions.assertThat(versao).isEqualTo(0l);
+	}
+	
+	
+	@Test
+	public void deveCriarOSaldoAPartirDosLancamentosQuandoAindaNaoExiste() {
+		//Cenario
+		Lancamento lancamento = criarLancamento(TipoLancamento.RECEITA, 10);
+		Mockito.when(repository.somar(Mockito.anyLong(), Mockito.any(), Mockito.any())).thenReturn(0);
+		Mockito.when(repository.inserirSeAusente(Mockito.any())).thenReturn(true);
+		Mockito.when(lancamentoRepository.obterResumoSaldoPorUsuario(Mockito.eq(1l), Mockito.anyCollection()))
+			   .thenReturn(new ResumoSaldo(BigDecimal.valueOf(10), null));
+		
+		//Execucao
+		service.registrar(lancamento);
+		
+		//Verificacao
+		ArgumentCaptor<SaldoUsuario> captor = ArgumentCaptor.forClass(SaldoUsuario.class);
+		Mockito.verify(repository).inserirSeAusente(captor.capture());
+		Assertions.assertThat(captor.getValue().getIdUsuario()).isEqualTo(1l);
+		Assertions.assertThat(captor.getValue().getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(10));
+		Assertions.assertThat(captor.getValue().getVersao()).isEqualTo(1l);
+		Mockito.verify(repository, Mockito.times(1)).somar(Mockito.anyLong(), Mockito.any(), Mockito.any());
+	}
+	
+	
+	@Test
+	public void deveSomarSobreOSaldoCriadoPorOutraTransacao() {
+		//Cenario
+		Lancamento lancamento = criarLancamento(TipoLancamento.RECEITA, 10);
+		Mockito.when(repository.somar(Mockito.anyLong(), Mockito.any(), Mockito.any())).thenReturn(0, 1);
+		Mockito.when(repository.inserirSeAusente(Mockito.any())).thenReturn(false);
+		Mockito.when(lancamentoRepository.obterResumoSaldoPorUsuario(Mockito.eq(1l), Mockito.anyCollection()))
+			   .thenReturn(new ResumoSaldo(BigDecimal.valueOf(10), null));
+		
+		//Execucao
+		service.registrar(lancamento);
+		
+		//Verificacao
+		Mockito.verify(repository, Mockito.times(2)).somar(1l, BigDecimal.valueOf(10), BigDecimal.ZERO);
+		Mockito.verify(repository, Mockito.never()).save(Mockito.any());
+	}
+	
+	
+	@Test
+	public void naoDeveAlterarOSaldoQuandoNaoHouverDivergencia() {
+		//Cenario
+		SaldoUsuario saldo = SaldoUsuario.builder()
+				.idUsuario(1l)
+				.receitas(BigDecimal.valueOf(30))
+				.despesas(BigDecimal.valueOf(10))
+				.saldo(BigDecimal.valueOf(20))
+				.build();
+		
+		Mockito.when(repository.obterParaAtualizacao(1l)).thenReturn(Optional.of(saldo));
+		Mockito.when(lancamentoRepository.obterResumoSaldoPorUsuario(Mockito.eq(1l), Mockito.anyCollection()))
+			   .thenReturn(new ResumoSaldo(BigDecimal.valueOf(30), BigDecimal.valueOf(10)));
+		
+		//Execucao
+		boolean corrigido = service.reconciliar(1l);
+		
+		//Verificacao
+		Assertions.assertThat(corrigido).isFalse();
+		Mockito.verify(repository, Mockito.never()).save(Mockito.any());
+	}
+	
+	
+	@Test
+	public void deveCorrigirOSaldoDivergente() {
+		//Cenario
+		SaldoUsuario saldo = SaldoUsuario.builder()
+				.idUsuario(1l)
+				.receitas(BigDecimal.valueOf(30))
+				.despesas(BigDecimal.valueOf(10))
+				.saldo(BigDecimal.valueOf(20))
+				.versao(3l)
+				.build();
+		
+		Mockito.when(repository.obterParaAtualizacao(1l)).thenReturn(Optional.of(saldo));
+		Mockito.when(lancamentoRepository.obterResumoSaldoPorUsuario(Mockito.eq(1l), Mockito.anyCollection()))
+			   .thenReturn(new ResumoSaldo(BigDecimal.valueOf(50), null));
+		
+		//Execucao
+		boolean corrigido = service.reconciliar(1l);
+		
+		//Verificacao
+		Assertions.assertThat(corrigido).isTrue();
+		Assertions.assertThat(saldo.getDespesas()).isEqualByComparingTo(BigDecimal.ZERO);
+		Assertions.assertThat(saldo.getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(50));
+		Assertions.assertThat(saldo.getVersao()).isEqualTo(4l);
+		Mockito.verify(repository).save(saldo);
+	}
+	
+	
+	@Test
+	public void deveObterOSaldoArmazenado() {
+		//Cenario
+		SaldoUsuario saldo = SaldoUsuario.builder().idUsuario(1l).saldo(BigDecimal.valueOf(20)).build();
+		Mockito.when(repository.findById(1l)).thenReturn(Optional.of(saldo));
+		
+		//Execucao
+		BigDecimal resultado = service.obterSaldo(1l);
+		
+		//Verificacao
+		Assertions.assertThat(resultado).isEqualByComparingTo(BigDecimal.valueOf(20));
+		Mockito.verifyZeroInteractions(lancamentoRepository);
+	}
+	
+	
+	
+	
+	private Lancamento criarLancamento(TipoLancamento tipo, int valor) {
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(Usuario.builder().id(1l).build());
+		lancamento.setTipo(tipo);
+		lancamento.setValor(BigDecimal.valueOf(valor));
+		return lancamento;
+	}
+	
+}
@@ -0,0 +1,106 @@
+package com.example.minhasfinancas.service;
+
+import java.util.Optional;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.minhasfinancas.model.entity.Usuario;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(properties = "spring.cache.type=caffeine")
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+@Transactional
+public class UsuarioCacheTest {
+
+	@Autowired
+	UsuarioService service;
+
+	@Autowired
+	CacheManager cacheManager;
+
+	@Autowired
+	MeterRegistry meterRegistry;
+
+	Cache usuarios;
+
+
+	@Before
+	public void setUp() {
+		usuarios = cacheManager.getCache("usuarios");
+		usuarios.clear();
+	}
+
+
+	@Test
+	public void deveGuardarUsuarioConsultadoPorId() {
+
+		//Cenario
+		Usuario usuario = service.salvarUsuario(criarUsuario("cache-id@email.com"));
+		double acertosAntes = acertos("usuarios");
+
+		//Execucao
+		service.obterporId(usuario.getId());
+		Optional<Usuario> resultado = service.obterporId(usuario.getId());
+
+		//Verificacao
+		Assertions.assertThat(resultado).isPresent();
+		Assertions.assertThat(acertos("usuarios") - acertosAntes).isEqualTo(1);
+		Assertions.assertThat(usuarios.get(usuario.getId())).isNotNull();
+	}
+
+	@Test
+	public void naoDeveGuardarUsuarioInexistente() {
+
+		//Execucao
+		Optional<Usuario> resultado = service.obterporId(-1l);
+
+		//Verificacao
+		Assertions.assertThat(resultado).isEmpty();
+		Assertions.assertThat(usuarios.get(-1l)).isNull();
+	}
+
+	@Test
+	public void deveDeixarAConsultaPorEmailSomenteNoCacheDoHibernate() {
+
+		//Cenario
+		service.salvarUsuario(criarUsuario("cache-email@email.com"));
+
+		//Execucao
+		service.autenticar("cache-email@email.com", "senha");
+
+		//Verificacao
+		Assertions.assertThat(cacheManager.getCacheNames()).containsExactly("usuarios");
+	}
+
+	@Test
+	public void deveInvalidarOCacheAoSalvarUsuario() {
+
+		//Execucao
+		Usuario usuario = service.salvarUsuario(criarUsuario("cache-novo@email.com"));
+
+		//Verificacao
+		Assertions.assertThat(usuarios.get(usuario.getId())).isNull();
+	}
+
+
+	private double acertos(String cache) {
+		return meterRegistry.get("cache.gets").tags("cache", cache, "result", "hit").functionCounter().count();
+	}
+
+	private static Usuario criarUsuario(String email) {
+		return Usuario.builder().nome("usuario").email(email).senha("senha").build();
+	}
+
+}